@@ -18,17 +18,27 @@
 package org.corpus_tools.peppermodules.paula;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.corpus_tools.pepper.common.DOCUMENT_STATUS;
 import org.corpus_tools.pepper.impl.PepperMapperImpl;
 import org.corpus_tools.pepper.modules.exceptions.PepperModuleException;
 import org.corpus_tools.peppermodules.paula.readers.PAULASpecificReader;
 import org.corpus_tools.peppermodules.paula.readers.PAULAStructReader;
+import org.corpus_tools.peppermodules.paula.util.xPointer.StringRangePointer;
 import org.corpus_tools.peppermodules.paula.util.xPointer.XPtrInterpreter;
 import org.corpus_tools.peppermodules.paula.util.xPointer.XPtrRef;
 import org.corpus_tools.salt.SaltFactory;
@@ -49,12 +59,13 @@ import org.corpus_tools.salt.core.SAnnotationContainer;
 import org.corpus_tools.salt.core.SLayer;
 import org.corpus_tools.salt.core.SNode;
 import org.corpus_tools.salt.core.SRelation;
+import org.corpus_tools.salt.graph.IdentifiableElement;
 import org.corpus_tools.salt.graph.Identifier;
 import org.eclipse.emf.common.util.URI;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class PAULA2SaltMapper extends PepperMapperImpl {
+public class PAULA2SaltMapper extends PepperMapperImpl implements PAULABatchConnector {
 	private static final Logger logger = LoggerFactory.getLogger(PAULA2SaltMapper.class);
 
 	public PAULA2SaltMapper() {
@@ -67,9 +78,11 @@ public class PAULA2SaltMapper extends PepperMapperImpl {
 	 */
 	@Override
 	protected void initialize() {
-		elementNamingTable = new Hashtable<String, String>();
-		elementOrderTable = new Hashtable<String, Collection<String>>();
+		elementNamingTable = new PAULAElementNamingTable();
+		elementOrderTable = new ArrayList<PAULAElementOrder>();
+		ordinalFile = null;
 		this.stagingArea = new Hashtable<String, Identifier>();
+		layerRegistry = new HashMap<String, SLayer>();
 	}
 
 	private Boolean isArtificialSCorpus = false;
@@ -100,19 +113,22 @@ public class PAULA2SaltMapper extends PepperMapperImpl {
 			}
 			File paulaPath = new File(getResourceURI().toFileString());
 			paulaFileDelegator.setPaulaPath(paulaPath);
+			this.importMetrics = new PAULAImportMetrics(getCorpus().getId());
 			// map all xml-documents
-			for (File paulaFile : paulaPath.listFiles()) {
-				String[] parts = paulaFile.getName().split("[.]");
-				if (parts.length > 1) {
-					for (String ending : this.getPAULA_FILE_ENDINGS()) {
-						if (parts[parts.length - 1].equalsIgnoreCase(ending)) {
-							paulaFileDelegator.getPaulaFiles().add(paulaFile);
-						}
-					}
+			this.fileRegistry = new PAULAFileRegistry(paulaPath);
+			try {
+				scanFileRegistry();
+				paulaFileDelegator.setFileRegistry(this.fileRegistry);
+				if (this.fileRegistry.getPaulaFiles().size() != 0)
+					paulaFileDelegator.startPaulaFiles();
+				File parsedPaulaDir = getParsedPaulaDir();
+				if (parsedPaulaDir != null) {
+					copyCorpusFiles(new File(parsedPaulaDir, getCorpus().getPath().path()));
 				}
+			} finally {
+				closeFileRegistry();
 			}
-			if ((paulaFileDelegator.getPaulaFiles() != null) && (paulaFileDelegator.getPaulaFiles().size() != 0))
-				paulaFileDelegator.startPaulaFiles();
+			finishImportMetrics();
 		}// only if SCorpus was not artificially created and points to a real
 			// path and not to the one of a SDocument
 			// map all xml-documents
@@ -145,27 +161,180 @@ public class PAULA2SaltMapper extends PepperMapperImpl {
 		getDocument().setDocumentGraph(sDocGraph);
 		// create SDocumentGraph
 
+		this.importMetrics = new PAULAImportMetrics(getDocument().getId());
+		File resource = new File(this.getResourceURI().toFileString());
+		if ((resource.isFile()) && (PAULAFileRegistry.hasEnding(resource.getName(), ParsedPAULA.ENDING_PARSED_PAULA))) {
+			// document is given in parsed PAULA format
+			long timestamp = System.nanoTime();
+			try {
+				ParsedPAULA.read(resource, getDocument());
+			} catch (IOException e) {
+				throw new PepperModuleException(this, "Cannot read parsed PAULA file '" + resource.getAbsolutePath() + "'. Nested IO Exception is " + e.getLocalizedMessage(), e);
+			}
+			long parseTime = System.nanoTime() - timestamp;
+			this.importMetrics.add(PAULAImportMetrics.PARSE_TIME, parseTime);
+			this.importMetrics.add(PAULAImportMetrics.PARSE_TIME + "." + ParsedPAULA.ENDING_PARSED_PAULA, parseTime);
+			this.importMetrics.add(PAULAImportMetrics.BYTES_READ, resource.length());
+			this.importMetrics.add(PAULAImportMetrics.FILES, 1);
+			finishImportMetrics();
+			return (DOCUMENT_STATUS.COMPLETED);
+		}
+
+		if (getProperties() instanceof PAULAImporterProperties) {
+			this.fileAnnotations = getProps().getFileAnnotations();
+		}
+
 		PAULAFileDelegator paulaFileDelegator = new PAULAFileDelegator();
 		paulaFileDelegator.setMapper(this);
 		File paulaPath = new File(this.getResourceURI().toFileString());
 		paulaFileDelegator.setPaulaPath(paulaPath);
 
 		// map all xml-documents
-		for (File paulaFile : paulaPath.listFiles()) {
-			String[] parts = paulaFile.getName().split("[.]");
-			if (parts.length > 1) {
-				for (String ending : this.getPAULA_FILE_ENDINGS()) {
-					if (parts[parts.length - 1].equalsIgnoreCase(ending)) {
-						paulaFileDelegator.getPaulaFiles().add(paulaFile);
-					}
+		this.fileRegistry = new PAULAFileRegistry(paulaPath);
+		try {
+			scanFileRegistry();
+			paulaFileDelegator.setFileRegistry(this.fileRegistry);
+			paulaFileDelegator.startPaulaFiles();
+		} finally {
+			closeFileRegistry();
+		}
+		resolveDeferredReferences();
+		linkAudio();
+
+		File parsedPaulaDir = getParsedPaulaDir();
+		if (parsedPaulaDir != null) {
+			File parsedPaulaFile = new File(parsedPaulaDir, getDocument().getPath().path() + "." + ParsedPAULA.ENDING_PARSED_PAULA);
+			try {
+				ParsedPAULA.write(getDocument(), parsedPaulaFile);
+			} catch (IOException e) {
+				throw new PepperModuleException(this, "Cannot write parsed PAULA file '" + parsedPaulaFile.getAbsolutePath() + "'. Nested IO Exception is " + e.getLocalizedMessage(), e);
+			}
+		}
+		finishImportMetrics();
+		return (DOCUMENT_STATUS.COMPLETED);
+	}
+
+	// ================================================ start: import metrics
+	/** metrics of importing the current corpus or document **/
+	private PAULAImportMetrics importMetrics = null;
+
+	/**
+	 * @return the metrics of importing the current corpus or document, null
+	 *         if mapping has not been started
+	 */
+	public PAULAImportMetrics getImportMetrics() {
+		return importMetrics;
+	}
+
+	/** collects the metrics of all mapped corpora and documents **/
+	private PAULAImportStatistics importStatistics = null;
+
+	/**
+	 * Sets the statistics, the metrics of the mapped corpus or document are
+	 * added to after mapping.
+	 */
+	public void setImportStatistics(PAULAImportStatistics importStatistics) {
+		this.importStatistics = importStatistics;
+	}
+
+	public PAULAImportStatistics getImportStatistics() {
+		return importStatistics;
+	}
+
+	/**
+	 * Measures the size of the created document graph and passes the metrics
+	 * to the statistics.
+	 */
+	private void finishImportMetrics() {
+		if ((getDocument() != null) && (getDocument().getDocumentGraph() != null)) {
+			importMetrics.set(PAULAImportMetrics.NODES, getDocument().getDocumentGraph().getNodes().size());
+			importMetrics.set(PAULAImportMetrics.RELATIONS, getDocument().getDocumentGraph().getRelations().size());
+		}
+		if (xPointerCache != null) {
+			importMetrics.set(PAULAImportMetrics.XPOINTER_CACHE_HITS, xPointerCache.getHits());
+			importMetrics.set(PAULAImportMetrics.XPOINTER_CACHE_MISSES, xPointerCache.getMisses());
+		}
+		logger.debug("[PAULAImporter] Imported {}.", importMetrics);
+		if (importStatistics != null) {
+			importStatistics.add(importMetrics);
+		}
+	}
+
+	// ================================================ end: import metrics
+
+	// ================================================ start: file registry
+	/**
+	 * Registry of all files in the folder of the currently mapped corpus or
+	 * document, the folder is listed only once.
+	 */
+	private PAULAFileRegistry fileRegistry = null;
+
+	/**
+	 * @return the registry of all files in the folder of the currently mapped
+	 *         corpus or document
+	 */
+	public PAULAFileRegistry getFileRegistry() {
+		return fileRegistry;
+	}
+
+	/**
+	 * Lists all files of the current folder or archive.
+	 */
+	private void scanFileRegistry() {
+		try {
+			this.fileRegistry.scan(this.getPAULA_FILE_ENDINGS());
+		} catch (IOException e) {
+			throw new PepperModuleException(this, "Cannot read the paula files in '" + this.fileRegistry.getPaulaPath() + "'. Nested IO Exception is " + e.getLocalizedMessage(), e);
+		}
+	}
+
+	/**
+	 * Returns the folder to write documents in parsed PAULA format to, see
+	 * {@link PAULAImporterProperties#PROP_PARSED_PAULA_DIR}.
+	 */
+	private File getParsedPaulaDir() {
+		if (getProperties() instanceof PAULAImporterProperties) {
+			return getProps().getParsedPaulaDir();
+		}
+		return null;
+	}
+
+	/**
+	 * Copies the paula files of the current corpus to the given folder, so
+	 * that the corpus can be read from there together with its documents in
+	 * parsed PAULA format.
+	 */
+	private void copyCorpusFiles(File folder) {
+		if ((!folder.isDirectory()) && (!folder.mkdirs()) && (!folder.isDirectory())) {
+			throw new PepperModuleException(this, "Cannot create folder '" + folder.getAbsolutePath() + "'.");
+		}
+		for (File paulaFile : this.fileRegistry.getPaulaFiles()) {
+			File target = new File(folder, paulaFile.getName());
+			try {
+				InputStream in = this.fileRegistry.openStream(paulaFile);
+				try {
+					Files.copy(in, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				} finally {
+					in.close();
 				}
+			} catch (IOException e) {
+				throw new PepperModuleException(this, "Cannot copy paula file '" + paulaFile.getAbsolutePath() + "' to '" + target.getAbsolutePath() + "'. Nested IO Exception is " + e.getLocalizedMessage(), e);
 			}
 		}
-		paulaFileDelegator.startPaulaFiles();
+	}
 
-		return (DOCUMENT_STATUS.COMPLETED);
+	/**
+	 * Releases the current archive, if the files were read from an archive.
+	 */
+	private void closeFileRegistry() {
+		try {
+			this.fileRegistry.close();
+		} catch (IOException e) {
+			logger.warn("[PAULAImporter] Cannot close archive '" + this.fileRegistry.getPaulaPath() + "'. ", e);
+		}
 	}
 
+	// ================================================ end: file registry
 	// ================================================ start: handling
 	// PAULA-file endings
 	/**
@@ -197,21 +366,45 @@ public class PAULA2SaltMapper extends PepperMapperImpl {
 	private Hashtable<String, Identifier> stagingArea = null;
 	// ======================================= end: staging area
 	/**
-	 * global naming table for all elements stores paulaId of one element and
-	 * corresponding salt id PAULAId, SaltId
+	 * global naming table for all elements, maps the paula file and xml-id of
+	 * one element to the node or relation created for it
+	 */
+	private PAULAElementNamingTable elementNamingTable = null;
+
+	/**
+	 * Prepares the naming table for the given number of elements of the given
+	 * paula file, is called before the elements of the file are mapped.
 	 */
-	private Map<String, String> elementNamingTable = null;
+	public void expectElements(File paulaFile, int size) {
+		if (elementNamingTable != null) {
+			elementNamingTable.expect(getFile(paulaFile), size);
+		}
+	}
+
+	/** the paula file, whose ordinal has been resolved last **/
+	private File ordinalFile = null;
+	/** the ordinal of {@link #ordinalFile} in the naming table **/
+	private int ordinalOfFile = -1;
 
 	/**
-	 * Seperator, to be used in uniquenames.
+	 * Returns the ordinal of the given paula file in the naming table. Since
+	 * all elements of a file are mapped one after another, the ordinal is
+	 * resolved only once per file.
 	 */
-	private static final String KW_NAME_SEP = "#";
+	private int getFile(File paulaFile) {
+		if ((ordinalFile == null) || (!ordinalFile.equals(paulaFile))) {
+			ordinalOfFile = elementNamingTable.getFile(paulaFile.getName());
+			ordinalFile = paulaFile;
+		}
+		return ordinalOfFile;
+	}
 
 	/**
-	 * stores paula-document-names and corresponding paula-elements in readed
-	 * order importent for interpreting xpointer (ranges)
+	 * stores the paula-elements of each paula-document in readed order,
+	 * indexed by the ordinal of the document, importent for interpreting
+	 * xpointer (ranges)
 	 */
-	private Map<String, Collection<String>> elementOrderTable = null;
+	private List<PAULAElementOrder> elementOrderTable = null;
 
 	/**
 	 * Extracts the namespace of the paula file name and returns it.
@@ -232,69 +425,125 @@ public class PAULA2SaltMapper extends PepperMapperImpl {
 	}
 
 	/**
-	 * Attaches the given sNode to the sLayer, corresponding to the given layer
-	 * name. If no Layer for this name exists, a new one will be created.
+	 * registry of all layers of the current document, maps the case-folded
+	 * layer name to the layer
+	 */
+	private Map<String, SLayer> layerRegistry = null;
+
+	/** the paula file, whose layer has been resolved last **/
+	private File layerFile = null;
+	/** the layer of {@link #layerFile}, null if the file has no namespace **/
+	private SLayer layerOfFile = null;
+
+	/**
+	 * Returns the sLayer corresponding to the given layer name. If no Layer for
+	 * this name exists, a new one will be created. Layer names are compared
+	 * case-insensitive.
 	 * 
-	 * @param sNode
-	 *            node which shall be attached
 	 * @param sLayerName
 	 *            name of the SLayer
 	 */
-	private SLayer attachSNode2SLayer(SNode sNode, String sLayerName) {
-		SLayer retVal = null;
-
-		if(sLayerName != null && sNode != null) {
-		
-			// search if layer already exists
-			for (SLayer sLayer : getDocument().getDocumentGraph().getLayers()) {
-				if (sLayer.getName().equalsIgnoreCase(sLayerName)) {
-					retVal = sLayer;
+	private SLayer getSLayer(String sLayerName) {
+		String key = PAULAElementOrder.fold(sLayerName);
+		SLayer sLayer = layerRegistry.get(key);
+		if (sLayer == null) {
+			// search if layer already exists, but has not been registered
+			for (SLayer existingLayer : getDocument().getDocumentGraph().getLayers()) {
+				if (existingLayer.getName().equalsIgnoreCase(sLayerName)) {
+					sLayer = existingLayer;
 					break;
 				}
 			}
-	
-			if (retVal == null) {// create new layer if not exists
-				retVal = SaltFactory.createSLayer();
-				retVal.setName(sLayerName);
-				getDocument().getDocumentGraph().addLayer(retVal);
-			}// create new layer if not exists
-	
+			// create new layer if not exists
+			if (sLayer == null) {
+				sLayer = SaltFactory.createSLayer();
+				sLayer.setName(sLayerName);
+				getDocument().getDocumentGraph().addLayer(sLayer);
+			}
+			layerRegistry.put(key, sLayer);
+		}
+		return sLayer;
+	}
+
+	/**
+	 * Returns the sLayer corresponding to the namespace of the given paula
+	 * file, or null if the file has no namespace. Since all elements of a file
+	 * belong to the same layer, the layer is resolved only once per file.
+	 */
+	private SLayer getSLayer(File paulaFile) {
+		if ((layerFile == null) || (!layerFile.equals(paulaFile))) {
+			String sLayerName = this.extractNSFromPAULAFile(paulaFile);
+			layerOfFile = (sLayerName == null) ? null : getSLayer(sLayerName);
+			layerFile = paulaFile;
+		}
+		return layerOfFile;
+	}
+
+	/**
+	 * Returns the list of all element names of the file of the given ordinal
+	 * in read order, which is needed to resolve xpointer ranges. If none
+	 * exists, it is created.
+	 */
+	private PAULAElementOrder getOrderedElementSlot(int file) {
+		if (elementNamingTable == null)
+			throw new PepperModuleException(this, "The map elementNamingTable was not initialized, this might be a bug.");
+		// create entry in element order table (file: elements)
+		while (elementOrderTable.size() <= file) {
+			elementOrderTable.add(null);
+		}
+		PAULAElementOrder orderedElementSlot = elementOrderTable.get(file);
+		if (orderedElementSlot == null) {
+			orderedElementSlot = new PAULAElementOrder();
+			elementOrderTable.set(file, orderedElementSlot);
+		}
+		return orderedElementSlot;
+	}
+
+	/**
+	 * Attaches the given sNode to the sLayer, corresponding to the namespace
+	 * of the given paula file. If no Layer for this name exists, a new one will
+	 * be created.
+	 * 
+	 * @param sNode
+	 *            node which shall be attached
+	 * @param paulaFile
+	 *            the paula file the node has been read from
+	 */
+	private SLayer attachSNode2SLayer(SNode sNode, File paulaFile) {
+		SLayer retVal = null;
+
+		if(sNode != null) {
+			retVal = getSLayer(paulaFile);
 			// add sNode to sLayer
-			sNode.addLayer(retVal);
+			if (retVal != null) {
+				sNode.addLayer(retVal);
+			}
 		}
 		
 		return (retVal);
 	}
 
 	/**
-	 * Attaches the given sRelation to the sLayer, corresponding to the given
-	 * layer name. If no Layer for this name exists, a new one will be created.
+	 * Attaches the given sRelations to the sLayer, corresponding to the
+	 * namespace of the given paula file. If no Layer for this name exists, a
+	 * new one will be created.
 	 * 
-	 * @param sNode
-	 *            node which shall be attached
-	 * @param sLayerName
-	 *            name of the SLayer
+	 * @param sRels
+	 *            relations which shall be attached
+	 * @param paulaFile
+	 *            the paula file the relations have been read from
 	 */
-	private SLayer attachSRelation2SLayer(SRelation sRel, String sLayerName) {
+	private SLayer attachSRelations2SLayer(Collection<? extends SRelation<?, ?>> sRels, File paulaFile) {
 		SLayer retVal = null;
 
-		if(sLayerName != null && sRel != null) {
-			// search if layer already exists
-			for (SLayer sLayer : getDocument().getDocumentGraph().getLayers()) {
-				if (sLayer.getName().equalsIgnoreCase(sLayerName)) {
-					retVal = sLayer;
-					break;
+		if(sRels != null && !sRels.isEmpty()) {
+			retVal = getSLayer(paulaFile);
+			// add sRels to sLayer
+			if (retVal != null) {
+				for (SRelation<?, ?> sRel : sRels) {
+					sRel.addLayer(retVal);
 				}
 			}
-	
-			if (retVal == null) {// create new layer if not exists
-				retVal = SaltFactory.createSLayer();
-				retVal.setName(sLayerName);
-				getDocument().getDocumentGraph().addLayer(retVal);
-			}// create new layer if not exists
-	
-			// add sNode to sLayer
-			sRel.addLayer(retVal);
 		}
 		
 		return (retVal);
@@ -341,7 +590,7 @@ public class PAULA2SaltMapper extends PepperMapperImpl {
 
 		sTextualDS.setText(text);
 		// create entry in naming table
-		elementNamingTable.put(uniqueName, sTextualDS.getId());
+		elementNamingTable.putText(uniqueName, sTextualDS);
 	}
 
 	/**
@@ -355,30 +604,64 @@ public class PAULA2SaltMapper extends PepperMapperImpl {
 	 * @throws Exception
 	 */
 	public void paulaMARK_TOKConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String markID, String href, String markType) {
-		String uniqueName = paulaFile.getName() + KW_NAME_SEP + markID;
-		{
-			if (elementNamingTable == null)
-				throw new PepperModuleException(this, "The map elementNamingTable was not initialized, this might be a bug.");
-			// create entry in element order table (file: elements)
-			if (elementOrderTable.get(paulaFile.getName()) == null) {
-				Collection<String> orderedElementSlot = new ArrayList<>();
-				elementOrderTable.put(paulaFile.getName(), orderedElementSlot);
+		PAULAMarkBatch batch = new PAULAMarkBatch(paulaFile, paulaId, paulaType, xmlBase);
+		batch.add(markID, href, markType);
+		paulaMARK_TOKBatch(batch);
+	}
+
+	/**
+	 * Recieves a batch of data from PAULAMarkReader in case of paula-type= tok
+	 * and maps them to Salt.
+	 */
+	@Override
+	public void paulaMARK_TOKBatch(PAULAMarkBatch batch) {
+		int file = getFile(batch.getPaulaFile());
+		PAULAElementOrder orderedElementSlot = getOrderedElementSlot(file);
+		String xmlBase = batch.getXmlBase();
+		// the text all string-range pointers of the batch refer to
+		STextualDS sTextDS = null;
+		int[] range = new int[2];
+		for (int i = 0; i < batch.size(); i++) {
+			// fast path for the common notation
+			// '#xpointer(string-range(//body,'',start,length))', everything
+			// else and all errors are handled by mapToken()
+			long xPtrTimestamp = System.nanoTime();
+			boolean isStringRange = (xmlBase != null) && (!xmlBase.isEmpty()) && (StringRangePointer.parse(batch.getHref(i), range));
+			addXPointerTime(xPtrTimestamp);
+			if ((isStringRange) && (sTextDS == null)) {
+				sTextDS = elementNamingTable.getText(xmlBase);
+			}
+			if ((isStringRange) && (sTextDS != null)) {
+				int left = range[0] - 1;
+				int right = left + range[1];
+				if ((left >= 0) && (right <= sTextDS.getText().length())) {
+					orderedElementSlot.add(elementNamingTable.getName(file, batch.getMarkID(i)));
+					createToken(file, batch.getMarkID(i), sTextDS, left, right);
+					continue;
+				}
 			}
-			Collection<String> orderedElementSlot = elementOrderTable.get(paulaFile.getName());
-			orderedElementSlot.add(uniqueName);
+			mapToken(batch.getPaulaFile(), file, batch.getPaulaId(), xmlBase, orderedElementSlot, batch.getMarkID(i), batch.getHref(i));
 		}
+	}
+
+	/**
+	 * Maps a single mark element of a tokenization file to a token.
+	 */
+	private void mapToken(File paulaFile, int file, String paulaId, String xmlBase, PAULAElementOrder orderedElementSlot, String markID, String href) {
+		orderedElementSlot.add(elementNamingTable.getName(file, markID));
 
 		// Objekt zum Interpretieren des XLinks in mark.href initialisieren
-		List<XPtrRef> xPtrRefs = null;
+		List<XPtrRef> xPtrRefs = this.xPtrRefs;
 
 		// extract
-		XPtrInterpreter xPtrInter = new XPtrInterpreter();
-		xPtrInter.setInterpreter(xmlBase, href);
+		long xPtrTimestamp = System.nanoTime();
+		xPtrInterpreter.setInterpreter(xmlBase, href);
 		try {
-			xPtrRefs = xPtrInter.getResult();
+			xPtrInterpreter.getResult(xPtrRefs);
 		} catch (Exception e) {
 			throw new PepperModuleException(this, "Cannot read href (" + href + ") in file " + paulaFile + ".", e);
 		}
+		addXPointerTime(xPtrTimestamp);
 
 		int runs = 0;
 		// search for STextualDS
@@ -396,14 +679,13 @@ public class PAULA2SaltMapper extends PepperMapperImpl {
 			}
 			// when XPointer refers to a text
 			else if (xPtrRef.getType() == XPtrRef.POINTERTYPE.TEXT) {
-				String textNodeName = elementNamingTable.get(xPtrRef.getDoc());
-				sTextDS = (STextualDS) getDocument().getDocumentGraph().getNode(textNodeName);
+				sTextDS = elementNamingTable.getText(xPtrRef.getDoc());
 				if (sTextDS == null) {
-					throw new PepperModuleException(this, "Cannot create token '" + markID + "' of file '" + paulaId + "', because the referred TextualDS object for text '" + textNodeName + "' is empty. Known STextualDS objects are: " + elementNamingTable + ". ");
+					throw new PepperModuleException(this, "Cannot create token '" + markID + "' of file '" + paulaId + "', because the referred TextualDS object for text '" + xPtrRef.getDoc() + "' is empty. Known STextualDS objects are: " + elementNamingTable + ". ");
 				}
 				try {
-					left = Integer.valueOf(xPtrRef.getLeft());
-					right = Integer.valueOf(xPtrRef.getRight());
+					left = xPtrRef.getStart();
+					right = xPtrRef.getLength();
 					// arrange left and right value
 					left = left - 1;
 					right = left + right;
@@ -427,16 +709,23 @@ public class PAULA2SaltMapper extends PepperMapperImpl {
 		}
 		// if no sTextDS exists-> error
 		if (sTextDS == null) {
-			throw new PepperModuleException(this, "No primary data node found for token element: " + paulaFile.getName() + KW_NAME_SEP + markID);
+			throw new PepperModuleException(this, "No primary data node found for token element: " + elementNamingTable.getName(file, markID));
 		}
+		createToken(file, markID, sTextDS, left, right);
+	}
+
+	/**
+	 * Creates a token overlapping the given range of the given text and adds
+	 * it to the naming table.
+	 */
+	private void createToken(int file, String markID, STextualDS sTextDS, int left, int right) {
 		// create SToken object
 		SToken sToken = SaltFactory.createSToken();
-		// sToken.setName(markID);
 		sToken.setName(markID);
 		getDocument().getDocumentGraph().addNode(sToken);
 
 		// create entry in naming table
-		elementNamingTable.put(uniqueName, sToken.getId());
+		elementNamingTable.put(file, markID, sToken);
 
 		// create relation
 		STextualRelation textRel = SaltFactory.createSTextualRelation();
@@ -448,83 +737,115 @@ public class PAULA2SaltMapper extends PepperMapperImpl {
 	}
 
 	/**
-	 * Returns a list of all paula-element-ids refered by the given
-	 * xpointer-expression.
+	 * Adds the time since the given timestamp to the time of parsing
+	 * xpointers.
+	 */
+	private void addXPointerTime(long timestamp) {
+		if (importMetrics != null) {
+			importMetrics.add(PAULAImportMetrics.XPOINTER_TIME, System.nanoTime() - timestamp);
+		}
+	}
+
+	/**
+	 * Interpreter for all xpointers of the current document, is reused since
+	 * it keeps the document names of the pointers
+	 **/
+	private final XPtrInterpreter xPtrInterpreter = new XPtrInterpreter();
+
+	/**
+	 * List of references of the last interpreted xpointer, is reused for all
+	 * xpointers of the current document
+	 **/
+	private final List<XPtrRef> xPtrRefs = new ArrayList<XPtrRef>();
+
+	/**
+	 * Cache of resolved xpointer expressions, null if not yet created or
+	 * disabled
+	 **/
+	private PAULAXPointerCache xPointerCache = null;
+
+	/**
+	 * Returns the cache of resolved xpointer expressions of the current
+	 * document, or null if caching is disabled via
+	 * {@link PAULAImporterProperties#PROP_XPOINTER_CACHE_SIZE}.
+	 */
+	public PAULAXPointerCache getXPointerCache() {
+		if ((xPointerCache == null) && (getProperties() instanceof PAULAImporterProperties) && (getProps().getXPointerCacheSize() > 0)) {
+			xPointerCache = new PAULAXPointerCache(getProps().getXPointerCacheSize());
+		}
+		return xPointerCache;
+	}
+
+	/**
+	 * Returns a list of the names of all paula-elements refered by the given
+	 * xpointer-expression. The list must not be changed, since it might be
+	 * taken from or stored in the {@link PAULAXPointerCache}.
 	 * 
 	 * @param xmlBase
 	 * @param href
 	 */
-	private Collection<String> getPAULAElementIds(String xmlBase, String href) {
-		Collection<String> refPaulaIds = null;
+	private Collection<PAULAElementName> getPAULAElementIds(String xmlBase, String href) {
+		PAULAXPointerCache cache = getXPointerCache();
+		if (cache != null) {
+			Collection<PAULAElementName> refPaulaIds = cache.get(xmlBase, href);
+			if (refPaulaIds != null) {
+				return (refPaulaIds);
+			}
+		}
+		Collection<PAULAElementName> refPaulaIds = null;
+		// a range is only cacheable, when its right border is known already,
+		// elements added later to the referred file cannot change it
+		boolean cacheable = true;
 		try {
-			refPaulaIds = new ArrayList<String>();
-			XPtrInterpreter xPtrInter = new XPtrInterpreter();
-			xPtrInter.setInterpreter(xmlBase, href);
-			List<XPtrRef> xPtrRefs = null;
-			try {
-				xPtrRefs = xPtrInter.getResult();
-			} catch (Exception e) {
-				// workaround if href are sequences of shorthand pointers like
-				// "#id1 id2 id3"
-				if ((href != null) && (href.contains(" "))) {
-					String hrefs[] = href.split(" ");
-					if (hrefs.length > 0) {
-						xPtrRefs = new ArrayList<XPtrRef>();
-						for (String idPtr : hrefs) {
-							xPtrInter = new XPtrInterpreter();
-							xPtrInter.setInterpreter(xmlBase, idPtr);
-							try {
-								xPtrRefs.addAll(xPtrInter.getResult());
-							} catch (Exception e1) {
-								throw new PepperModuleException(this, "Cannot parse xpointer in document '" + getResourceURI() + "' because of a nested exception.  ", e);
-							}
-						}
-					}
-				} else
-					throw e;
-			}// workaround if href are sequences of shorthand pointers like
-				// "#id1 id2 id3"
+			refPaulaIds = new ArrayList<PAULAElementName>();
+			long xPtrTimestamp = System.nanoTime();
+			xPtrInterpreter.setInterpreter(xmlBase, href);
+			// sequences of shorthand pointers separated by blanks like
+			// "#id1 #id2 #id3" are interpreted by the XPtrInterpreter as well
+			List<XPtrRef> xPtrRefs = this.xPtrRefs;
+			xPtrInterpreter.getResult(xPtrRefs);
+			addXPointerTime(xPtrTimestamp);
 			for (XPtrRef xPtrRef : xPtrRefs) {
 				// Fehler, wenn XPointer-Reference vom falschen Typ
 				if (xPtrRef.getType() != XPtrRef.POINTERTYPE.ELEMENT)
 					throw new PepperModuleException(this, "The XPointer references in current file are incorrect. There only have to be element pointers and the following is not one of them: " + href + ". Error in file: " + xmlBase);
 
+				int file = elementNamingTable.getFile(xPtrRef.getDoc());
 				// wenn XPointer-Bezugsknoten einen Bereich umfasst
 				if (xPtrRef.isRange()) {
-					// erzeuge den Namen des linken Bezugsknotens
-					String leftName = xPtrInter.getDoc() + KW_NAME_SEP + xPtrRef.getLeft();
-					// erzeuge den Namen des rechten Bezugsknotens
-					String rightName = xPtrInter.getDoc() + KW_NAME_SEP + xPtrRef.getRight();
 					// extract all paula elements which are refered by this
 					// pointer
-					{
-
-						boolean start = false;
-						for (String paulaElementId : elementOrderTable.get(xPtrInter.getDoc())) {
-							// if true, first element was found
-							if (paulaElementId.equalsIgnoreCase(leftName))
-								start = true;
-							// if start of range is reached
-							if (start) {
-								refPaulaIds.add(paulaElementId);
-							}
-							// if last element was found, break
-							if (paulaElementId.equalsIgnoreCase(rightName))
-								break;
+					PAULAElementOrder elementOrder = (file < elementOrderTable.size()) ? elementOrderTable.get(file) : null;
+					if (elementOrder == null)
+						throw new PepperModuleException(this, "Cannot resolve the range '" + href + "', because no element of file '" + xPtrRef.getDoc() + "' has been read.");
+					int left = elementOrder.indexOf(xPtrRef.getLeft());
+					int right = elementOrder.indexOf(xPtrRef.getRight());
+					if (left >= 0) {
+						// if the right border is not found, the range reaches
+						// to the last element, if it is found before the left
+						// one, the range is empty
+						if (right < 0) {
+							refPaulaIds.addAll(elementOrder.subList(left, elementOrder.size()));
+						} else if (right >= left) {
+							refPaulaIds.addAll(elementOrder.subList(left, right + 1));
 						}
 					}
+					cacheable = cacheable && (left >= 0) && (right >= left);
 				}
 				// wenn XPointer-Bezugsknoten einen einzelnen Knoten
 				// referenziert
 				else {
-					String paulaElementId = xPtrRef.getDoc() + KW_NAME_SEP + xPtrRef.getID();
-					refPaulaIds.add(paulaElementId);
+					refPaulaIds.add(elementNamingTable.getName(file, xPtrRef.getID()));
 				}
 			}
 		} catch (Exception e) {
 			e.printStackTrace();
 			throw new PepperModuleException(this, "Cannot compute paula-ids corresponding to xmlBase '" + xmlBase + "' and href '" + href + "'.", e);
 		}
+		if ((cache != null) && (cacheable)) {
+			refPaulaIds = Collections.unmodifiableCollection(refPaulaIds);
+			cache.put(xmlBase, href, refPaulaIds);
+		}
 
 		return (refPaulaIds);
 	}
@@ -539,38 +860,55 @@ public class PAULA2SaltMapper extends PepperMapperImpl {
 	 * @throws Exception
 	 */
 	public void paulaMARKConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String markID, String href, String markType) {
-		// create unique name for current node
-		String uniqueName = paulaFile.getName() + KW_NAME_SEP + markID;
-		{
-			if (elementNamingTable == null)
-				throw new PepperModuleException(this, "The map elementNamingTable was not initialized, this might be a bug.");
-			// create entry in element order table (file: elements)
-			if (elementOrderTable.get(paulaFile.getName()) == null) {
-				Collection<String> orderedElementSlot = new ArrayList<String>();
-				elementOrderTable.put(paulaFile.getName(), orderedElementSlot);
-			}
-			Collection<String> orderedElementSlot = elementOrderTable.get(paulaFile.getName());
-			orderedElementSlot.add(uniqueName);
+		PAULAMarkBatch batch = new PAULAMarkBatch(paulaFile, paulaId, paulaType, xmlBase);
+		batch.add(markID, href, markType);
+		paulaMARKBatch(batch);
+	}
+
+	/**
+	 * Recieves a batch of data from PAULAMarkReader and maps them to Salt. The
+	 * layer of all spans is determined once for the batch.
+	 */
+	@Override
+	public void paulaMARKBatch(PAULAMarkBatch batch) {
+		int file = getFile(batch.getPaulaFile());
+		PAULAElementOrder orderedElementSlot = getOrderedElementSlot(file);
+		for (int i = 0; i < batch.size(); i++) {
+			mapSpan(batch.getPaulaFile(), file, batch.getPaulaId(), batch.getXmlBase(), orderedElementSlot, batch.getMarkID(i), batch.getHref(i));
 		}
+	}
+
+	/**
+	 * Maps a single mark element to a span. The span and its relations are
+	 * attached to the layer of the given paula file.
+	 */
+	private void mapSpan(File paulaFile, int file, String paulaId, String xmlBase, PAULAElementOrder orderedElementSlot, String markID, String href) {
+		// create unique name for current node
+		PAULAElementName name = elementNamingTable.getName(file, markID);
+		orderedElementSlot.add(name);
 		// create list of all refered elements
-		Collection<String> refPAULAElementIds = this.getPAULAElementIds(xmlBase, href);
-
-		List<SNode> referedElements = new ArrayList<SNode>();
-		for (String refPAULAId : refPAULAElementIds) {
-			String paulaIdEntry = elementNamingTable.get(refPAULAId);
-			if (paulaIdEntry == null)
-				throw new PepperModuleException(this, "Cannot map the markable '" + markID + "' of file '" + paulaId + "', because the reference '" + refPAULAId + "'does not exist.");
-			SNode dstElement = getDocument().getDocumentGraph().getNode(paulaIdEntry);
-			if (dstElement == null) {
+		Collection<PAULAElementName> refPAULAElementIds = this.getPAULAElementIds(xmlBase, href);
+
+		List<SNode> referedElements = new ArrayList<SNode>(refPAULAElementIds.size());
+		// references to elements, which have not been mapped yet
+		List<PAULAElementName> deferredIds = null;
+		for (PAULAElementName refPAULAId : refPAULAElementIds) {
+			IdentifiableElement paulaIdEntry = elementNamingTable.get(refPAULAId);
+			if (paulaIdEntry == null) {
+				if (deferredIds == null) {
+					deferredIds = new ArrayList<PAULAElementName>();
+				}
+				deferredIds.add(refPAULAId);
+			} else if (!(paulaIdEntry instanceof SNode)) {
 				logger.warn("[PAULAImporter] Cannot create span, because destination does not exist in graph: " + refPAULAId + ". Error in file: " + this.getResourceURI().toFileString());
 			} else
-				referedElements.add(dstElement);
+				referedElements.add((SNode) paulaIdEntry);
 		}
 		// if list of refered elements is empty, don't put relation or
 		// referncing element in graph
-		if (referedElements.size() == 0) {
+		if ((referedElements.size() == 0) && (deferredIds == null)) {
 
-			logger.warn("[PAULAImporter] Cannot create span, because it has no destination elements: " + uniqueName + ". Error in file: " + this.getResourceURI().toFileString());
+			logger.warn("[PAULAImporter] Cannot create span, because it has no destination elements: " + name + ". Error in file: " + this.getResourceURI().toFileString());
 		} else {
 
 			// create span element
@@ -579,33 +917,54 @@ public class PAULA2SaltMapper extends PepperMapperImpl {
 			getDocument().getDocumentGraph().addNode(sSpan);
 
 			// adding sSpan to layer
-			String sLayerName = this.extractNSFromPAULAFile(paulaFile);
-			this.attachSNode2SLayer(sSpan, sLayerName);
+			this.attachSNode2SLayer(sSpan, paulaFile);
 
 			// create entry in naming table
-			elementNamingTable.put(uniqueName, sSpan.getId());
+			elementNamingTable.put(file, markID, sSpan);
 
 			// create relations for all referenced tokens
 			SSpanningRelation sSpanRel = null;
-			for (String refPAULAId : refPAULAElementIds) {
-				SNode dstNode = getDocument().getDocumentGraph().getNode(elementNamingTable.get(refPAULAId));
+			List<SSpanningRelation> sSpanRels = new ArrayList<SSpanningRelation>(referedElements.size());
+			for (PAULAElementName refPAULAId : refPAULAElementIds) {
+				IdentifiableElement dstNode = elementNamingTable.get(refPAULAId);
 				if (dstNode == null) {
-
-					logger.warn("[PAULAImporter] Cannot create span, because destination does not exist in graph: " + refPAULAId + ". Error in file: " + this.getResourceURI().toFileString());
-				} else {
-					if (!(dstNode instanceof SToken)) {
-						throw new PepperModuleException(this, "The referred Target Node '" + refPAULAId + "' in document '" + xmlBase + "'is not of type SToken.");
-					}
-					sSpanRel = SaltFactory.createSSpanningRelation();
-					sSpanRel.setSource(sSpan);
-					sSpanRel.setTarget((SToken) dstNode);
-					getDocument().getDocumentGraph().addRelation(sSpanRel);
-					// adding sSpanRel to layer
-					sLayerName = this.extractNSFromPAULAFile(paulaFile);
-					attachSRelation2SLayer(sSpanRel, sLayerName);
+					// has been deferred above
+					continue;
+				}
+				sSpanRel = createSpanningRelation(sSpan, dstNode, refPAULAId, xmlBase);
+				if (sSpanRel != null) {
+					sSpanRels.add(sSpanRel);
 				}
 			}
+			// adding all sSpanRels to layer
+			attachSRelations2SLayer(sSpanRels, paulaFile);
+			if (deferredIds != null) {
+				for (PAULAElementName refPAULAId : deferredIds) {
+					deferReference(new DeferredReference(REFERENCE.SPAN, paulaFile, sSpan, null, refPAULAId, xmlBase));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Creates a spanning relation from the given span to the given
+	 * destination, which has to be a token.
+	 * 
+	 * @return the created relation, or null if the destination is not a node
+	 */
+	private SSpanningRelation createSpanningRelation(SSpan sSpan, IdentifiableElement dstNode, PAULAElementName refPAULAId, String xmlBase) {
+		if (!(dstNode instanceof SNode)) {
+			logger.warn("[PAULAImporter] Cannot create span, because destination does not exist in graph: " + refPAULAId + ". Error in file: " + this.getResourceURI().toFileString());
+			return null;
 		}
+		if (!(dstNode instanceof SToken)) {
+			throw new PepperModuleException(this, "The referred Target Node '" + refPAULAId + "' in document '" + xmlBase + "'is not of type SToken.");
+		}
+		SSpanningRelation sSpanRel = SaltFactory.createSSpanningRelation();
+		sSpanRel.setSource(sSpan);
+		sSpanRel.setTarget((SToken) dstNode);
+		getDocument().getDocumentGraph().addRelation(sSpanRel);
+		return sSpanRel;
 	}
 
 	private static final String KW_FILE_VAL = "file:/";
@@ -620,124 +979,190 @@ public class PAULA2SaltMapper extends PepperMapperImpl {
 	 * @throws Exception
 	 */
 	public void paulaFEATConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String featID, String featHref, String featTar, String featVal, String featDesc, String featExp) {
+		PAULAFeatBatch batch = new PAULAFeatBatch(paulaFile, paulaId, paulaType, xmlBase);
+		batch.add(featID, featHref, featTar, featVal, featDesc, featExp);
+		paulaFEATBatch(batch);
+	}
+
+	/**
+	 * Receives a batch of data from PAULAFeatReader and maps them to Salt. Name
+	 * and namespace of the annotations are determined once for the batch.
+	 */
+	@Override
+	public void paulaFEATBatch(PAULAFeatBatch batch) {
+		File paulaFile = batch.getPaulaFile();
+		String paulaType = batch.getPaulaType();
 		if ((paulaType == null) || (paulaType.isEmpty())) {
-			logger.warn("[PAULAImporter] Cannot work with the given annotation of element: " + paulaId + ", because the type-value is empty. Error in file: " + paulaFile + ".");
-		} else {
-			if ((featVal == null) || (featVal.isEmpty())) {
-				logger.warn("[PAULAImporter] The feature value of an element in the following file is empty: " + paulaFile + ". Therefore this feature is ignored. ");
+			logger.warn("[PAULAImporter] Cannot work with the given annotation of element: " + batch.getPaulaId() + ", because the type-value is empty. Error in file: " + paulaFile + ".");
+			return;
+		}
+		// extract type name and namespace
+		String annoName = null;
+		String annoNamespace = null;
+		String[] parts = paulaType.split("[.]");
+		if ((parts != null) && (parts.length > 0)) {
+			annoName = parts[parts.length - 1];
+		}
+		if ((parts != null) && (parts.length > 1)) {// namespace exists
+			String namespace = "";
+			for (int i = 0; i < parts.length - 1; i++) {
+				if (i == 0)
+					namespace = parts[0];
+				else
+					namespace = namespace + "." + parts[i];
+				i++;
 			}
+			annoNamespace = namespace;
+		}// namespace exists
+		else if (getProps().getAnnoNamespaceFromFile()) {// compute namespace from file name
+			String fileNamespace = this.extractNSFromPAULAFile(paulaFile);
+			if (fileNamespace != null && !fileNamespace.isEmpty()) {
+				annoNamespace = fileNamespace;
+			}
+		}// compute namespace from file name
+		boolean isFileAnnotation = isFileAnnotation(annoName);
+		for (int i = 0; i < batch.size(); i++) {
+			mapFeat(paulaFile, batch.getXmlBase(), annoName, annoNamespace, isFileAnnotation, batch.getFeatHref(i), batch.getFeatVal(i));
+		}
+	}
+
+	/**
+	 * Returns true, if the values of annotations of the given name may be file
+	 * references, see {@link PAULAImporterProperties#PROP_FILE_ANNOTATIONS}.
+	 */
+	private boolean isFileAnnotation(String annoName) {
+		return (fileAnnotations == null) || ((annoName != null) && (fileAnnotations.contains(annoName.toLowerCase())));
+	}
+
+	/**
+	 * names of the annotations in lower case, whose values may be file
+	 * references, or null for all annotations. Is resolved once per document
+	 * in {@link #mapSDocument()}.
+	 **/
+	private Set<String> fileAnnotations = null;
+
+	/**
+	 * names of the files in each directory, which has been searched for a file
+	 * referenced by a feat value
+	 **/
+	private final Map<File, Set<String>> directoryListings = new HashMap<File, Set<String>>();
+
+	/**
+	 * Returns true, if the given file exists. Each directory is listed only
+	 * once per document, all further checks are answered from this listing.
+	 */
+	private boolean fileExists(File file) {
+		File directory = file.getParentFile();
+		if (directory == null) {
+			return file.exists();
+		}
+		Set<String> names = directoryListings.get(directory);
+		if (names == null) {
+			String[] list = directory.list();
+			names = (list == null) ? Collections.<String> emptySet() : new HashSet<String>(Arrays.asList(list));
+			directoryListings.put(directory, names);
+		}
+		return names.contains(file.getName());
+	}
+
+	/**
+	 * Maps a single feat element to an annotation with the given name and
+	 * namespace.
+	 * 
+	 * @param isFileAnnotation
+	 *            true, if the value shall be checked for being a file
+	 *            reference
+	 */
+	private void mapFeat(File paulaFile, String xmlBase, String annoName, String annoNamespace, boolean isFileAnnotation, String featHref, String featVal) {
+		if ((featVal == null) || (featVal.isEmpty())) {
+			logger.warn("[PAULAImporter] The feature value of an element in the following file is empty: " + paulaFile + ". Therefore this feature is ignored. ");
+		}
 
-			Collection<String> paulaElementIds = this.getPAULAElementIds(xmlBase, featHref);
-			SAnnotation sAnno = SaltFactory.createSAnnotation();
+		Collection<PAULAElementName> paulaElementIds = this.getPAULAElementIds(xmlBase, featHref);
+		SAnnotation sAnno = SaltFactory.createSAnnotation();
 
-			if ((paulaType != null) && (!paulaType.isEmpty())) {
-				// extract type name and namespace
-				String[] parts = paulaType.split("[.]");
-				if ((parts != null) && (parts.length > 0)) {
-					sAnno.setName(parts[parts.length - 1]);
+		sAnno.setName(annoName);
+		if (annoNamespace != null) {
+			sAnno.setNamespace(annoNamespace);
+		}
+
+		// a featVal can contain a simple textual value or even a file
+		// reference, to find out whether a featVal is a file or a
+		// simple value, we check whether the string contains a '.'
+		// followed by another character and whether the file exists
+		File file = null;
+		if ((featVal != null) && (isFileAnnotation)) {
+			char[] featChar = featVal.toCharArray();
+			boolean hasPeriod = false;
+			boolean lastChrIsNotPeriod = false;
+			for (char chr : featChar) {
+				if (chr == '.') {
+					hasPeriod = true;
 				}
-				if ((parts != null) && (parts.length > 1)) {// namespace exists
-					String namespace = "";
-					for (int i = 0; i < parts.length - 1; i++) {
-						if (i == 0)
-							namespace = parts[0];
-						else
-							namespace = namespace + "." + parts[i];
-						i++;
-					}
-					sAnno.setNamespace(namespace);
-				}// namespace exists
-				else if(getProps().getAnnoNamespaceFromFile()) {// compute namespace from file name
-					String annoNamespace = this.extractNSFromPAULAFile(paulaFile);
-					if (annoNamespace != null && !annoNamespace.isEmpty()) {
-						sAnno.setNamespace(annoNamespace);
-					}
-				}// compute namespace from file name
-
-				// a featVal can contain a simple textual value or even a file
-				// reference, to find out whether a featVal is a file or a
-				// simple value, we check whether the string contains a '.'
-				// followed by another character and whether the file exists
-				File file = null;
-				if (featVal != null) {
-					char[] featChar = featVal.toCharArray();
-					boolean hasPeriod = false;
-					boolean lastChrIsNotPeriod = false;
-					for (char chr : featChar) {
-						if (chr == '.') {
-							hasPeriod = true;
-						}
-						if (hasPeriod && chr != '.') {
-							lastChrIsNotPeriod = true;
-						}
-					}
-					if (hasPeriod && lastChrIsNotPeriod) {
-						URI location = URI.createFileURI(featVal).resolve(getResourceURI());
-						file = new File(location.toFileString());
-						if (!file.exists()) {
-							file = null;
-						}
-					}
+				if (hasPeriod && chr != '.') {
+					lastChrIsNotPeriod = true;
 				}
-				if (file != null) {
-					// if featVal is a file reference and of type audio,
-					// create an SAudio
-					if (PAULAXMLDictionary.KW_AUDIO.equalsIgnoreCase(sAnno.getName())) {
-						SMedialDS audio = SaltFactory.createSMedialDS();
-						audio.setMediaReference(URI.createFileURI(file.getAbsolutePath()));
-						getDocument().getDocumentGraph().addNode(audio);
-						for (String paulaElementId : paulaElementIds) {
-							if ((paulaElementId == null) || (paulaElementId.isEmpty())) {
-								throw new PepperModuleException(this, "No element with xml-id:" + paulaElementId + " was found.");
-							}
-							String sElementName = elementNamingTable.get(paulaElementId);
-							SNode refNode = getDocument().getDocumentGraph().getNode(sElementName);
-							if (refNode != null) {
-								List<SToken> tokens = getDocument().getDocumentGraph().getOverlappedTokens(refNode);
-								if (tokens != null) {
-									for (SToken tok : tokens) {
-										SMedialRelation rel = SaltFactory.createSMedialRelation();
-										rel.setTarget(audio);
-										rel.setSource(tok);
-										getDocument().getDocumentGraph().addRelation(rel);
-									}
-								}
-							}
-						}
-						sAnno = null;
-					} else {
-						sAnno.setValue(URI.createFileURI(file.getAbsolutePath()));
-					}
-				} else {
-					sAnno.setValue(featVal);
+			}
+			if (hasPeriod && lastChrIsNotPeriod) {
+				URI location = URI.createFileURI(featVal).resolve(getResourceURI());
+				file = new File(location.toFileString());
+				if (!fileExists(file)) {
+					file = null;
 				}
 			}
-			if (sAnno != null) {
-				// sanno is null, if annotation had an audio file as value
-				for (String paulaElementId : paulaElementIds) {
-					if ((paulaElementId == null) || (paulaElementId.isEmpty())) {
+		}
+		if (file != null) {
+			// if featVal is a file reference and of type audio,
+			// create an SAudio
+			if (PAULAXMLDictionary.KW_AUDIO.equalsIgnoreCase(sAnno.getName())) {
+				SMedialDS audio = SaltFactory.createSMedialDS();
+				audio.setMediaReference(URI.createFileURI(file.getAbsolutePath()));
+				getDocument().getDocumentGraph().addNode(audio);
+				for (PAULAElementName paulaElementId : paulaElementIds) {
+					if (paulaElementId == null) {
 						throw new PepperModuleException(this, "No element with xml-id:" + paulaElementId + " was found.");
 					}
-					String sElementName = elementNamingTable.get(paulaElementId);
-					if (sElementName == null) {
-						logger.warn("[PAULAImporter] An element was reffered by an annotation, which does not exist in paula file. The missing element is '" + paulaElementId + "' and it was refferd in file'" + paulaFile.getAbsolutePath() + "'.");
-					} else {
-						SNode refElement = getDocument().getDocumentGraph().getNode(sElementName);
-						SRelation refRelation = getDocument().getDocumentGraph().getRelation(sElementName);
-						if (refElement != null) {
-							try {
-								refElement.addAnnotation(sAnno);
-							} catch (Exception e) {
-								logger.warn("[PAULAImporter] Exception in paula file: " + this.getResourceURI().toFileString() + " at element: " + featHref + ". Original message is: " + e.getMessage());
-							}
-						} else if (refRelation != null) {
-							refRelation.addAnnotation(sAnno);
-						} else {
-							throw new PepperModuleException(this, "No element with xml-id:" + paulaElementId + " was found.");
-						}
-					}
+					// the tokens are linked, when the graph is complete
+					audioSources.add(audio);
+					audioTargets.add(paulaElementId);
 				}
+				sAnno = null;
+			} else {
+				sAnno.setValue(URI.createFileURI(file.getAbsolutePath()));
 			}
+		} else {
+			sAnno.setValue(featVal);
+		}
+		if (sAnno != null) {
+			// sanno is null, if annotation had an audio file as value
+			for (PAULAElementName paulaElementId : paulaElementIds) {
+				if (paulaElementId == null) {
+					throw new PepperModuleException(this, "No element with xml-id:" + paulaElementId + " was found.");
+				}
+				IdentifiableElement sElement = elementNamingTable.get(paulaElementId);
+				if (sElement == null) {
+					deferReference(new DeferredReference(REFERENCE.FEAT, paulaFile, sAnno, null, paulaElementId, featHref));
+				} else {
+					annotate(sElement, sAnno, paulaElementId, featHref);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds the given annotation to the given node or relation.
+	 */
+	private void annotate(IdentifiableElement sElement, SAnnotation sAnno, PAULAElementName paulaElementId, String featHref) {
+		if (sElement instanceof SNode) {
+			try {
+				((SNode) sElement).addAnnotation(sAnno);
+			} catch (Exception e) {
+				logger.warn("[PAULAImporter] Exception in paula file: " + this.getResourceURI().toFileString() + " at element: " + featHref + ". Original message is: " + e.getMessage());
+			}
+		} else if (sElement instanceof SRelation) {
+			((SRelation<?, ?>) sElement).addAnnotation(sAnno);
+		} else {
+			throw new PepperModuleException(this, "No element with xml-id:" + paulaElementId + " was found.");
 		}
 	}
 
@@ -758,8 +1183,8 @@ public class PAULA2SaltMapper extends PepperMapperImpl {
 			if (srcHref.equalsIgnoreCase(dstHref))
 				logger.warn("[PAULAImporter] Cannot create the pointing relation '" + srcHref + "' to '" + dstHref + "' in document '" + getDocument().getId() + "', because it is a cycle. The cycle was found in file (" + paulaFile.getName() + ").");
 			else {
-				Collection<String> paulaSrcElementIds = this.getPAULAElementIds(xmlBase, srcHref);
-				Collection<String> paulaDstElementIds = this.getPAULAElementIds(xmlBase, dstHref);
+				Collection<PAULAElementName> paulaSrcElementIds = this.getPAULAElementIds(xmlBase, srcHref);
+				Collection<PAULAElementName> paulaDstElementIds = this.getPAULAElementIds(xmlBase, dstHref);
 				if ((paulaSrcElementIds == null) || (paulaSrcElementIds.size() == 0))
 					throw new PepperModuleException(this, "The source of pointing relation in file: " + paulaFile.getName() + " is not set.");
 				if ((paulaDstElementIds == null) || (paulaDstElementIds.size() == 0))
@@ -768,43 +1193,43 @@ public class PAULA2SaltMapper extends PepperMapperImpl {
 					throw new PepperModuleException(this, "The map elementNamingTable was not initialized, this might be a bug.");
 				// if there are more than one sources or destinations create
 				// cross product
-				for (String paulaSrcElementId : paulaSrcElementIds) {
-					for (String paulaDstElementId : paulaDstElementIds) {
-						String saltSrcName = elementNamingTable.get(paulaSrcElementId);
-						String saltDstName = elementNamingTable.get(paulaDstElementId);
-						if ((saltSrcName == null) || (saltSrcName.isEmpty())) {
-							logger.warn("[PAULAImporter] The requested source of relation (xml-id: " + paulaSrcElementId + ") of file '" + paulaFile.getName() + "' does not exist.");
-							return;
-						}
+				for (PAULAElementName paulaSrcElementId : paulaSrcElementIds) {
+					for (PAULAElementName paulaDstElementId : paulaDstElementIds) {
+						IdentifiableElement saltSrc = elementNamingTable.get(paulaSrcElementId);
+						IdentifiableElement saltDst = elementNamingTable.get(paulaDstElementId);
 						SPointingRelation pRel = SaltFactory.createSPointingRelation();
 						// SDominanceRelation pRel=
 						// SaltFactory.createSDominanceRelation();
-						if ((saltDstName == null) || (saltDstName.isEmpty())) {
-							logger.warn("[PAULAImporter] The requested destination of relation (xml-id: " + paulaDstElementId + ") of file '" + paulaFile.getName() + "' does not exist.");
-							return;
-						}
 						pRel.setName(relId);
 						pRel.setType(paulaType);
-						pRel.setSource((SStructuredNode) getDocument().getDocumentGraph().getNode(saltSrcName));
-						pRel.setTarget((SStructuredNode) getDocument().getDocumentGraph().getNode(saltDstName));
-						getDocument().getDocumentGraph().addRelation(pRel);
-						// adding sSpanRel to layer
-						String sLayerName = this.extractNSFromPAULAFile(paulaFile);
-						attachSRelation2SLayer(pRel, sLayerName);
-						// adding sSpanRel to layer
-
-						// write SPointingRelation in elementNamingTable, to map
-						// it with its paula id
-						String uniqueName = paulaFile.getName() + KW_NAME_SEP + relId;
-						elementNamingTable.put(uniqueName, pRel.getIdentifier().getId());
-						// write SPointingRelation in elementNamingTable, to map
-						// it with its paula id
+						if ((saltSrc == null) || (saltDst == null)) {
+							// source or destination has not been mapped yet
+							deferReference(new DeferredReference(REFERENCE.REL, paulaFile, pRel, paulaSrcElementId, paulaDstElementId, null));
+						} else {
+							addPointingRelation(paulaFile, pRel, saltSrc, saltDst);
+						}
 					}
 				}
 			}
 		}
 	}
 
+	/**
+	 * Adds the given pointing relation between the given source and
+	 * destination to the graph.
+	 */
+	private void addPointingRelation(File paulaFile, SPointingRelation pRel, IdentifiableElement saltSrc, IdentifiableElement saltDst) {
+		pRel.setSource((SStructuredNode) saltSrc);
+		pRel.setTarget((SStructuredNode) saltDst);
+		getDocument().getDocumentGraph().addRelation(pRel);
+		// adding pRel to layer
+		attachSRelations2SLayer(Collections.singletonList(pRel), paulaFile);
+
+		// write SPointingRelation in elementNamingTable, to map
+		// it with its paula id
+		elementNamingTable.put(getFile(paulaFile), pRel.getName(), pRel);
+	}
+
 	/**
 	 * Recieves data from PAULAFeatReader and maps them to Salt. To call in case
 	 * of feats for corpus or document.
@@ -846,7 +1271,7 @@ public class PAULA2SaltMapper extends PepperMapperImpl {
 	 * 
 	 */
 	private static class DominanceRelationContainer {
-		public String paulaId = null;
+		public String relId = null;
 		public SDominanceRelation relation = null;
 		public String xmlBase = null;
 		public String href = null;
@@ -864,9 +1289,7 @@ public class PAULA2SaltMapper extends PepperMapperImpl {
 	 * @throws Exception
 	 */
 	public void paulaSTRUCTConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String structID, String relID, String relHref, String relType) {
-		// create unique name for element
-		String uniqueNameStruct = paulaFile.getName() + KW_NAME_SEP + structID;
-		String uniqueNameRel = paulaFile.getName() + KW_NAME_SEP + relID;
+		int file = getFile(paulaFile);
 		// compute xml-base if given is empty
 		if ((xmlBase == null) || (xmlBase.isEmpty())) {
 			// if xml-base is empty, than set xml-base to current processed
@@ -875,22 +1298,20 @@ public class PAULA2SaltMapper extends PepperMapperImpl {
 		}
 
 		// create entry in element order table (file: elements)
-		if (elementOrderTable.get(paulaFile.getName()) == null) {
-			Collection<String> orderedElementSlot = new ArrayList<String>();
-			elementOrderTable.put(paulaFile.getName(), orderedElementSlot);
-		}
+		PAULAElementOrder orderedElementSlot = getOrderedElementSlot(file);
 		// check if struct is already inserted
-		Collection<String> orderedElementSlot = elementOrderTable.get(paulaFile.getName());
-		if (!orderedElementSlot.contains(uniqueNameStruct)) {
-			orderedElementSlot.add(uniqueNameStruct);
+		if (!orderedElementSlot.contains(structID)) {
+			orderedElementSlot.add(elementNamingTable.getName(file, structID));
 		}
-		if (!orderedElementSlot.contains(uniqueNameRel)) {
-			orderedElementSlot.add(uniqueNameRel);
+		if (!orderedElementSlot.contains(relID)) {
+			orderedElementSlot.add(elementNamingTable.getName(file, relID));
 		}
 
-		if (elementNamingTable.get(uniqueNameStruct) == null) {
+		IdentifiableElement structEntry = elementNamingTable.get(file, structID);
+		SStructure sStruct = (structEntry instanceof SStructure) ? (SStructure) structEntry : null;
+		if (structEntry == null) {
 			// create struct element
-			SStructure sStruct = SaltFactory.createSStructure();
+			sStruct = SaltFactory.createSStructure();
 			sStruct.setName(structID);
 
 			// sStruct.setId(structID); //not possible, because these id's are
@@ -898,18 +1319,16 @@ public class PAULA2SaltMapper extends PepperMapperImpl {
 			getDocument().getDocumentGraph().addNode(sStruct);
 
 			// adding sStruct to layer
-			String sLayerName = this.extractNSFromPAULAFile(paulaFile);
-			this.attachSNode2SLayer(sStruct, sLayerName);
+			this.attachSNode2SLayer(sStruct, paulaFile);
 
 			// create entry in naming table for struct
-			elementNamingTable.put(uniqueNameStruct, sStruct.getId());
+			elementNamingTable.put(file, structID, sStruct);
 		}
 
 		// pre creating relation
 		SDominanceRelation domRel = SaltFactory.createSDominanceRelation();
 		domRel.setName(relID);
-		String saltDstName = elementNamingTable.get(uniqueNameStruct);
-		domRel.setSource((SStructure) getDocument().getDocumentGraph().getNode(saltDstName));
+		domRel.setSource(sStruct);
 		if ((relType != null) && (!relType.isEmpty())) {
 			domRel.setType(relType);
 		}
@@ -927,7 +1346,7 @@ public class PAULA2SaltMapper extends PepperMapperImpl {
 
 		// creating dominance relation container
 		DominanceRelationContainer domCon = new DominanceRelationContainer();
-		domCon.paulaId = uniqueNameRel;
+		domCon.relId = relID;
 		domCon.relation = domRel;
 		domCon.xmlBase = xmlBase;
 		domCon.href = relHref;
@@ -943,35 +1362,228 @@ public class PAULA2SaltMapper extends PepperMapperImpl {
 		if (paulaReader instanceof PAULAStructReader) {
 			// if PAULAReader is PAULAStructReader storing dominance relations
 			// in graph
-			if (dominanceRelationContainers != null) {
-				for (DominanceRelationContainer domCon : dominanceRelationContainers.get(paulaFile)) {
-					Collection<String> refPAULAElementIds = this.getPAULAElementIds(domCon.xmlBase, domCon.href);
-					for (String refPAULAId : refPAULAElementIds) {
-						String sNodeName = elementNamingTable.get(refPAULAId);
-						if (sNodeName == null) {
-							throw new PepperModuleException(this, "An element is referred, which was not already read. The reffered element is '" + refPAULAId + "' and it was reffered in file '" + paulaFile + "'.");
-						}
-						SNode dstNode = getDocument().getDocumentGraph().getNode(sNodeName);
+			// a file read while this one is read keeps its own slot
+			List<DominanceRelationContainer> domRelSlot = (dominanceRelationContainers == null) ? null : dominanceRelationContainers.remove(paulaFile);
+			if (domRelSlot != null) {
+				List<SDominanceRelation> domRels = new ArrayList<SDominanceRelation>(domRelSlot.size());
+				for (DominanceRelationContainer domCon : domRelSlot) {
+					Collection<PAULAElementName> refPAULAElementIds = this.getPAULAElementIds(domCon.xmlBase, domCon.href);
+					for (PAULAElementName refPAULAId : refPAULAElementIds) {
+						IdentifiableElement dstNode = elementNamingTable.get(refPAULAId);
 						if (dstNode == null) {
-							throw new PepperModuleException(this, "No paula element with name: " + refPAULAId + " was found.");
-						}
-						domCon.relation.setTarget((SStructuredNode) dstNode);
-						getDocument().getDocumentGraph().addRelation(domCon.relation);
-						// adding sSpanRel to layer
-						String sLayerName = this.extractNSFromPAULAFile(paulaFile);
-						attachSRelation2SLayer(domCon.relation, sLayerName);
-						// adding sSpanRel to layer
-						// create entry in naming table for struct
-						if (elementNamingTable.get(domCon.paulaId) == null) {
-							elementNamingTable.put(domCon.paulaId, domCon.relation.getId());
+							// element has not been mapped yet
+							deferReference(new DeferredReference(REFERENCE.STRUCT, paulaFile, domCon.relation, null, refPAULAId, null));
+							continue;
 						}
+						addDominanceRelation(paulaFile, domCon.relation, dstNode, refPAULAId);
+						domRels.add(domCon.relation);
 					}
 				}
-				dominanceRelationContainers = null;
+				// adding all domRels of the file to layer
+				attachSRelations2SLayer(domRels, paulaFile);
 			}
 		}// if PAULAReader is PAULAStructReader
 	}
 	
+	/**
+	 * Adds the given dominance relation with the given destination to the
+	 * graph. The relation is not attached to a layer.
+	 */
+	private void addDominanceRelation(File paulaFile, SDominanceRelation relation, IdentifiableElement dstNode, PAULAElementName refPAULAId) {
+		if (!(dstNode instanceof SNode)) {
+			throw new PepperModuleException(this, "No paula element with name: " + refPAULAId + " was found.");
+		}
+		relation.setTarget((SStructuredNode) dstNode);
+		getDocument().getDocumentGraph().addRelation(relation);
+		// create entry in naming table for struct
+		int file = getFile(paulaFile);
+		if (elementNamingTable.get(file, relation.getName()) == null) {
+			elementNamingTable.put(file, relation.getName(), relation);
+		}
+	}
+
+	// ======================================= start: deferred references
+	/**
+	 * The kinds of references, which can be deferred.
+	 */
+	private enum REFERENCE {
+		/** from a span (source) to a token **/
+		SPAN,
+		/** from an annotation (source) to the annotated element **/
+		FEAT,
+		/** between source and target of a pointing relation (source) **/
+		REL,
+		/** from a dominance relation (source) to its target **/
+		STRUCT
+	}
+
+	/**
+	 * A reference to an element, which had not been mapped when the
+	 * referring element was mapped. Is resolved by
+	 * {@link PAULA2SaltMapper#resolveDeferredReferences()}.
+	 */
+	private static class DeferredReference {
+		private final REFERENCE kind;
+		/** the paula file of the referring element **/
+		private final File paulaFile;
+		/** the node, relation or annotation, which refers to the target **/
+		private final Object source;
+		/** name of the source of a pointing relation, only for REL **/
+		private final PAULAElementName sourceKey;
+		/** name of the referred element **/
+		private final PAULAElementName targetKey;
+		/** xml-base of a span or href of a feat, used in messages **/
+		private final String context;
+
+		private DeferredReference(REFERENCE kind, File paulaFile, Object source, PAULAElementName sourceKey, PAULAElementName targetKey, String context) {
+			this.kind = kind;
+			this.paulaFile = paulaFile;
+			this.source = source;
+			this.sourceKey = sourceKey;
+			this.targetKey = targetKey;
+			this.context = context;
+		}
+	}
+
+	/** references waiting for their targets in order of their appearance **/
+	private List<DeferredReference> deferredReferences = new ArrayList<DeferredReference>();
+
+	/**
+	 * Records the given reference, to be resolved after all paula files of the
+	 * document have been mapped.
+	 */
+	private void deferReference(DeferredReference reference) {
+		deferredReferences.add(reference);
+	}
+
+	/**
+	 * Resolves all deferred references in the order they have been deferred.
+	 * Since a resolved reference can make another one resolvable (e.g. an
+	 * annotation of a deferred pointing relation), the remaining references
+	 * are resolved again as long as this succeeds for at least one of them.
+	 * References which still cannot be resolved are reported in the same way
+	 * as if they had not been deferred.
+	 */
+	public void resolveDeferredReferences() {
+		if (importMetrics != null) {
+			importMetrics.add(PAULAImportMetrics.DEFERRED_REFERENCES, deferredReferences.size());
+		}
+		boolean resolvedAny = true;
+		while ((resolvedAny) && (!deferredReferences.isEmpty())) {
+			List<DeferredReference> unresolved = new ArrayList<DeferredReference>();
+			for (DeferredReference reference : deferredReferences) {
+				if (!resolve(reference)) {
+					unresolved.add(reference);
+				}
+			}
+			resolvedAny = unresolved.size() < deferredReferences.size();
+			deferredReferences = unresolved;
+		}
+		List<DeferredReference> unresolved = deferredReferences;
+		deferredReferences = new ArrayList<DeferredReference>();
+		for (DeferredReference reference : unresolved) {
+			reportUnresolved(reference);
+		}
+	}
+
+	/**
+	 * Resolves the given reference.
+	 * 
+	 * @return false, if the referred element still has not been mapped
+	 */
+	private boolean resolve(DeferredReference reference) {
+		IdentifiableElement target = elementNamingTable.get(reference.targetKey);
+		if (target == null) {
+			return false;
+		}
+		switch (reference.kind) {
+		case SPAN:
+			SSpanningRelation sSpanRel = createSpanningRelation((SSpan) reference.source, target, reference.targetKey, reference.context);
+			if (sSpanRel != null) {
+				attachSRelations2SLayer(Collections.singletonList(sSpanRel), reference.paulaFile);
+			}
+			break;
+		case FEAT:
+			annotate(target, (SAnnotation) reference.source, reference.targetKey, reference.context);
+			break;
+		case REL:
+			IdentifiableElement saltSrc = elementNamingTable.get(reference.sourceKey);
+			if (saltSrc == null) {
+				return false;
+			}
+			addPointingRelation(reference.paulaFile, (SPointingRelation) reference.source, saltSrc, target);
+			break;
+		case STRUCT:
+			SDominanceRelation relation = (SDominanceRelation) reference.source;
+			addDominanceRelation(reference.paulaFile, relation, target, reference.targetKey);
+			attachSRelations2SLayer(Collections.singletonList(relation), reference.paulaFile);
+			break;
+		}
+		return true;
+	}
+
+	/**
+	 * Reports a reference, whose target does not exist.
+	 */
+	private void reportUnresolved(DeferredReference reference) {
+		String fileName = reference.paulaFile.getName();
+		switch (reference.kind) {
+		case SPAN:
+			throw new PepperModuleException(this, "Cannot map the markable '" + ((SSpan) reference.source).getName() + "' of file '" + fileName + "', because the reference '" + reference.targetKey + "'does not exist.");
+		case FEAT:
+			logger.warn("[PAULAImporter] An element was reffered by an annotation, which does not exist in paula file. The missing element is '" + reference.targetKey + "' and it was refferd in file'" + reference.paulaFile.getAbsolutePath() + "'.");
+			break;
+		case REL:
+			if (elementNamingTable.get(reference.sourceKey) == null) {
+				logger.warn("[PAULAImporter] The requested source of relation (xml-id: " + reference.sourceKey + ") of file '" + fileName + "' does not exist.");
+			} else {
+				logger.warn("[PAULAImporter] The requested destination of relation (xml-id: " + reference.targetKey + ") of file '" + fileName + "' does not exist.");
+			}
+			break;
+		case STRUCT:
+			throw new PepperModuleException(this, "An element is referred, which was not already read. The reffered element is '" + reference.targetKey + "' and it was reffered in file '" + reference.paulaFile + "'.");
+		}
+	}
+	// ======================================= end: deferred references
+
+	// ======================================= start: audio
+	/** audio data sources in order of their appearance **/
+	private final List<SMedialDS> audioSources = new ArrayList<SMedialDS>();
+	/**
+	 * names of the elements, whose tokens are linked with the audio data
+	 * source of the same position in {@link #audioSources}
+	 **/
+	private final List<PAULAElementName> audioTargets = new ArrayList<PAULAElementName>();
+
+	/**
+	 * Links all tokens overlapped by the elements annotated with an audio file
+	 * to the audio data source created for the file. Is called after all paula
+	 * files of the document have been mapped, so the tokens of all elements
+	 * are computed once via a {@link PAULATokenCoverage}.
+	 */
+	public void linkAudio() {
+		if (audioSources.isEmpty()) {
+			return;
+		}
+		SDocumentGraph graph = getDocument().getDocumentGraph();
+		PAULATokenCoverage coverage = new PAULATokenCoverage();
+		for (int i = 0; i < audioSources.size(); i++) {
+			IdentifiableElement refNode = elementNamingTable.get(audioTargets.get(i));
+			if (refNode instanceof SNode) {
+				SMedialDS audio = audioSources.get(i);
+				for (SToken tok : coverage.getOverlappedTokens((SNode) refNode)) {
+					SMedialRelation rel = SaltFactory.createSMedialRelation();
+					rel.setTarget(audio);
+					rel.setSource(tok);
+					graph.addRelation(rel);
+				}
+			}
+		}
+		audioSources.clear();
+		audioTargets.clear();
+	}
+	// ======================================= end: audio
+
 	public PAULAImporterProperties getProps() {
   	return (PAULAImporterProperties) getProperties();
   }
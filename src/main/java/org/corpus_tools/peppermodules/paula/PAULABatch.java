@@ -0,0 +1,61 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula;
+
+import java.io.File;
+
+/**
+ * A batch of elements of one paula file, which share the same context: the
+ * file, its paula-id, its paula-type and its xml-base. Passing a batch to a
+ * {@link PAULABatchConnector} allows to compute everything depending on the
+ * context only once for all elements of the batch.
+ */
+public abstract class PAULABatch {
+	private final File paulaFile;
+	private final String paulaId;
+	private final String paulaType;
+	private final String xmlBase;
+
+	protected PAULABatch(File paulaFile, String paulaId, String paulaType, String xmlBase) {
+		this.paulaFile = paulaFile;
+		this.paulaId = paulaId;
+		this.paulaType = paulaType;
+		this.xmlBase = xmlBase;
+	}
+
+	public File getPaulaFile() {
+		return paulaFile;
+	}
+
+	public String getPaulaId() {
+		return paulaId;
+	}
+
+	public String getPaulaType() {
+		return paulaType;
+	}
+
+	public String getXmlBase() {
+		return xmlBase;
+	}
+
+	/**
+	 * @return the number of elements in this batch
+	 */
+	public abstract int size();
+}
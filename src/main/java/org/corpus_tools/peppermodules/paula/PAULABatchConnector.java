@@ -0,0 +1,48 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula;
+
+/**
+ * A {@link PAULAConnector}, which is able to receive consecutive elements of
+ * the same kind and context at once. {@link PAULAConnectorRecorder} passes
+ * its recorded calls as batches to connectors implementing this interface.
+ * A batch of elements must be mapped exactly as if the elements had been
+ * passed one after another to the corresponding connector method.
+ */
+public interface PAULABatchConnector extends PAULAConnector {
+	/**
+	 * Receives the mark elements of a file of paula-type tok, see
+	 * {@link #paulaMARK_TOKConnector(java.io.File, String, String, String, String, String, String)}
+	 * .
+	 */
+	public void paulaMARK_TOKBatch(PAULAMarkBatch batch);
+
+	/**
+	 * Receives mark elements, see
+	 * {@link #paulaMARKConnector(java.io.File, String, String, String, String, String, String)}
+	 * .
+	 */
+	public void paulaMARKBatch(PAULAMarkBatch batch);
+
+	/**
+	 * Receives feat elements annotating elements of the document, see
+	 * {@link #paulaFEATConnector(java.io.File, String, String, String, String, String, String, String, String, String)}
+	 * .
+	 */
+	public void paulaFEATBatch(PAULAFeatBatch batch);
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula;
+
+import java.io.File;
+
+import org.corpus_tools.peppermodules.paula.readers.PAULASpecificReader;
+
+/**
+ * The callback interface between the PAULA readers and the mapping to Salt.
+ * Each method corresponds to one kind of PAULA element and is called by the
+ * readers once per read element. The main implementation is
+ * {@link PAULA2SaltMapper}, {@link PAULAConnectorRecorder} records the calls
+ * to replay them later.
+ */
+public interface PAULAConnector {
+	/**
+	 * Receives the primary data of a text file.
+	 */
+	public void paulaTEXTConnector(File paulaFile, String paulaId, String text);
+
+	/**
+	 * Receives a mark element of a file of paula-type tok.
+	 */
+	public void paulaMARK_TOKConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String markID, String href, String markType);
+
+	/**
+	 * Receives a mark element.
+	 */
+	public void paulaMARKConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String markID, String href, String markType);
+
+	/**
+	 * Receives a feat element annotating an element of the document.
+	 */
+	public void paulaFEATConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String featID, String featHref, String featTar, String featVal, String featDesc, String featExp);
+
+	/**
+	 * Receives a rel element, or a feat element used as a rel.
+	 */
+	public void paulaRELConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String relId, String srcHref, String dstHref);
+
+	/**
+	 * Receives a feat element annotating a corpus or document.
+	 */
+	public void paulaFEAT_METAConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String featID, String featHref, String featTar, String featVal, String featDesc, String featExp);
+
+	/**
+	 * Receives a rel element of a struct element.
+	 */
+	public void paulaSTRUCTConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String structID, String relID, String relHref, String relType);
+
+	/**
+	 * Will be called at the end of processing a paula file.
+	 */
+	public void endDocument(PAULASpecificReader paulaReader, File paulaFile);
+}
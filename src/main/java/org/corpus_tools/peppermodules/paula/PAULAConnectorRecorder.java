@@ -0,0 +1,309 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.corpus_tools.peppermodules.paula.readers.PAULASpecificReader;
+import org.corpus_tools.peppermodules.paula.readers.PAULAStructReader;
+
+/**
+ * Records all connector calls of one paula file in the order they have been
+ * made, without touching the Salt model. This allows to read a paula file
+ * independently from all other files (for instance in another thread) and to
+ * apply the result later via {@link #replay(PAULAConnector)}.
+ */
+public class PAULAConnectorRecorder implements PAULAConnector {
+	/**
+	 * All kinds of connector calls, which can be recorded.
+	 */
+	public enum CONNECTOR {
+		TEXT, MARK_TOK, MARK, FEAT, REL, FEAT_META, STRUCT, END_DOCUMENT
+	}
+
+	/**
+	 * A single recorded connector call.
+	 */
+	private static class ConnectorCall {
+		private final CONNECTOR connector;
+		private final String[] args;
+		private final PAULASpecificReader paulaReader;
+
+		private ConnectorCall(CONNECTOR connector, PAULASpecificReader paulaReader, String... args) {
+			this.connector = connector;
+			this.paulaReader = paulaReader;
+			this.args = args;
+		}
+	}
+
+	/** the paula file whose calls are recorded **/
+	private final File paulaFile;
+
+	/** recorded calls in order of their appearance **/
+	private final List<ConnectorCall> calls = new ArrayList<ConnectorCall>();
+
+	/** number of recorded calls per kind, indexed by {@link CONNECTOR#ordinal()} **/
+	private final int[] sizes = new int[CONNECTOR.values().length];
+
+	public PAULAConnectorRecorder(File paulaFile) {
+		this.paulaFile = paulaFile;
+	}
+
+	/**
+	 * @return the paula file whose calls are recorded
+	 */
+	public File getPaulaFile() {
+		return paulaFile;
+	}
+
+	/**
+	 * @return the number of recorded calls
+	 */
+	public int size() {
+		return calls.size();
+	}
+
+	/**
+	 * @return the number of recorded calls of the given kind
+	 */
+	public int size(CONNECTOR connector) {
+		return sizes[connector.ordinal()];
+	}
+
+	/**
+	 * Appends the given call and counts it for its kind.
+	 */
+	private void add(ConnectorCall call) {
+		calls.add(call);
+		sizes[call.connector.ordinal()]++;
+	}
+
+	@Override
+	public void paulaTEXTConnector(File paulaFile, String paulaId, String text) {
+		add(new ConnectorCall(CONNECTOR.TEXT, null, paulaId, text));
+	}
+
+	@Override
+	public void paulaMARK_TOKConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String markID, String href, String markType) {
+		add(new ConnectorCall(CONNECTOR.MARK_TOK, null, paulaId, paulaType, xmlBase, markID, href, markType));
+	}
+
+	@Override
+	public void paulaMARKConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String markID, String href, String markType) {
+		add(new ConnectorCall(CONNECTOR.MARK, null, paulaId, paulaType, xmlBase, markID, href, markType));
+	}
+
+	@Override
+	public void paulaFEATConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String featID, String featHref, String featTar, String featVal, String featDesc, String featExp) {
+		add(new ConnectorCall(CONNECTOR.FEAT, null, paulaId, paulaType, xmlBase, featID, featHref, featTar, featVal, featDesc, featExp));
+	}
+
+	@Override
+	public void paulaRELConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String relId, String srcHref, String dstHref) {
+		add(new ConnectorCall(CONNECTOR.REL, null, paulaId, paulaType, xmlBase, relId, srcHref, dstHref));
+	}
+
+	@Override
+	public void paulaFEAT_METAConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String featID, String featHref, String featTar, String featVal, String featDesc, String featExp) {
+		add(new ConnectorCall(CONNECTOR.FEAT_META, null, paulaId, paulaType, xmlBase, featID, featHref, featTar, featVal, featDesc, featExp));
+	}
+
+	@Override
+	public void paulaSTRUCTConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String structID, String relID, String relHref, String relType) {
+		add(new ConnectorCall(CONNECTOR.STRUCT, null, paulaId, paulaType, xmlBase, structID, relID, relHref, relType));
+	}
+
+	@Override
+	public void endDocument(PAULASpecificReader paulaReader, File paulaFile) {
+		add(new ConnectorCall(CONNECTOR.END_DOCUMENT, paulaReader));
+	}
+
+	/**
+	 * Passes all recorded calls in recorded order to the given connector. If
+	 * the connector is a {@link PAULABatchConnector}, consecutive mark and
+	 * feat calls sharing the same context are passed as one batch.
+	 *
+	 * @param connector
+	 *            the connector to receive the calls, usually the
+	 *            {@link PAULA2SaltMapper}
+	 */
+	public void replay(PAULAConnector connector) {
+		int i = 0;
+		while (i < calls.size()) {
+			ConnectorCall call = calls.get(i);
+			if ((connector instanceof PAULABatchConnector) && ((CONNECTOR.MARK_TOK == call.connector) || (CONNECTOR.MARK == call.connector) || (CONNECTOR.FEAT == call.connector))) {
+				i = replayBatch((PAULABatchConnector) connector, i);
+			} else {
+				replay(connector, call);
+				i++;
+			}
+		}
+	}
+
+	/**
+	 * Passes the given call to the given connector.
+	 */
+	private void replay(PAULAConnector connector, ConnectorCall call) {
+		String[] a = call.args;
+		switch (call.connector) {
+		case TEXT:
+			connector.paulaTEXTConnector(paulaFile, a[0], a[1]);
+			break;
+		case MARK_TOK:
+			connector.paulaMARK_TOKConnector(paulaFile, a[0], a[1], a[2], a[3], a[4], a[5]);
+			break;
+		case MARK:
+			connector.paulaMARKConnector(paulaFile, a[0], a[1], a[2], a[3], a[4], a[5]);
+			break;
+		case FEAT:
+			connector.paulaFEATConnector(paulaFile, a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8]);
+			break;
+		case REL:
+			connector.paulaRELConnector(paulaFile, a[0], a[1], a[2], a[3], a[4], a[5]);
+			break;
+		case FEAT_META:
+			connector.paulaFEAT_METAConnector(paulaFile, a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[7], a[8]);
+			break;
+		case STRUCT:
+			connector.paulaSTRUCTConnector(paulaFile, a[0], a[1], a[2], a[3], a[4], a[5], a[6]);
+			break;
+		case END_DOCUMENT:
+			connector.endDocument(call.paulaReader, paulaFile);
+			break;
+		}
+	}
+
+	/**
+	 * Collects the call at the given position and all following calls of the
+	 * same kind and context into one batch and passes it to the given
+	 * connector. The first three arguments of mark and feat calls are
+	 * paula-id, paula-type and xml-base.
+	 *
+	 * @return the position of the first call not contained in the batch
+	 */
+	private int replayBatch(PAULABatchConnector connector, int start) {
+		ConnectorCall first = calls.get(start);
+		int end = start + 1;
+		while ((end < calls.size()) && (calls.get(end).connector == first.connector) && (sameContext(first.args, calls.get(end).args))) {
+			end++;
+		}
+		String[] a = first.args;
+		if (CONNECTOR.FEAT == first.connector) {
+			PAULAFeatBatch batch = new PAULAFeatBatch(paulaFile, a[0], a[1], a[2]);
+			for (int i = start; i < end; i++) {
+				a = calls.get(i).args;
+				batch.add(a[3], a[4], a[5], a[6], a[7], a[8]);
+			}
+			connector.paulaFEATBatch(batch);
+		} else {
+			PAULAMarkBatch batch = new PAULAMarkBatch(paulaFile, a[0], a[1], a[2]);
+			for (int i = start; i < end; i++) {
+				a = calls.get(i).args;
+				batch.add(a[3], a[4], a[5]);
+			}
+			if (CONNECTOR.MARK_TOK == first.connector) {
+				connector.paulaMARK_TOKBatch(batch);
+			} else {
+				connector.paulaMARKBatch(batch);
+			}
+		}
+		return end;
+	}
+
+	/**
+	 * Returns true, if both argument lists have the same paula-id, paula-type
+	 * and xml-base.
+	 */
+	private static boolean sameContext(String[] args1, String[] args2) {
+		for (int i = 0; i < 3; i++) {
+			if ((args1[i] != args2[i]) && ((args1[i] == null) || (!args1[i].equals(args2[i])))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Writes all recorded calls to the given stream, see
+	 * {@link PAULAImportCache}. Each argument is written as index into the
+	 * given string table, strings not contained yet are added to it.
+	 * 
+	 * @param strings
+	 *            maps each string to its index in the string table
+	 */
+	void write(DataOutputStream out, Map<String, Integer> strings) throws IOException {
+		PAULAImportCache.writeVarInt(out, calls.size());
+		for (ConnectorCall call : calls) {
+			out.writeByte(call.connector.ordinal());
+			if (CONNECTOR.END_DOCUMENT == call.connector) {
+				// the mapper only distinguishes struct files from others
+				out.writeBoolean(call.paulaReader instanceof PAULAStructReader);
+				continue;
+			}
+			PAULAImportCache.writeVarInt(out, call.args.length);
+			for (String arg : call.args) {
+				if (arg == null) {
+					PAULAImportCache.writeVarInt(out, 0);
+				} else {
+					Integer idx = strings.get(arg);
+					if (idx == null) {
+						idx = strings.size();
+						strings.put(arg, idx);
+					}
+					PAULAImportCache.writeVarInt(out, idx + 1);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads the calls written by {@link #write(DataOutputStream, Map)}.
+	 * 
+	 * @param strings
+	 *            the string table
+	 */
+	static PAULAConnectorRecorder read(DataInputStream in, File paulaFile, String[] strings) throws IOException {
+		PAULAConnectorRecorder recorder = new PAULAConnectorRecorder(paulaFile);
+		int size = PAULAImportCache.readVarInt(in);
+		CONNECTOR[] connectors = CONNECTOR.values();
+		for (int i = 0; i < size; i++) {
+			int ordinal = in.readUnsignedByte();
+			if (ordinal >= connectors.length) {
+				throw new IOException("Unknown connector " + ordinal + ".");
+			}
+			CONNECTOR connector = connectors[ordinal];
+			if (CONNECTOR.END_DOCUMENT == connector) {
+				recorder.add(new ConnectorCall(connector, (in.readBoolean()) ? new PAULAStructReader() : null));
+				continue;
+			}
+			String[] args = new String[PAULAImportCache.readVarInt(in)];
+			for (int j = 0; j < args.length; j++) {
+				int idx = PAULAImportCache.readVarInt(in);
+				args[j] = (idx == 0) ? null : strings[idx - 1];
+			}
+			recorder.add(new ConnectorCall(connector, null, args));
+		}
+		return recorder;
+	}
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula;
+
+/**
+ * The name of an element of a paula file, made of the ordinal of the file in
+ * the {@link PAULAElementNamingTable} and the xml-id of the element. A
+ * reference is resolved by the ordinal and the id, without building a unique
+ * name like file#id and splitting it again.
+ */
+public final class PAULAElementName {
+	/** Separator between file name and xml-id in {@link #toString()}. **/
+	public static final char SEPARATOR = '#';
+
+	/** ordinal of the file in the naming table **/
+	private final int file;
+	/** name of the file, only used for messages **/
+	private final String fileName;
+	/** xml-id of the element **/
+	private final String id;
+
+	public PAULAElementName(int file, String fileName, String id) {
+		this.file = file;
+		this.fileName = fileName;
+		this.id = id;
+	}
+
+	/**
+	 * @return the ordinal of the file in the naming table
+	 */
+	public int getFile() {
+		return file;
+	}
+
+	/**
+	 * @return the name of the file
+	 */
+	public String getFileName() {
+		return fileName;
+	}
+
+	/**
+	 * @return the xml-id of the element
+	 */
+	public String getId() {
+		return id;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * file + ((id == null) ? 0 : id.hashCode());
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof PAULAElementName)) {
+			return false;
+		}
+		PAULAElementName other = (PAULAElementName) obj;
+		return (file == other.file) && ((id == null) ? (other.id == null) : id.equals(other.id));
+	}
+
+	/**
+	 * Returns the unique name file#id.
+	 */
+	@Override
+	public String toString() {
+		return fileName + SEPARATOR + id;
+	}
+}
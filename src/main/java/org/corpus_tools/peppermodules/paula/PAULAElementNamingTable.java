@@ -0,0 +1,169 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.corpus_tools.salt.common.STextualDS;
+import org.corpus_tools.salt.graph.IdentifiableElement;
+
+/**
+ * Maps the elements of all paula files of a document to the nodes and
+ * relations created for them. Each paula file gets an ordinal, see
+ * {@link #getFile(String)}, which indexes its slot. The slot maps the xml-id
+ * of an element to its node or relation, so a reference is resolved without
+ * looking up the Salt id in the document graph. Text files are mapped by their
+ * name to their {@link STextualDS}. The table is not synchronized, it is only
+ * accessed by the mapper of the document.
+ */
+public class PAULAElementNamingTable {
+	/** file name to the ordinal of the file **/
+	private final Map<String, Integer> files = new HashMap<String, Integer>();
+	/** file names in order of their ordinals **/
+	private final List<String> fileNames = new ArrayList<String>();
+	/**
+	 * slots mapping xml-ids to nodes and relations, indexed by the ordinal of
+	 * their file, null if no element of the file has been added
+	 **/
+	private final List<Map<String, IdentifiableElement>> slots = new ArrayList<Map<String, IdentifiableElement>>();
+	/** name of a text file to its textual data source **/
+	private final Map<String, STextualDS> texts = new HashMap<String, STextualDS>();
+
+	/** name of the file of the last call of {@link #getFile(String)} **/
+	private String lastFileName = null;
+	/** ordinal of {@link #lastFileName} **/
+	private int lastFile = -1;
+
+	/**
+	 * Returns the ordinal of the file with the given name. A file gets the
+	 * next ordinal, when it is passed for the first time. Since consecutive
+	 * calls mostly pass the same file, the last one is kept.
+	 */
+	public int getFile(String fileName) {
+		if ((lastFileName != null) && (lastFileName.equals(fileName))) {
+			return lastFile;
+		}
+		Integer file = files.get(fileName);
+		if (file == null) {
+			file = fileNames.size();
+			files.put(fileName, file);
+			fileNames.add(fileName);
+			slots.add(null);
+		}
+		lastFileName = fileName;
+		lastFile = file;
+		return file;
+	}
+
+	/**
+	 * @return the name of the file of the given ordinal
+	 */
+	public String getFileName(int file) {
+		return fileNames.get(file);
+	}
+
+	/**
+	 * Returns the name of the element with the given xml-id of the given file.
+	 */
+	public PAULAElementName getName(int file, String id) {
+		return new PAULAElementName(file, fileNames.get(file), id);
+	}
+
+	/**
+	 * Creates the slot of the given file with room for the given number of
+	 * elements, if it does not exist yet. Calling this method is optional, it
+	 * only avoids resizing the slot while the elements are added.
+	 */
+	public void expect(int file, int size) {
+		if (slots.get(file) == null) {
+			slots.set(file, new HashMap<String, IdentifiableElement>(Math.max(16, (int) (size / 0.75f) + 1)));
+		}
+	}
+
+	/**
+	 * Maps the element with the given xml-id of the given file to the given
+	 * node or relation.
+	 */
+	public void put(int file, String id, IdentifiableElement element) {
+		Map<String, IdentifiableElement> slot = slots.get(file);
+		if (slot == null) {
+			slot = new HashMap<String, IdentifiableElement>();
+			slots.set(file, slot);
+		}
+		slot.put(id, element);
+	}
+
+	/**
+	 * Returns the node or relation of the element with the given xml-id of the
+	 * given file, or null if there is none.
+	 */
+	public IdentifiableElement get(int file, String id) {
+		Map<String, IdentifiableElement> slot = slots.get(file);
+		return (slot == null) ? null : slot.get(id);
+	}
+
+	/**
+	 * Returns the node or relation of the element with the given name, or null
+	 * if there is none.
+	 */
+	public IdentifiableElement get(PAULAElementName name) {
+		if (name == null) {
+			return null;
+		}
+		return get(name.getFile(), name.getId());
+	}
+
+	/**
+	 * Maps the text file of the given name to the given textual data source.
+	 */
+	public void putText(String fileName, STextualDS sTextualDS) {
+		texts.put(fileName, sTextualDS);
+	}
+
+	/**
+	 * Returns the textual data source of the text file of the given name, or
+	 * null if there is none.
+	 */
+	public STextualDS getText(String fileName) {
+		return texts.get(fileName);
+	}
+
+	/**
+	 * @return the number of mapped elements of all files, texts excluded
+	 */
+	public int size() {
+		int size = 0;
+		for (Map<String, IdentifiableElement> slot : slots) {
+			if (slot != null) {
+				size += slot.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Returns the names of all mapped text files.
+	 */
+	@Override
+	public String toString() {
+		return "texts: " + texts.keySet() + ", elements: " + size();
+	}
+}
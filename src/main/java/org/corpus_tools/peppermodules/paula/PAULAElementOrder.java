@@ -0,0 +1,112 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stores the names of all elements of one paula file in read order, which is
+ * needed to resolve xpointer ranges. Each element is indexed by its ordinal,
+ * so that the borders of a range are found by a lookup of their xml-ids
+ * instead of comparing them with all elements of the file. Xml-ids are
+ * compared case-insensitive, except by {@link #contains(String)}.
+ */
+public class PAULAElementOrder {
+	/** names of the elements in read order **/
+	private final List<PAULAElementName> names = new ArrayList<PAULAElementName>();
+	/** case-folded xml-id to the ordinal of its first occurrence **/
+	private final Map<String, Integer> ordinals = new HashMap<String, Integer>();
+	/** all xml-ids as added, for membership checks **/
+	private final Set<String> members = new HashSet<String>();
+
+	/**
+	 * Appends the element of the given name.
+	 */
+	public void add(PAULAElementName name) {
+		String key = fold(name.getId());
+		if (!ordinals.containsKey(key)) {
+			ordinals.put(key, names.size());
+		}
+		names.add(name);
+		members.add(name.getId());
+	}
+
+	/**
+	 * @return true, if an element with the given xml-id has been added
+	 */
+	public boolean contains(String id) {
+		return members.contains(id);
+	}
+
+	/**
+	 * Returns the ordinal of the first element, whose xml-id is equal to the
+	 * given one ignoring case, or -1 if there is none.
+	 */
+	public int indexOf(String id) {
+		Integer ordinal = ordinals.get(fold(id));
+		return (ordinal == null) ? -1 : ordinal;
+	}
+
+	/**
+	 * Returns the names of the elements from the ordinal <code>from</code>
+	 * inclusive to the ordinal <code>to</code> exclusive. The returned list is
+	 * backed by this object.
+	 */
+	public List<PAULAElementName> subList(int from, int to) {
+		return names.subList(from, to);
+	}
+
+	/**
+	 * @return the name of the element of the given ordinal
+	 */
+	public PAULAElementName get(int ordinal) {
+		return names.get(ordinal);
+	}
+
+	/**
+	 * @return the number of added elements
+	 */
+	public int size() {
+		return names.size();
+	}
+
+	/**
+	 * Returns a key for the given name, which is equal for all names equal
+	 * ignoring case in the sense of {@link String#equalsIgnoreCase(String)}.
+	 * Names of ASCII chars without upper case letters are returned unchanged.
+	 */
+	static String fold(String name) {
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if ((c >= 128) || ((c >= 'A') && (c <= 'Z'))) {
+				StringBuilder key = new StringBuilder(name.length());
+				key.append(name, 0, i);
+				for (int j = i; j < name.length(); j++) {
+					key.append(Character.toLowerCase(Character.toUpperCase(name.charAt(j))));
+				}
+				return key.toString();
+			}
+		}
+		return name;
+	}
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A batch of feat elements of one paula file, see {@link PAULABatch}.
+ */
+public class PAULAFeatBatch extends PAULABatch {
+	/** feat/@id **/
+	private final List<String> featIDs = new ArrayList<String>();
+	/** feat/@xlink:href **/
+	private final List<String> featHrefs = new ArrayList<String>();
+	/** feat/@target **/
+	private final List<String> featTars = new ArrayList<String>();
+	/** feat/@value **/
+	private final List<String> featVals = new ArrayList<String>();
+	/** feat/@description **/
+	private final List<String> featDescs = new ArrayList<String>();
+	/** feat/@example **/
+	private final List<String> featExps = new ArrayList<String>();
+
+	public PAULAFeatBatch(File paulaFile, String paulaId, String paulaType, String xmlBase) {
+		super(paulaFile, paulaId, paulaType, xmlBase);
+	}
+
+	/**
+	 * Adds a feat element to this batch.
+	 */
+	public void add(String featID, String featHref, String featTar, String featVal, String featDesc, String featExp) {
+		featIDs.add(featID);
+		featHrefs.add(featHref);
+		featTars.add(featTar);
+		featVals.add(featVal);
+		featDescs.add(featDesc);
+		featExps.add(featExp);
+	}
+
+	@Override
+	public int size() {
+		return featIDs.size();
+	}
+
+	public String getFeatID(int i) {
+		return featIDs.get(i);
+	}
+
+	public String getFeatHref(int i) {
+		return featHrefs.get(i);
+	}
+
+	public String getFeatTar(int i) {
+		return featTars.get(i);
+	}
+
+	public String getFeatVal(int i) {
+		return featVals.get(i);
+	}
+
+	public String getFeatDesc(int i) {
+		return featDescs.get(i);
+	}
+
+	public String getFeatExp(int i) {
+		return featExps.get(i);
+	}
+}
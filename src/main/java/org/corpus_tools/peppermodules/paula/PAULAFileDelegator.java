@@ -21,23 +21,41 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.parsers.SAXParser;
-import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLStreamException;
 
 import org.corpus_tools.pepper.modules.exceptions.PepperModuleException;
+import org.corpus_tools.peppermodules.paula.PAULAFileRegistry.PAULAFileEntry;
+import org.corpus_tools.peppermodules.paula.PAULAFileRegistry.STATE;
+import org.corpus_tools.peppermodules.paula.readers.PAULAHeader;
+import org.corpus_tools.peppermodules.paula.readers.PAULAHeaderReader;
 import org.corpus_tools.peppermodules.paula.readers.PAULAReader;
+import org.corpus_tools.peppermodules.paula.readers.PAULASpecificReader;
+import org.corpus_tools.peppermodules.paula.readers.PAULAStAXReader;
+import org.corpus_tools.peppermodules.paula.util.CountingInputStream;
+import org.corpus_tools.peppermodules.paula.util.PAULADTDResolver;
+import org.corpus_tools.peppermodules.paula.util.XMLReaderPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
-import org.xml.sax.SAXNotRecognizedException;
-import org.xml.sax.SAXNotSupportedException;
+import org.xml.sax.SAXParseException;
 import org.xml.sax.XMLReader;
 
 /**
@@ -109,129 +127,737 @@ public class PAULAFileDelegator {
 	}
 
 	// =================================== end: mapper for callback
+	// =================================== start: file registry
 	/**
-	 * list of already processed paula files. Makes sure that a file will not
-	 * processed two times.
+	 * Registry of all files of the document, stores the state of reading and
+	 * the references of each file.
 	 */
-	private List<File> processedPAULAFiles = null;
+	private PAULAFileRegistry fileRegistry = null;
+
+	/**
+	 * Sets the registry of all files of the document. If none is set, a
+	 * registry containing the files of {@link #getPaulaFiles()} is created by
+	 * {@link #startPaulaFiles()}.
+	 */
+	public void setFileRegistry(PAULAFileRegistry fileRegistry) {
+		this.fileRegistry = fileRegistry;
+	}
+
+	/**
+	 * @return the registry of all files of the document
+	 */
+	public PAULAFileRegistry getFileRegistry() {
+		return fileRegistry;
+	}
+
 	/**
-	 * not already processed paula-files. Makes sure, that all paula-files will
-	 * be processed.
+	 * Returns the number of bytes of the content of the given paula file, or
+	 * -1 if it is unknown. Is used by the readers to size their buffers.
 	 */
-	private List<File> notProcessedPAULAFiles = null;
+	public long getFileSize(File paulaFile) {
+		if (fileRegistry != null) {
+			return fileRegistry.getSize(paulaFile);
+		}
+		return (paulaFile.isFile()) ? paulaFile.length() : -1;
+	}
 
+	// =================================== end: file registry
 	/**
-	 * Starts initial reading of all given PAULA-files.
+	 * number of files, which have been scheduled for reading, used to compute
+	 * the progress
+	 */
+	private int numberOfFiles = 0;
+	/**
+	 * Recorded connector calls of files, which have been read but not yet been
+	 * mapped. When reading in parallel, the recordings are computed by
+	 * {@link #executor}.
+	 */
+	private Map<File, Future<PAULAConnectorRecorder>> recordings = null;
+	/**
+	 * Executor to read paula files in parallel, is null when files are read
+	 * one after another.
+	 */
+	private ExecutorService executor = null;
+	/**
+	 * Determines whether the dtds of paula files are loaded, see
+	 * {@link PAULAImporterProperties#PROP_LOAD_DTDS}.
+	 */
+	private boolean loadDTDs = true;
+	/**
+	 * Determines whether paula files are read with the StAX based
+	 * {@link PAULAStAXReader} instead of the SAX based {@link PAULAReader},
+	 * see {@link PAULAImporterProperties#PROP_PARSER_ENGINE}.
+	 */
+	private boolean useStAX = false;
+	/**
+	 * All recordings in the order they have been mapped, to be stored in the
+	 * import cache. Is null, if no cache is used.
+	 */
+	private List<PAULAConnectorRecorder> mappedRecordings = null;
+
+	/**
+	 * Starts initial reading of all given PAULA-files. First the header of
+	 * each file is scanned to find the files it refers to via xml:base. The
+	 * files are then read in a topological order of these references, so that
+	 * a file is mapped after the files it refers to. References found inside
+	 * a file (e.g. in an xlink:href) are not part of the header. When
+	 * recording, they are followed iteratively, see
+	 * {@link #startPaulaFile(File)}. Otherwise references to elements of
+	 * files, which are mapped later, are resolved by the mapper after all
+	 * files have been mapped. Files without references between each
+	 * other are ordered by their path, which makes the order deterministic.
+	 * If an import cache is set (see
+	 * {@link PAULAImporterProperties#PROP_CACHE_DIR}) and none of the files
+	 * changed since they have been cached, the cached connector calls are
+	 * mapped instead of reading any file.
 	 */
 	public void startPaulaFiles() {
-		if ((this.getPaulaFiles() == null) || (this.getPaulaFiles().size() == 0))
-			throw new PepperModuleException(getMapper(), "Cannot start reading paula-files, because no files are given.");
 		if (this.getPaulaPath() == null)
 			throw new PepperModuleException(getMapper(), "Cannot start reading paula-files, because paula-path is not set. Please set paula-path first.");
-		this.processedPAULAFiles = new ArrayList<File>();
-		this.notProcessedPAULAFiles = new ArrayList<File>();
+		if (this.fileRegistry == null) {
+			this.fileRegistry = new PAULAFileRegistry(this.getPaulaPath());
+		}
+		for (File paulaFile : this.getPaulaFiles()) {
+			this.fileRegistry.registerPaulaFile(paulaFile);
+		}
+		if (this.fileRegistry.getPaulaFiles().size() == 0)
+			throw new PepperModuleException(getMapper(), "Cannot start reading paula-files, because no files are given.");
+		int parserThreads = 1;
+		this.loadDTDs = true;
+		this.useStAX = false;
+		File cacheDir = null;
+		if (getMapper().getProperties() instanceof PAULAImporterProperties) {
+			parserThreads = getMapper().getProps().getParserThreads();
+			this.loadDTDs = getMapper().getProps().getLoadDTDs();
+			this.useStAX = PAULAImporterProperties.VALUE_PARSER_ENGINE_STAX.equals(getMapper().getProps().getParserEngine());
+			cacheDir = getMapper().getProps().getCacheDir();
+		}
+		PAULAImportCache cache = null;
+		if (cacheDir != null) {
+			cache = new PAULAImportCache(cacheDir);
+			List<PAULAConnectorRecorder> cachedRecordings = cache.load(this.fileRegistry);
+			if (cachedRecordings != null) {
+				logger.debug("[PAULAImporter] Mapping paula-files of '{}' from cache.", this.getPaulaPath());
+				for (PAULAConnectorRecorder recorder : cachedRecordings) {
+					this.replay(recorder);
+					this.getMapper().addProgress(1d / cachedRecordings.size());
+				}
+				return;
+			}
+			this.mappedRecordings = new ArrayList<PAULAConnectorRecorder>();
+		}
+		this.recordings = new HashMap<File, Future<PAULAConnectorRecorder>>();
+		if (parserThreads > 1) {
+			this.executor = Executors.newFixedThreadPool(parserThreads);
+		}
+		try {
+			List<File> paulaFiles = this.fileRegistry.getPaulaFiles();
+			this.numberOfFiles = 0;
+			for (File paulaFile : paulaFiles) {
+				this.fileRegistry.getEntry(paulaFile).setState(STATE.PENDING);
+				this.numberOfFiles++;
+			}
+			Map<File, Set<File>> fileReferences = new HashMap<File, Set<File>>();
+			for (PAULAHeader header : this.scanHeaders(paulaFiles)) {
+				PAULAFileEntry entry = this.fileRegistry.getEntry(header.getPaulaFile());
+				entry.setDtd(header.getDtd());
+				if ((header.getXmlBase() != null) && (!header.getXmlBase().isEmpty())) {
+					entry.getReferences().add(this.fileRegistry.normalize(new File(header.getXmlBase())));
+				}
+				fileReferences.put(entry.getFile(), entry.getReferences());
+				if (!isRecording()) {
+					this.expectElements(entry.getFile());
+				}
+			}
+			List<File> order = this.sortTopologically(fileReferences);
+			if (executor != null) {
+				for (File paulaFile : order) {
+					this.recordings.put(paulaFile, executor.submit(this.createRecordingTask(paulaFile)));
+				}
+			}
+			for (File paulaFile : order) {
+				this.startPaulaFile(paulaFile);
+			}
+			if (cache != null) {
+				try {
+					cache.store(this.fileRegistry, this.mappedRecordings);
+				} catch (IOException e) {
+					logger.warn("[PAULAImporter] Cannot store paula-files of '" + this.getPaulaPath() + "' in cache '" + cacheDir + "'. ", e);
+				}
+			}
+		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
+				executor = null;
+			}
+			this.recordings = null;
+			this.mappedRecordings = null;
+		}
+	}
 
-		{// add all given files to list of not processed paula-files
-			for (File paulaFile : this.getPaulaFiles())
-				this.notProcessedPAULAFiles.add(paulaFile);
-		}// add all given files to list of not processed paula-files
-		while (this.notProcessedPAULAFiles.size() > 0) {// do until all
-														// paula-files have been
-														// processed
-			File paulaFile = this.notProcessedPAULAFiles.get(0);
-			this.startPaulaFile(paulaFile);
-		}// do until all paula-files have been processed
+	/**
+	 * Is called by the readers, when the given paula file refers to another
+	 * file, for instance via xml:base or an xlink:href. The reference is
+	 * stored as a dependency of the given file. When recording (see
+	 * {@link #isRecording()}), the referred file is mapped before the given
+	 * one, otherwise the given file is already being mapped and references
+	 * into the referred file are resolved later by the mapper, see
+	 * {@link PAULA2SaltMapper#resolveDeferredReferences()}.
+	 * 
+	 * @param paulaFile
+	 *            the file containing the reference
+	 * @param referedFile
+	 *            the referred file, relative to the paula-path
+	 */
+	public void notifyFileReference(File paulaFile, File referedFile) {
+		if ((fileRegistry == null) || (recordings == null)) {
+			// files are not read via startPaulaFiles()
+			return;
+		}
+		PAULAFileEntry entry = fileRegistry.getEntry(paulaFile);
+		if (entry != null) {
+			entry.getReferences().add(fileRegistry.normalize(referedFile));
+		}
 	}
 
-	private static volatile SAXParserFactory factory = SAXParserFactory.newInstance();
+	/**
+	 * Returns true, if the connector calls of each file are recorded before
+	 * they are mapped. This is the case, when files are read in parallel or
+	 * when an import cache is used. Otherwise each file is read in the
+	 * current thread and its elements are passed directly to the mapper.
+	 */
+	private boolean isRecording() {
+		return ((executor != null) || (mappedRecordings != null));
+	}
 
 	/**
 	 * Starts reading of given paula-file. If a file is given which already has
-	 * been read, nothing happens.
+	 * been read, nothing happens. When recording (see {@link #isRecording()}),
+	 * the connector calls of the file are recorded and passed to the mapper,
+	 * after all files it refers to have been mapped. Referred files are
+	 * processed iteratively via a stack, a reference to a file which is
+	 * currently on the stack (a cyclic reference) is ignored. Otherwise the
+	 * file is mapped while it is read, see {@link #mapPaulaFile(PAULAFileEntry)},
+	 * and referred files, which are not scheduled by
+	 * {@link #startPaulaFiles()}, are mapped afterwards one after another.
 	 * 
 	 * @param paulaFile
 	 */
 	public void startPaulaFile(File paulaFile) {
-		Long timestamp = System.nanoTime();
 		if (paulaFile == null)
 			throw new PepperModuleException(getMapper(), "Cannot start reading paula-file, because given file is empty.");
-		if (!paulaFile.isAbsolute()) {
-			paulaFile = new File(this.getPaulaPath().getAbsolutePath() + "/" + paulaFile.toString());
-		}
-		if (paulaFile.isDirectory())
-			throw new PepperModuleException(getMapper(), "Cannot read the given paula-file ('" + paulaFile.getAbsolutePath() + "'), because it is a directory.");
-
-		Boolean isAlreadyProcessed = false;
-		for (File paulaFile2 : this.processedPAULAFiles) {
-			if (paulaFile.getAbsolutePath().equals(paulaFile2.getAbsolutePath()))
-				isAlreadyProcessed = true;
-		}
-		if (isAlreadyProcessed) {// paula-file still has been processed
-		}// paula-file still has been processed
-		else {// paula-file has not yet been processed
-			logger.debug("[PAULAImporter] Importing paula-file: {}.", paulaFile.getAbsolutePath());
-			this.notProcessedPAULAFiles.remove(paulaFile);
-			this.processedPAULAFiles.add(paulaFile);
-			PAULAReader paulaReader = new PAULAReader();
-			paulaReader.setPaulaFileDelegator(this);
+		PAULAFileEntry startEntry = this.fileRegistry.register(paulaFile);
+		if ((!startEntry.exists()) && (startEntry.getFile().isDirectory()))
+			throw new PepperModuleException(getMapper(), "Cannot read the given paula-file ('" + startEntry.getFile().getAbsolutePath() + "'), because it is a directory.");
+		if (!isRecording()) {
+			Deque<PAULAFileEntry> stack = new ArrayDeque<PAULAFileEntry>();
+			stack.push(startEntry);
+			while (!stack.isEmpty()) {
+				PAULAFileEntry entry = stack.pop();
+				if (!this.mapPaulaFile(entry)) {
+					continue;
+				}
+				for (File file : entry.getReferences()) {
+					PAULAFileEntry reference = this.fileRegistry.register(file);
+					if ((reference.exists()) && (reference.getState() == null)) {
+						// file has not been scheduled for reading
+						stack.push(reference);
+					}
+				}
+			}
+			return;
+		}
 
-			SAXParser parser;
-			XMLReader xmlReader;
+		Deque<PAULAFileEntry> stack = new ArrayDeque<PAULAFileEntry>();
+		stack.push(startEntry);
+		while (!stack.isEmpty()) {
+			PAULAFileEntry entry = stack.peek();
+			if (STATE.DONE == entry.getState()) {
+				stack.pop();
+				continue;
+			}
+			if (STATE.PARSING != entry.getState()) {
+				if (entry.getState() == null) {
+					// file has not been scheduled for reading
+					this.numberOfFiles++;
+				}
+				// marks the file to be on the stack
+				entry.setState(STATE.PARSING);
+			}
+			PAULAConnectorRecorder recorder = this.getRecording(entry.getFile());
+			PAULAFileEntry referedEntry = null;
+			synchronized (entry.getReferences()) {
+				for (File file : entry.getReferences()) {
+					PAULAFileEntry reference = this.fileRegistry.register(file);
+					if ((reference != entry) && (reference.exists()) && (STATE.DONE != reference.getState()) && (STATE.PARSING != reference.getState())) {
+						referedEntry = reference;
+						break;
+					}
+				}
+			}
+			if (referedEntry != null) {
+				// map the referred file first
+				stack.push(referedEntry);
+				continue;
+			}
+			stack.pop();
+			logger.debug("[PAULAImporter] Mapping paula-file: {}.", entry.getFile().getAbsolutePath());
+			entry.setState(STATE.DONE);
+			this.recordings.remove(entry.getFile());
+			this.replay(recorder);
+			if (this.mappedRecordings != null) {
+				this.mappedRecordings.add(recorder);
+			}
+
+			// adding progress
+			this.getMapper().addProgress(1d / this.numberOfFiles);
+		}
+	}
 
-			// configure mapper
-			paulaReader.setMapper(this.getMapper());
+	/**
+	 * Reads the given file in the current thread and passes its elements
+	 * directly to the mapper, without recording them. A file, which is
+	 * already mapped, is skipped.
+	 * 
+	 * @return false, if the file has already been mapped
+	 */
+	private boolean mapPaulaFile(PAULAFileEntry entry) {
+		if ((STATE.DONE == entry.getState()) || (STATE.PARSING == entry.getState())) {
+			return false;
+		}
+		if (entry.getState() == null) {
+			// file has not been scheduled for reading
+			this.numberOfFiles++;
+		}
+		entry.setState(STATE.PARSING);
+		logger.debug("[PAULAImporter] Mapping paula-file: {}.", entry.getFile().getAbsolutePath());
+		CountingConnector connector = new CountingConnector(this.getMapper());
+		this.read(entry.getFile(), connector);
+		for (PAULAConnectorRecorder.CONNECTOR kind : PAULAConnectorRecorder.CONNECTOR.values()) {
+			this.addElementMetric(kind, connector.size(kind));
+		}
+		entry.setState(STATE.DONE);
+
+		// adding progress
+		this.getMapper().addProgress(1d / this.numberOfFiles);
+		return true;
+	}
+
+	/**
+	 * Returns the recorded connector calls of the given file. If the file has
+	 * not been read yet, it is read in the current thread.
+	 */
+	private PAULAConnectorRecorder getRecording(File paulaFile) {
+		Future<PAULAConnectorRecorder> recording = recordings.get(paulaFile);
+		if (recording == null) {
+			FutureTask<PAULAConnectorRecorder> task = new FutureTask<PAULAConnectorRecorder>(this.createRecordingTask(paulaFile));
+			task.run();
+			recording = task;
+			recordings.put(paulaFile, recording);
+		}
+		try {
+			return recording.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new PepperModuleException(getMapper(), "Interrupted while reading file '" + paulaFile.getAbsolutePath() + "'.", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof PepperModuleException) {
+				throw (PepperModuleException) e.getCause();
+			}
+			throw new PepperModuleException(getMapper(), "Cannot read file '" + paulaFile.getAbsolutePath() + "'. Nested exception is " + e.getCause().getLocalizedMessage(), e.getCause());
+		}
+	}
+
+	/**
+	 * Creates a task reading the given paula file and recording all its
+	 * connector calls.
+	 */
+	private Callable<PAULAConnectorRecorder> createRecordingTask(final File paulaFile) {
+		return new Callable<PAULAConnectorRecorder>() {
+			@Override
+			public PAULAConnectorRecorder call() throws Exception {
+				PAULAConnectorRecorder recorder = new PAULAConnectorRecorder(paulaFile);
+				read(paulaFile, recorder);
+				return recorder;
+			}
+		};
+	}
+
+	/**
+	 * Reads the given paula file and passes all read elements to the given
+	 * connector.
+	 */
+	private void read(File paulaFile, PAULAConnector connector) {
+		long timestamp = System.nanoTime();
+		logger.debug("[PAULAImporter] Importing paula-file: {}.", paulaFile.getAbsolutePath());
+		if (useStAX) {
+			PAULAStAXReader paulaReader = new PAULAStAXReader();
+			paulaReader.setPaulaFileDelegator(this);
+			paulaReader.setMapper(getMapper());
+			paulaReader.setConnector(connector);
 			paulaReader.setPaulaFile(paulaFile);
+			parse(paulaFile, paulaReader);
+		} else {
+			PAULAReader paulaReader = new PAULAReader();
+			paulaReader.setPaulaFileDelegator(this);
+			paulaReader.setMapper(getMapper());
+			paulaReader.setConnector(connector);
+			paulaReader.setPaulaFile(paulaFile);
+			parse(paulaFile, paulaReader);
+		}
+		long parseTime = System.nanoTime() - timestamp;
+		addMetric(PAULAImportMetrics.PARSE_TIME, parseTime);
+		addMetric(PAULAImportMetrics.PARSE_TIME + "." + getPaulaType(paulaFile), parseTime);
+		addMetric(PAULAImportMetrics.FILES, 1);
+	}
 
-			try {
-				parser = factory.newSAXParser();
-				xmlReader = parser.getXMLReader();
+	/**
+	 * Returns the paula type of the given file derived from its dtd, e.g.
+	 * 'mark' for paula_mark.dtd, or 'unknown' if the dtd is not known.
+	 */
+	private String getPaulaType(File paulaFile) {
+		PAULAFileEntry entry = (fileRegistry == null) ? null : fileRegistry.getEntry(paulaFile);
+		String dtd = (entry == null) ? null : entry.getDtd();
+		if (dtd == null) {
+			return "unknown";
+		}
+		dtd = dtd.toLowerCase();
+		if (dtd.startsWith("paula_")) {
+			dtd = dtd.substring("paula_".length());
+		}
+		if (dtd.endsWith(".dtd")) {
+			dtd = dtd.substring(0, dtd.length() - ".dtd".length());
+		}
+		return dtd;
+	}
 
-				// create content handler
-				xmlReader.setContentHandler(paulaReader);
-				// set lexical handler for validating against dtds
-				xmlReader.setProperty("http://xml.org/sax/properties/lexical-handler", paulaReader);
-				xmlReader.setDTDHandler(paulaReader);
+	/**
+	 * Returns all given files, each one placed behind all files it refers to.
+	 * References to files, which are not part of the given map are ignored.
+	 * Of all files whose referred files have been placed, the one with the
+	 * smallest path comes first. In case of cyclic references, the cycle is
+	 * broken at the file with the smallest path.
+	 * 
+	 * @param references
+	 *            each file and the files it refers to
+	 * @return the files in mapping order
+	 */
+	private List<File> sortTopologically(Map<File, Set<File>> references) {
+		Map<File, Set<File>> pending = new TreeMap<File, Set<File>>();
+		for (Map.Entry<File, Set<File>> entry : references.entrySet()) {
+			Set<File> dependencies = new LinkedHashSet<File>();
+			for (File referedFile : entry.getValue()) {
+				if (!referedFile.equals(entry.getKey()) && references.containsKey(referedFile)) {
+					dependencies.add(referedFile);
+				}
+			}
+			pending.put(entry.getKey(), dependencies);
+		}
+		List<File> order = new ArrayList<File>(pending.size());
+		while (!pending.isEmpty()) {
+			File next = null;
+			for (Map.Entry<File, Set<File>> entry : pending.entrySet()) {
+				if (entry.getValue().isEmpty()) {
+					next = entry.getKey();
+					break;
+				}
+			}
+			if (next == null) {
+				next = pending.keySet().iterator().next();
+				logger.debug("[PAULAImporter] Found cyclic file references, mapping '{}' before its referred files.", next.getName());
+			}
+			pending.remove(next);
+			for (Set<File> dependencies : pending.values()) {
+				dependencies.remove(next);
+			}
+			order.add(next);
+		}
+		return order;
+	}
 
-				try {
-					// start reading file
-					InputStream inputStream = new FileInputStream(paulaFile.getAbsolutePath());
-					Reader reader = new InputStreamReader(inputStream, "UTF-8");
-
-					InputSource is = new InputSource(reader);
-					// important in case of dtd's are used, the path where to
-					// find them must be given
-					is.setSystemId(paulaFile.getAbsolutePath());
-					is.setEncoding("UTF-8");
-					xmlReader.parse(is);
-				} catch (SAXException e) {
-					try {
-						parser = factory.newSAXParser();
-						xmlReader = parser.getXMLReader();
-						xmlReader.setContentHandler(paulaReader);
-						// set lexical handler for validating against dtds
-						xmlReader.setProperty("http://xml.org/sax/properties/lexical-handler", paulaReader);
-						xmlReader.setDTDHandler(paulaReader);
-						xmlReader.parse(paulaFile.getAbsolutePath());
-					} catch (Exception e1) {
-						throw new PepperModuleException(getMapper(), "Cannot load paula file from resource '" + paulaFile.getAbsolutePath() + "'.", e1);
+	// ======================================= start: header pre-scan
+	/**
+	 * Scans the headers of all given files, in parallel if an executor is
+	 * given.
+	 */
+	private List<PAULAHeader> scanHeaders(List<File> paulaFiles) {
+		List<PAULAHeader> headers = new ArrayList<PAULAHeader>(paulaFiles.size());
+		if (executor == null) {
+			for (File paulaFile : paulaFiles) {
+				headers.add(this.scanHeader(paulaFile));
+			}
+		} else {
+			List<Future<PAULAHeader>> futures = new ArrayList<Future<PAULAHeader>>(paulaFiles.size());
+			for (final File paulaFile : paulaFiles) {
+				futures.add(executor.submit(new Callable<PAULAHeader>() {
+					@Override
+					public PAULAHeader call() throws Exception {
+						return scanHeader(paulaFile);
 					}
+				}));
+			}
+			try {
+				for (Future<PAULAHeader> future : futures) {
+					headers.add(future.get());
 				}
-			} catch (SAXNotRecognizedException e) {
-				throw new PepperModuleException(getMapper(), "Cannot read file '" + paulaFile.getAbsolutePath() + "'. Nested SAXNotSupported Exception is " + e.getLocalizedMessage());
-			} catch (SAXNotSupportedException e) {
-				throw new PepperModuleException(getMapper(), "Cannot read file '" + paulaFile.getAbsolutePath() + "'. Nested SAXNotSupported Exception is " + e.getLocalizedMessage());
-			} catch (ParserConfigurationException e) {
-				throw new PepperModuleException(getMapper(), "Cannot read file '" + paulaFile.getAbsolutePath() + "'. Nested ParserConfiguration Exception is " + e.getLocalizedMessage());
-			} catch (SAXException e) {
-				throw new PepperModuleException(getMapper(), "Cannot read file '" + paulaFile.getAbsolutePath() + "'. Nested SAX Exception is " + e.getLocalizedMessage());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new PepperModuleException(getMapper(), "Interrupted while scanning paula-files in '" + this.getPaulaPath() + "'.", e);
+			} catch (ExecutionException e) {
+				throw new PepperModuleException(getMapper(), "Cannot scan paula-files in '" + this.getPaulaPath() + "'. Nested exception is " + e.getCause().getLocalizedMessage(), e.getCause());
+			}
+		}
+		return headers;
+	}
+
+	/**
+	 * Reads the header of the given paula file, without reading any element
+	 * of its body or loading its dtd. If the file cannot be read, the header
+	 * read so far is returned, the error is reported when reading the entire
+	 * file.
+	 */
+	private PAULAHeader scanHeader(File paulaFile) {
+		PAULAHeaderReader headerReader = new PAULAHeaderReader(paulaFile);
+		InputStream inputStream = null;
+		try {
+			XMLReader xmlReader = noDTDReaderPool.acquire(headerReader);
+			inputStream = openStream(paulaFile);
+			InputSource is = new InputSource(inputStream);
+			is.setSystemId(paulaFile.getAbsolutePath());
+			try {
+				xmlReader.parse(is);
+			} catch (PAULAHeaderReader.HeaderCompleteException e) {
+				// header is read completely
+			}
+			noDTDReaderPool.release(xmlReader);
+		} catch (Exception e) {
+			logger.debug("[PAULAImporter] Cannot scan header of paula-file '{}': {}", paulaFile.getAbsolutePath(), e.getMessage());
+		} finally {
+			closeStream(inputStream);
+		}
+		logger.debug("[PAULAImporter] Scanned header {}.", headerReader.getHeader());
+		return headerReader.getHeader();
+	}
+
+	/**
+	 * approximate number of bytes of a mark, struct or rel element, used to
+	 * estimate the number of elements of a file from its size
+	 **/
+	private static final int ELEMENT_SIZE = 64;
+
+	/**
+	 * Prepares the naming table of the mapper for the elements of the given
+	 * file, when they are passed directly to the mapper. Since their number
+	 * is not known before the file is read, it is estimated from the size of
+	 * the file and the type found by the scan. Only the elements of mark,
+	 * struct and rel files are added to the naming table. When recording, the
+	 * number of elements is known before they are mapped, see
+	 * {@link #replay(PAULAConnectorRecorder)}.
+	 */
+	private void expectElements(File paulaFile) {
+		String paulaType = getPaulaType(paulaFile);
+		if (("mark".equals(paulaType)) || ("struct".equals(paulaType)) || ("rel".equals(paulaType))) {
+			long size = getFileSize(paulaFile);
+			if (size > 0) {
+				getMapper().expectElements(paulaFile, (int) Math.min(Integer.MAX_VALUE, size / ELEMENT_SIZE));
+			}
+		}
+	}
+
+	// ======================================= end: header pre-scan
+
+	/**
+	 * parsers for reading paula files, the dtds of PAULA 1.1 are resolved from
+	 * memory
+	 **/
+	private static final XMLReaderPool readerPool = new XMLReaderPool().setEntityResolver(PAULADTDResolver.getInstance());
+	/**
+	 * parsers for scanning headers and for reading paula files when dtds shall
+	 * not be loaded
+	 **/
+	private static final XMLReaderPool noDTDReaderPool = new XMLReaderPool().setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+
+	/**
+	 * Opens a stream to read the given paula file. The file is read via the
+	 * file registry, so that files contained in an archive or gzip compressed
+	 * files are streamed directly into the parser.
+	 */
+	private InputStream openStream(File paulaFile) throws IOException {
+		if (fileRegistry != null) {
+			return new CountingInputStream(fileRegistry.openStream(paulaFile));
+		}
+		return new CountingInputStream(new FileInputStream(paulaFile));
+	}
+
+	/**
+	 * Closes the given stream opened by {@link #openStream(File)} and adds
+	 * the number of bytes read to the metrics of the mapper.
+	 */
+	private void closeStream(InputStream inputStream) {
+		if (inputStream != null) {
+			if (inputStream instanceof CountingInputStream) {
+				addMetric(PAULAImportMetrics.BYTES_READ, ((CountingInputStream) inputStream).getCount());
+			}
+			try {
+				inputStream.close();
 			} catch (IOException e) {
-				throw new PepperModuleException(getMapper(), "Cannot read file '" + paulaFile.getAbsolutePath() + "'. Nested IO Exception is " + e.getLocalizedMessage());
+				// nothing to do
 			}
+		}
+	}
 
-			// adding progress
-			this.getMapper().addProgress(1d / (this.processedPAULAFiles.size() + this.notProcessedPAULAFiles.size()));
+	/**
+	 * Adds the given value to the metrics of the currently imported document.
+	 */
+	private void addMetric(String name, long value) {
+		if ((getMapper() != null) && (getMapper().getImportMetrics() != null)) {
+			getMapper().getImportMetrics().add(name, value);
+		}
+	}
+
+	/**
+	 * Maps the calls of the given recorder and measures the time needed.
+	 */
+	private void replay(PAULAConnectorRecorder recorder) {
+		long timestamp = System.nanoTime();
+		this.getMapper().expectElements(recorder.getPaulaFile(), recorder.size());
+		recorder.replay(this.getMapper());
+		addMetric(PAULAImportMetrics.CONNECTOR_TIME, System.nanoTime() - timestamp);
+		for (PAULAConnectorRecorder.CONNECTOR connector : PAULAConnectorRecorder.CONNECTOR.values()) {
+			addElementMetric(connector, recorder.size(connector));
+		}
+	}
+
+	/**
+	 * Adds the given number of read elements of the given kind to the metrics
+	 * of the currently imported document.
+	 */
+	private void addElementMetric(PAULAConnectorRecorder.CONNECTOR connector, int count) {
+		if ((count > 0) && (PAULAConnectorRecorder.CONNECTOR.END_DOCUMENT != connector)) {
+			addMetric(PAULAImportMetrics.ELEMENTS, count);
+			addMetric(PAULAImportMetrics.ELEMENTS + "." + connector, count);
+		}
+	}
+
+	/**
+	 * Passes all connector calls to the given connector and counts them per
+	 * kind, so that the element metrics are also collected for files, which
+	 * are not recorded.
+	 */
+	private static class CountingConnector implements PAULAConnector {
+		private final PAULAConnector connector;
+		/** number of calls per kind, indexed by {@link PAULAConnectorRecorder.CONNECTOR#ordinal()} **/
+		private final int[] sizes = new int[PAULAConnectorRecorder.CONNECTOR.values().length];
+
+		private CountingConnector(PAULAConnector connector) {
+			this.connector = connector;
+		}
+
+		private int size(PAULAConnectorRecorder.CONNECTOR kind) {
+			return sizes[kind.ordinal()];
+		}
+
+		@Override
+		public void paulaTEXTConnector(File paulaFile, String paulaId, String text) {
+			sizes[PAULAConnectorRecorder.CONNECTOR.TEXT.ordinal()]++;
+			connector.paulaTEXTConnector(paulaFile, paulaId, text);
+		}
+
+		@Override
+		public void paulaMARK_TOKConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String markID, String href, String markType) {
+			sizes[PAULAConnectorRecorder.CONNECTOR.MARK_TOK.ordinal()]++;
+			connector.paulaMARK_TOKConnector(paulaFile, paulaId, paulaType, xmlBase, markID, href, markType);
+		}
+
+		@Override
+		public void paulaMARKConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String markID, String href, String markType) {
+			sizes[PAULAConnectorRecorder.CONNECTOR.MARK.ordinal()]++;
+			connector.paulaMARKConnector(paulaFile, paulaId, paulaType, xmlBase, markID, href, markType);
+		}
+
+		@Override
+		public void paulaFEATConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String featID, String featHref, String featTar, String featVal, String featDesc, String featExp) {
+			sizes[PAULAConnectorRecorder.CONNECTOR.FEAT.ordinal()]++;
+			connector.paulaFEATConnector(paulaFile, paulaId, paulaType, xmlBase, featID, featHref, featTar, featVal, featDesc, featExp);
+		}
+
+		@Override
+		public void paulaRELConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String relId, String srcHref, String dstHref) {
+			sizes[PAULAConnectorRecorder.CONNECTOR.REL.ordinal()]++;
+			connector.paulaRELConnector(paulaFile, paulaId, paulaType, xmlBase, relId, srcHref, dstHref);
+		}
+
+		@Override
+		public void paulaFEAT_METAConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String featID, String featHref, String featTar, String featVal, String featDesc, String featExp) {
+			sizes[PAULAConnectorRecorder.CONNECTOR.FEAT_META.ordinal()]++;
+			connector.paulaFEAT_METAConnector(paulaFile, paulaId, paulaType, xmlBase, featID, featHref, featTar, featVal, featDesc, featExp);
+		}
+
+		@Override
+		public void paulaSTRUCTConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String structID, String relID, String relHref, String relType) {
+			sizes[PAULAConnectorRecorder.CONNECTOR.STRUCT.ordinal()]++;
+			connector.paulaSTRUCTConnector(paulaFile, paulaId, paulaType, xmlBase, structID, relID, relHref, relType);
+		}
 
-			logger.debug("[PAULAImporter] Needed time to read document '{}':\t{}", paulaFile.getName(), ((System.nanoTime() - timestamp)) / 1000000);
-		}// paula-file has not yet been processed
+		@Override
+		public void endDocument(PAULASpecificReader paulaReader, File paulaFile) {
+			sizes[PAULAConnectorRecorder.CONNECTOR.END_DOCUMENT.ordinal()]++;
+			connector.endDocument(paulaReader, paulaFile);
+		}
+	}
+
+	/**
+	 * Parses the given paula file with the given reader. The parser is taken
+	 * from {@link #readerPool} (or {@link #noDTDReaderPool} if dtds shall not
+	 * be loaded) and given back after a successful parse. A
+	 * malformed file is parsed only once, its error is reported directly.
+	 */
+	private void parse(File paulaFile, PAULAReader paulaReader) {
+		XMLReaderPool pool = (loadDTDs) ? readerPool : noDTDReaderPool;
+		InputStream inputStream = null;
+		try {
+			XMLReader xmlReader = pool.acquire(paulaReader);
+			inputStream = openStream(paulaFile);
+			InputSource is = new InputSource(inputStream);
+			// important in case of dtd's are used, the path where to
+			// find them must be given
+			is.setSystemId(paulaFile.getAbsolutePath());
+			xmlReader.parse(is);
+			pool.release(xmlReader);
+		} catch (ParserConfigurationException e) {
+			throw new PepperModuleException(getMapper(), "Cannot read file '" + paulaFile.getAbsolutePath() + "'. Nested ParserConfiguration Exception is " + e.getLocalizedMessage(), e);
+		} catch (SAXParseException e) {
+			throw new PepperModuleException(getMapper(), "Cannot read file '" + paulaFile.getAbsolutePath() + "', error in line " + e.getLineNumber() + ", column " + e.getColumnNumber() + ". Nested SAX Exception is " + e.getLocalizedMessage(), e);
+		} catch (SAXException e) {
+			if (e.getException() instanceof PepperModuleException) {
+				throw (PepperModuleException) e.getException();
+			}
+			throw new PepperModuleException(getMapper(), "Cannot read file '" + paulaFile.getAbsolutePath() + "'. Nested SAX Exception is " + e.getLocalizedMessage(), e);
+		} catch (IOException e) {
+			throw new PepperModuleException(getMapper(), "Cannot read file '" + paulaFile.getAbsolutePath() + "'. Nested IO Exception is " + e.getLocalizedMessage(), e);
+		} finally {
+			closeStream(inputStream);
+		}
+	}
+
+	/**
+	 * Parses the given paula file with the given StAX based reader.
+	 */
+	private void parse(File paulaFile, PAULAStAXReader paulaReader) {
+		InputStream inputStream = null;
+		try {
+			inputStream = openStream(paulaFile);
+			paulaReader.read(inputStream, paulaFile.getAbsolutePath());
+		} catch (XMLStreamException e) {
+			String location = "";
+			if (e.getLocation() != null) {
+				location = ", error in line " + e.getLocation().getLineNumber() + ", column " + e.getLocation().getColumnNumber();
+			}
+			throw new PepperModuleException(getMapper(), "Cannot read file '" + paulaFile.getAbsolutePath() + "'" + location + ". Nested XMLStream Exception is " + e.getLocalizedMessage(), e);
+		} catch (IOException e) {
+			throw new PepperModuleException(getMapper(), "Cannot read file '" + paulaFile.getAbsolutePath() + "'. Nested IO Exception is " + e.getLocalizedMessage(), e);
+		} finally {
+			closeStream(inputStream);
+		}
 	}
 }
@@ -0,0 +1,435 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.corpus_tools.pepper.modules.exceptions.PepperModuleException;
+
+/**
+ * Registry of all files of one paula document (or corpus folder). The folder
+ * is listed once, each file is registered under its normalized absolute path,
+ * so that all lookups are O(1) and do not touch the file system. For each
+ * file the registry stores its state of reading, the dtd found in its DOCTYPE
+ * declaration and the files it refers to.
+ * <br/>
+ * Instead of a folder, the paula path can be a zip archive containing the
+ * files of one document. Files ending with {@value #ENDING_GZIP} are
+ * registered without that ending, so that references to them are resolved as
+ * if they were not compressed. Use {@link #openStream(File)} to read a
+ * registered file and {@link #close()} to release an opened archive.
+ */
+public class PAULAFileRegistry implements Closeable {
+	/** ending of zip archives containing the files of a document **/
+	public static final String ENDING_ZIP = "zip";
+	/** ending of gzip compressed files **/
+	public static final String ENDING_GZIP = "gz";
+
+	/**
+	 * States of a paula file during reading.
+	 */
+	public enum STATE {
+		/** the file shall be read, but has not been read yet **/
+		PENDING,
+		/** the file is read, but not yet mapped **/
+		PARSING,
+		/** the file has been mapped **/
+		DONE
+	}
+
+	/**
+	 * All information about one registered file.
+	 */
+	public static class PAULAFileEntry {
+		private final File file;
+		private final boolean exists;
+		/** the file to read from, null if the file is an archive entry **/
+		private File source = null;
+		/** name of the entry in the archive, null if not an archive entry **/
+		private String archiveEntry = null;
+		/** true, if the content is gzip compressed **/
+		private boolean gzipped = false;
+		private boolean isPaulaFile = false;
+		private volatile STATE state = null;
+		private volatile String dtd = null;
+		private final Set<File> references = Collections.synchronizedSet(new LinkedHashSet<File>());
+
+		private PAULAFileEntry(File file, boolean exists) {
+			this.file = file;
+			this.exists = exists;
+			this.source = file;
+		}
+
+		/**
+		 * @return the normalized absolute file
+		 */
+		public File getFile() {
+			return file;
+		}
+
+		/**
+		 * @return true, if the file exists and is not a directory
+		 */
+		public boolean exists() {
+			return exists;
+		}
+
+		/**
+		 * @return the name of the entry in the archive the file is read from,
+		 *         or null if it is not contained in an archive
+		 */
+		public String getArchiveEntry() {
+			return archiveEntry;
+		}
+
+		/**
+		 * @return true, if the content of the file is gzip compressed
+		 */
+		public boolean isGzipped() {
+			return gzipped;
+		}
+
+		/**
+		 * @return true, if the file has one of the paula file endings
+		 */
+		public boolean isPaulaFile() {
+			return isPaulaFile;
+		}
+
+		/**
+		 * @return the state of reading, null if the file shall not be read
+		 */
+		public STATE getState() {
+			return state;
+		}
+
+		public void setState(STATE state) {
+			this.state = state;
+		}
+
+		/**
+		 * @return the dtd of the file without path, e.g. paula_mark.dtd, or
+		 *         null if not known yet
+		 */
+		public String getDtd() {
+			return dtd;
+		}
+
+		public void setDtd(String dtd) {
+			this.dtd = dtd;
+		}
+
+		/**
+		 * Returns the files this file refers to, e.g. via xml:base. When
+		 * iterating, the returned set must be synchronized on.
+		 */
+		public Set<File> getReferences() {
+			return references;
+		}
+
+		@Override
+		public String toString() {
+			return file + "(" + state + ", " + dtd + ")";
+		}
+	}
+
+	/** the folder containing the files **/
+	private final File paulaPath;
+
+	/** all registered files, the key is the normalized absolute path **/
+	private final Map<String, PAULAFileEntry> entries = new ConcurrentHashMap<String, PAULAFileEntry>();
+
+	/** all files in the folder in the order of listing **/
+	private final List<File> files = new ArrayList<File>();
+
+	/** all paula files in the order of registration **/
+	private final List<File> paulaFiles = new ArrayList<File>();
+
+	/** the archive, if the paula path is a zip archive **/
+	private ZipFile archive = null;
+
+	/**
+	 * @param paulaPath
+	 *            the folder relative file references are resolved against
+	 */
+	public PAULAFileRegistry(File paulaPath) {
+		this.paulaPath = paulaPath;
+	}
+
+	/**
+	 * @return the folder relative file references are resolved against
+	 */
+	public File getPaulaPath() {
+		return paulaPath;
+	}
+
+	/**
+	 * @return true, if the given file name has the given ending (case
+	 *         insensitive)
+	 */
+	public static boolean hasEnding(String name, String ending) {
+		int dot = name.length() - ending.length() - 1;
+		return (dot > 0) && (name.charAt(dot) == '.') && (name.regionMatches(true, dot + 1, ending, 0, ending.length()));
+	}
+
+	/**
+	 * @return true, if the paula path is a zip archive
+	 */
+	public boolean isArchive() {
+		return (paulaPath.isFile()) && (hasEnding(paulaPath.getName(), ENDING_ZIP));
+	}
+
+	/**
+	 * Lists the folder (or the archive) and registers all files in it. Files
+	 * having one of the given endings (case insensitive) are registered as
+	 * paula files. Entries of an archive are registered under their name
+	 * without the path inside the archive, as if the archive was the folder
+	 * containing them.
+	 * 
+	 * @param paulaFileEndings
+	 *            endings of paula files, e.g. xml
+	 * @throws IOException
+	 *             if the paula path is an archive, which cannot be opened
+	 * @throws PepperModuleException
+	 *             if two listed files are registered under the same name
+	 */
+	public void scan(String[] paulaFileEndings) throws IOException {
+		if (isArchive()) {
+			archive = new ZipFile(paulaPath);
+			Enumeration<? extends ZipEntry> zipEntries = archive.entries();
+			while (zipEntries.hasMoreElements()) {
+				ZipEntry zipEntry = zipEntries.nextElement();
+				if (zipEntry.isDirectory()) {
+					continue;
+				}
+				String name = zipEntry.getName();
+				name = name.substring(name.lastIndexOf('/') + 1);
+				PAULAFileEntry entry = addScanned(name, zipEntry.getName(), paulaFileEndings);
+				entry.source = null;
+				entry.archiveEntry = zipEntry.getName();
+			}
+			return;
+		}
+		File[] listing = paulaPath.listFiles();
+		if (listing == null) {
+			return;
+		}
+		for (File file : listing) {
+			if (!file.isFile()) {
+				continue;
+			}
+			PAULAFileEntry entry = addScanned(file.getName(), file.getName(), paulaFileEndings);
+			entry.source = normalize(file.getAbsoluteFile());
+		}
+	}
+
+	/**
+	 * Registers a listed file of the given name and checks whether it is a
+	 * paula file.
+	 * 
+	 * @param source
+	 *            the name of the file or archive entry as listed, used in
+	 *            messages
+	 * @throws PepperModuleException
+	 *             if another listed file has been registered under the same
+	 *             name, e.g. x.xml next to x.xml.gz or two archive entries of
+	 *             the same name in different folders
+	 */
+	private PAULAFileEntry addScanned(String name, String source, String[] paulaFileEndings) {
+		boolean gzipped = false;
+		if (hasEnding(name, ENDING_GZIP)) {
+			name = name.substring(0, name.length() - ENDING_GZIP.length() - 1);
+			gzipped = true;
+		}
+		PAULAFileEntry entry = new PAULAFileEntry(normalize(new File(name)), true);
+		PAULAFileEntry existing = entries.get(entry.getFile().getPath());
+		if ((existing != null) && (existing.exists())) {
+			String existingSource = (existing.archiveEntry != null) ? existing.archiveEntry : existing.source.getName();
+			throw new PepperModuleException("Cannot read the paula files in '" + paulaPath + "', because '" + source + "' and '" + existingSource + "' are both read as '" + name + "'.");
+		}
+		entry.gzipped = gzipped;
+		entries.put(entry.getFile().getPath(), entry);
+		files.add(entry.getFile());
+		if (paulaFileEndings != null) {
+			for (String ending : paulaFileEndings) {
+				if (hasEnding(name, ending)) {
+					entry.isPaulaFile = true;
+					paulaFiles.add(entry.getFile());
+					break;
+				}
+			}
+		}
+		return entry;
+	}
+
+	/**
+	 * Opens a stream to read the content of the given file. The content is
+	 * read from the archive entry or the file the file was registered for and
+	 * decompressed if necessary. Files which are not registered are read from
+	 * the file system.
+	 * 
+	 * @throws IOException
+	 *             if the file does not exist or cannot be read
+	 */
+	public InputStream openStream(File file) throws IOException {
+		PAULAFileEntry entry = getEntry(file);
+		if ((entry == null) || (!entry.exists())) {
+			return new FileInputStream(normalize(file));
+		}
+		InputStream inputStream = null;
+		if (entry.archiveEntry != null) {
+			ZipEntry zipEntry = archive.getEntry(entry.archiveEntry);
+			if (zipEntry == null) {
+				throw new FileNotFoundException("Cannot find entry '" + entry.archiveEntry + "' in archive '" + paulaPath + "'.");
+			}
+			inputStream = archive.getInputStream(zipEntry);
+		} else {
+			inputStream = new FileInputStream(entry.source);
+		}
+		if (entry.gzipped) {
+			inputStream = new GZIPInputStream(inputStream);
+		}
+		return inputStream;
+	}
+
+	/**
+	 * Returns the file the content of the given file is read from. For a file
+	 * contained in an archive, this is the archive.
+	 */
+	public File getSource(File file) {
+		PAULAFileEntry entry = getEntry(file);
+		if (entry == null) {
+			return normalize(file);
+		} else if (entry.archiveEntry != null) {
+			return paulaPath.getAbsoluteFile();
+		}
+		return entry.source;
+	}
+
+	/**
+	 * Returns the number of bytes of the content of the given file, or -1 if
+	 * it is unknown, for instance for gzipped files.
+	 */
+	public long getSize(File file) {
+		PAULAFileEntry entry = getEntry(file);
+		if ((entry == null) || (!entry.exists())) {
+			File normalized = normalize(file);
+			return (normalized.isFile()) ? normalized.length() : -1;
+		} else if (entry.gzipped) {
+			return -1;
+		} else if (entry.archiveEntry != null) {
+			ZipEntry zipEntry = (archive != null) ? archive.getEntry(entry.archiveEntry) : null;
+			return (zipEntry != null) ? zipEntry.getSize() : -1;
+		}
+		return entry.source.length();
+	}
+
+	/**
+	 * Closes the archive, if the paula path is a zip archive.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (archive != null) {
+			archive.close();
+			archive = null;
+		}
+	}
+
+	/**
+	 * Returns the normalized absolute file for the given one. Relative files
+	 * are resolved against the paula path.
+	 */
+	public File normalize(File file) {
+		if (!file.isAbsolute()) {
+			file = new File(paulaPath, file.getPath());
+		}
+		return file.getAbsoluteFile().toPath().normalize().toFile();
+	}
+
+	/**
+	 * Returns the entry for the given file or null, if it is not registered.
+	 * Relative files are resolved against the paula path.
+	 */
+	public PAULAFileEntry getEntry(File file) {
+		return entries.get(normalize(file).getPath());
+	}
+
+	/**
+	 * Returns the entry for the given file. If the file is not registered
+	 * yet, for instance because it is located in another folder, it is
+	 * registered.
+	 */
+	public PAULAFileEntry register(File file) {
+		File normalized = normalize(file);
+		PAULAFileEntry entry = entries.get(normalized.getPath());
+		if (entry == null) {
+			synchronized (entries) {
+				entry = entries.get(normalized.getPath());
+				if (entry == null) {
+					entry = new PAULAFileEntry(normalized, normalized.isFile());
+					entries.put(normalized.getPath(), entry);
+				}
+			}
+		}
+		return entry;
+	}
+
+	/**
+	 * Registers the given file as paula file.
+	 */
+	public PAULAFileEntry registerPaulaFile(File file) {
+		PAULAFileEntry entry = register(file);
+		synchronized (entries) {
+			if (!entry.isPaulaFile) {
+				entry.isPaulaFile = true;
+				paulaFiles.add(entry.getFile());
+			}
+		}
+		return entry;
+	}
+
+	/**
+	 * @return all files found by {@link #scan(String[])}
+	 */
+	public List<File> getFiles() {
+		return Collections.unmodifiableList(files);
+	}
+
+	/**
+	 * @return all paula files
+	 */
+	public List<File> getPaulaFiles() {
+		return Collections.unmodifiableList(paulaFiles);
+	}
+}
@@ -0,0 +1,338 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A cache for the connector calls of all paula files of one document (or
+ * corpus folder). For each folder a cache file is stored, containing a
+ * fingerprint (size, last modification and checksum) of each file read, and
+ * the recorded connector calls in mapping order. When none of the files has
+ * changed, the folder is mapped by replaying the cached calls, without
+ * reading any xml.
+ * <br/>
+ * A cache file has the following layout, all strings of the connector calls
+ * are stored once in a string table and referred to by their index:
+ * 
+ * <pre>
+ * magic number, version
+ * fingerprints: count, (path, size, last modified, checksum)*
+ * paula files of the folder: count, (path)*
+ * string table: count, (string)*
+ * recordings: count, (path, calls)*
+ * </pre>
+ */
+public class PAULAImportCache {
+	private static final Logger logger = LoggerFactory.getLogger(PAULAImportCache.class);
+
+	/** identifies a cache file **/
+	private static final int MAGIC = 0x50415543;
+	/** version of the cache format, a cache of another version is ignored **/
+	private static final int VERSION = 1;
+	/** ending of cache files **/
+	public static final String ENDING_CACHE = "cache";
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/** the folder containing the cache files **/
+	private final File cacheDir;
+
+	/**
+	 * @param cacheDir
+	 *            the folder containing the cache files, is created if
+	 *            necessary
+	 */
+	public PAULAImportCache(File cacheDir) {
+		this.cacheDir = cacheDir;
+	}
+
+	/**
+	 * @return the folder containing the cache files
+	 */
+	public File getCacheDir() {
+		return cacheDir;
+	}
+
+	/**
+	 * Returns the cache file for the given folder or archive. Its name is
+	 * made of the name of the folder and a hash of its absolute path.
+	 */
+	public File getCacheFile(File paulaPath) {
+		String path = paulaPath.getAbsoluteFile().toPath().normalize().toString();
+		StringBuilder name = new StringBuilder(paulaPath.getName());
+		name.append('_');
+		try {
+			for (byte b : MessageDigest.getInstance("SHA-1").digest(path.getBytes(UTF8))) {
+				name.append(Character.forDigit((b >> 4) & 0xF, 16));
+				name.append(Character.forDigit(b & 0xF, 16));
+			}
+		} catch (NoSuchAlgorithmException e) {
+			name.append(Integer.toHexString(path.hashCode()));
+		}
+		name.append('.').append(ENDING_CACHE);
+		return new File(cacheDir, name.toString());
+	}
+
+	/**
+	 * Loads the recorded connector calls of all files in the folder of the
+	 * given registry in mapping order. Returns null, if no cache exists for
+	 * the folder or if any of the files has changed, was added or was
+	 * removed since the cache has been stored.
+	 */
+	public List<PAULAConnectorRecorder> load(PAULAFileRegistry registry) {
+		File cacheFile = getCacheFile(registry.getPaulaPath());
+		if (!cacheFile.isFile()) {
+			return null;
+		}
+		DataInputStream in = null;
+		try {
+			in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)));
+			if ((in.readInt() != MAGIC) || (in.readInt() != VERSION)) {
+				logger.debug("[PAULAImporter] Ignoring cache file '{}' of another version.", cacheFile);
+				return null;
+			}
+			int numOfFingerprints = readVarInt(in);
+			for (int i = 0; i < numOfFingerprints; i++) {
+				File source = new File(readString(in));
+				long size = in.readLong();
+				long lastModified = in.readLong();
+				long checksum = in.readLong();
+				if ((!source.isFile()) || (source.length() != size)) {
+					logger.debug("[PAULAImporter] Cache for '{}' is outdated, since '{}' changed.", registry.getPaulaPath(), source);
+					return null;
+				}
+				// a file which was touched but not changed, is still valid
+				if ((source.lastModified() != lastModified) && (checksum(source) != checksum)) {
+					logger.debug("[PAULAImporter] Cache for '{}' is outdated, since '{}' changed.", registry.getPaulaPath(), source);
+					return null;
+				}
+			}
+			int numOfPaulaFiles = readVarInt(in);
+			Set<String> paulaFiles = new HashSet<String>();
+			for (int i = 0; i < numOfPaulaFiles; i++) {
+				paulaFiles.add(readString(in));
+			}
+			if (paulaFiles.size() != registry.getPaulaFiles().size()) {
+				return null;
+			}
+			for (File paulaFile : registry.getPaulaFiles()) {
+				if (!paulaFiles.contains(paulaFile.getPath())) {
+					logger.debug("[PAULAImporter] Cache for '{}' is outdated, since '{}' was added.", registry.getPaulaPath(), paulaFile);
+					return null;
+				}
+			}
+			String[] strings = new String[readVarInt(in)];
+			for (int i = 0; i < strings.length; i++) {
+				strings[i] = readString(in);
+			}
+			int numOfRecordings = readVarInt(in);
+			List<PAULAConnectorRecorder> recordings = new ArrayList<PAULAConnectorRecorder>(numOfRecordings);
+			for (int i = 0; i < numOfRecordings; i++) {
+				File paulaFile = new File(readString(in));
+				recordings.add(PAULAConnectorRecorder.read(in, paulaFile, strings));
+			}
+			return recordings;
+		} catch (Exception e) {
+			logger.warn("[PAULAImporter] Cannot read cache file '" + cacheFile + "', the files are read again. ", e);
+			return null;
+		} finally {
+			if (in != null) {
+				try {
+					in.close();
+				} catch (IOException e) {
+					// nothing to do
+				}
+			}
+		}
+	}
+
+	/**
+	 * Stores the given recorded connector calls in mapping order for the
+	 * folder of the given registry. The cache file is replaced atomically, so
+	 * that concurrent imports never read a partially written cache file.
+	 * 
+	 * @throws IOException
+	 *             if the cache file cannot be written
+	 */
+	public void store(PAULAFileRegistry registry, List<PAULAConnectorRecorder> recordings) throws IOException {
+		// collect all files the recordings depend on
+		Set<File> sources = new LinkedHashSet<File>();
+		for (File paulaFile : registry.getPaulaFiles()) {
+			sources.add(registry.getSource(paulaFile));
+		}
+		for (PAULAConnectorRecorder recording : recordings) {
+			sources.add(registry.getSource(recording.getPaulaFile()));
+		}
+
+		Map<String, Integer> strings = new LinkedHashMap<String, Integer>();
+		ByteArrayOutputStream recordingBytes = new ByteArrayOutputStream();
+		DataOutputStream recordingOut = new DataOutputStream(recordingBytes);
+		writeVarInt(recordingOut, recordings.size());
+		for (PAULAConnectorRecorder recording : recordings) {
+			writeString(recordingOut, recording.getPaulaFile().getPath());
+			recording.write(recordingOut, strings);
+		}
+		recordingOut.flush();
+
+		if (!cacheDir.isDirectory() && !cacheDir.mkdirs() && !cacheDir.isDirectory()) {
+			throw new IOException("Cannot create cache folder '" + cacheDir + "'.");
+		}
+		File cacheFile = getCacheFile(registry.getPaulaPath());
+		File tmpFile = File.createTempFile(cacheFile.getName(), ".tmp", cacheDir);
+		DataOutputStream out = null;
+		try {
+			out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)));
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			int numOfFingerprints = 0;
+			for (File source : sources) {
+				if (source.isFile()) {
+					numOfFingerprints++;
+				}
+			}
+			writeVarInt(out, numOfFingerprints);
+			for (File source : sources) {
+				if (!source.isFile()) {
+					continue;
+				}
+				writeString(out, source.getPath());
+				out.writeLong(source.length());
+				out.writeLong(source.lastModified());
+				out.writeLong(checksum(source));
+			}
+			writeVarInt(out, registry.getPaulaFiles().size());
+			for (File paulaFile : registry.getPaulaFiles()) {
+				writeString(out, paulaFile.getPath());
+			}
+			writeVarInt(out, strings.size());
+			for (String string : strings.keySet()) {
+				writeString(out, string);
+			}
+			recordingBytes.writeTo(out);
+			out.close();
+			out = null;
+			try {
+				Files.move(tmpFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tmpFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			if (out != null) {
+				try {
+					out.close();
+				} catch (IOException e) {
+					// nothing to do
+				}
+			}
+			if (tmpFile.exists()) {
+				tmpFile.delete();
+			}
+		}
+	}
+
+	/**
+	 * Computes the CRC-32 checksum of the content of the given file.
+	 */
+	private static long checksum(File file) throws IOException {
+		CRC32 crc = new CRC32();
+		InputStream in = new FileInputStream(file);
+		try {
+			byte[] buffer = new byte[8192];
+			int len;
+			while ((len = in.read(buffer)) != -1) {
+				crc.update(buffer, 0, len);
+			}
+		} finally {
+			in.close();
+		}
+		return crc.getValue();
+	}
+
+	/**
+	 * Writes a non negative int with 7 bits per byte, small values need only
+	 * one byte.
+	 */
+	static void writeVarInt(DataOutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	/**
+	 * Reads an int written by {@link #writeVarInt(DataOutputStream, int)}.
+	 */
+	static int readVarInt(DataInputStream in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed variable length int.");
+	}
+
+	/**
+	 * Writes a string as length and utf-8 bytes, other than
+	 * {@link DataOutputStream#writeUTF(String)} without a limit of length.
+	 */
+	static void writeString(DataOutputStream out, String string) throws IOException {
+		byte[] bytes = string.getBytes(UTF8);
+		writeVarInt(out, bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * Reads a string written by {@link #writeString(DataOutputStream, String)}.
+	 */
+	static String readString(DataInputStream in) throws IOException {
+		byte[] bytes = new byte[readVarInt(in)];
+		in.readFully(bytes);
+		return new String(bytes, UTF8);
+	}
+}
@@ -0,0 +1,37 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula;
+
+/**
+ * A listener to be notified about the metrics of each document imported by
+ * the {@link PAULAImporter}, see
+ * {@link PAULAImporter#addImportListener(PAULAImportListener)}.
+ */
+public interface PAULAImportListener {
+	/**
+	 * Is called after a document or corpus has been mapped, possibly by
+	 * several threads at the same time.
+	 */
+	public void documentImported(PAULAImportMetrics metrics);
+
+	/**
+	 * Is called once at the end of the import with the metrics of all
+	 * documents.
+	 */
+	public void importFinished(PAULAImportStatistics statistics);
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Metrics of importing one document (or corpus folder). Each metric is a
+ * named long value, times are given in nanoseconds. Metrics might be added
+ * from several threads, when files are read in parallel.
+ */
+public class PAULAImportMetrics {
+	/**
+	 * time to parse the files, followed by "." and the paula type (e.g.
+	 * parseTime.mark) for the time to parse the files of one type. Includes
+	 * the time to map the elements, when the files are neither read in
+	 * parallel nor cached.
+	 **/
+	public static final String PARSE_TIME = "parseTime";
+	/** number of bytes read from the files **/
+	public static final String BYTES_READ = "bytesRead";
+	/** number of files read **/
+	public static final String FILES = "files";
+	/**
+	 * number of read elements, followed by "." and the kind of element (e.g.
+	 * elements.MARK) for the number of elements of one kind
+	 **/
+	public static final String ELEMENTS = "elements";
+	/** time to parse xpointers while mapping **/
+	public static final String XPOINTER_TIME = "xpointerTime";
+	/** number of xpointers found in the {@link PAULAXPointerCache} **/
+	public static final String XPOINTER_CACHE_HITS = "xpointerCacheHits";
+	/** number of xpointers not found in the {@link PAULAXPointerCache} **/
+	public static final String XPOINTER_CACHE_MISSES = "xpointerCacheMisses";
+	/**
+	 * number of references to elements, which had not been mapped when they
+	 * were read and therefore were resolved after mapping all files
+	 **/
+	public static final String DEFERRED_REFERENCES = "deferredReferences";
+	/**
+	 * time to map the recorded elements to Salt, includes
+	 * {@link #XPOINTER_TIME}. Is only measured, when the files are read in
+	 * parallel or cached, see {@link #PARSE_TIME}.
+	 **/
+	public static final String CONNECTOR_TIME = "connectorTime";
+	/** number of nodes in the document graph after mapping **/
+	public static final String NODES = "nodes";
+	/** number of relations in the document graph after mapping **/
+	public static final String RELATIONS = "relations";
+
+	/** the id of the imported document or corpus **/
+	private final String id;
+
+	private final Map<String, Long> values = new TreeMap<String, Long>();
+
+	public PAULAImportMetrics(String id) {
+		this.id = id;
+	}
+
+	/**
+	 * @return the id of the imported document or corpus
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * Adds the given value to the metric of the given name.
+	 */
+	public synchronized void add(String name, long value) {
+		Long current = values.get(name);
+		values.put(name, (current == null) ? value : current + value);
+	}
+
+	/**
+	 * Sets the metric of the given name to the given value.
+	 */
+	public synchronized void set(String name, long value) {
+		values.put(name, value);
+	}
+
+	/**
+	 * @return the value of the metric of the given name or null, if it was
+	 *         not measured
+	 */
+	public synchronized Long get(String name) {
+		return values.get(name);
+	}
+
+	/**
+	 * @return a copy of all metrics ordered by their names
+	 */
+	public synchronized Map<String, Long> getValues() {
+		return new TreeMap<String, Long>(values);
+	}
+
+	@Override
+	public synchronized String toString() {
+		return id + values;
+	}
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Collects the {@link PAULAImportMetrics} of all documents of an import,
+ * notifies the registered {@link PAULAImportListener}s and aggregates the
+ * metrics into percentiles.
+ */
+public class PAULAImportStatistics {
+	/** the percentiles shown by {@link #toString()} **/
+	private static final double[] REPORTED_PERCENTILES = { 50, 90, 99, 100 };
+
+	private final List<PAULAImportMetrics> metrics = Collections.synchronizedList(new ArrayList<PAULAImportMetrics>());
+
+	private final List<PAULAImportListener> listeners = new CopyOnWriteArrayList<PAULAImportListener>();
+
+	public void addListener(PAULAImportListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(PAULAImportListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Adds the metrics of an imported document and notifies all listeners.
+	 */
+	public void add(PAULAImportMetrics documentMetrics) {
+		metrics.add(documentMetrics);
+		for (PAULAImportListener listener : listeners) {
+			listener.documentImported(documentMetrics);
+		}
+	}
+
+	/**
+	 * Notifies all listeners, that the import is finished.
+	 */
+	public void finish() {
+		for (PAULAImportListener listener : listeners) {
+			listener.importFinished(this);
+		}
+	}
+
+	/**
+	 * @return the metrics of all imported documents
+	 */
+	public List<PAULAImportMetrics> getMetrics() {
+		synchronized (metrics) {
+			return new ArrayList<PAULAImportMetrics>(metrics);
+		}
+	}
+
+	/**
+	 * @return the names of all metrics measured for any document
+	 */
+	public Set<String> getNames() {
+		Set<String> names = new TreeSet<String>();
+		for (PAULAImportMetrics documentMetrics : getMetrics()) {
+			names.addAll(documentMetrics.getValues().keySet());
+		}
+		return names;
+	}
+
+	/**
+	 * Returns the sorted values of the given metric of all documents, for
+	 * which it has been measured.
+	 */
+	private long[] getSortedValues(String name) {
+		List<PAULAImportMetrics> allMetrics = getMetrics();
+		long[] values = new long[allMetrics.size()];
+		int size = 0;
+		for (PAULAImportMetrics documentMetrics : allMetrics) {
+			Long value = documentMetrics.get(name);
+			if (value != null) {
+				values[size++] = value;
+			}
+		}
+		values = Arrays.copyOf(values, size);
+		Arrays.sort(values);
+		return values;
+	}
+
+	/**
+	 * Returns the given percentile (nearest rank) of the given metric over
+	 * all documents, for which it has been measured. For instance the
+	 * percentile 50 is the median and 100 the maximum.
+	 * 
+	 * @return the percentile or null, if the metric was not measured
+	 */
+	public Long getPercentile(String name, double percentile) {
+		return percentile(getSortedValues(name), percentile);
+	}
+
+	private static Long percentile(long[] sortedValues, double percentile) {
+		if (sortedValues.length == 0) {
+			return null;
+		}
+		int rank = (int) Math.ceil(percentile / 100d * sortedValues.length);
+		return sortedValues[Math.min(Math.max(rank, 1), sortedValues.length) - 1];
+	}
+
+	/**
+	 * Returns a table of the percentiles 50, 90, 99 and 100 of each metric.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		str.append(String.format("%-30s%10s", "metric", "documents"));
+		for (double percentile : REPORTED_PERCENTILES) {
+			str.append(String.format("%16s", "p" + (int) percentile));
+		}
+		str.append("\n");
+		for (String name : getNames()) {
+			long[] values = getSortedValues(name);
+			str.append(String.format("%-30s%10d", name, values.length));
+			for (double percentile : REPORTED_PERCENTILES) {
+				str.append(String.format("%16d", percentile(values, percentile)));
+			}
+			str.append("\n");
+		}
+		return str.toString();
+	}
+}
@@ -17,19 +17,26 @@
  */
 package org.corpus_tools.peppermodules.paula;
 
+import java.io.File;
 import java.util.Collection;
 
 import org.corpus_tools.pepper.impl.PepperImporterImpl;
 import org.corpus_tools.pepper.modules.PepperImporter;
 import org.corpus_tools.pepper.modules.PepperMapper;
+import org.corpus_tools.pepper.modules.exceptions.PepperModuleException;
+import org.corpus_tools.salt.SALT_TYPE;
 import org.corpus_tools.salt.common.SCorpus;
 import org.corpus_tools.salt.graph.Identifier;
 import org.eclipse.emf.common.util.URI;
 import org.osgi.service.component.annotations.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * This importer reads a corpus in PAULA format and maps it to a SALT corpus.
- * The mapping of each document is done in a separate thread.
+ * The mapping of each document is done in a separate thread. A document is
+ * either a folder containing paula files, a zip archive containing them or a
+ * file in {@link ParsedPAULA} format.
  * 
  * @author Florian Zipser
  * @version 1.0
@@ -37,6 +44,8 @@ import org.osgi.service.component.annotations.Component;
  */
 @Component(name = "PAULAImporterComponent", factory = "PepperImporterComponentFactory")
 public class PAULAImporter extends PepperImporterImpl implements PepperImporter {
+	private static final Logger logger = LoggerFactory.getLogger(PAULAImporter.class);
+
 	public PAULAImporter() {
 		super();
 
@@ -51,6 +60,43 @@ public class PAULAImporter extends PepperImporterImpl implements PepperImporter
 		setProperties(new PAULAImporterProperties());
 
 		this.getDocumentEndings().add(ENDING_LEAF_FOLDER);
+		this.getDocumentEndings().add(PAULAFileRegistry.ENDING_ZIP);
+		this.getDocumentEndings().add(ParsedPAULA.ENDING_PARSED_PAULA);
+	}
+
+	/**
+	 * Collects the metrics of all imported documents.
+	 */
+	private final PAULAImportStatistics importStatistics = new PAULAImportStatistics();
+
+	/**
+	 * @return the metrics of all documents imported so far
+	 */
+	public PAULAImportStatistics getImportStatistics() {
+		return importStatistics;
+	}
+
+	/**
+	 * Registers a listener to be notified about the metrics of each imported
+	 * document and at the end of the import.
+	 */
+	public void addImportListener(PAULAImportListener listener) {
+		importStatistics.addListener(listener);
+	}
+
+	public void removeImportListener(PAULAImportListener listener) {
+		importStatistics.removeListener(listener);
+	}
+
+	/**
+	 * Logs the percentiles of the metrics of all imported documents and
+	 * notifies the import listeners. {@inheritDoc PepperModule#end()}
+	 */
+	@Override
+	public void end() throws PepperModuleException {
+		super.end();
+		logger.info("[PAULAImporter] Import metrics:\n{}", importStatistics);
+		importStatistics.finish();
 	}
 
 	/**
@@ -58,6 +104,28 @@ public class PAULAImporter extends PepperImporterImpl implements PepperImporter
 	 */
 	private String[] PAULA_FILE_ENDINGS = { "xml", "paula" };
 
+	/**
+	 * A folder containing zip archives or parsed PAULA files is a corpus,
+	 * even if it does not contain further folders, since each of these files
+	 * is a document.
+	 * {@inheritDoc PepperImporter#setTypeOfResource(URI)}
+	 */
+	@Override
+	public SALT_TYPE setTypeOfResource(URI resource) {
+		File file = new File(resource.toFileString());
+		if (file.isDirectory()) {
+			File[] listing = file.listFiles();
+			if (listing != null) {
+				for (File child : listing) {
+					if ((child.isFile()) && ((PAULAFileRegistry.hasEnding(child.getName(), PAULAFileRegistry.ENDING_ZIP)) || (PAULAFileRegistry.hasEnding(child.getName(), ParsedPAULA.ENDING_PARSED_PAULA)))) {
+						return (SALT_TYPE.SCORPUS);
+					}
+				}
+			}
+		}
+		return (super.setTypeOfResource(resource));
+	}
+
 	/**
 	 * Creates a mapper of type {@link PAULA2SaltMapper}. {@inheritDoc
 	 * PepperModule#createPepperMapper(Identifier)}
@@ -66,6 +134,7 @@ public class PAULAImporter extends PepperImporterImpl implements PepperImporter
 	public PepperMapper createPepperMapper(Identifier Identifier) {
 		PAULA2SaltMapper mapper = new PAULA2SaltMapper();
 		mapper.setPAULA_FILE_ENDINGS(PAULA_FILE_ENDINGS);
+		mapper.setImportStatistics(importStatistics);
 
 		if (Identifier.getIdentifiableElement() instanceof SCorpus) {
 			// avoid importing of SCorpus, in case of SCorpus was artificially
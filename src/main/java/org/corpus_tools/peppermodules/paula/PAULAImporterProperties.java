@@ -17,6 +17,10 @@
  */
 package org.corpus_tools.peppermodules.paula;
 
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+
 import org.corpus_tools.pepper.modules.PepperModuleProperties;
 import org.corpus_tools.pepper.modules.PepperModuleProperty;
 
@@ -30,11 +34,29 @@ public class PAULAImporterProperties extends PepperModuleProperties {
 
 	public static final String PROP_EMPTY_NAMESPACE = "emptyNamespace";
 	public static final String PROP_ANNO_NAMESPACE_FROM_FILE = "annoNamespaceFromFile";
+	public static final String PROP_PARSER_THREADS = "parserThreads";
+	public static final String PROP_LOAD_DTDS = "loadDTDs";
+	public static final String PROP_PARSER_ENGINE = "parserEngine";
+	/** value of {@link #PROP_PARSER_ENGINE} for the SAX based readers **/
+	public static final String VALUE_PARSER_ENGINE_SAX = "sax";
+	/** value of {@link #PROP_PARSER_ENGINE} for the StAX based reader **/
+	public static final String VALUE_PARSER_ENGINE_STAX = "stax";
+	public static final String PROP_CACHE_DIR = "cacheDir";
+	public static final String PROP_PARSED_PAULA_DIR = "parsedPaulaDir";
+	public static final String PROP_XPOINTER_CACHE_SIZE = "xpointerCacheSize";
+	public static final String PROP_FILE_ANNOTATIONS = "fileAnnotations";
 
 	public PAULAImporterProperties() {
 		this.addProperty(new PepperModuleProperty<String>(PROP_EMPTY_NAMESPACE, String.class, "The name of the default namespace which should be treated as if the namespace of an element is empty. Default is \"no_layer\"", "no_layer", false));
 		this.addProperty(new PepperModuleProperty<Boolean>(PROP_ANNO_NAMESPACE_FROM_FILE, Boolean.class, 
 				"If 'true' inherit the annotation namespace from the namespace part of the file name when no explicit namespace is given in dot notation (\"namespace.name\") in the name itself. Default is 'true'.", true, false));
+		this.addProperty(new PepperModuleProperty<Integer>(PROP_PARSER_THREADS, Integer.class, "The number of threads used to parse the paula files of one document in parallel. With a value of '1' all files are parsed one after another. Default is '1'.", 1, false));
+		this.addProperty(new PepperModuleProperty<Boolean>(PROP_LOAD_DTDS, Boolean.class, "If 'false' the dtds of the paula files are not loaded, the type of a file is identified by the name of the dtd in its DOCTYPE declaration only. If 'true' the dtds are loaded, the dtds of PAULA 1.1 are taken from the copies shipped with this module. Default is 'true'.", true, false));
+		this.addProperty(new PepperModuleProperty<String>(PROP_PARSER_ENGINE, String.class, "The engine used to read the paula files, either '" + VALUE_PARSER_ENGINE_SAX + "' for the SAX based readers or '" + VALUE_PARSER_ENGINE_STAX + "' for the StAX based reader. The StAX based reader never loads dtds. Both produce the same result. Default is '" + VALUE_PARSER_ENGINE_SAX + "'.", VALUE_PARSER_ENGINE_SAX, false));
+		this.addProperty(new PepperModuleProperty<String>(PROP_CACHE_DIR, String.class, "A folder to store the result of reading each document or corpus folder. When importing again, all folders whose paula files did not change are mapped from this cache without reading any xml. If not set, no cache is used.", null, false));
+		this.addProperty(new PepperModuleProperty<String>(PROP_PARSED_PAULA_DIR, String.class, "A folder to write each document read from xml to, in the binary parsed PAULA format (file ending '" + ParsedPAULA.ENDING_PARSED_PAULA + "'). The corpus structure is kept and the paula files of corpora are copied, so that the folder can be imported instead of the xml files. If not set, nothing is written.", null, false));
+		this.addProperty(new PepperModuleProperty<Integer>(PROP_XPOINTER_CACHE_SIZE, Integer.class, "The maximal number of resolved xpointer expressions kept per document, to resolve repeated hrefs without parsing them again. With a value of '0' no xpointers are cached. Default is '10000'.", 10000, false));
+		this.addProperty(new PepperModuleProperty<String>(PROP_FILE_ANNOTATIONS, String.class, "A comma separated list of annotation names (e.g. 'audio'), whose values are checked for being a reference to a file. The values of all other annotations are taken as they are. If not set, the values of all annotations are checked.", null, false));
 	}
 	
 	public String getEmptyNamespace() {
@@ -50,4 +72,83 @@ public class PAULAImporterProperties extends PepperModuleProperties {
 		PepperModuleProperty<Boolean> prop = (PepperModuleProperty<Boolean>) this.getProperty(PROP_ANNO_NAMESPACE_FROM_FILE);
 		return prop.getValue();
 	}
+
+	public int getParserThreads() {
+		PepperModuleProperty<Integer> prop = (PepperModuleProperty<Integer>) this.getProperty(PROP_PARSER_THREADS);
+		if (prop.getValue() == null || prop.getValue() < 1) {
+			return 1;
+		}
+		return prop.getValue();
+	}
+
+	public boolean getLoadDTDs() {
+		PepperModuleProperty<Boolean> prop = (PepperModuleProperty<Boolean>) this.getProperty(PROP_LOAD_DTDS);
+		return prop.getValue() == null || prop.getValue();
+	}
+
+	/**
+	 * Returns the engine used to read paula files, one of
+	 * {@link #VALUE_PARSER_ENGINE_SAX} and {@link #VALUE_PARSER_ENGINE_STAX}.
+	 */
+	public String getParserEngine() {
+		PepperModuleProperty<String> prop = (PepperModuleProperty<String>) this.getProperty(PROP_PARSER_ENGINE);
+		if ((prop.getValue() != null) && (VALUE_PARSER_ENGINE_STAX.equalsIgnoreCase(prop.getValue().trim()))) {
+			return VALUE_PARSER_ENGINE_STAX;
+		}
+		return VALUE_PARSER_ENGINE_SAX;
+	}
+
+	/**
+	 * Returns the folder of the import cache or null, if no cache shall be
+	 * used.
+	 */
+	public File getCacheDir() {
+		PepperModuleProperty<String> prop = (PepperModuleProperty<String>) this.getProperty(PROP_CACHE_DIR);
+		if ((prop.getValue() == null) || (prop.getValue().trim().isEmpty())) {
+			return null;
+		}
+		return new File(prop.getValue().trim());
+	}
+
+	/**
+	 * Returns the folder to write documents in parsed PAULA format to or
+	 * null, if nothing shall be written.
+	 */
+	public File getParsedPaulaDir() {
+		PepperModuleProperty<String> prop = (PepperModuleProperty<String>) this.getProperty(PROP_PARSED_PAULA_DIR);
+		if ((prop.getValue() == null) || (prop.getValue().trim().isEmpty())) {
+			return null;
+		}
+		return new File(prop.getValue().trim());
+	}
+
+	/**
+	 * Returns the maximal number of resolved xpointer expressions cached per
+	 * document, 0 if none shall be cached.
+	 */
+	public int getXPointerCacheSize() {
+		PepperModuleProperty<Integer> prop = (PepperModuleProperty<Integer>) this.getProperty(PROP_XPOINTER_CACHE_SIZE);
+		if ((prop.getValue() == null) || (prop.getValue() < 0)) {
+			return 0;
+		}
+		return prop.getValue();
+	}
+
+	/**
+	 * Returns the lower case names of all annotations, whose values may be a
+	 * file reference, or null if the values of all annotations may be.
+	 */
+	public Set<String> getFileAnnotations() {
+		PepperModuleProperty<String> prop = (PepperModuleProperty<String>) this.getProperty(PROP_FILE_ANNOTATIONS);
+		if ((prop.getValue() == null) || (prop.getValue().trim().isEmpty())) {
+			return null;
+		}
+		Set<String> names = new HashSet<String>();
+		for (String name : prop.getValue().split(",")) {
+			if (!name.trim().isEmpty()) {
+				names.add(name.trim().toLowerCase());
+			}
+		}
+		return names;
+	}
 }
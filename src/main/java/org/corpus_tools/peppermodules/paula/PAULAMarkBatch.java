@@ -0,0 +1,64 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A batch of mark elements of one paula file, see {@link PAULABatch}.
+ */
+public class PAULAMarkBatch extends PAULABatch {
+	/** mark/@id **/
+	private final List<String> markIDs = new ArrayList<String>();
+	/** mark/@xlink:href **/
+	private final List<String> hrefs = new ArrayList<String>();
+	/** mark/@type **/
+	private final List<String> markTypes = new ArrayList<String>();
+
+	public PAULAMarkBatch(File paulaFile, String paulaId, String paulaType, String xmlBase) {
+		super(paulaFile, paulaId, paulaType, xmlBase);
+	}
+
+	/**
+	 * Adds a mark element to this batch.
+	 */
+	public void add(String markID, String href, String markType) {
+		markIDs.add(markID);
+		hrefs.add(href);
+		markTypes.add(markType);
+	}
+
+	@Override
+	public int size() {
+		return markIDs.size();
+	}
+
+	public String getMarkID(int i) {
+		return markIDs.get(i);
+	}
+
+	public String getHref(int i) {
+		return hrefs.get(i);
+	}
+
+	public String getMarkType(int i) {
+		return markTypes.get(i);
+	}
+}
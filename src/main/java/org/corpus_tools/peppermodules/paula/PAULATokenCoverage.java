@@ -0,0 +1,80 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.corpus_tools.salt.common.SDominanceRelation;
+import org.corpus_tools.salt.common.SSpanningRelation;
+import org.corpus_tools.salt.common.SToken;
+import org.corpus_tools.salt.core.SNode;
+import org.corpus_tools.salt.core.SRelation;
+
+/**
+ * Answers which tokens are overlapped by a node of a document graph, like
+ * {@link org.corpus_tools.salt.common.SDocumentGraph#getOverlappedTokens(SNode)}
+ * does for spanning and dominance relations. The tokens of each node are
+ * computed once from the tokens of its children and kept, so the graph below
+ * a node is walked only once, no matter how often the node or one of its
+ * ancestors is asked for. The graph must not be changed below an asked node
+ * afterwards.
+ */
+public class PAULATokenCoverage {
+	/** node to the tokens it overlaps in the order they have been reached **/
+	private final Map<SNode, List<SToken>> coverage = new HashMap<SNode, List<SToken>>();
+
+	/**
+	 * Returns all tokens overlapped by the given node, a token overlaps
+	 * itself. The returned list must not be changed.
+	 */
+	public List<SToken> getOverlappedTokens(SNode node) {
+		if (node instanceof SToken) {
+			return Collections.singletonList((SToken) node);
+		}
+		List<SToken> tokens = coverage.get(node);
+		if (tokens == null) {
+			// marks the node as visited, in case the graph contains a cycle
+			coverage.put(node, Collections.<SToken> emptyList());
+			Set<SToken> overlapped = new LinkedHashSet<SToken>();
+			List<SRelation<SNode, SNode>> outRelations = node.getGraph().getOutRelations(node.getId());
+			if (outRelations != null) {
+				for (SRelation<?, ?> relation : outRelations) {
+					if ((relation instanceof SSpanningRelation) || (relation instanceof SDominanceRelation)) {
+						overlapped.addAll(getOverlappedTokens((SNode) relation.getTarget()));
+					}
+				}
+			}
+			tokens = Collections.unmodifiableList(new ArrayList<SToken>(overlapped));
+			coverage.put(node, tokens);
+		}
+		return tokens;
+	}
+
+	/**
+	 * @return the number of nodes whose tokens are known
+	 */
+	public int size() {
+		return coverage.size();
+	}
+}
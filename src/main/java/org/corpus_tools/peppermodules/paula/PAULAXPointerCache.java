@@ -0,0 +1,140 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of resolved xpointer expressions of one document. Maps a
+ * pair of xml:base and href to the names of the paula elements the href
+ * refers to. When the cache is full, the least recently used entry is
+ * removed. Feat files repeat the hrefs of the mark files they annotate,
+ * therefore most hrefs of a document are resolved more than once.
+ */
+public class PAULAXPointerCache {
+	/** key of an entry, a pair of xml:base and href **/
+	private static class Key {
+		private final String xmlBase;
+		private final String href;
+		private final int hash;
+
+		private Key(String xmlBase, String href) {
+			this.xmlBase = xmlBase;
+			this.href = href;
+			this.hash = 31 * ((xmlBase == null) ? 0 : xmlBase.hashCode()) + ((href == null) ? 0 : href.hashCode());
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return (hash == other.hash) && (equals(xmlBase, other.xmlBase)) && (equals(href, other.href));
+		}
+
+		private static boolean equals(String s1, String s2) {
+			return (s1 == null) ? (s2 == null) : s1.equals(s2);
+		}
+	}
+
+	/** the maximal number of entries **/
+	private final int maxSize;
+	/** entries in access order, the eldest one is the least recently used **/
+	private final Map<Key, Collection<PAULAElementName>> entries;
+	private long hits = 0;
+	private long misses = 0;
+
+	/**
+	 * @param maxSize
+	 *            the maximal number of entries, must be greater than 0
+	 */
+	public PAULAXPointerCache(int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("The size of the cache must be greater than 0, but was " + maxSize + ".");
+		}
+		this.maxSize = maxSize;
+		this.entries = new LinkedHashMap<Key, Collection<PAULAElementName>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Collection<PAULAElementName>> eldest) {
+				return size() > PAULAXPointerCache.this.maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Returns the names of the paula elements stored for the given xml:base
+	 * and href and counts a hit, or returns null and counts a miss.
+	 */
+	public Collection<PAULAElementName> get(String xmlBase, String href) {
+		Collection<PAULAElementName> names = entries.get(new Key(xmlBase, href));
+		if (names == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return names;
+	}
+
+	/**
+	 * Stores the names of the paula elements for the given xml:base and href.
+	 * The collection must not be changed afterwards.
+	 */
+	public void put(String xmlBase, String href, Collection<PAULAElementName> names) {
+		entries.put(new Key(xmlBase, href), names);
+	}
+
+	/**
+	 * @return the maximal number of entries
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * @return the current number of entries
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return the number of calls of {@link #get(String, String)} which found
+	 *         an entry
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return the number of calls of {@link #get(String, String)} which found
+	 *         no entry
+	 */
+	public long getMisses() {
+		return misses;
+	}
+}
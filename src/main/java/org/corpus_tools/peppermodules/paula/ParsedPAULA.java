@@ -0,0 +1,590 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.corpus_tools.salt.SaltFactory;
+import org.corpus_tools.salt.common.SDocument;
+import org.corpus_tools.salt.common.SDocumentGraph;
+import org.corpus_tools.salt.common.SDominanceRelation;
+import org.corpus_tools.salt.common.SMedialDS;
+import org.corpus_tools.salt.common.SMedialRelation;
+import org.corpus_tools.salt.common.SPointingRelation;
+import org.corpus_tools.salt.common.SSpan;
+import org.corpus_tools.salt.common.SSpanningRelation;
+import org.corpus_tools.salt.common.SStructure;
+import org.corpus_tools.salt.common.SStructuredNode;
+import org.corpus_tools.salt.common.STextualDS;
+import org.corpus_tools.salt.common.STextualRelation;
+import org.corpus_tools.salt.common.SToken;
+import org.corpus_tools.salt.core.SAbstractAnnotation;
+import org.corpus_tools.salt.core.SAnnotation;
+import org.corpus_tools.salt.core.SLayer;
+import org.corpus_tools.salt.core.SMetaAnnotation;
+import org.corpus_tools.salt.core.SNode;
+import org.corpus_tools.salt.core.SRelation;
+import org.eclipse.emf.common.util.URI;
+
+/**
+ * A compact binary representation of a paula document, which has been mapped
+ * to Salt ("parsed PAULA"). It is written once after reading the xml files
+ * and can be read by {@link PAULA2SaltMapper} in one linear pass, without
+ * parsing xml or resolving xpointers.
+ * <br/>
+ * All strings are stored once in a string table, every other occurrence is
+ * the index into this table. All numbers are written as variable length ints
+ * (7 bits per byte). Nodes are referred to by their ordinal in the order
+ * texts, tokens, spans, structures, media, relations by their ordinal in
+ * the order textual, spanning, dominance, pointing, medial relations. A file
+ * has the following layout:
+ * 
+ * <pre>
+ * magic number, version
+ * string table: count, (string)*
+ * document meta annotations: count, (namespace, name, value)*
+ * layers: count, (name)*
+ * texts: count, (name, text)*
+ * tokens: count, names[], texts[], starts[], ends[]
+ * spans: count, (name, count, (token)*)*
+ * structures: count, names[]
+ * media: count, (name, reference)*
+ * dominance relations: count, (name, type, source, target)*
+ * pointing relations: count, (name, type, source, target)*
+ * medial relations: count, (source, target)*
+ * node annotations: count, nodes[], namespaces[], names[], values[]
+ * relation annotations: count, relations[], namespaces[], names[], values[]
+ * node layers: count, (node, layer)*
+ * relation layers: count, (relation, layer)*
+ * </pre>
+ * 
+ * The textual relation of a token is stored in the token columns, a token is
+ * assumed to overlap at most one text. The ids of relations are recreated
+ * when reading and might differ from those of the original graph.
+ */
+public class ParsedPAULA {
+	/** ending of files in parsed PAULA format **/
+	public static final String ENDING_PARSED_PAULA = "ppaula";
+
+	/** identifies a parsed PAULA file **/
+	private static final int MAGIC = 0x50504155;
+	/** version of the format **/
+	private static final int VERSION = 1;
+
+	/** value types of annotations **/
+	private static final int VALUE_NULL = 0;
+	private static final int VALUE_TEXT = 1;
+	private static final int VALUE_URI = 2;
+
+	private ParsedPAULA() {
+	}
+
+	/**
+	 * Collects all strings and writes their index.
+	 */
+	private static class StringTable {
+		private final Map<String, Integer> strings = new LinkedHashMap<String, Integer>();
+
+		/** writes the index of the given string, 0 stands for null **/
+		private void write(DataOutputStream out, String string) throws IOException {
+			if (string == null) {
+				PAULAImportCache.writeVarInt(out, 0);
+				return;
+			}
+			Integer idx = strings.get(string);
+			if (idx == null) {
+				idx = strings.size();
+				strings.put(string, idx);
+			}
+			PAULAImportCache.writeVarInt(out, idx + 1);
+		}
+	}
+
+	/**
+	 * Writes the document graph and the meta annotations of the given
+	 * document to the given file.
+	 * 
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	public static void write(SDocument document, File file) throws IOException {
+		SDocumentGraph graph = document.getDocumentGraph();
+		StringTable strings = new StringTable();
+		ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+		DataOutputStream body = new DataOutputStream(bodyBytes);
+
+		// meta annotations
+		Set<SMetaAnnotation> metaAnnotations = document.getMetaAnnotations();
+		PAULAImportCache.writeVarInt(body, metaAnnotations.size());
+		for (SMetaAnnotation metaAnnotation : metaAnnotations) {
+			strings.write(body, metaAnnotation.getNamespace());
+			strings.write(body, metaAnnotation.getName());
+			writeValue(body, strings, metaAnnotation);
+		}
+
+		// layers
+		List<SLayer> layers = new ArrayList<SLayer>(graph.getLayers());
+		Map<SLayer, Integer> layerIdx = new IdentityHashMap<SLayer, Integer>();
+		PAULAImportCache.writeVarInt(body, layers.size());
+		for (SLayer layer : layers) {
+			layerIdx.put(layer, layerIdx.size());
+			strings.write(body, layer.getName());
+		}
+
+		Map<SNode, Integer> nodeIdx = new IdentityHashMap<SNode, Integer>();
+		List<SNode> nodes = new ArrayList<SNode>();
+		Map<SRelation<?, ?>, Integer> relationIdx = new IdentityHashMap<SRelation<?, ?>, Integer>();
+		List<SRelation<?, ?>> relations = new ArrayList<SRelation<?, ?>>();
+
+		// texts
+		PAULAImportCache.writeVarInt(body, graph.getTextualDSs().size());
+		for (STextualDS text : graph.getTextualDSs()) {
+			nodeIdx.put(text, nodes.size());
+			nodes.add(text);
+			strings.write(body, text.getName());
+			strings.write(body, text.getText());
+		}
+
+		// tokens
+		List<SToken> tokens = graph.getTokens();
+		Map<SToken, STextualRelation> textualRelations = new IdentityHashMap<SToken, STextualRelation>();
+		for (STextualRelation textRel : graph.getTextualRelations()) {
+			if (!textualRelations.containsKey(textRel.getSource())) {
+				textualRelations.put(textRel.getSource(), textRel);
+			}
+		}
+		PAULAImportCache.writeVarInt(body, tokens.size());
+		for (SToken token : tokens) {
+			nodeIdx.put(token, nodes.size());
+			nodes.add(token);
+			strings.write(body, token.getName());
+		}
+		for (SToken token : tokens) {
+			STextualRelation textRel = textualRelations.get(token);
+			PAULAImportCache.writeVarInt(body, (textRel == null) ? 0 : nodeIdx.get(textRel.getTarget()) + 1);
+		}
+		for (SToken token : tokens) {
+			STextualRelation textRel = textualRelations.get(token);
+			PAULAImportCache.writeVarInt(body, (textRel == null) ? 0 : textRel.getStart());
+		}
+		for (SToken token : tokens) {
+			STextualRelation textRel = textualRelations.get(token);
+			PAULAImportCache.writeVarInt(body, (textRel == null) ? 0 : textRel.getEnd());
+		}
+		for (SToken token : tokens) {
+			STextualRelation textRel = textualRelations.get(token);
+			if (textRel != null) {
+				relationIdx.put(textRel, relations.size());
+				relations.add(textRel);
+			}
+		}
+
+		// spans
+		Map<SSpan, List<SSpanningRelation>> spanningRelations = new LinkedHashMap<SSpan, List<SSpanningRelation>>();
+		for (SSpan span : graph.getSpans()) {
+			spanningRelations.put(span, new ArrayList<SSpanningRelation>());
+		}
+		for (SSpanningRelation spanRel : graph.getSpanningRelations()) {
+			spanningRelations.get(spanRel.getSource()).add(spanRel);
+		}
+		PAULAImportCache.writeVarInt(body, spanningRelations.size());
+		for (Map.Entry<SSpan, List<SSpanningRelation>> entry : spanningRelations.entrySet()) {
+			nodeIdx.put(entry.getKey(), nodes.size());
+			nodes.add(entry.getKey());
+			strings.write(body, entry.getKey().getName());
+			PAULAImportCache.writeVarInt(body, entry.getValue().size());
+			for (SSpanningRelation spanRel : entry.getValue()) {
+				PAULAImportCache.writeVarInt(body, nodeIdx.get(spanRel.getTarget()));
+				relationIdx.put(spanRel, relations.size());
+				relations.add(spanRel);
+			}
+		}
+
+		// structures
+		PAULAImportCache.writeVarInt(body, graph.getStructures().size());
+		for (SStructure struct : graph.getStructures()) {
+			nodeIdx.put(struct, nodes.size());
+			nodes.add(struct);
+			strings.write(body, struct.getName());
+		}
+
+		// media
+		PAULAImportCache.writeVarInt(body, graph.getMedialDSs().size());
+		for (SMedialDS media : graph.getMedialDSs()) {
+			nodeIdx.put(media, nodes.size());
+			nodes.add(media);
+			strings.write(body, media.getName());
+			strings.write(body, (media.getMediaReference() == null) ? null : media.getMediaReference().toString());
+		}
+
+		// dominance and pointing relations
+		PAULAImportCache.writeVarInt(body, graph.getDominanceRelations().size());
+		for (SDominanceRelation domRel : graph.getDominanceRelations()) {
+			writeRelation(body, strings, domRel, nodeIdx);
+			relationIdx.put(domRel, relations.size());
+			relations.add(domRel);
+		}
+		PAULAImportCache.writeVarInt(body, graph.getPointingRelations().size());
+		for (SPointingRelation pRel : graph.getPointingRelations()) {
+			writeRelation(body, strings, pRel, nodeIdx);
+			relationIdx.put(pRel, relations.size());
+			relations.add(pRel);
+		}
+		PAULAImportCache.writeVarInt(body, graph.getMedialRelations().size());
+		for (SMedialRelation mRel : graph.getMedialRelations()) {
+			PAULAImportCache.writeVarInt(body, nodeIdx.get(mRel.getSource()));
+			PAULAImportCache.writeVarInt(body, nodeIdx.get(mRel.getTarget()));
+			relationIdx.put(mRel, relations.size());
+			relations.add(mRel);
+		}
+
+		// annotations as columns
+		List<Integer> owners = new ArrayList<Integer>();
+		List<SAnnotation> annotations = new ArrayList<SAnnotation>();
+		for (int i = 0; i < nodes.size(); i++) {
+			for (SAnnotation anno : nodes.get(i).getAnnotations()) {
+				owners.add(i);
+				annotations.add(anno);
+			}
+		}
+		writeAnnotations(body, strings, owners, annotations);
+		owners.clear();
+		annotations.clear();
+		for (int i = 0; i < relations.size(); i++) {
+			for (SAnnotation anno : relations.get(i).getAnnotations()) {
+				owners.add(i);
+				annotations.add(anno);
+			}
+		}
+		writeAnnotations(body, strings, owners, annotations);
+
+		// layers of nodes and relations
+		owners.clear();
+		List<Integer> ownerLayers = new ArrayList<Integer>();
+		for (int i = 0; i < nodes.size(); i++) {
+			for (SLayer layer : nodes.get(i).getLayers()) {
+				owners.add(i);
+				ownerLayers.add(layerIdx.get(layer));
+			}
+		}
+		writePairs(body, owners, ownerLayers);
+		owners.clear();
+		ownerLayers.clear();
+		for (int i = 0; i < relations.size(); i++) {
+			for (SLayer layer : relations.get(i).getLayers()) {
+				owners.add(i);
+				ownerLayers.add(layerIdx.get(layer));
+			}
+		}
+		writePairs(body, owners, ownerLayers);
+		body.flush();
+
+		File folder = file.getAbsoluteFile().getParentFile();
+		if ((folder != null) && (!folder.isDirectory()) && (!folder.mkdirs()) && (!folder.isDirectory())) {
+			throw new IOException("Cannot create folder '" + folder + "'.");
+		}
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		try {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			PAULAImportCache.writeVarInt(out, strings.strings.size());
+			for (String string : strings.strings.keySet()) {
+				PAULAImportCache.writeString(out, string);
+			}
+			bodyBytes.writeTo(out);
+		} finally {
+			out.close();
+		}
+	}
+
+	private static void writeRelation(DataOutputStream out, StringTable strings, SRelation<?, ?> relation, Map<SNode, Integer> nodeIdx) throws IOException {
+		strings.write(out, relation.getName());
+		strings.write(out, relation.getType());
+		PAULAImportCache.writeVarInt(out, nodeIdx.get(relation.getSource()));
+		PAULAImportCache.writeVarInt(out, nodeIdx.get(relation.getTarget()));
+	}
+
+	private static void writeValue(DataOutputStream out, StringTable strings, SAbstractAnnotation annotation) throws IOException {
+		Object value = annotation.getValue();
+		if (value == null) {
+			out.writeByte(VALUE_NULL);
+		} else if (value instanceof URI) {
+			out.writeByte(VALUE_URI);
+			strings.write(out, value.toString());
+		} else {
+			out.writeByte(VALUE_TEXT);
+			strings.write(out, value.toString());
+		}
+	}
+
+	private static void writeAnnotations(DataOutputStream out, StringTable strings, List<Integer> owners, List<SAnnotation> annotations) throws IOException {
+		PAULAImportCache.writeVarInt(out, annotations.size());
+		for (Integer owner : owners) {
+			PAULAImportCache.writeVarInt(out, owner);
+		}
+		for (SAnnotation anno : annotations) {
+			strings.write(out, anno.getNamespace());
+		}
+		for (SAnnotation anno : annotations) {
+			strings.write(out, anno.getName());
+		}
+		for (SAnnotation anno : annotations) {
+			writeValue(out, strings, anno);
+		}
+	}
+
+	private static void writePairs(DataOutputStream out, List<Integer> first, List<Integer> second) throws IOException {
+		PAULAImportCache.writeVarInt(out, first.size());
+		for (int i = 0; i < first.size(); i++) {
+			PAULAImportCache.writeVarInt(out, first.get(i));
+			PAULAImportCache.writeVarInt(out, second.get(i));
+		}
+	}
+
+	/**
+	 * Reads the given file and adds its content to the document graph of the
+	 * given document, which is created if necessary. The meta annotations
+	 * are added to the document.
+	 * 
+	 * @throws IOException
+	 *             if the file cannot be read or is not in parsed PAULA format
+	 */
+	public static void read(File file, SDocument document) throws IOException {
+		if (document.getDocumentGraph() == null) {
+			SDocumentGraph graph = SaltFactory.createSDocumentGraph();
+			graph.setName(document.getName() + "_graph");
+			document.setDocumentGraph(graph);
+		}
+		SDocumentGraph graph = document.getDocumentGraph();
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		try {
+			if (in.readInt() != MAGIC) {
+				throw new IOException("The file '" + file + "' is not in parsed PAULA format.");
+			}
+			int version = in.readInt();
+			if (version != VERSION) {
+				throw new IOException("The version " + version + " of file '" + file + "' is not supported, only version " + VERSION + " is.");
+			}
+			String[] strings = new String[PAULAImportCache.readVarInt(in)];
+			for (int i = 0; i < strings.length; i++) {
+				strings[i] = PAULAImportCache.readString(in);
+			}
+
+			// meta annotations
+			int numOfMetaAnnotations = PAULAImportCache.readVarInt(in);
+			for (int i = 0; i < numOfMetaAnnotations; i++) {
+				String namespace = readString(in, strings);
+				String name = readString(in, strings);
+				document.createMetaAnnotation(namespace, name, readValue(in, strings));
+			}
+
+			// layers
+			SLayer[] layers = new SLayer[PAULAImportCache.readVarInt(in)];
+			for (int i = 0; i < layers.length; i++) {
+				layers[i] = SaltFactory.createSLayer();
+				layers[i].setName(readString(in, strings));
+				graph.addLayer(layers[i]);
+			}
+
+			List<SNode> nodes = new ArrayList<SNode>();
+			List<SRelation<?, ?>> relations = new ArrayList<SRelation<?, ?>>();
+
+			// texts
+			int numOfTexts = PAULAImportCache.readVarInt(in);
+			for (int i = 0; i < numOfTexts; i++) {
+				STextualDS text = SaltFactory.createSTextualDS();
+				text.setName(readString(in, strings));
+				text.setText(readString(in, strings));
+				graph.addNode(text);
+				nodes.add(text);
+			}
+
+			// tokens
+			int numOfTokens = PAULAImportCache.readVarInt(in);
+			int firstToken = nodes.size();
+			for (int i = 0; i < numOfTokens; i++) {
+				SToken token = SaltFactory.createSToken();
+				token.setName(readString(in, strings));
+				graph.addNode(token);
+				nodes.add(token);
+			}
+			int[] texts = readInts(in, numOfTokens);
+			int[] starts = readInts(in, numOfTokens);
+			int[] ends = readInts(in, numOfTokens);
+			for (int i = 0; i < numOfTokens; i++) {
+				if (texts[i] != 0) {
+					STextualRelation textRel = SaltFactory.createSTextualRelation();
+					textRel.setSource((SToken) nodes.get(firstToken + i));
+					textRel.setTarget((STextualDS) nodes.get(texts[i] - 1));
+					textRel.setStart(starts[i]);
+					textRel.setEnd(ends[i]);
+					graph.addRelation(textRel);
+					relations.add(textRel);
+				}
+			}
+
+			// spans
+			int numOfSpans = PAULAImportCache.readVarInt(in);
+			for (int i = 0; i < numOfSpans; i++) {
+				SSpan span = SaltFactory.createSSpan();
+				span.setName(readString(in, strings));
+				graph.addNode(span);
+				nodes.add(span);
+				int numOfSpannedTokens = PAULAImportCache.readVarInt(in);
+				for (int j = 0; j < numOfSpannedTokens; j++) {
+					SSpanningRelation spanRel = SaltFactory.createSSpanningRelation();
+					spanRel.setSource(span);
+					spanRel.setTarget((SToken) nodes.get(PAULAImportCache.readVarInt(in)));
+					graph.addRelation(spanRel);
+					relations.add(spanRel);
+				}
+			}
+
+			// structures
+			int numOfStructures = PAULAImportCache.readVarInt(in);
+			for (int i = 0; i < numOfStructures; i++) {
+				SStructure struct = SaltFactory.createSStructure();
+				struct.setName(readString(in, strings));
+				graph.addNode(struct);
+				nodes.add(struct);
+			}
+
+			// media
+			int numOfMedia = PAULAImportCache.readVarInt(in);
+			for (int i = 0; i < numOfMedia; i++) {
+				SMedialDS media = SaltFactory.createSMedialDS();
+				media.setName(readString(in, strings));
+				String reference = readString(in, strings);
+				if (reference != null) {
+					media.setMediaReference(URI.createURI(reference));
+				}
+				graph.addNode(media);
+				nodes.add(media);
+			}
+
+			// relations
+			int numOfDominanceRelations = PAULAImportCache.readVarInt(in);
+			for (int i = 0; i < numOfDominanceRelations; i++) {
+				SDominanceRelation domRel = SaltFactory.createSDominanceRelation();
+				readRelation(in, strings, domRel, nodes);
+				graph.addRelation(domRel);
+				relations.add(domRel);
+			}
+			int numOfPointingRelations = PAULAImportCache.readVarInt(in);
+			for (int i = 0; i < numOfPointingRelations; i++) {
+				SPointingRelation pRel = SaltFactory.createSPointingRelation();
+				readRelation(in, strings, pRel, nodes);
+				graph.addRelation(pRel);
+				relations.add(pRel);
+			}
+			int numOfMedialRelations = PAULAImportCache.readVarInt(in);
+			for (int i = 0; i < numOfMedialRelations; i++) {
+				SMedialRelation mRel = SaltFactory.createSMedialRelation();
+				mRel.setSource((SToken) nodes.get(PAULAImportCache.readVarInt(in)));
+				mRel.setTarget((SMedialDS) nodes.get(PAULAImportCache.readVarInt(in)));
+				graph.addRelation(mRel);
+				relations.add(mRel);
+			}
+
+			// annotations
+			int numOfNodeAnnotations = PAULAImportCache.readVarInt(in);
+			int[] owners = readInts(in, numOfNodeAnnotations);
+			String[] namespaces = readStrings(in, strings, numOfNodeAnnotations);
+			String[] names = readStrings(in, strings, numOfNodeAnnotations);
+			for (int i = 0; i < numOfNodeAnnotations; i++) {
+				nodes.get(owners[i]).createAnnotation(namespaces[i], names[i], readValue(in, strings));
+			}
+			int numOfRelationAnnotations = PAULAImportCache.readVarInt(in);
+			owners = readInts(in, numOfRelationAnnotations);
+			namespaces = readStrings(in, strings, numOfRelationAnnotations);
+			names = readStrings(in, strings, numOfRelationAnnotations);
+			for (int i = 0; i < numOfRelationAnnotations; i++) {
+				relations.get(owners[i]).createAnnotation(namespaces[i], names[i], readValue(in, strings));
+			}
+
+			// layers of nodes and relations
+			int numOfNodeLayers = PAULAImportCache.readVarInt(in);
+			for (int i = 0; i < numOfNodeLayers; i++) {
+				SNode node = nodes.get(PAULAImportCache.readVarInt(in));
+				node.addLayer(layers[PAULAImportCache.readVarInt(in)]);
+			}
+			int numOfRelationLayers = PAULAImportCache.readVarInt(in);
+			for (int i = 0; i < numOfRelationLayers; i++) {
+				SRelation<?, ?> relation = relations.get(PAULAImportCache.readVarInt(in));
+				relation.addLayer(layers[PAULAImportCache.readVarInt(in)]);
+			}
+		} catch (IndexOutOfBoundsException e) {
+			throw new IOException("The file '" + file + "' is corrupt.", e);
+		} finally {
+			in.close();
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static void readRelation(DataInputStream in, String[] strings, SRelation relation, List<SNode> nodes) throws IOException {
+		relation.setName(readString(in, strings));
+		relation.setType(readString(in, strings));
+		relation.setSource((SStructuredNode) nodes.get(PAULAImportCache.readVarInt(in)));
+		relation.setTarget((SStructuredNode) nodes.get(PAULAImportCache.readVarInt(in)));
+	}
+
+	private static String readString(DataInputStream in, String[] strings) throws IOException {
+		int idx = PAULAImportCache.readVarInt(in);
+		return (idx == 0) ? null : strings[idx - 1];
+	}
+
+	private static String[] readStrings(DataInputStream in, String[] strings, int size) throws IOException {
+		String[] retVal = new String[size];
+		for (int i = 0; i < size; i++) {
+			retVal[i] = readString(in, strings);
+		}
+		return retVal;
+	}
+
+	private static int[] readInts(DataInputStream in, int size) throws IOException {
+		int[] retVal = new int[size];
+		for (int i = 0; i < size; i++) {
+			retVal[i] = PAULAImportCache.readVarInt(in);
+		}
+		return retVal;
+	}
+
+	private static Object readValue(DataInputStream in, String[] strings) throws IOException {
+		int type = in.readUnsignedByte();
+		if (type == VALUE_URI) {
+			return URI.createURI(readString(in, strings));
+		} else if (type == VALUE_TEXT) {
+			return readString(in, strings);
+		}
+		return null;
+	}
+}
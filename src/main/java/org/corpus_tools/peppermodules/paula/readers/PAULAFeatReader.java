@@ -17,6 +17,8 @@
  */
 package org.corpus_tools.peppermodules.paula.readers;
 
+import org.corpus_tools.peppermodules.paula.readers.PAULANameTable.ATTRIBUTE;
+import org.corpus_tools.peppermodules.paula.readers.PAULANameTable.ELEMENT;
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
 
@@ -50,7 +52,7 @@ public class PAULAFeatReader extends PAULASpecificReader {
 		super.startElement(uri, localName, qName, attributes);
 
 		// FEAT-element found
-		if (this.isTAGorAttribute(qName, TAG_FEAT_FEATLIST)) {
+		if (ELEMENT.LIST == this.getCurrentElement()) {
 			if ((this.getXmlBase() != null) && (!this.getXmlBase().isEmpty())) {
 				String parts[] = this.getXmlBase().split("[.]");
 				if ((parts.length >= 2) && (parts[parts.length - 2].equalsIgnoreCase(KW_ANNO))) {
@@ -59,7 +61,7 @@ public class PAULAFeatReader extends PAULASpecificReader {
 					this.isMetaFeat = true;
 				}
 			}
-		} else if (this.isTAGorAttribute(qName, TAG_FEAT_FEAT)) {// FEAT-element
+		} else if (ELEMENT.FEAT == this.getCurrentElement()) {// FEAT-element
 																	// found
 			String featID = null; // feat.id
 			String featHref = null; // feat.href
@@ -68,25 +70,33 @@ public class PAULAFeatReader extends PAULASpecificReader {
 			String featDesc = null; // feat.description
 			String featExp = null; // feat.example
 
-			for (int i = 0; i < attributes.getLength(); i++) {
-				// Attribute FEAT.ID
-				if (this.isTAGorAttribute(attributes.getQName(i), ATT_ID))
+			ATTRIBUTE[] slots = this.getAttributeSlots(attributes);
+			for (int i = 0; i < slots.length; i++) {
+				if (slots[i] == null) {
+					continue;
+				}
+				switch (slots[i]) {
+				case ID:// Attribute FEAT.ID
 					featID = attributes.getValue(i);
-				// Attribute FEAT.HREF
-				else if (this.isTAGorAttribute(attributes.getQName(i), ATT_HREF))
+					break;
+				case HREF:// Attribute FEAT.HREF
 					featHref = attributes.getValue(i);
-				// Attribute FEAT.TARGET
-				else if (this.isTAGorAttribute(attributes.getQName(i), ATT_FEAT_FEAT_TAR))
+					break;
+				case TARGET:// Attribute FEAT.TARGET
 					featTar = attributes.getValue(i);
-				// Attribute FEAT.VALUE
-				else if (this.isTAGorAttribute(attributes.getQName(i), ATT_FEAT_FEAT_VAL))
+					break;
+				case VALUE:// Attribute FEAT.VALUE
 					featVal = attributes.getValue(i);
-				// Attribute FEAT.DESCRIPTION
-				else if (this.isTAGorAttribute(attributes.getQName(i), ATT_FEAT_FEAT_DESC))
+					break;
+				case DESCRIPTION:// Attribute FEAT.DESCRIPTION
 					featDesc = attributes.getValue(i);
-				// Attribute FEAT.EXAMPLE
-				else if (this.isTAGorAttribute(attributes.getQName(i), ATT_FEAT_FEAT_EXP))
+					break;
+				case EXAMPLE:// Attribute FEAT.EXAMPLE
 					featExp = attributes.getValue(i);
+					break;
+				default:
+					break;
+				}
 			}
 
 			// checking if href contains a new not already read file
@@ -100,15 +110,15 @@ public class PAULAFeatReader extends PAULASpecificReader {
 			}// file is annofeat, do nothing
 			else if (this.isMetaFeat) {// callback for mapper in case of feat
 										// means corpus or document
-				this.getMapper().paulaFEAT_METAConnector(this.getPaulaFile(), this.getPaulaID(), this.getPaulaType(), this.getXmlBase(), featID, featHref, featTar, featVal, featDesc, featExp);
+				this.getConnector().paulaFEAT_METAConnector(this.getPaulaFile(), this.getPaulaID(), this.getPaulaType(), this.getXmlBase(), featID, featHref, featTar, featVal, featDesc, featExp);
 
 			}// callback for mapper in case of feat means corpus or document
 			else if (((featVal == null) || (featVal.isEmpty())) && ((featTar != null) && (!featTar.isEmpty()))) {
 				// callback for mapper for feat misused as rel
-				this.getMapper().paulaRELConnector(this.getPaulaFile(), this.getPaulaID(), this.getPaulaType(), this.getXmlBase(), featID, featHref, featTar);
+				this.getConnector().paulaRELConnector(this.getPaulaFile(), this.getPaulaID(), this.getPaulaType(), this.getXmlBase(), featID, featHref, featTar);
 			}// callback for mapper for feat misused as rel
 			else {// callback for mapper for normal feat
-				this.getMapper().paulaFEATConnector(this.getPaulaFile(), this.getPaulaID(), this.getPaulaType(), this.getXmlBase(), featID, featHref, featTar, featVal, featDesc, featExp);
+				this.getConnector().paulaFEATConnector(this.getPaulaFile(), this.getPaulaID(), this.getPaulaType(), this.getXmlBase(), featID, featHref, featTar, featVal, featDesc, featExp);
 			}// callback for mapper for normal feat
 		}
 	}
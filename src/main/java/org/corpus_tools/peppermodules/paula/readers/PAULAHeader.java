@@ -0,0 +1,87 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.readers;
+
+import java.io.File;
+
+/**
+ * Contains the information of a paula file, which is given before its first
+ * element: the dtd, the paula-id, and paula-type and xml-base of the list
+ * element. Is created by the {@link PAULAHeaderReader}.
+ */
+public class PAULAHeader {
+	/** the paula file this header belongs to **/
+	private final File paulaFile;
+	/** the dtd of the file without path, e.g. paula_mark.dtd **/
+	private String dtd = null;
+	/** header/@paula_id **/
+	private String paulaId = null;
+	/** the type attribute of the list element **/
+	private String paulaType = null;
+	/** the xml:base attribute of the list element **/
+	private String xmlBase = null;
+
+	public PAULAHeader(File paulaFile) {
+		this.paulaFile = paulaFile;
+	}
+
+	public File getPaulaFile() {
+		return paulaFile;
+	}
+
+	public String getDtd() {
+		return dtd;
+	}
+
+	public void setDtd(String dtd) {
+		this.dtd = dtd;
+	}
+
+	public String getPaulaId() {
+		return paulaId;
+	}
+
+	public void setPaulaId(String paulaId) {
+		this.paulaId = paulaId;
+	}
+
+	public String getPaulaType() {
+		return paulaType;
+	}
+
+	public void setPaulaType(String paulaType) {
+		this.paulaType = paulaType;
+	}
+
+	/**
+	 * Returns the document all not fully qualified links of this file refer
+	 * to, or null if none is given.
+	 */
+	public String getXmlBase() {
+		return xmlBase;
+	}
+
+	public void setXmlBase(String xmlBase) {
+		this.xmlBase = xmlBase;
+	}
+
+	@Override
+	public String toString() {
+		return paulaFile.getName() + "(dtd: " + dtd + ", paula_id: " + paulaId + ", type: " + paulaType + ", xml:base: " + xmlBase + ")";
+	}
+}
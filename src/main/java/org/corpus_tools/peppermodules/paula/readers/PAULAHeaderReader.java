@@ -0,0 +1,103 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.readers;
+
+import java.io.File;
+
+import org.corpus_tools.peppermodules.paula.PAULAXMLDictionary;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.ext.DefaultHandler2;
+
+/**
+ * A lightweight reader, which only reads the {@link PAULAHeader} of a paula
+ * file. As soon as the first element below the list element (or the body of a
+ * text file) is reached, reading is stopped by throwing a
+ * {@link HeaderCompleteException}, so the rest of the file is never parsed.
+ * Therefore the only dependency found is the xml:base of the list element,
+ * references in the elements (xlink:href) are not collected.
+ */
+public class PAULAHeaderReader extends DefaultHandler2 implements PAULAXMLDictionary {
+
+	/**
+	 * Thrown to stop parsing as soon as the header is complete. Does not fill
+	 * in a stack trace, since it is not an error.
+	 */
+	public static class HeaderCompleteException extends SAXException {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public synchronized Throwable fillInStackTrace() {
+			return this;
+		}
+	}
+
+	private final PAULAHeader header;
+
+	/** true, when the list element has been read **/
+	private boolean isInList = false;
+
+	public PAULAHeaderReader(File paulaFile) {
+		this.header = new PAULAHeader(paulaFile);
+	}
+
+	/**
+	 * @return the header read so far
+	 */
+	public PAULAHeader getHeader() {
+		return header;
+	}
+
+	@Override
+	public void startDTD(String name, String publicId, String systemId) throws SAXException {
+		String dtd = null;
+		if ((publicId != null) && (!publicId.isEmpty())) {
+			dtd = publicId;
+		} else if ((systemId != null) && (!systemId.isEmpty())) {
+			dtd = systemId;
+		}
+		if (dtd != null) {
+			String parts[] = dtd.split("/");
+			header.setDtd(parts[parts.length - 1]);
+		}
+	}
+
+	@Override
+	public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+		if (isInList || TAG_TEXT_BODY.equalsIgnoreCase(qName)) {
+			throw new HeaderCompleteException();
+		} else if (TAG_HEADER.equalsIgnoreCase(qName)) {
+			for (int i = 0; i < attributes.getLength(); i++) {
+				for (String att : ATT_HEADER_PAULA_ID) {
+					if (att.equalsIgnoreCase(attributes.getQName(i))) {
+						header.setPaulaId(attributes.getValue(i));
+					}
+				}
+			}
+		} else if (TAG_MARK_MARKLIST.equalsIgnoreCase(qName) || TAG_STRUCT_STRUCTLIST.equalsIgnoreCase(qName) || TAG_REL_RELLIST.equalsIgnoreCase(qName) || TAG_FEAT_FEATLIST.equalsIgnoreCase(qName) || TAG_MULTI_MULTIFEATLIST.equalsIgnoreCase(qName)) {
+			isInList = true;
+			for (int i = 0; i < attributes.getLength(); i++) {
+				if (ATT_BASE.equalsIgnoreCase(attributes.getQName(i))) {
+					header.setXmlBase(attributes.getValue(i));
+				} else if (ATT_TYPE.equalsIgnoreCase(attributes.getQName(i))) {
+					header.setPaulaType(attributes.getValue(i));
+				}
+			}
+		}
+	}
+}
@@ -17,6 +17,8 @@
  */
 package org.corpus_tools.peppermodules.paula.readers;
 
+import org.corpus_tools.peppermodules.paula.readers.PAULANameTable.ATTRIBUTE;
+import org.corpus_tools.peppermodules.paula.readers.PAULANameTable.ELEMENT;
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
 
@@ -40,20 +42,28 @@ public class PAULAMarkReader extends PAULASpecificReader {
 		// calls super-class for setting paula-id, paula-type and xml-base
 		super.startElement(uri, localName, qName, attributes);
 		// Tag MARK gefunden
-		if (this.isTAGorAttribute(qName, TAG_MARK_MARK)) {
+		if (ELEMENT.MARK == this.getCurrentElement()) {
 			String markID = null; // mark.id-Wert
 			String markHref = null; // mark.href-Wert
 			String markType = null; // mark.type-Wert
-			for (int i = 0; i < attributes.getLength(); i++) {
-				// Attribut MARK.ID gefunden
-				if (this.isTAGorAttribute(attributes.getQName(i), ATT_ID))
+			ATTRIBUTE[] slots = this.getAttributeSlots(attributes);
+			for (int i = 0; i < slots.length; i++) {
+				if (slots[i] == null) {
+					continue;
+				}
+				switch (slots[i]) {
+				case ID:// Attribut MARK.ID gefunden
 					markID = attributes.getValue(i);
-				// Attribut MARK.HREF gefunden
-				else if (this.isTAGorAttribute(attributes.getQName(i), ATT_HREF))
+					break;
+				case HREF:// Attribut MARK.HREF gefunden
 					markHref = attributes.getValue(i);
-				// Attribut MARK.TYPE gefunden
-				else if (this.isTAGorAttribute(attributes.getQName(i), ATT_MARK_MARK_TYPE))
+					break;
+				case TYPE:// Attribut MARK.TYPE gefunden
 					markType = attributes.getValue(i);
+					break;
+				default:
+					break;
+				}
 			}
 			// ignore virtual markeables
 			if ((markType != null) && (!markType.isEmpty())) {
@@ -66,10 +76,10 @@ public class PAULAMarkReader extends PAULASpecificReader {
 
 			if ((this.getPaulaType() != null) && (this.getPaulaType().equalsIgnoreCase(ATT_TOK))) {
 				// callback to mapper when type is tok
-				this.getMapper().paulaMARK_TOKConnector(this.getPaulaFile(), this.getPaulaID(), this.getPaulaType(), this.getXmlBase(), markID, markHref, markType);
+				this.getConnector().paulaMARK_TOKConnector(this.getPaulaFile(), this.getPaulaID(), this.getPaulaType(), this.getXmlBase(), markID, markHref, markType);
 			}// callback to mapper when type is tok
 			else {// callback to mapper when type is normal mark
-				this.getMapper().paulaMARKConnector(this.getPaulaFile(), this.getPaulaID(), this.getPaulaType(), this.getXmlBase(), markID, markHref, markType);
+				this.getConnector().paulaMARKConnector(this.getPaulaFile(), this.getPaulaID(), this.getPaulaType(), this.getXmlBase(), markID, markHref, markType);
 			}// callback to mapper when type is normal mark
 		}
 	}
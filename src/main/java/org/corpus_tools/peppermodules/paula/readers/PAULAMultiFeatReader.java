@@ -17,6 +17,8 @@
  */
 package org.corpus_tools.peppermodules.paula.readers;
 
+import org.corpus_tools.peppermodules.paula.readers.PAULANameTable.ATTRIBUTE;
+import org.corpus_tools.peppermodules.paula.readers.PAULANameTable.ELEMENT;
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
 
@@ -52,52 +54,58 @@ public class PAULAMultiFeatReader extends PAULASpecificReader {
 		super.startElement(uri, localName, qName, attributes);
 
 		// FEAT-element found
-		if (this.isTAGorAttribute(qName, TAG_MULTI_MULTIFEATLIST)) {
+		if (ELEMENT.LIST == this.getCurrentElement()) {
 			if ((this.getXmlBase() != null) && (!this.getXmlBase().isEmpty())) {
 				String parts[] = this.getXmlBase().split("[.]");
 				if ((parts.length >= 2) && (parts[parts.length - 2].equalsIgnoreCase(KW_ANNO))) {
 					this.isMetaFeat = true;
 				}
 			}
-		} else if (this.isTAGorAttribute(qName, TAG_MULTI_MULTIFEAT)) {
-			for (int i = 0; i < attributes.getLength(); i++) {
+		} else if (ELEMENT.MULTIFEAT == this.getCurrentElement()) {
+			ATTRIBUTE[] slots = this.getAttributeSlots(attributes);
+			for (int i = 0; i < slots.length; i++) {
 				// Attribute FEAT.ID
-				if (this.isTAGorAttribute(attributes.getQName(i), ATT_ID))
+				if (ATTRIBUTE.ID == slots[i])
 					multiFeatID = attributes.getValue(i);
 				// Attribute FEAT.HREF
-				else if (this.isTAGorAttribute(attributes.getQName(i), ATT_HREF))
+				else if (ATTRIBUTE.HREF == slots[i])
 					multiFeatHref = attributes.getValue(i);
 			}
 
 			// checking if href contains a new not already read file
 			this.checkForFileReference(multiFeatHref);
-		} else if (this.isTAGorAttribute(qName, TAG_MULTI_FEAT)) {// FEAT-element
+		} else if (ELEMENT.FEAT == this.getCurrentElement()) {// FEAT-element
 																	// found
 			String featID = null; // feat.id
 			String featName = null; // feat.target
 			String featVal = null; // feat.value
 
-			for (int i = 0; i < attributes.getLength(); i++) {
-				// Attribute FEAT.ID
-				if (this.isTAGorAttribute(attributes.getQName(i), ATT_ID)) {
-					featID = attributes.getValue(i);
+			ATTRIBUTE[] slots = this.getAttributeSlots(attributes);
+			for (int i = 0; i < slots.length; i++) {
+				if (slots[i] == null) {
+					continue;
 				}
-				// Attribute FEAT.TARGET
-				else if (this.isTAGorAttribute(attributes.getQName(i), ATT_MULTI_FEAT_NAME)) {
+				switch (slots[i]) {
+				case ID:// Attribute FEAT.ID
+					featID = attributes.getValue(i);
+					break;
+				case NAME:// Attribute FEAT.TARGET
 					featName = attributes.getValue(i);
-				}
-				// Attribute FEAT.VALUE
-				else if (this.isTAGorAttribute(attributes.getQName(i), ATT_MULTI_FEAT_VALUE)) {
+					break;
+				case VALUE:// Attribute FEAT.VALUE
 					featVal = attributes.getValue(i);
+					break;
+				default:
+					break;
 				}
 			}
 
 			if (this.isMetaFeat) {// callback for mapper in case of feat means
 									// corpus or document
-				this.getMapper().paulaFEAT_METAConnector(this.getPaulaFile(), this.getPaulaID(), featName, this.getXmlBase(), featID, multiFeatHref, featName, featVal, null, null);
+				this.getConnector().paulaFEAT_METAConnector(this.getPaulaFile(), this.getPaulaID(), featName, this.getXmlBase(), featID, multiFeatHref, featName, featVal, null, null);
 			}// callback for mapper in case of feat means corpus or document
 			else {// callback for mapper for normal feat
-				this.getMapper().paulaFEATConnector(this.getPaulaFile(), this.getPaulaID(), featName, this.getXmlBase(), featID, multiFeatHref, featName, featVal, null, null);
+				this.getConnector().paulaFEATConnector(this.getPaulaFile(), this.getPaulaID(), featName, this.getXmlBase(), featID, multiFeatHref, featName, featVal, null, null);
 			}// callback for mapper for normal feat
 		}
 	}
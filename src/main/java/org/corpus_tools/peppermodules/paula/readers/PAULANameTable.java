@@ -0,0 +1,108 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.readers;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.corpus_tools.peppermodules.paula.PAULAXMLDictionary;
+
+/**
+ * Maps the element and attribute names of all paula dtds to constants, so
+ * that the readers can dispatch with a switch instead of comparing each name
+ * against all candidates. Names are compared case-insensitive, as the paula
+ * readers always did. Since the xml parsers pass the names mostly in the
+ * spelling of the dtd, an exact lookup in a hash table is tried first.
+ */
+public final class PAULANameTable implements PAULAXMLDictionary {
+	/** all elements, the readers react on **/
+	public enum ELEMENT {
+		HEADER, LIST, BODY, MARK, STRUCT, REL, FEAT, MULTIFEAT
+	}
+
+	/** all attributes, the readers react on **/
+	public enum ATTRIBUTE {
+		ID, PAULA_ID, BASE, TYPE, HREF, TARGET, VALUE, DESCRIPTION, EXAMPLE, NAME
+	}
+
+	/** maps the element names in the spelling of the dtd to elements **/
+	private static final Map<String, ELEMENT> ELEMENTS = new HashMap<String, ELEMENT>();
+	/** maps the element names case-insensitive to elements **/
+	private static final Map<String, ELEMENT> ELEMENTS_IGNORE_CASE = new TreeMap<String, ELEMENT>(String.CASE_INSENSITIVE_ORDER);
+	/** maps the attribute names in the spelling of the dtd to attributes **/
+	private static final Map<String, ATTRIBUTE> ATTRIBUTES = new HashMap<String, ATTRIBUTE>();
+	/** maps the attribute names case-insensitive to attributes **/
+	private static final Map<String, ATTRIBUTE> ATTRIBUTES_IGNORE_CASE = new TreeMap<String, ATTRIBUTE>(String.CASE_INSENSITIVE_ORDER);
+	static {
+		ELEMENTS.put(TAG_HEADER, ELEMENT.HEADER);
+		ELEMENTS.put(TAG_MARK_MARKLIST, ELEMENT.LIST);
+		ELEMENTS.put(TAG_STRUCT_STRUCTLIST, ELEMENT.LIST);
+		ELEMENTS.put(TAG_REL_RELLIST, ELEMENT.LIST);
+		ELEMENTS.put(TAG_FEAT_FEATLIST, ELEMENT.LIST);
+		ELEMENTS.put(TAG_MULTI_MULTIFEATLIST, ELEMENT.LIST);
+		ELEMENTS.put(TAG_TEXT_BODY, ELEMENT.BODY);
+		ELEMENTS.put(TAG_MARK_MARK, ELEMENT.MARK);
+		ELEMENTS.put(TAG_STRUCT_STRUCT, ELEMENT.STRUCT);
+		ELEMENTS.put(TAG_STRUCT_REL, ELEMENT.REL);
+		ELEMENTS.put(TAG_FEAT_FEAT, ELEMENT.FEAT);
+		ELEMENTS.put(TAG_MULTI_MULTIFEAT, ELEMENT.MULTIFEAT);
+		ELEMENTS_IGNORE_CASE.putAll(ELEMENTS);
+
+		ATTRIBUTES.put(ATT_ID, ATTRIBUTE.ID);
+		for (String att : ATT_HEADER_PAULA_ID) {
+			ATTRIBUTES.put(att, ATTRIBUTE.PAULA_ID);
+		}
+		ATTRIBUTES.put(ATT_BASE, ATTRIBUTE.BASE);
+		ATTRIBUTES.put(ATT_TYPE, ATTRIBUTE.TYPE);
+		ATTRIBUTES.put(ATT_HREF, ATTRIBUTE.HREF);
+		ATTRIBUTES.put(ATT_REL_REL_TARGET, ATTRIBUTE.TARGET);
+		ATTRIBUTES.put(ATT_FEAT_FEAT_VAL, ATTRIBUTE.VALUE);
+		ATTRIBUTES.put(ATT_FEAT_FEAT_DESC, ATTRIBUTE.DESCRIPTION);
+		ATTRIBUTES.put(ATT_FEAT_FEAT_EXP, ATTRIBUTE.EXAMPLE);
+		ATTRIBUTES.put(ATT_MULTI_FEAT_NAME, ATTRIBUTE.NAME);
+		ATTRIBUTES_IGNORE_CASE.putAll(ATTRIBUTES);
+	}
+
+	private PAULANameTable() {
+	}
+
+	/**
+	 * Returns the element for the given element name or null, if the readers
+	 * do not react on it.
+	 */
+	public static ELEMENT getElement(String name) {
+		ELEMENT element = ELEMENTS.get(name);
+		if ((element == null) && (name != null)) {
+			element = ELEMENTS_IGNORE_CASE.get(name);
+		}
+		return element;
+	}
+
+	/**
+	 * Returns the attribute for the given qualified attribute name or null, if
+	 * the readers do not react on it.
+	 */
+	public static ATTRIBUTE getAttribute(String name) {
+		ATTRIBUTE attribute = ATTRIBUTES.get(name);
+		if ((attribute == null) && (name != null)) {
+			attribute = ATTRIBUTES_IGNORE_CASE.get(name);
+		}
+		return attribute;
+	}
+}
@@ -20,6 +20,7 @@ package org.corpus_tools.peppermodules.paula.readers;
 import java.io.File;
 
 import org.corpus_tools.peppermodules.paula.PAULA2SaltMapper;
+import org.corpus_tools.peppermodules.paula.PAULAConnector;
 import org.corpus_tools.peppermodules.paula.PAULAFileDelegator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,6 +59,29 @@ public class PAULAReader extends DefaultHandler2 {
 	}
 
 	// =================================== end: mapper for callback
+	// =================================== start: connector for callback
+	/**
+	 * The connector receiving all read elements. If none is set, the mapper is
+	 * used.
+	 */
+	private PAULAConnector connector = null;
+
+	/**
+	 * @param connector
+	 *            the connector receiving all read elements
+	 */
+	public void setConnector(PAULAConnector connector) {
+		this.connector = connector;
+	}
+
+	/**
+	 * @return the connector receiving all read elements
+	 */
+	public PAULAConnector getConnector() {
+		return connector;
+	}
+
+	// =================================== end: connector for callback
 	// =============================== start: paulaFile
 	/**
 	 * Stores the current read paula-file
@@ -157,6 +181,7 @@ public class PAULAReader extends DefaultHandler2 {
 			throw new SAXException("Cannot parse paula-file '" + this.getPaulaFile().getAbsolutePath() + "', because no reader object for the dtd '" + currentDTD + "' has been found.");
 		}
 		this.specificPAULAReader.setMapper(this.getMapper());
+		this.specificPAULAReader.setConnector(this.getConnector());
 		this.specificPAULAReader.setPaulaFile(this.getPaulaFile());
 		this.specificPAULAReader.setPaulaFileDelegator(this.getPaulaFileDelegator());
 	}
@@ -17,6 +17,8 @@
  */
 package org.corpus_tools.peppermodules.paula.readers;
 
+import org.corpus_tools.peppermodules.paula.readers.PAULANameTable.ATTRIBUTE;
+import org.corpus_tools.peppermodules.paula.readers.PAULANameTable.ELEMENT;
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
 
@@ -37,20 +39,28 @@ public class PAULARelReader extends PAULASpecificReader {
 			super.startElement(uri, localName, qName, attributes);
 		}// calls super-class for setting paula-id, paula-type and xml-base
 			// REL element found
-		if (this.isTAGorAttribute(qName, TAG_REL_REL)) {
+		if (ELEMENT.REL == this.getCurrentElement()) {
 			String RELID = null; // REL.id
 			String RELHref = null; // REL.href
 			String RELTarget = null; // REL.type
-			for (int i = 0; i < attributes.getLength(); i++) {
-				// REL.ID attribute found
-				if (this.isTAGorAttribute(attributes.getQName(i), ATT_ID))
+			ATTRIBUTE[] slots = this.getAttributeSlots(attributes);
+			for (int i = 0; i < slots.length; i++) {
+				if (slots[i] == null) {
+					continue;
+				}
+				switch (slots[i]) {
+				case ID:// REL.ID attribute found
 					RELID = attributes.getValue(i);
-				// REL.HREF attribute found
-				else if (this.isTAGorAttribute(attributes.getQName(i), ATT_HREF))
+					break;
+				case HREF:// REL.HREF attribute found
 					RELHref = attributes.getValue(i);
-				// REL.TYPE attribute found
-				else if (this.isTAGorAttribute(attributes.getQName(i), ATT_REL_REL_TARGET))
+					break;
+				case TARGET:// REL.TYPE attribute found
 					RELTarget = attributes.getValue(i);
+					break;
+				default:
+					break;
+				}
 			}
 
 			{// checking if href contains a new not already read file
@@ -58,7 +68,7 @@ public class PAULARelReader extends PAULASpecificReader {
 				this.checkForFileReference(RELTarget);
 			}// checking if href contains a new not already read file
 
-			this.getMapper().paulaRELConnector(this.getPaulaFile(), this.getPaulaID(), this.getPaulaType(), this.getXmlBase(), RELID, RELHref, RELTarget);
+			this.getConnector().paulaRELConnector(this.getPaulaFile(), this.getPaulaID(), this.getPaulaType(), this.getXmlBase(), RELID, RELHref, RELTarget);
 		}
 	}
 
@@ -20,8 +20,12 @@ package org.corpus_tools.peppermodules.paula.readers;
 import java.io.File;
 
 import org.corpus_tools.peppermodules.paula.PAULA2SaltMapper;
+import org.corpus_tools.peppermodules.paula.PAULAConnector;
 import org.corpus_tools.peppermodules.paula.PAULAFileDelegator;
 import org.corpus_tools.peppermodules.paula.PAULAXMLDictionary;
+import org.corpus_tools.peppermodules.paula.readers.PAULANameTable.ATTRIBUTE;
+import org.corpus_tools.peppermodules.paula.readers.PAULANameTable.ELEMENT;
+import org.corpus_tools.peppermodules.paula.util.xPointer.StringRangePointer;
 import org.corpus_tools.peppermodules.paula.util.xPointer.XPtrInterpreter;
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
@@ -176,6 +180,32 @@ public abstract class PAULASpecificReader extends DefaultHandler2 implements PAU
 	}
 
 	// =============================== end: mapper
+	// =============================== start: connector
+	/**
+	 * The connector receiving all read elements. If none is set, the mapper is
+	 * used.
+	 */
+	private PAULAConnector connector = null;
+
+	/**
+	 * @return the connector receiving all read elements
+	 */
+	public PAULAConnector getConnector() {
+		if (connector == null) {
+			return getMapper();
+		}
+		return connector;
+	}
+
+	/**
+	 * @param connector
+	 *            the connector receiving all read elements
+	 */
+	public void setConnector(PAULAConnector connector) {
+		this.connector = connector;
+	}
+
+	// =============================== end: connector
 	// =============================== start: paula-file-delegator
 	/**
 	 * The PAULAFileDelegator, which takes controll over loading paula--files
@@ -206,16 +236,71 @@ public abstract class PAULASpecificReader extends DefaultHandler2 implements PAU
 	 *            - the attribute to check
 	 */
 	protected void checkForFileReference(String xPtr) {
-		if ((xPtr != null) && (!xPtr.isEmpty())) {
+		// string-range pointers as used in tokenization files never refer to
+		// another file
+		if ((xPtr != null) && (!xPtr.isEmpty()) && (!StringRangePointer.parse(xPtr, null))) {
 			XPtrInterpreter xPtrInterpreter = new XPtrInterpreter();
 			xPtrInterpreter.setInterpreter(null, xPtr);
 			if ((xPtrInterpreter.getDoc() != null) && (!xPtrInterpreter.getDoc().isEmpty())) {// if
 				File referedFile = new File(xPtrInterpreter.getDoc());
-				this.getPaulaFileDelegator().startPaulaFile(referedFile);
+				this.getPaulaFileDelegator().notifyFileReference(this.getPaulaFile(), referedFile);
 			}// if xpointer contains a document
 		}
 	}
 
+	// =============================== start: dispatch
+	/**
+	 * The element passed to the last call of
+	 * {@link #startElement(String, String, String, Attributes)}, or null if
+	 * the readers do not react on it.
+	 */
+	private ELEMENT currentElement = null;
+
+	/**
+	 * Returns the element passed to the last call of
+	 * {@link #startElement(String, String, String, Attributes)}, or null if
+	 * the readers do not react on it. Is meant to be used by derived readers
+	 * after calling the super method, to not resolve the element name twice.
+	 */
+	protected ELEMENT getCurrentElement() {
+		return currentElement;
+	}
+
+	/** attribute names of the last resolved element shape **/
+	private String[] shapeNames = new String[0];
+	/** attributes of the last resolved element shape **/
+	private ATTRIBUTE[] shapeSlots = new ATTRIBUTE[0];
+
+	/**
+	 * Returns for each attribute of the passed list the {@link ATTRIBUTE} its
+	 * name stands for, or null if the readers do not react on it. Since all
+	 * elements of a kind usually carry the same attributes in the same order,
+	 * the result for the last list of names is kept and returned again as
+	 * long as the names do not change. The returned array must not be
+	 * modified.
+	 */
+	public ATTRIBUTE[] getAttributeSlots(Attributes attributes) {
+		int length = attributes.getLength();
+		boolean sameShape = (length == shapeNames.length);
+		for (int i = 0; (sameShape) && (i < length); i++) {
+			String qName = attributes.getQName(i);
+			// parsers usually pass the same string instance for the same name
+			sameShape = (qName == shapeNames[i]) || (qName.equals(shapeNames[i]));
+		}
+		if (!sameShape) {
+			String[] names = new String[length];
+			ATTRIBUTE[] slots = new ATTRIBUTE[length];
+			for (int i = 0; i < length; i++) {
+				names[i] = attributes.getQName(i);
+				slots[i] = PAULANameTable.getAttribute(names[i]);
+			}
+			shapeNames = names;
+			shapeSlots = slots;
+		}
+		return shapeSlots;
+	}
+
+	// =============================== end: dispatch
 	// =============================== start: sax-methods
 	/**
 	 * Extracts some general information, which can be necessary for all derived
@@ -227,34 +312,35 @@ public abstract class PAULASpecificReader extends DefaultHandler2 implements PAU
 	 */
 	@Override
 	public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+		currentElement = PAULANameTable.getElement(qName);
 		try {
 			// TAG HEADER
-			if (this.isTAGorAttribute(qName, TAG_HEADER)) {
-				for (int i = 0; i < attributes.getLength(); i++) {
+			if (ELEMENT.HEADER == currentElement) {
+				ATTRIBUTE[] slots = getAttributeSlots(attributes);
+				for (int i = 0; i < slots.length; i++) {
 					// setting paula-id
-					if (this.isTAGorAttribute(attributes.getQName(i), ATT_HEADER_PAULA_ID))
+					if (ATTRIBUTE.PAULA_ID == slots[i])
 						this.setPaulaID(attributes.getValue(i));
 				}
 			}
 			// Tag *LIST
-			else if ((this.isTAGorAttribute(qName, TAG_MARK_MARKLIST)) || (this.isTAGorAttribute(qName, TAG_STRUCT_STRUCTLIST)) || (this.isTAGorAttribute(qName, TAG_REL_RELLIST)) || (this.isTAGorAttribute(qName, TAG_FEAT_FEATLIST)) || (this.isTAGorAttribute(qName, TAG_MULTI_MULTIFEATLIST))) {
+			else if (ELEMENT.LIST == currentElement) {
 				// set values xml-base, paula-type
-				for (int i = 0; i < attributes.getLength(); i++) {
-					String attName = attributes.getQName(i);
-					String attVal = attributes.getValue(i);
+				ATTRIBUTE[] slots = getAttributeSlots(attributes);
+				for (int i = 0; i < slots.length; i++) {
 					// Attribut MARKLIST.BASE gefunden
-					if (this.isTAGorAttribute(attName, ATT_BASE))
-						this.setXmlBase(attVal);
+					if (ATTRIBUTE.BASE == slots[i])
+						this.setXmlBase(attributes.getValue(i));
 					// Attribut MARKLIST.TYPE gefunden
-					else if (this.isTAGorAttribute(attName, ATT_TYPE)) {
-						this.setPaulaType(attVal);
+					else if (ATTRIBUTE.TYPE == slots[i]) {
+						this.setPaulaType(attributes.getValue(i));
 					}
 				}
 				{// making sure, that file refered by xml-base has been read or
 					// will be read
 					if ((this.getXmlBase() != null) && (!"".equals(this.getXmlBase()))) {
 						File referedFile = new File(this.getXmlBase());
-						this.getPaulaFileDelegator().startPaulaFile(referedFile);
+						this.getPaulaFileDelegator().notifyFileReference(this.getPaulaFile(), referedFile);
 					}
 				}// making sure, that file refered by xml-base has been read or
 					// will be read
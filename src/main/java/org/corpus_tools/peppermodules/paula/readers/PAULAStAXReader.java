@@ -0,0 +1,469 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.readers;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.corpus_tools.pepper.modules.exceptions.PepperModuleException;
+import org.corpus_tools.peppermodules.paula.PAULA2SaltMapper;
+import org.corpus_tools.peppermodules.paula.PAULAConnector;
+import org.corpus_tools.peppermodules.paula.PAULAFileDelegator;
+import org.corpus_tools.peppermodules.paula.PAULAXMLDictionary;
+import org.corpus_tools.peppermodules.paula.readers.PAULANameTable.ATTRIBUTE;
+import org.corpus_tools.peppermodules.paula.readers.PAULANameTable.ELEMENT;
+import org.corpus_tools.peppermodules.paula.util.xPointer.StringRangePointer;
+import org.corpus_tools.peppermodules.paula.util.xPointer.XPtrInterpreter;
+
+/**
+ * Reads a paula file with a StAX {@link XMLStreamReader} and passes its
+ * elements directly to the {@link PAULAConnector}. This is an alternative to
+ * the SAX based {@link PAULAReader}, which delegates all events to a
+ * {@link PAULASpecificReader}. Both produce the same connector calls in the
+ * same order. The type of a file is identified by the name of the dtd in its
+ * DOCTYPE declaration, the dtd itself is never loaded.
+ */
+public class PAULAStAXReader implements PAULAXMLDictionary {
+	/** all types of paula files, identified by their dtd **/
+	private enum FILE_TYPE {
+		TEXT, MARK, STRUCT, REL, FEAT, MULTIFEAT
+	}
+
+	/** maps the dtd names case-insensitive to file types **/
+	private static final Map<String, FILE_TYPE> FILE_TYPES = new TreeMap<String, FILE_TYPE>(String.CASE_INSENSITIVE_ORDER);
+	static {
+		FILE_TYPES.put(PAULAReader.PAULA_DTD_TEXT, FILE_TYPE.TEXT);
+		FILE_TYPES.put(PAULAReader.PAULA_DTD_MARK, FILE_TYPE.MARK);
+		FILE_TYPES.put(PAULAReader.PAULA_DTD_STRUCT, FILE_TYPE.STRUCT);
+		FILE_TYPES.put(PAULAReader.PAULA_DTD_REL, FILE_TYPE.REL);
+		FILE_TYPES.put(PAULAReader.PAULA_DTD_FEAT, FILE_TYPE.FEAT);
+		FILE_TYPES.put(PAULAReader.PAULA_DTD_MULTIFEAT, FILE_TYPE.MULTIFEAT);
+	}
+
+	/** paula type of a tokenization file **/
+	private static final String KW_TOK = "tok";
+	/** paula type of a struct file, which is ignored **/
+	private static final String KW_ANNO_SET = "annoSet";
+	/** paula type of a feat file, which is ignored **/
+	private static final String KW_ANNO_FEAT = "annoFeat";
+	/** xml-base of feats annotating a corpus or document **/
+	private static final String KW_ANNO = "anno";
+	/** xml-base of feats annotating a corpus or document **/
+	private static final String KW_META = "meta";
+
+	private static final XMLInputFactory factory = XMLInputFactory.newInstance();
+	static {
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+	}
+
+	/** number of bytes at the beginning of a file searched for the DOCTYPE declaration **/
+	private static final int PROLOG_SIZE = 4096;
+
+	/**
+	 * Creates a new stream reader for the given stream. Since an
+	 * {@link XMLInputFactory} is not guaranteed to be thread safe, the
+	 * creation is synchronized.
+	 */
+	private static XMLStreamReader createXMLStreamReader(InputStream inputStream, String systemId) throws XMLStreamException {
+		synchronized (factory) {
+			return factory.createXMLStreamReader(systemId, inputStream);
+		}
+	}
+
+	/**
+	 * Returns the DOCTYPE declaration found in the given prolog or null.
+	 */
+	private static String findDocType(byte[] prolog, int length) {
+		// the declaration consists of ASCII characters only
+		String text = new String(prolog, 0, length, Charset.forName("ISO-8859-1"));
+		int start = text.indexOf("<!DOCTYPE");
+		if (start < 0) {
+			return null;
+		}
+		int end = text.indexOf('>', start);
+		if (end < 0) {
+			return null;
+		}
+		return text.substring(start, end + 1);
+	}
+
+	// =============================== start: members
+	/**
+	 * PAULA2SaltMapper, used for error reporting.
+	 */
+	private PAULA2SaltMapper mapper = null;
+
+	public void setMapper(PAULA2SaltMapper mapper) {
+		this.mapper = mapper;
+	}
+
+	public PAULA2SaltMapper getMapper() {
+		return mapper;
+	}
+
+	/**
+	 * The connector receiving all read elements. If none is set, the mapper is
+	 * used.
+	 */
+	private PAULAConnector connector = null;
+
+	public void setConnector(PAULAConnector connector) {
+		this.connector = connector;
+	}
+
+	public PAULAConnector getConnector() {
+		if (connector == null) {
+			return getMapper();
+		}
+		return connector;
+	}
+
+	/**
+	 * Stores the current read paula-file
+	 */
+	private File paulaFile = null;
+
+	public void setPaulaFile(File paulaFile) {
+		this.paulaFile = paulaFile;
+	}
+
+	public File getPaulaFile() {
+		return paulaFile;
+	}
+
+	/**
+	 * The PAULAFileDelegator, which is notified about referred files
+	 */
+	private PAULAFileDelegator paulaFileDelegator = null;
+
+	public void setPaulaFileDelegator(PAULAFileDelegator paulaFileDelegator) {
+		this.paulaFileDelegator = paulaFileDelegator;
+	}
+
+	public PAULAFileDelegator getPaulaFileDelegator() {
+		return paulaFileDelegator;
+	}
+
+	// =============================== end: members
+	// =============================== start: state of current file
+	private FILE_TYPE fileType = null;
+	private String paulaID = null;
+	private String paulaType = null;
+	private String xmlBase = null;
+	/** true if feats of the current file annotate a corpus or document **/
+	private boolean isMetaFeat = false;
+	/** true if the current file is the annoSet **/
+	private boolean isAnnoSet = false;
+	/** struct/@id of the current struct element **/
+	private String structID = null;
+	/** multiFeat/@href of the current multiFeat element **/
+	private String multiFeatHref = null;
+	/** primary data, is null when not inside the body **/
+	private StringBuilder text = null;
+
+	// =============================== end: state of current file
+
+	/**
+	 * Reads the entire paula file from the given stream. The stream is not
+	 * closed.
+	 * 
+	 * @param inputStream
+	 *            the content of the paula file
+	 * @param systemId
+	 *            the location of the paula file
+	 */
+	public void read(InputStream inputStream, String systemId) throws XMLStreamException, IOException {
+		// Not all StAX implementations return the DOCTYPE declaration for a
+		// DTD event, therefore it is searched in the prolog first.
+		BufferedInputStream in = new BufferedInputStream(inputStream, PROLOG_SIZE);
+		in.mark(PROLOG_SIZE);
+		byte[] prolog = new byte[PROLOG_SIZE];
+		int length = 0;
+		int read;
+		while ((length < PROLOG_SIZE) && ((read = in.read(prolog, length, PROLOG_SIZE - length)) != -1)) {
+			length += read;
+		}
+		in.reset();
+		String docType = findDocType(prolog, length);
+
+		XMLStreamReader xmlReader = createXMLStreamReader(in, systemId);
+		try {
+			read(xmlReader, docType);
+		} finally {
+			xmlReader.close();
+		}
+	}
+
+	/**
+	 * Reads the entire paula file from the given stream reader.
+	 * 
+	 * @param docType
+	 *            the DOCTYPE declaration of the file, if it is null, the text
+	 *            of the DTD event is used
+	 */
+	private void read(XMLStreamReader xmlReader, String docType) throws XMLStreamException {
+		while (xmlReader.hasNext()) {
+			switch (xmlReader.next()) {
+			case XMLStreamConstants.DTD:
+				fileType = getFileType((docType != null) ? docType : xmlReader.getText());
+				break;
+			case XMLStreamConstants.START_ELEMENT:
+				if (fileType == null) {
+					throw new PepperModuleException(getMapper(), "Cannot parse paula-file '" + getPaulaFile().getAbsolutePath() + "', because no reader object for its dtd has been found.");
+				}
+				startElement(xmlReader);
+				break;
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.CDATA:
+			case XMLStreamConstants.SPACE:
+				if (text != null) {
+					text.append(xmlReader.getTextCharacters(), xmlReader.getTextStart(), xmlReader.getTextLength());
+				}
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				if ((text != null) && (ELEMENT.BODY == PAULANameTable.getElement(xmlReader.getLocalName()))) {
+					String primaryText = text.toString();
+					// release the buffer before the text is mapped
+					text = null;
+					getConnector().paulaTEXTConnector(getPaulaFile(), paulaID, primaryText);
+				}
+				break;
+			case XMLStreamConstants.END_DOCUMENT:
+				if (FILE_TYPE.STRUCT == fileType) {
+					PAULAStructReader structReader = new PAULAStructReader();
+					structReader.setPaulaFile(getPaulaFile());
+					getConnector().endDocument(structReader, getPaulaFile());
+				}
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Returns the file type for the dtd given in the passed DOCTYPE
+	 * declaration. As {@link PAULAReader}, the public id is preferred over the
+	 * system id.
+	 */
+	private FILE_TYPE getFileType(String docType) {
+		String dtd = null;
+		int keyword = docType.indexOf("PUBLIC");
+		if (keyword < 0) {
+			keyword = docType.indexOf("SYSTEM");
+		}
+		if (keyword >= 0) {
+			int start = keyword + 6;
+			while ((start < docType.length()) && (docType.charAt(start) != '"') && (docType.charAt(start) != '\'')) {
+				start++;
+			}
+			if (start < docType.length()) {
+				int end = docType.indexOf(docType.charAt(start), start + 1);
+				if (end > start) {
+					dtd = docType.substring(start + 1, end);
+				}
+			}
+		}
+		if ((dtd == null) || (dtd.isEmpty())) {
+			throw new PepperModuleException(getMapper(), "Error in file '" + getPaulaFile().getAbsolutePath() + "', no dtd is given.");
+		}
+		String parts[] = dtd.split("/");
+		FILE_TYPE fileType = FILE_TYPES.get(parts[parts.length - 1]);
+		if (fileType == null) {
+			throw new PepperModuleException(getMapper(), "Cannot parse paula-file '" + getPaulaFile().getAbsolutePath() + "', because no reader object for the dtd '" + parts[parts.length - 1] + "' has been found.");
+		}
+		return fileType;
+	}
+
+	/**
+	 * Returns the qualified name of the i-th attribute of the current element.
+	 */
+	private static String getAttributeName(XMLStreamReader xmlReader, int i) {
+		String prefix = xmlReader.getAttributePrefix(i);
+		if ((prefix == null) || (prefix.isEmpty())) {
+			return xmlReader.getAttributeLocalName(i);
+		}
+		return prefix + ":" + xmlReader.getAttributeLocalName(i);
+	}
+
+	/**
+	 * Handles the start of an element, depending on the type of the file.
+	 */
+	private void startElement(XMLStreamReader xmlReader) {
+		ELEMENT element = PAULANameTable.getElement(xmlReader.getLocalName());
+		if (element == null) {
+			return;
+		}
+		// collect all known attributes
+		String id = null, base = null, type = null, href = null, target = null, value = null, description = null, example = null, name = null;
+		for (int i = 0; i < xmlReader.getAttributeCount(); i++) {
+			ATTRIBUTE attribute = PAULANameTable.getAttribute(getAttributeName(xmlReader, i));
+			if (attribute == null) {
+				continue;
+			}
+			String attValue = xmlReader.getAttributeValue(i);
+			switch (attribute) {
+			case ID:
+				id = attValue;
+				break;
+			case PAULA_ID:
+				if (ELEMENT.HEADER == element) {
+					paulaID = attValue;
+				}
+				break;
+			case BASE:
+				base = attValue;
+				break;
+			case TYPE:
+				type = attValue;
+				break;
+			case HREF:
+				href = attValue;
+				break;
+			case TARGET:
+				target = attValue;
+				break;
+			case VALUE:
+				value = attValue;
+				break;
+			case DESCRIPTION:
+				description = attValue;
+				break;
+			case EXAMPLE:
+				example = attValue;
+				break;
+			case NAME:
+				name = attValue;
+				break;
+			}
+		}
+
+		switch (element) {
+		case HEADER:
+			break;
+		case LIST:
+			if (base != null) {
+				xmlBase = base;
+			}
+			if (type != null) {
+				paulaType = type;
+			}
+			if ((xmlBase != null) && (!xmlBase.isEmpty())) {
+				getPaulaFileDelegator().notifyFileReference(getPaulaFile(), new File(xmlBase));
+				String parts[] = xmlBase.split("[.]");
+				if ((parts.length >= 2) && (parts[parts.length - 2].equalsIgnoreCase(KW_ANNO))) {
+					isMetaFeat = true;
+				} else if ((FILE_TYPE.FEAT == fileType) && (KW_META.equalsIgnoreCase(xmlBase))) {
+					isMetaFeat = true;
+				}
+			}
+			if ((FILE_TYPE.STRUCT == fileType) && (KW_ANNO_SET.equalsIgnoreCase(paulaType))) {
+				isAnnoSet = true;
+			}
+			break;
+		case BODY:
+			if (FILE_TYPE.TEXT == fileType) {
+				text = new StringBuilder(PAULATextReader.getTextCapacity(getPaulaFileDelegator(), getPaulaFile()));
+			}
+			break;
+		case MARK:
+			if (FILE_TYPE.MARK == fileType) {
+				// ignore virtual markables
+				if ((type != null) && (type.equalsIgnoreCase(VALUE_MARK_MARK_TYPE))) {
+					return;
+				}
+				checkForFileReference(href);
+				if ((paulaType != null) && (paulaType.equalsIgnoreCase(KW_TOK))) {
+					getConnector().paulaMARK_TOKConnector(getPaulaFile(), paulaID, paulaType, xmlBase, id, href, type);
+				} else {
+					getConnector().paulaMARKConnector(getPaulaFile(), paulaID, paulaType, xmlBase, id, href, type);
+				}
+			}
+			break;
+		case STRUCT:
+			if ((FILE_TYPE.STRUCT == fileType) && (!isAnnoSet)) {
+				structID = id;
+			}
+			break;
+		case REL:
+			if ((FILE_TYPE.STRUCT == fileType) && (!isAnnoSet)) {
+				checkForFileReference(href);
+				getConnector().paulaSTRUCTConnector(getPaulaFile(), paulaID, paulaType, xmlBase, structID, (id == null) ? "" : id, (href == null) ? "" : href, (type == null) ? "" : type);
+			} else if (FILE_TYPE.REL == fileType) {
+				checkForFileReference(href);
+				checkForFileReference(target);
+				getConnector().paulaRELConnector(getPaulaFile(), paulaID, paulaType, xmlBase, id, href, target);
+			}
+			break;
+		case MULTIFEAT:
+			if (FILE_TYPE.MULTIFEAT == fileType) {
+				multiFeatHref = href;
+				checkForFileReference(href);
+			}
+			break;
+		case FEAT:
+			if (FILE_TYPE.FEAT == fileType) {
+				checkForFileReference(href);
+				checkForFileReference(target);
+				if (KW_ANNO_FEAT.equals(paulaType)) {
+					// file is annofeat, do nothing
+				} else if (isMetaFeat) {
+					getConnector().paulaFEAT_METAConnector(getPaulaFile(), paulaID, paulaType, xmlBase, id, href, target, value, description, example);
+				} else if (((value == null) || (value.isEmpty())) && ((target != null) && (!target.isEmpty()))) {
+					// feat misused as rel
+					getConnector().paulaRELConnector(getPaulaFile(), paulaID, paulaType, xmlBase, id, href, target);
+				} else {
+					getConnector().paulaFEATConnector(getPaulaFile(), paulaID, paulaType, xmlBase, id, href, target, value, description, example);
+				}
+			} else if (FILE_TYPE.MULTIFEAT == fileType) {
+				if (isMetaFeat) {
+					getConnector().paulaFEAT_METAConnector(getPaulaFile(), paulaID, name, xmlBase, id, multiFeatHref, name, value, null, null);
+				} else {
+					getConnector().paulaFEATConnector(getPaulaFile(), paulaID, name, xmlBase, id, multiFeatHref, name, value, null, null);
+				}
+			}
+			break;
+		}
+	}
+
+	/**
+	 * Notifies the {@link PAULAFileDelegator}, if the given xpointer refers to
+	 * another file.
+	 */
+	private void checkForFileReference(String xPtr) {
+		// string-range pointers as used in tokenization files never refer to
+		// another file
+		if ((xPtr != null) && (!xPtr.isEmpty()) && (!StringRangePointer.parse(xPtr, null))) {
+			XPtrInterpreter xPtrInterpreter = new XPtrInterpreter();
+			xPtrInterpreter.setInterpreter(null, xPtr);
+			if ((xPtrInterpreter.getDoc() != null) && (!xPtrInterpreter.getDoc().isEmpty())) {
+				getPaulaFileDelegator().notifyFileReference(getPaulaFile(), new File(xPtrInterpreter.getDoc()));
+			}
+		}
+	}
+}
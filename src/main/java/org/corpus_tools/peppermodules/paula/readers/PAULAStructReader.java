@@ -17,6 +17,8 @@
  */
 package org.corpus_tools.peppermodules.paula.readers;
 
+import org.corpus_tools.peppermodules.paula.readers.PAULANameTable.ATTRIBUTE;
+import org.corpus_tools.peppermodules.paula.readers.PAULANameTable.ELEMENT;
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
 
@@ -76,45 +78,54 @@ public class PAULAStructReader extends PAULASpecificReader {
 		super.startElement(uri, localName, qName, attributes);
 
 		// STRUCTLIST-element found
-		if (this.isTAGorAttribute(qName, TAG_STRUCT_STRUCTLIST)) {
+		if (ELEMENT.LIST == this.getCurrentElement()) {
 			if ((this.getPaulaType() != null) && (this.getPaulaType().equalsIgnoreCase(KW_ANNO_TYPE)))
 				this.isAnnoSet = true;
 		}
 		// STRUCT-element found
-		else if (this.isTAGorAttribute(qName, TAG_STRUCT_STRUCT)) {
+		else if (ELEMENT.STRUCT == this.getCurrentElement()) {
 			if (!isAnnoSet) {// do only if file is not the annoSet
 				this.numStruct++;
-				for (int i = 0; i < attributes.getLength(); i++) {
+				ATTRIBUTE[] slots = this.getAttributeSlots(attributes);
+				for (int i = 0; i < slots.length; i++) {
 					// ATTIBUTE STRUCT.ID
-					if (this.isTAGorAttribute(attributes.getQName(i), ATT_ID)) {
+					if (ATTRIBUTE.ID == slots[i]) {
 						this.structID = attributes.getValue(i);
 					}
 				}
 			}// do only if file is not the annoSet
 		}
 		// REL-element found
-		else if (this.isTAGorAttribute(qName, TAG_STRUCT_REL)) {
+		else if (ELEMENT.REL == this.getCurrentElement()) {
 			if (!isAnnoSet) {// do only if file is not the annoSet
 				this.numRel++;
 				String relID = ""; // Attributwert von STRUCT.ID
 				String relType = ""; // Attributwert von STRUCT.TYPE
 				String relHref = ""; // Attributwert von STRUCT.HREF
 
-				for (int i = 0; i < attributes.getLength(); i++) {
-					// ATTIBUTE REL.ID
-					if (this.isTAGorAttribute(attributes.getQName(i), ATT_ID))
+				ATTRIBUTE[] slots = this.getAttributeSlots(attributes);
+				for (int i = 0; i < slots.length; i++) {
+					if (slots[i] == null) {
+						continue;
+					}
+					switch (slots[i]) {
+					case ID:// ATTIBUTE REL.ID
 						relID = attributes.getValue(i);
-					// ATTIBUTE REL.TYPE
-					else if (this.isTAGorAttribute(attributes.getQName(i), ATT_STRUCT_REL_TYPE))
+						break;
+					case TYPE:// ATTIBUTE REL.TYPE
 						relType = attributes.getValue(i);
-					// ATTIBUTE REL.HREF
-					else if (this.isTAGorAttribute(attributes.getQName(i), ATT_HREF))
+						break;
+					case HREF:// ATTIBUTE REL.HREF
 						relHref = attributes.getValue(i);
+						break;
+					default:
+						break;
+					}
 				}
 				// checking if href contains a new not already read file
 				this.checkForFileReference(relHref);
 				// callback for mapper
-				this.getMapper().paulaSTRUCTConnector(this.getPaulaFile(), this.getPaulaID(), this.getPaulaType(), this.getXmlBase(), this.structID, relID, relHref, relType);
+				this.getConnector().paulaSTRUCTConnector(this.getPaulaFile(), this.getPaulaID(), this.getPaulaType(), this.getXmlBase(), this.structID, relID, relHref, relType);
 
 			}// do only if file is not the annoSet
 		}
@@ -125,6 +136,6 @@ public class PAULAStructReader extends PAULASpecificReader {
 	 **/
 	@Override
 	public void endDocument() {
-		this.getMapper().endDocument(this, this.getPaulaFile());
+		this.getConnector().endDocument(this, this.getPaulaFile());
 	}
 }
@@ -17,6 +17,10 @@
  */
 package org.corpus_tools.peppermodules.paula.readers;
 
+import java.io.File;
+
+import org.corpus_tools.peppermodules.paula.PAULAFileDelegator;
+import org.corpus_tools.peppermodules.paula.readers.PAULANameTable.ELEMENT;
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
 
@@ -27,34 +31,57 @@ import org.xml.sax.SAXException;
  * @version 1.0
  */
 public class PAULATextReader extends PAULASpecificReader {
+	/**
+	 * Returns the initial capacity of the buffer for the primary text of the
+	 * given file. Since a character of the text takes at least one byte in the
+	 * file, the size of the file is an upper bound for the length of the text,
+	 * so the buffer of a file up to {@link #MAX_INITIAL_TEXT_CAPACITY} bytes
+	 * never needs to grow. For larger files the bound can be far too high
+	 * (e.g. for texts of mostly multibyte characters), therefore the buffer
+	 * starts at {@link #MAX_INITIAL_TEXT_CAPACITY} and grows as needed. If
+	 * the size is unknown, the default capacity is returned.
+	 * 
+	 * @param paulaFileDelegator
+	 *            the delegator to get the size of the file from, may be null
+	 */
+	static int getTextCapacity(PAULAFileDelegator paulaFileDelegator, File paulaFile) {
+		long size = -1;
+		if (paulaFile != null) {
+			if (paulaFileDelegator != null) {
+				size = paulaFileDelegator.getFileSize(paulaFile);
+			} else if (paulaFile.isFile()) {
+				size = paulaFile.length();
+			}
+		}
+		if (size < 0) {
+			return DEFAULT_TEXT_CAPACITY;
+		}
+		return (int) Math.min(size, MAX_INITIAL_TEXT_CAPACITY);
+	}
+
+	/** capacity of the text buffer, if the size of the file is unknown **/
+	private static final int DEFAULT_TEXT_CAPACITY = 1024;
+	/** the largest initial capacity of the text buffer, 4M chars **/
+	private static final int MAX_INITIAL_TEXT_CAPACITY = 1 << 22;
 
-	private StringBuffer text = null; // primary data
+	private StringBuilder text = null; // primary data
 	private boolean startText = false; // gibt an, ob das aktuelle Element Texte
 										// enthaelt
-	private String paulaID = null; // Paula_id
 
 	// --------------------------- SAX methods ---------------------------
 	/**
 	 * Liest den Primaertext dieses Dokumentes aus und schreibt es in das
-	 * interne Textfeld.
+	 * interne Textfeld. Die Zeichen werden ohne Zwischenkopie an den Puffer
+	 * angehaengt.
 	 * 
 	 * @see org.xml.sax.helpers.DefaultHandler#characters(char[], int, int)
 	 */
 	public void characters(char[] ch, int start, int length) throws SAXException {
 		// Der folgende Text sind Primaerdaten
-		if (this.startText) {
-			StringBuffer textNode = new StringBuffer();
-			for (int i = 0; i < length; i++) {
-				textNode.append(ch[start + i]);
-			}
-			// Leerzeichen entfernen
-			// textNode= textNode.trim();
-			// Text speichern, wenn es einen gibt
-			if (textNode.length() > 0) {
-				if (this.text == null)
-					this.text = new StringBuffer();
-				this.text.append(textNode.toString());
-			}
+		if ((this.startText) && (length > 0)) {
+			if (this.text == null)
+				this.text = new StringBuilder(getTextCapacity(this.getPaulaFileDelegator(), this.getPaulaFile()));
+			this.text.append(ch, start, length);
 		}
 	}
 
@@ -66,7 +93,7 @@ public class PAULATextReader extends PAULASpecificReader {
 		// calls super-class for setting paula-id, paula-type and xml-base
 		super.startElement(uri, localName, qName, attributes);
 		// BODY-element found
-		if (this.isTAGorAttribute(qName, TAG_TEXT_BODY))
+		if (ELEMENT.BODY == this.getCurrentElement())
 			this.startText = true;
 	}
 
@@ -76,12 +103,15 @@ public class PAULATextReader extends PAULASpecificReader {
 	 */
 	public void endElement(String uri, String localName, String qName) throws SAXException {
 		// Element erreicht bei dem der Text endet
-		if (this.isTAGorAttribute(qName, TAG_TEXT_BODY)) {
+		if (ELEMENT.BODY == PAULANameTable.getElement(qName)) {
 			this.startText = false;
 			// aus den Primaerdaten einen PD-Knoten im Korpusgraphen erstellen
 			try {
+				String primaryText = this.text.toString();
+				// release the buffer before the text is mapped
+				this.text = null;
 				// PrimDataConnector im Mapper aufrufen
-				this.getMapper().paulaTEXTConnector(this.getPaulaFile(), this.paulaID, this.text.toString());
+				this.getConnector().paulaTEXTConnector(this.getPaulaFile(), this.getPaulaID(), primaryText);
 			} catch (Exception e) {
 				throw new SAXException(e);
 			}
@@ -0,0 +1,127 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.corpus_tools.pepper.modules.exceptions.PepperModuleException;
+import org.corpus_tools.peppermodules.paula.Salt2PAULAMapper;
+import org.corpus_tools.peppermodules.paula.readers.PAULAReader;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.ext.EntityResolver2;
+
+/**
+ * Resolves the dtds of PAULA 1.1 (see {@link PAULAReader#PAULA_DTD_TEXT} etc.)
+ * from the copies shipped with this module in {@link Salt2PAULAMapper#PATH_DTD}
+ * . The dtds are loaded once per JVM and served from memory, so that parsing a
+ * paula file does not access the dtd files next to it. All other entities are
+ * resolved as usual.
+ */
+public class PAULADTDResolver implements EntityResolver2 {
+	/** names of the bundled dtds **/
+	private static final String[] DTD_NAMES = { PAULAReader.PAULA_DTD_HEADER, PAULAReader.PAULA_DTD_TEXT, PAULAReader.PAULA_DTD_MARK, PAULAReader.PAULA_DTD_STRUCT, PAULAReader.PAULA_DTD_REL, PAULAReader.PAULA_DTD_FEAT, PAULAReader.PAULA_DTD_MULTIFEAT };
+
+	/** content of the bundled dtds, the key is the lower cased name of the dtd **/
+	private static final Map<String, byte[]> dtds = loadDTDs();
+
+	private static final PAULADTDResolver instance = new PAULADTDResolver();
+
+	/**
+	 * Returns the shared instance. Since the resolver has no state, it can be
+	 * used by multiple parsers and threads.
+	 */
+	public static PAULADTDResolver getInstance() {
+		return instance;
+	}
+
+	private static Map<String, byte[]> loadDTDs() {
+		Map<String, byte[]> dtds = new HashMap<String, byte[]>();
+		for (String dtdName : DTD_NAMES) {
+			InputStream in = PAULADTDResolver.class.getResourceAsStream("/" + Salt2PAULAMapper.PATH_DTD + dtdName);
+			if (in == null) {
+				throw new PepperModuleException("Cannot find the dtd '" + dtdName + "' in the resources of the PAULA modules.");
+			}
+			try {
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				byte[] buffer = new byte[4096];
+				int length;
+				while ((length = in.read(buffer)) != -1) {
+					out.write(buffer, 0, length);
+				}
+				dtds.put(dtdName.toLowerCase(), out.toByteArray());
+			} catch (IOException e) {
+				throw new PepperModuleException("Cannot read the dtd '" + dtdName + "' from the resources of the PAULA modules.", e);
+			} finally {
+				try {
+					in.close();
+				} catch (IOException e) {
+					// nothing to do
+				}
+			}
+		}
+		return Collections.unmodifiableMap(dtds);
+	}
+
+	/**
+	 * Returns whether the given system id names one of the bundled dtds.
+	 */
+	public boolean isBundled(String systemId) {
+		return getBundledDTD(systemId) != null;
+	}
+
+	/**
+	 * Returns the bundled dtd for the last segment of the given system id or
+	 * null.
+	 */
+	private byte[] getBundledDTD(String systemId) {
+		if (systemId == null) {
+			return null;
+		}
+		String parts[] = systemId.split("/");
+		return dtds.get(parts[parts.length - 1].toLowerCase());
+	}
+
+	@Override
+	public InputSource resolveEntity(String name, String publicId, String baseURI, String systemId) throws SAXException, IOException {
+		byte[] dtd = getBundledDTD(systemId);
+		if (dtd == null) {
+			return null;
+		}
+		InputSource is = new InputSource(new ByteArrayInputStream(dtd));
+		is.setPublicId(publicId);
+		is.setSystemId(systemId);
+		return is;
+	}
+
+	@Override
+	public InputSource resolveEntity(String publicId, String systemId) throws SAXException, IOException {
+		return resolveEntity(null, publicId, null, systemId);
+	}
+
+	@Override
+	public InputSource getExternalSubset(String name, String baseURI) throws SAXException, IOException {
+		return null;
+	}
+}
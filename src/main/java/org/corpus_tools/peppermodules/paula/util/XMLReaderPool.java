@@ -0,0 +1,129 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.xml.sax.EntityResolver;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.ext.DefaultHandler2;
+
+/**
+ * Holds one configured {@link XMLReader} per thread, so that reading many
+ * small files does not create a new parser for each of them. A reader is
+ * obtained via {@link #acquire(DefaultHandler2)}, which registers the given
+ * handler as content, dtd and lexical handler, and must be given back via
+ * {@link #release(XMLReader)} after a successful parse. A reader whose parse
+ * failed is not released, so that the next file gets a fresh one.
+ */
+public class XMLReaderPool {
+	public static final String PROP_LEXICAL_HANDLER = "http://xml.org/sax/properties/lexical-handler";
+
+	/** handler set to a released reader, so that it does not keep the last handler alive **/
+	private static final DefaultHandler2 EMPTY_HANDLER = new DefaultHandler2();
+
+	/** the factory is not thread safe, therefore it is only used synchronized **/
+	private static final SAXParserFactory factory = SAXParserFactory.newInstance();
+
+	/** features to be set to each created reader **/
+	private final Map<String, Boolean> features = new HashMap<String, Boolean>();
+
+	/** the entity resolver to be set to each created reader, may be null **/
+	private EntityResolver entityResolver = null;
+
+	/** the reader of the current thread, null if the reader is in use **/
+	private final ThreadLocal<XMLReader> readers = new ThreadLocal<XMLReader>();
+
+	/**
+	 * Sets a feature to all readers created by this pool. Must be called
+	 * before the first reader is acquired. Features which are not supported
+	 * by the parser are ignored.
+	 */
+	public XMLReaderPool setFeature(String feature, boolean value) {
+		features.put(feature, value);
+		return this;
+	}
+
+	/**
+	 * Sets the entity resolver to all readers created by this pool. Must be
+	 * called before the first reader is acquired.
+	 */
+	public XMLReaderPool setEntityResolver(EntityResolver entityResolver) {
+		this.entityResolver = entityResolver;
+		return this;
+	}
+
+	/**
+	 * Creates a new configured reader.
+	 */
+	public XMLReader createXMLReader() throws ParserConfigurationException, SAXException {
+		XMLReader xmlReader;
+		synchronized (factory) {
+			xmlReader = factory.newSAXParser().getXMLReader();
+		}
+		for (Map.Entry<String, Boolean> feature : features.entrySet()) {
+			try {
+				xmlReader.setFeature(feature.getKey(), feature.getValue());
+			} catch (SAXException e) {
+				// feature is not supported, the reader works without it
+			}
+		}
+		if (entityResolver != null) {
+			xmlReader.setEntityResolver(entityResolver);
+		}
+		return xmlReader;
+	}
+
+	/**
+	 * Returns the reader of the current thread with the given handler
+	 * registered as content, dtd and lexical handler. If the reader of the
+	 * current thread is already in use (e.g. by a nested parse), a new one is
+	 * created.
+	 */
+	public XMLReader acquire(DefaultHandler2 handler) throws ParserConfigurationException, SAXException {
+		XMLReader xmlReader = readers.get();
+		readers.set(null);
+		if (xmlReader == null) {
+			xmlReader = createXMLReader();
+		}
+		xmlReader.setContentHandler(handler);
+		xmlReader.setDTDHandler(handler);
+		xmlReader.setProperty(PROP_LEXICAL_HANDLER, handler);
+		return xmlReader;
+	}
+
+	/**
+	 * Gives the reader back to the pool of the current thread, for reuse with
+	 * the next file.
+	 */
+	public void release(XMLReader xmlReader) {
+		try {
+			xmlReader.setContentHandler(EMPTY_HANDLER);
+			xmlReader.setDTDHandler(EMPTY_HANDLER);
+			xmlReader.setProperty(PROP_LEXICAL_HANDLER, EMPTY_HANDLER);
+			readers.set(xmlReader);
+		} catch (SAXException e) {
+			// the reader cannot be reset, the next file gets a new one
+		}
+	}
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.util.xPointer;
+
+/**
+ * A scanner for the string-range pointers used by tokenization files, for
+ * instance <code>#xpointer(string-range(//body,'',1,5))</code>. The
+ * pointer is read in a single pass directly into start and length, without
+ * any regular expression. Whitespaces are allowed between all parts of the
+ * pointer, keywords are compared case-insensitive. This is the only scanner
+ * for this notation, the {@link XPtrInterpreter} uses
+ * {@link #scan(String, int[])} to recognize it, so that both always agree.
+ */
+public final class StringRangePointer {
+	/** the parts of the pointer in front of the start value **/
+	private static final String[] PREFIX = { "#", "xpointer", "(", "string-range", "(", "//body", ",", "'", "'", "," };
+	/** the largest value, which is read as start or length **/
+	static final int MAX_VALUE = 99999999;
+
+	private StringRangePointer() {
+	}
+
+	/**
+	 * Reads the given pointer, if it is a string-range pointer without
+	 * document, whose start and length do not exceed {@link #MAX_VALUE}.
+	 * 
+	 * @param xPtr
+	 *            the pointer to read
+	 * @param range
+	 *            an array of at least two elements, receiving start and length
+	 *            of the range, may be null if only the pointer shall be checked
+	 * @return true, if the pointer is a string-range pointer with start and
+	 *         length not exceeding {@link #MAX_VALUE}
+	 */
+	public static boolean parse(String xPtr, int[] range) {
+		int[] bounds = new int[4];
+		if (!scan(xPtr, bounds)) {
+			return false;
+		}
+		int start = toInt(xPtr, bounds[0], bounds[1]);
+		int length = toInt(xPtr, bounds[2], bounds[3]);
+		if ((start < 0) || (length < 0)) {
+			return false;
+		}
+		if (range != null) {
+			range[0] = start;
+			range[1] = length;
+		}
+		return true;
+	}
+
+	/**
+	 * Checks the syntax of the given pointer, numbers of any length are
+	 * accepted as start and length.
+	 * 
+	 * @param xPtr
+	 *            the pointer to check
+	 * @param bounds
+	 *            an array of at least four elements, receiving the position of
+	 *            the first digit and the position behind the last digit of
+	 *            start and of length, may be null
+	 * @return true, if the pointer is a string-range pointer without document
+	 */
+	public static boolean scan(String xPtr, int[] bounds) {
+		if (xPtr == null) {
+			return false;
+		}
+		int pos = 0;
+		for (String part : PREFIX) {
+			pos = skipWhitespaces(xPtr, pos);
+			if (!xPtr.regionMatches(true, pos, part, 0, part.length())) {
+				return false;
+			}
+			pos += part.length();
+		}
+		int startPos = skipWhitespaces(xPtr, pos);
+		int startEnd = skipDigits(xPtr, startPos);
+		if (startEnd == startPos) {
+			return false;
+		}
+		pos = skipWhitespaces(xPtr, startEnd);
+		if ((pos >= xPtr.length()) || (xPtr.charAt(pos) != ',')) {
+			return false;
+		}
+		int lengthPos = skipWhitespaces(xPtr, pos + 1);
+		int lengthEnd = skipDigits(xPtr, lengthPos);
+		if (lengthEnd == lengthPos) {
+			return false;
+		}
+		pos = lengthEnd;
+		for (int i = 0; i < 2; i++) {
+			pos = skipWhitespaces(xPtr, pos);
+			if ((pos >= xPtr.length()) || (xPtr.charAt(pos) != ')')) {
+				return false;
+			}
+			pos++;
+		}
+		if (skipWhitespaces(xPtr, pos) != xPtr.length()) {
+			return false;
+		}
+		if (bounds != null) {
+			bounds[0] = startPos;
+			bounds[1] = startEnd;
+			bounds[2] = lengthPos;
+			bounds[3] = lengthEnd;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the value of the digits from start to end, or -1 if the value
+	 * exceeds {@link #MAX_VALUE}.
+	 */
+	static int toInt(String xPtr, int start, int end) {
+		int value = 0;
+		for (int i = start; i < end; i++) {
+			value = value * 10 + (xPtr.charAt(i) - '0');
+			if (value > MAX_VALUE) {
+				return -1;
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the position of the first character at or behind the given
+	 * position, which is not a digit.
+	 */
+	private static int skipDigits(String xPtr, int pos) {
+		while ((pos < xPtr.length()) && (xPtr.charAt(pos) >= '0') && (xPtr.charAt(pos) <= '9')) {
+			pos++;
+		}
+		return pos;
+	}
+
+	/**
+	 * Returns the position of the first character at or behind the given
+	 * position, which does not match \s.
+	 */
+	static int skipWhitespaces(String xPtr, int pos) {
+		while ((pos < xPtr.length()) && (isWhitespace(xPtr.charAt(pos)))) {
+			pos++;
+		}
+		return pos;
+	}
+
+	/** true, if the given char matches \s **/
+	static boolean isWhitespace(char c) {
+		return ((c == ' ') || (c == '\t') || (c == '\n') || (c == '\u000B') || (c == '\f') || (c == '\r'));
+	}
+}
@@ -17,9 +17,10 @@
  */
 package org.corpus_tools.peppermodules.paula.util.xPointer;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Vector;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.corpus_tools.peppermodules.paula.util.xPointer.XPtrRef.POINTERTYPE;
 import org.slf4j.Logger;
@@ -47,6 +48,8 @@ import org.slf4j.LoggerFactory;
  * Elementbereich := KW_XPTR KW_LBRACE range KW_RBRACE<br/>
  * Elementsequenz := KW_LBRACE ( Elementbereich | Einzelelement) (Elementbereich
  * | Einzelelement)* KW_RBRACE<br/>
+ * Elementliste := (Elementbereich | Einzelelement) (\s+ (Elementbereich |
+ * Einzelelement))+<br/>
  * <br/>
  * Einzel-XML-Datei := [a-zA-Z_0-9]+[.][a-zA-Z_0-9]+;
  * 
@@ -63,6 +66,12 @@ public class XPtrInterpreter {
 	private String base = null; // Dokumentname auf den sich der XPointer
 								// bezieht
 	private String xPtr = null; // Xpointer der interpretiert werden soll
+	private String givenBase = null; // Dokumentname, wie er gesetzt wurde,
+										// bevor ihn der XPointer ersetzt hat
+	/** document names contained in pointers, see {@link #internDoc(String)} **/
+	private final Map<String, String> docNames = new HashMap<String, String>();
+	/** the maximal number of document names kept in {@link #docNames} **/
+	private static final int MAX_DOC_NAMES = 1024;
 
 	// Patterndefinition
 
@@ -101,11 +110,12 @@ public class XPtrInterpreter {
 
 	/**
 	 * Tokentype kann einfaches Token (kontinuierlich),
-	 * Tokenbereich(kontinuierlich), Tokensequenz (diskontinuierlich) oder
-	 * Fehlerwert sein.
+	 * Tokenbereich(kontinuierlich), Tokensequenz (diskontinuierlich),
+	 * Tokenliste (durch Leerzeichen getrennte Token oder Tokenbereiche, z.B.
+	 * '#tok_1 #tok_2') oder Fehlerwert sein.
 	 */
 	enum TOKENTYPE {
-		TOKEN, TOKENRANGE, TOKENSEQ, STRTOKENRANGE, SIMPLE_XML_FILE, ERROR
+		TOKEN, TOKENRANGE, TOKENSEQ, TOKENLIST, STRTOKENRANGE, SIMPLE_XML_FILE, ERROR
 	};
 
 	// *************************************** messages
@@ -214,7 +224,7 @@ public class XPtrInterpreter {
 	 * Erzeugt aus einer gegebenen XPointer-Expression eine Liste von
 	 * XptrTarget-Objekten und gibt diese zur�ck.
 	 */
-	private Vector<XPtrRef> getXPtrRefs(String ex) throws Exception {
+	private void getXPtrRefs(String ex, List<XPtrRef> trList) throws Exception {
 		// Fehler wenn ex leer ist
 		if ((ex == null) || ("".equals(ex)))
 			throw new Exception(ERR_NO_EX);
@@ -226,40 +236,53 @@ public class XPtrInterpreter {
 		if (tokType == TOKENTYPE.ERROR)
 			throw new Exception("The given xpointer expression '" + ex + "' does not follows the supported syntax '" + REGEX_SEQ_PTR);
 
-		Vector<XPtrRef> trList = new Vector<XPtrRef>();
-
 		// Wenn ex einfaches Token zum Ziel hat
 		if (tokType == TOKENTYPE.TOKEN) {
-			trList.add(this.getFromSimpleToken(ex));
+			trList.add(this.getFromSimpleToken(ex, this.base));
 		}
 		// Wenn ex Tokenbereich zum Ziel hat
 		else if (tokType == TOKENTYPE.TOKENRANGE) {
-			trList.add(this.getFromTokenRange(ex));
+			trList.add(this.getFromTokenRange(ex, this.base));
 		}
 		// Wenn ex Tokensequenz zum Ziel hat
 		else if (tokType == TOKENTYPE.TOKENSEQ) {
 			// extrahiere die einfachen Ziele und Bereichsziele
-			String strPat = "(" + REGEX_RANGE_PTR + "|" + REGEX_SHORTHAND_PTR + "|" + REGEX_FULL_SHORTHAND_PTR + ")";
-			Pattern pattern = Pattern.compile(strPat, Pattern.CASE_INSENSITIVE);
-			Matcher matcher = pattern.matcher(ex);
-			while (matcher.find()) {
-				// Pattern pat2= Pattern.compile(xPtr,
-				// Pattern.CASE_INSENSITIVE);
-				Pattern pat2 = Pattern.compile(REGEX_RANGE_PTR, Pattern.CASE_INSENSITIVE);
-				Matcher match2 = pat2.matcher(matcher.group());
+			int pos = 0;
+			while (pos < ex.length()) {
+				int end = matchRangePtr(ex, pos);
 				// wenn String Bereich ist
-				if (match2.find()) {
-					trList.add(this.getFromTokenRange(match2.group()));
+				if (end >= 0) {
+					trList.add(this.getFromTokenRange(ex.substring(pos, end), this.base));
+				} else {
+					end = matchShorthandPtr(ex, pos);
+					if (end < 0) {
+						end = matchFullShorthandPtr(ex, pos);
+					}
+					// wenn String kein Bereich
+					if (end >= 0) {
+						// Sequenzüberreste entfernen
+						trList.add(this.getFromSimpleToken(removeSeqDelimiters(ex.substring(pos, end)), this.base));
+					}
 				}
-				// wenn String kein Bereich
-				else {
-					String ptr = matcher.group();
-					// Sequenz�berreste entfernen
-					ptr = ptr.replace("(", "");
-					ptr = ptr.replace(")", "");
-					ptr = ptr.replace(",", "");
-					trList.add(this.getFromSimpleToken(ptr));
+				pos = (end >= 0) ? end : pos + 1;
+			}
+		}
+		// Wenn ex eine durch Leerzeichen getrennte Liste zum Ziel hat
+		else if (tokType == TOKENTYPE.TOKENLIST) {
+			// each element refers to the given document, unless it contains
+			// one itself
+			int start = 0;
+			while (start < ex.length()) {
+				int end = indexOfWhitespace(ex, start);
+				if (end > start) {
+					String ptr = ex.substring(start, end);
+					if (matchRangePtr(ptr, 0) == ptr.length()) {
+						trList.add(this.getFromTokenRange(ptr, this.givenBase));
+					} else {
+						trList.add(this.getFromSimpleToken(ptr, this.givenBase));
+					}
 				}
+				start = end + 1;
 			}
 		}
 		// Wenn ex string-range Token zum Ziel hat
@@ -271,7 +294,6 @@ public class XPtrInterpreter {
 			trList.add(this.getFromSimpleXMLFile(ex));
 		}
 
-		return (trList);
 	}
 
 	/**
@@ -283,56 +305,42 @@ public class XPtrInterpreter {
 	 * einfachen Token oder von Tokenbereichen (diskontinuierlich))
 	 */
 	private TOKENTYPE getXPtrType(String chckStr) {
+		String ex = chckStr;
 		// entferne alle Leerzeichen aus dem gegebenen XPointer
-		chckStr = chckStr.replaceAll(" ", "");
-
-		// Definition der RegEx-Vars
-		Pattern pattern = null; // zu pr�fendes Pattern
-		Matcher matcher = null; // genutzter Matcher
-		String strPattern = ""; // String Pattern
+		chckStr = removeWhitespaces(chckStr);
 
 		// String ist Tokenbereich (String enth�lt den String xpointer und
 		// range-to)
-		strPattern = REGEX_RANGE_PTR;
-		pattern = Pattern.compile(strPattern, Pattern.CASE_INSENSITIVE);
-		matcher = pattern.matcher(chckStr);
-		if (matcher.matches())
+		if (matchRangePtr(chckStr, 0) == chckStr.length())
 			return (TOKENTYPE.TOKENRANGE);
 
 		// String ist Tokensequenz (String enth�lt den String xpointer, Inhalte
 		// sind einfache Token oder Tokenbereiche)
-		strPattern = REGEX_SEQ_PTR;
-		pattern = Pattern.compile(strPattern, Pattern.CASE_INSENSITIVE);
-		matcher = pattern.matcher(chckStr);
-		if (matcher.matches())
+		if (isSeqPtr(chckStr))
 			return (TOKENTYPE.TOKENSEQ);
 
 		// String ist einfaches Token (der String xpointer ist nicht enthalten
 		// und es ist keine Sequenz)
-		strPattern = REGEX_SHORTHAND_PTR;
-		pattern = Pattern.compile(strPattern, Pattern.CASE_INSENSITIVE);
-		matcher = pattern.matcher(chckStr);
 		// chStr passt auf ShorthandPointer, da Tokenbereich und Tokensequenz
 		// bereits gepr�ft wurden, muss es sich um ShorthandPointer handeln
-		if (matcher.matches())
+		if (matchShorthandPtr(chckStr, 0) == chckStr.length())
 			return (TOKENTYPE.TOKEN);
 
 		// String ist Stringbereich
-		strPattern = REGEX_STRING_RANGE_PTR;
-		pattern = Pattern.compile(strPattern, Pattern.CASE_INSENSITIVE);
-		matcher = pattern.matcher(chckStr);
-		// chStr passt auf String-Range Pointer
-		if (matcher.matches())
+		// chStr passt auf String-Range Pointer, see StringRangePointer
+		if (StringRangePointer.scan(chckStr, null))
 			return (TOKENTYPE.STRTOKENRANGE);
 
 		// String ist einzelne Datei
-		strPattern = REGEX_XML_FILE_PTR;
-		pattern = Pattern.compile(strPattern, Pattern.CASE_INSENSITIVE);
-		matcher = pattern.matcher(chckStr);
 		// chStr passt auf einfache XML-Datei- Pointer
-		if (matcher.matches())
+		if (isXMLFilePtr(chckStr))
 			return (TOKENTYPE.SIMPLE_XML_FILE);
 
+		// String is a list separated by whitespaces, therefore the
+		// whitespaces must not be removed
+		if (isListPtr(ex))
+			return (TOKENTYPE.TOKENLIST);
+
 		return (TOKENTYPE.ERROR);
 	}
 
@@ -343,70 +351,91 @@ public class XPtrInterpreter {
 	 * 
 	 * @param ex
 	 *            String - einfaches Token
+	 * @param base
+	 *            String - document, if ex does not contain one
 	 * @return XPtrTarget-Objekt, das der ID entspricht
 	 * @throws Exception
 	 */
-	private XPtrRef getFromSimpleToken(String ex) throws Exception {
+	private XPtrRef getFromSimpleToken(String ex, String base) throws Exception {
 		XPtrRef tar = null;
-		Pattern pattern1 = Pattern.compile(REGEX_FULL_SHORTHAND_PTR, Pattern.CASE_INSENSITIVE);
-		Matcher matcher1 = pattern1.matcher(ex);
 
 		// wenn das Basis-Dokument im Pointer steht
-		if (matcher1.find()) {
+		if (containsFullShorthandPtr(ex)) {
 			String parts[] = ex.split("#");
 			// extrahiere die ID des Tokens
-			Pattern pattern = Pattern.compile(REGEX_ID_VAL, Pattern.CASE_INSENSITIVE);
-			Matcher matcher = pattern.matcher(parts[1]);
-			if (matcher.find()) {
+			String id = findId(parts[1]);
+			if (id != null) {
 				// es sollte nur einen passenden Wert geben
-				String id = matcher.group().trim();
-				tar = new XPtrRef(parts[0].trim(), id);
+				tar = new XPtrRef(internDoc(parts[0].trim()), id);
 				tar.setType(POINTERTYPE.ELEMENT);
 			}
 		} else {
 			// extrahiere die ID des Tokens
-			Pattern pattern = Pattern.compile(REGEX_ID_VAL, Pattern.CASE_INSENSITIVE);
-			Matcher matcher = pattern.matcher(ex);
-			if (matcher.find()) {
+			String id = findId(ex);
+			if (id != null) {
 				// es sollte nur einen passenden Wert geben
-				String id = matcher.group().trim();
-				tar = new XPtrRef(this.base, id);
+				tar = new XPtrRef(base, id);
 				tar.setType(POINTERTYPE.ELEMENT);
 			}
 		}
 		return (tar);
 	}
 
+	/**
+	 * Returns the instance of the given document name, which has been returned
+	 * first by this object. Document names contained in pointers are cut out
+	 * of each pointer, so that all references to the same document share one
+	 * string.
+	 */
+	private String internDoc(String doc) {
+		String retVal = docNames.get(doc);
+		if (retVal == null) {
+			if (docNames.size() >= MAX_DOC_NAMES) {
+				docNames.clear();
+			}
+			docNames.put(doc, doc);
+			retVal = doc;
+		}
+		return (retVal);
+	}
+
 	/**
 	 * Liest eine Expression aus, die einem Tokenbereich entspricht. Der ID-Wert
 	 * wird extrahiert und ein XPtrTarget-Objekt erzeugt und zur�ckgegeben
 	 * 
 	 * @param ex
 	 *            String - einfaches Token
+	 * @param base
+	 *            String - document of the range
 	 * @return XPtrTarget-Objekt, das der ID entspricht
 	 * @throws Exception
 	 */
-	private XPtrRef getFromTokenRange(String ex) throws Exception {
+	private XPtrRef getFromTokenRange(String ex, String base) throws Exception {
 		XPtrRef tar = null;
 
 		// extrahiere die ID des Tokens
-		Pattern pattern = Pattern.compile("[']" + REGEX_ID_VAL + "[']", Pattern.CASE_INSENSITIVE);
-		Matcher matcher = pattern.matcher(ex);
 		String from = null;
 		String to = null;
 		int i = 0;
-		while (matcher.find()) {
+		int pos = 0;
+		while (pos < ex.length()) {
+			// Id�s haben vorne und hinten je einen Anf�hrungsstrich
+			int end = matchChar(ex, matchId(ex, matchChar(ex, pos, '\'')), '\'');
+			if (end < 0) {
+				pos++;
+				continue;
+			}
 			// syntactic error, if more than two ids exist
 			if (i > 1)
 				throw new Exception(ERR_WRONG_EX + ex);
-			// Id�s haben vorne und hinten je einen Anf�hrungsstrich
 			else if (i == 0)
-				from = matcher.group().replaceAll("'", "");
+				from = ex.substring(pos + 1, end - 1).trim();
 			else if (i == 1)
-				to = matcher.group().replaceAll("'", "");
+				to = ex.substring(pos + 1, end - 1).trim();
 			i++;
+			pos = end;
 		}
-		tar = new XPtrRef(this.base, from.trim(), to.trim());
+		tar = new XPtrRef(base, from, to);
 		tar.setType(POINTERTYPE.ELEMENT);
 
 		return (tar);
@@ -426,24 +455,21 @@ public class XPtrInterpreter {
 	private XPtrRef getFromStringRange(String ex) throws Exception {
 		XPtrRef tar = null;
 		// extrahiere die Startposition und L�nge des Tokens
-		Pattern pattern = Pattern.compile(REGEX_NUM_VAL);
-		Matcher matcher = pattern.matcher(ex);
-		String start = "";
-		String length = "";
-		int i = 0; // Z�hlvariable
-		while (matcher.find()) {
-			// Syntaxfehler, wenn es mehr als zwei id�s gibt
-			if (i > 1)
-				throw new Exception(ERR_WRONG_EX + ex);
-			// Id�s haben vorne und hinten je einen Anf�hrungsstrich
-			else if (i == 0)
-				start = matcher.group();
-			else if (i == 1)
-				length = matcher.group();
-			i++;
+		// Anfang und Ende der beiden Zahlen
+		int[] nums = new int[4];
+		if (!StringRangePointer.scan(ex, nums))
+			throw new Exception(ERR_WRONG_EX + ex);
+		int start = StringRangePointer.toInt(ex, nums[0], nums[1]);
+		int length = StringRangePointer.toInt(ex, nums[2], nums[3]);
+		if ((start >= 0) && (length >= 0)) {
+			// start and length are stored as ints
+			tar = new XPtrRef(this.base, start, length);
+		} else {
+			// numbers exceeding StringRangePointer.MAX_VALUE are kept as
+			// strings to report them later
+			tar = new XPtrRef(this.base, ex.substring(nums[0], nums[1]), ex.substring(nums[2], nums[3]));
+			tar.setType(POINTERTYPE.TEXT);
 		}
-		tar = new XPtrRef(this.base, start.trim(), length.trim());
-		tar.setType(POINTERTYPE.TEXT);
 
 		return (tar);
 	}
@@ -464,6 +490,283 @@ public class XPtrInterpreter {
 		return (xPtrRef);
 	}
 
+	// ============================================== Scanner
+	// ==============================================
+	// The supported syntax is recognized by the following hand-written
+	// scanner, which walks over the expression once and does not need any
+	// regular expression. The REGEX_* constants above only document the
+	// grammar in error messages. Each match method gets the position to start
+	// at and returns the position behind the matched part, or -1 if the part
+	// does not match. A position of -1 passed in is returned unchanged, so
+	// calls can be chained. Keywords are matched case-insensitive.
+	// String-range pointers are recognized by the StringRangePointer.
+
+	/** key words of the grammar in lower case **/
+	private static final String KW_XPTR = "#xpointer(";
+	private static final String KW_ID = "id(";
+	private static final String KW_RANGE_TO = "/range-to";
+
+	/** true, if the given char matches \s **/
+	private static boolean isWhitespace(char c) {
+		return (StringRangePointer.isWhitespace(c));
+	}
+
+	/** true, if the given char matches [a-zA-Z0-9_-[.]] **/
+	private static boolean isIdChar(char c) {
+		return (((c >= 'a') && (c <= 'z')) || ((c >= 'A') && (c <= 'Z')) || ((c >= '0') && (c <= '9')) || (c == '_') || (c == '-') || (c == '.'));
+	}
+
+	/** skips \s* **/
+	private static int skipWhitespaces(String ex, int pos) {
+		if (pos < 0) {
+			return (-1);
+		}
+		while ((pos < ex.length()) && (isWhitespace(ex.charAt(pos)))) {
+			pos++;
+		}
+		return (pos);
+	}
+
+	/** matches a single char **/
+	private static int matchChar(String ex, int pos, char c) {
+		if ((pos < 0) || (pos >= ex.length()) || (ex.charAt(pos) != c)) {
+			return (-1);
+		}
+		return (pos + 1);
+	}
+
+	/** matches the given key word, which must be in lower case **/
+	private static int matchKeyword(String ex, int pos, String keyword) {
+		if ((pos < 0) || (pos + keyword.length() > ex.length())) {
+			return (-1);
+		}
+		for (int i = 0; i < keyword.length(); i++) {
+			char c = ex.charAt(pos + i);
+			if ((c >= 'A') && (c <= 'Z')) {
+				c = (char) (c + ('a' - 'A'));
+			}
+			if (c != keyword.charAt(i)) {
+				return (-1);
+			}
+		}
+		return (pos + keyword.length());
+	}
+
+	/** matches REGEX_ID_VAL **/
+	private static int matchId(String ex, int pos) {
+		pos = skipWhitespaces(ex, pos);
+		if ((pos < 0) || (pos >= ex.length()) || (!isIdChar(ex.charAt(pos)))) {
+			return (-1);
+		}
+		while ((pos < ex.length()) && (isIdChar(ex.charAt(pos)))) {
+			pos++;
+		}
+		return (skipWhitespaces(ex, pos));
+	}
+
+	/** matches REGEX_ID_PRTR **/
+	private static int matchIdPtr(String ex, int pos) {
+		pos = matchKeyword(ex, pos, KW_ID);
+		pos = matchChar(ex, pos, '\'');
+		pos = matchId(ex, pos);
+		pos = matchChar(ex, pos, '\'');
+		return (matchChar(ex, pos, ')'));
+	}
+
+	/** matches [()] **/
+	private static int matchBrace(String ex, int pos) {
+		if ((pos < 0) || (pos >= ex.length()) || ((ex.charAt(pos) != '(') && (ex.charAt(pos) != ')'))) {
+			return (-1);
+		}
+		return (pos + 1);
+	}
+
+	/** matches REGEX_RANGE_PTR **/
+	private static int matchRangePtr(String ex, int pos) {
+		pos = matchKeyword(ex, pos, KW_XPTR);
+		pos = matchIdPtr(ex, pos);
+		pos = matchKeyword(ex, pos, KW_RANGE_TO);
+		pos = matchBrace(ex, pos);
+		pos = matchIdPtr(ex, pos);
+		pos = matchBrace(ex, pos);
+		return (matchChar(ex, pos, ')'));
+	}
+
+	/** matches REGEX_SHORTHAND_PTR **/
+	private static int matchShorthandPtr(String ex, int pos) {
+		pos = skipWhitespaces(ex, pos);
+		pos = matchChar(ex, pos, '#');
+		return (matchId(ex, pos));
+	}
+
+	/**
+	 * matches REGEX_FULL_SHORTHAND_PTR, [^#]+ can only end right before the
+	 * first '#'
+	 **/
+	private static int matchFullShorthandPtr(String ex, int pos) {
+		if (pos < 0) {
+			return (-1);
+		}
+		int sharp = ex.indexOf('#', pos);
+		if ((sharp - KW_XML_ENDING.length() - 1 < pos) || (matchKeyword(ex, sharp - KW_XML_ENDING.length(), KW_XML_ENDING) < 0)) {
+			return (-1);
+		}
+		return (matchId(ex, sharp + 1));
+	}
+
+	/**
+	 * matches one element of a sequence, trying REGEX_RANGE_PTR,
+	 * REGEX_SHORTHAND_PTR and REGEX_FULL_SHORTHAND_PTR in this order
+	 **/
+	private static int matchSeqElement(String ex, int pos) {
+		int end = matchRangePtr(ex, pos);
+		if (end < 0) {
+			end = matchShorthandPtr(ex, pos);
+		}
+		if (end < 0) {
+			end = matchFullShorthandPtr(ex, pos);
+		}
+		return (end);
+	}
+
+	/**
+	 * Returns true, if the entire expression matches REGEX_SEQ_PTR. Since more
+	 * than one alternative might match an element, all positions reachable
+	 * after a ',' are visited once.
+	 */
+	private static boolean isSeqPtr(String ex) {
+		if (matchChar(ex, 0, '(') < 0) {
+			return (false);
+		}
+		boolean[] visited = new boolean[ex.length() + 1];
+		int[] todo = new int[ex.length() + 1];
+		int todoSize = 0;
+		todo[todoSize++] = 1;
+		visited[1] = true;
+		while (todoSize > 0) {
+			int pos = todo[--todoSize];
+			int[] ends = { matchRangePtr(ex, pos), matchShorthandPtr(ex, pos), matchFullShorthandPtr(ex, pos) };
+			for (int end : ends) {
+				if ((end < 0) || (end >= ex.length())) {
+					continue;
+				}
+				if ((ex.charAt(end) == ')') && (end + 1 == ex.length())) {
+					return (true);
+				} else if ((ex.charAt(end) == ',') && (!visited[end + 1])) {
+					visited[end + 1] = true;
+					todo[todoSize++] = end + 1;
+				}
+			}
+		}
+		return (false);
+	}
+
+	/**
+	 * Returns true, if the expression is a list of at least two elements
+	 * separated by whitespaces, each matching REGEX_RANGE_PTR, REGEX_SHORTHAND_PTR
+	 * or REGEX_FULL_SHORTHAND_PTR entirely.
+	 */
+	private static boolean isListPtr(String ex) {
+		int elements = 0;
+		int start = 0;
+		while (start < ex.length()) {
+			int end = indexOfWhitespace(ex, start);
+			if (end > start) {
+				String ptr = ex.substring(start, end);
+				if ((matchRangePtr(ptr, 0) != ptr.length()) && (matchShorthandPtr(ptr, 0) != ptr.length()) && (matchFullShorthandPtr(ptr, 0) != ptr.length())) {
+					return (false);
+				}
+				elements++;
+			}
+			start = end + 1;
+		}
+		return (elements > 1);
+	}
+
+	/**
+	 * Returns true, if the entire expression matches REGEX_XML_FILE_PTR.
+	 */
+	private static boolean isXMLFilePtr(String ex) {
+		return ((ex.length() > KW_XML_ENDING.length()) && (ex.indexOf('#') < 0) && (matchKeyword(ex, ex.length() - KW_XML_ENDING.length(), KW_XML_ENDING) > 0));
+	}
+
+	/**
+	 * Returns true, if REGEX_FULL_SHORTHAND_PTR matches somewhere in the given
+	 * expression.
+	 */
+	private static boolean containsFullShorthandPtr(String ex) {
+		int start = 0;
+		int sharp = ex.indexOf('#');
+		while (sharp >= 0) {
+			if (matchFullShorthandPtr(ex, start) >= 0) {
+				return (true);
+			}
+			start = sharp + 1;
+			sharp = ex.indexOf('#', start);
+		}
+		return (false);
+	}
+
+	/**
+	 * Returns the first value matching REGEX_ID_VAL in the given expression
+	 * without surrounding whitespaces, or null if there is none.
+	 */
+	private static String findId(String ex) {
+		int start = 0;
+		while ((start < ex.length()) && (!isIdChar(ex.charAt(start)))) {
+			start++;
+		}
+		if (start == ex.length()) {
+			return (null);
+		}
+		int end = start;
+		while ((end < ex.length()) && (isIdChar(ex.charAt(end)))) {
+			end++;
+		}
+		return (ex.substring(start, end));
+	}
+
+	/**
+	 * Removes all chars, which separate the elements of a sequence.
+	 */
+	private static String removeSeqDelimiters(String ex) {
+		StringBuilder retVal = new StringBuilder(ex.length());
+		for (int i = 0; i < ex.length(); i++) {
+			char c = ex.charAt(i);
+			if ((c != '(') && (c != ')') && (c != ',')) {
+				retVal.append(c);
+			}
+		}
+		return (retVal.toString());
+	}
+
+	/**
+	 * Returns the position of the first whitespace (\s) at or behind the
+	 * given position, or the length of the expression if there is none.
+	 */
+	private static int indexOfWhitespace(String ex, int pos) {
+		while ((pos < ex.length()) && (!isWhitespace(ex.charAt(pos)))) {
+			pos++;
+		}
+		return (pos);
+	}
+
+	/**
+	 * Removes all whitespaces (\s) from the given expression.
+	 */
+	private static String removeWhitespaces(String ex) {
+		if (indexOfWhitespace(ex, 0) == ex.length()) {
+			return (ex);
+		}
+		StringBuilder retVal = new StringBuilder(ex.length());
+		for (int i = 0; i < ex.length(); i++) {
+			if (!isWhitespace(ex.charAt(i))) {
+				retVal.append(ex.charAt(i));
+			}
+		}
+		return (retVal.toString());
+	}
+
 	/**
 	 * Setzt dieses Interpreter Objekt neu. dabei wird gepr�ft ob im xPtr eine
 	 * Dokumentenbasis angeben ist. Wenn dem so ist wird diese anstatt der
@@ -484,12 +787,13 @@ public class XPtrInterpreter {
 		} catch (Exception e) {
 			throw new NullPointerException(ERR_NO_BASE + xPtr);
 		}
+		this.givenBase = base;
 		// Vector<String[]> entries= extractBaseXPtr(xPtr);
 		// for (String[] parts : entries)
 		{
 			// wenn xPtr Basis-Dokument enth�lt
 			if (parts[0] != null) {
-				this.base = parts[0];
+				this.base = internDoc(parts[0]);
 				this.xPtr = parts[1];
 			}
 			// wenn XPtr kein Basis-Dokument enth�lt
@@ -523,6 +827,7 @@ public class XPtrInterpreter {
 		if ((base == null) || ("".equals(base)))
 			throw new Exception(ERR_EMPTY_BASE);
 		this.base = base;
+		this.givenBase = base;
 	}
 
 	/**
@@ -542,7 +847,23 @@ public class XPtrInterpreter {
 	 * @return Ziele dieses Xpointers
 	 */
 	public Vector<XPtrRef> getResult() throws Exception {
-		return (this.getXPtrRefs(this.xPtr));
+		Vector<XPtrRef> trList = new Vector<XPtrRef>();
+		this.getXPtrRefs(this.xPtr, trList);
+		return (trList);
+	}
+
+	/**
+	 * Clears the given list and adds the XPointer references of this object
+	 * to it in order. Allows to reuse one unsynchronized list for all
+	 * pointers, instead of creating a new {@link Vector} for each pointer as
+	 * {@link #getResult()} does.
+	 * 
+	 * @param result
+	 *            the list to fill
+	 */
+	public void getResult(List<XPtrRef> result) throws Exception {
+		result.clear();
+		this.getXPtrRefs(this.xPtr, result);
 	}
 
 	/**
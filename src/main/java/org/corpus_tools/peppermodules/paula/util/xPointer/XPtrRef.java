@@ -24,7 +24,10 @@ package org.corpus_tools.peppermodules.paula.util.xPointer;
  * dadurch auszeichnen das sie nur ein Element als Ziel enthalten. Zum anderen
  * sind dies Elementbereiche. Referenzen dieser Art enthalten mehrere Elemente
  * als Ziel. Ein Objekt dieser Klasse haelt dazu den id-Wert der linken Grenze
- * und den der rechten Grenze des Elementbereichs.
+ * und den der rechten Grenze des Elementbereichs.<br/>
+ * Since an object is created for each pointer of a paula file, it is kept
+ * small: the id of a single element is stored as left border, and the start
+ * and length of a string-range are stored as ints.
  * 
  * @author Florian Zipser
  * @version 1.0
@@ -47,11 +50,13 @@ public class XPtrRef {
 									// XPointeradresse um einen Bereich handelt
 	private String docName = null; // Name des Dokuments, auf das sie Referenz
 									// zeigt
-	private String id = null; // ID-Wert, auf den die Refrenz zeigt (nur
-								// Einzelelement)
-
 	private String left = null; // ID-Wert, linke Grenze eines Elementbereichs
+								// oder ID-Wert eines Einzelelements
 	private String right = null; // ID-Wert, rechte Grenze eines Elementbereichs
+	private int start = -1; // Startposition eines string-range, wenn left
+							// nicht gesetzt ist
+	private int length = -1; // Laenge eines string-range, wenn right nicht
+								// gesetzt ist
 	// *************************************** Meldungen
 	// ***************************************
 	private static final String MSG_STD = TOOLNAME + ">\t";
@@ -65,6 +70,8 @@ public class XPtrRef {
 	private static final String ERR_NO_RANGE = MSG_ERR + "The target of this XPointer reference is a simple element, not a range.";
 	private static final String ERR_IS_RANGE = MSG_ERR + "The target of this XPointer reference is a range, not a simple element.";
 	private static final String ERR_INCORRECT_TYPE = MSG_ERR + "Pointer type could not be 'NOTSET'.";
+	private static final String ERR_NO_TEXT = MSG_ERR + "The target of this XPointer reference is not a text.";
+	private static final String ERR_NEGATIVE_OFFSET = MSG_ERR + "The given start and length of the reference must not be negative.";
 
 	// ============================================== Konstruktoren
 	// ==============================================
@@ -84,7 +91,7 @@ public class XPtrRef {
 		if ((id == null) || (id.equalsIgnoreCase("")))
 			throw new Exception(ERR_EMPTY_ID);
 
-		this.id = id;
+		this.left = id;
 		this.docName = docName;
 		this.isRange = false;
 	}
@@ -114,6 +121,31 @@ public class XPtrRef {
 		this.isRange = true;
 	}
 
+	/**
+	 * Creates a reference to a part of a text, given by the start (counted
+	 * from 1) and the length as in string-range(//body,'',start,length). The
+	 * type is set to {@link POINTERTYPE#TEXT}.
+	 * 
+	 * @param docName
+	 *            String - name of the text document
+	 * @param start
+	 *            int - position of the first char
+	 * @param length
+	 *            int - number of chars
+	 */
+	public XPtrRef(String docName, int start, int length) throws Exception {
+		if ((docName == null) || (docName.isEmpty()))
+			throw new Exception(ERR_EMPTY_DOCNAME);
+		if ((start < 0) || (length < 0))
+			throw new Exception(ERR_NEGATIVE_OFFSET);
+
+		this.start = start;
+		this.length = length;
+		this.docName = docName;
+		this.isRange = true;
+		this.type = POINTERTYPE.TEXT;
+	}
+
 	// ============================================== private Methoden
 	// ==============================================
 	// ============================================== �ffentliche Methoden
@@ -171,7 +203,7 @@ public class XPtrRef {
 	public String getID() throws Exception {
 		if (this.isRange)
 			throw new Exception(ERR_IS_RANGE);
-		return (this.id);
+		return (this.left);
 	}
 
 	/**
@@ -185,6 +217,8 @@ public class XPtrRef {
 	public String getLeft() throws Exception {
 		if (!this.isRange)
 			throw new Exception(ERR_NO_RANGE);
+		if (this.left == null)
+			return (String.valueOf(this.start));
 		return (this.left);
 	}
 
@@ -199,9 +233,41 @@ public class XPtrRef {
 	public String getRight() throws Exception {
 		if (!this.isRange)
 			throw new Exception(ERR_NO_RANGE);
+		if (this.right == null)
+			return (String.valueOf(this.length));
 		return (this.right);
 	}
 
+	/**
+	 * Returns the start of the referred part of a text, counted from 1.
+	 * 
+	 * @throws Exception
+	 *             if this reference does not refer to a text or the start is
+	 *             no number
+	 */
+	public int getStart() throws Exception {
+		if (this.type != POINTERTYPE.TEXT)
+			throw new Exception(ERR_NO_TEXT);
+		if (this.left == null)
+			return (this.start);
+		return (Integer.parseInt(this.left));
+	}
+
+	/**
+	 * Returns the length of the referred part of a text.
+	 * 
+	 * @throws Exception
+	 *             if this reference does not refer to a text or the length is
+	 *             no number
+	 */
+	public int getLength() throws Exception {
+		if (this.type != POINTERTYPE.TEXT)
+			throw new Exception(ERR_NO_TEXT);
+		if (this.right == null)
+			return (this.length);
+		return (Integer.parseInt(this.right));
+	}
+
 	/**
 	 * Gibt Informationen ueber dieses Objekt als String zur�ck.
 	 * 
@@ -212,9 +278,9 @@ public class XPtrRef {
 
 		retStr = MSG_STD + "document name: " + this.docName + ", type: ";
 		if (this.isRange) {
-			retStr = retStr + "range" + ", (left: " + this.left + ", right: " + this.right + ")";
+			retStr = retStr + "range" + ", (left: " + ((this.left == null) ? this.start : this.left) + ", right: " + ((this.right == null) ? this.length : this.right) + ")";
 		} else
-			retStr = retStr + "simple node" + ", id " + this.id;
+			retStr = retStr + "simple node" + ", id " + this.left;
 
 		return (retStr);
 	}
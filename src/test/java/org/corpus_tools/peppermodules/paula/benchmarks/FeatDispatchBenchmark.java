@@ -0,0 +1,197 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import org.corpus_tools.peppermodules.paula.PAULAConnector;
+import org.corpus_tools.peppermodules.paula.PAULAFileDelegator;
+import org.corpus_tools.peppermodules.paula.readers.PAULANameTable.ATTRIBUTE;
+import org.corpus_tools.peppermodules.paula.readers.PAULAReader;
+import org.corpus_tools.peppermodules.paula.readers.PAULASpecificReader;
+import org.corpus_tools.peppermodules.paula.util.PAULADTDResolver;
+import org.corpus_tools.peppermodules.paula.util.XMLReaderPool;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.ext.DefaultHandler2;
+
+/**
+ * Measures the time per feat element for a synthetic feat file with one
+ * million feat elements. Compares resolving element and attribute names by
+ * comparing them against all candidates with the dispatch via
+ * {@link PAULASpecificReader#getAttributeSlots(Attributes)}, and measures
+ * reading the file with the {@link PAULAReader}, passing all elements to a
+ * connector doing nothing. Is not run as a test, start it via its main method,
+ * optionally with the number of rounds and the number of feat elements as
+ * arguments.
+ */
+public class FeatDispatchBenchmark {
+	private static final XMLReaderPool pool = new XMLReaderPool().setEntityResolver(PAULADTDResolver.getInstance());
+	private static final PAULAFileDelegator delegator = new PAULAFileDelegator();
+
+	/** number of resolved attribute values, prevents dead code elimination **/
+	private static long resolved = 0;
+
+	public static void main(String[] args) throws Exception {
+		int rounds = (args.length > 0) ? Integer.valueOf(args[0]) : 5;
+		int feats = (args.length > 1) ? Integer.valueOf(args[1]) : 1000000;
+		File featFile = File.createTempFile("doc.pos", ".xml");
+		featFile.deleteOnExit();
+		writeFeatFile(featFile, feats);
+		System.out.println("reading " + feats + " feats in " + rounds + " rounds");
+
+		// warm up
+		run(featFile, 1, new ChainReader());
+		run(featFile, 1, new TableReader());
+		run(featFile, 1, null);
+
+		long chain = run(featFile, rounds, new ChainReader());
+		long table = run(featFile, rounds, new TableReader());
+		long reader = run(featFile, rounds, null);
+		long reads = (long) rounds * feats;
+		System.out.println("compare names:\t" + (chain / reads) + " ns/feat");
+		System.out.println("dispatch table:\t" + (table / reads) + " ns/feat");
+		System.out.println("PAULAReader:\t" + (reader / reads) + " ns/feat");
+		System.out.println("(" + resolved + " resolved values)");
+	}
+
+	/**
+	 * Writes a feat file annotating the given number of tokens.
+	 */
+	private static void writeFeatFile(File featFile, int feats) throws Exception {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(featFile), "UTF-8"));
+		try {
+			writer.write("<?xml version=\"1.0\" standalone=\"no\"?>\n");
+			writer.write("<!DOCTYPE paula SYSTEM \"paula_feat.dtd\">\n");
+			writer.write("<paula version=\"1.1\">\n");
+			writer.write("<header paula_id=\"doc.pos\"/>\n");
+			writer.write("<featList type=\"pos\" xml:base=\"doc.tok.xml\">\n");
+			for (int i = 0; i < feats; i++) {
+				writer.write("<feat xlink:href=\"#tok_" + i + "\" value=\"NN\"/>\n");
+			}
+			writer.write("</featList>\n");
+			writer.write("</paula>\n");
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Parses the given file with the given handler, or with a
+	 * {@link PAULAReader} if none is given.
+	 */
+	private static long run(File featFile, int rounds, DefaultHandler2 handler) throws Exception {
+		long start = System.nanoTime();
+		for (int i = 0; i < rounds; i++) {
+			DefaultHandler2 contentHandler = handler;
+			if (contentHandler == null) {
+				PAULAReader paulaReader = new PAULAReader();
+				paulaReader.setConnector(new NullConnector());
+				paulaReader.setPaulaFile(featFile);
+				paulaReader.setPaulaFileDelegator(delegator);
+				contentHandler = paulaReader;
+			}
+			XMLReader xmlReader = pool.acquire(contentHandler);
+			InputSource is = new InputSource(featFile.getAbsolutePath());
+			xmlReader.parse(is);
+			pool.release(xmlReader);
+		}
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Resolves the names of each feat element by comparing them against all
+	 * candidates.
+	 */
+	private static class ChainReader extends PAULASpecificReader {
+		@Override
+		public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+			if (isTAGorAttribute(qName, TAG_FEAT_FEAT)) {
+				for (int i = 0; i < attributes.getLength(); i++) {
+					if ((isTAGorAttribute(attributes.getQName(i), ATT_ID)) || (isTAGorAttribute(attributes.getQName(i), ATT_HREF)) || (isTAGorAttribute(attributes.getQName(i), ATT_FEAT_FEAT_TAR)) || (isTAGorAttribute(attributes.getQName(i), ATT_FEAT_FEAT_VAL)) || (isTAGorAttribute(attributes.getQName(i), ATT_FEAT_FEAT_DESC)) || (isTAGorAttribute(attributes.getQName(i), ATT_FEAT_FEAT_EXP))) {
+						resolved++;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Resolves the names of each feat element via the dispatch table.
+	 */
+	private static class TableReader extends PAULASpecificReader {
+		private TableReader() {
+			setPaulaFileDelegator(delegator);
+		}
+
+		@Override
+		public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+			super.startElement(uri, localName, qName, attributes);
+			ATTRIBUTE[] slots = getAttributeSlots(attributes);
+			for (int i = 0; i < slots.length; i++) {
+				if (slots[i] != null) {
+					resolved++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Ignores all calls.
+	 */
+	private static class NullConnector implements PAULAConnector {
+		@Override
+		public void paulaTEXTConnector(File paulaFile, String paulaId, String text) {
+		}
+
+		@Override
+		public void paulaMARK_TOKConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String markID, String href, String markType) {
+		}
+
+		@Override
+		public void paulaMARKConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String markID, String href, String markType) {
+		}
+
+		@Override
+		public void paulaFEATConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String featID, String featHref, String featTar, String featVal, String featDesc, String featExp) {
+			resolved++;
+		}
+
+		@Override
+		public void paulaRELConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String relId, String srcHref, String dstHref) {
+		}
+
+		@Override
+		public void paulaFEAT_METAConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String featID, String featHref, String featTar, String featVal, String featDesc, String featExp) {
+		}
+
+		@Override
+		public void paulaSTRUCTConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String structID, String relID, String relHref, String relType) {
+		}
+
+		@Override
+		public void endDocument(PAULASpecificReader paulaReader, File paulaFile) {
+		}
+	}
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.benchmarks;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.corpus_tools.peppermodules.paula.util.XMLReaderPool;
+import org.xml.sax.XMLReader;
+import org.xml.sax.ext.DefaultHandler2;
+
+/**
+ * Measures the time per file for parsing all paula files of the test corpora,
+ * once with a new parser for each file and once with parsers taken from an
+ * {@link XMLReaderPool}. Is not run as a test, start it via its main method,
+ * optionally with the number of rounds and the corpus folder as arguments.
+ */
+public class ParserCreationBenchmark {
+	public static void main(String[] args) throws Exception {
+		int rounds = (args.length > 0) ? Integer.valueOf(args[0]) : 200;
+		File folder = new File((args.length > 1) ? args[1] : "src/test/resources/");
+		List<File> paulaFiles = new ArrayList<File>();
+		collectFiles(folder, paulaFiles);
+		XMLReaderPool pool = new XMLReaderPool();
+		removeUnreadableFiles(paulaFiles, pool);
+		System.out.println("parsing " + paulaFiles.size() + " files in " + rounds + " rounds");
+
+		// warm up
+		run(paulaFiles, rounds / 4 + 1, pool, false);
+		run(paulaFiles, rounds / 4 + 1, pool, true);
+
+		long newParser = run(paulaFiles, rounds, pool, false);
+		long pooledParser = run(paulaFiles, rounds, pool, true);
+		long parses = (long) rounds * paulaFiles.size();
+		System.out.println("new parser per file:\t" + (newParser / parses) + " ns/file");
+		System.out.println("pooled parser:\t\t" + (pooledParser / parses) + " ns/file");
+	}
+
+	private static long run(List<File> paulaFiles, int rounds, XMLReaderPool pool, boolean pooled) throws Exception {
+		DefaultHandler2 handler = new DefaultHandler2();
+		long start = System.nanoTime();
+		for (int i = 0; i < rounds; i++) {
+			for (File paulaFile : paulaFiles) {
+				XMLReader xmlReader;
+				if (pooled) {
+					xmlReader = pool.acquire(handler);
+				} else {
+					xmlReader = pool.createXMLReader();
+					xmlReader.setContentHandler(handler);
+					xmlReader.setDTDHandler(handler);
+					xmlReader.setProperty(XMLReaderPool.PROP_LEXICAL_HANDLER, handler);
+				}
+				xmlReader.parse(paulaFile.getAbsolutePath());
+				if (pooled) {
+					pool.release(xmlReader);
+				}
+			}
+		}
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Removes files which cannot be parsed, e.g. because their dtd is missing.
+	 */
+	private static void removeUnreadableFiles(List<File> paulaFiles, XMLReaderPool pool) throws Exception {
+		Iterator<File> it = paulaFiles.iterator();
+		while (it.hasNext()) {
+			File paulaFile = it.next();
+			XMLReader xmlReader = pool.acquire(new DefaultHandler2());
+			try {
+				xmlReader.parse(paulaFile.getAbsolutePath());
+				pool.release(xmlReader);
+			} catch (Exception e) {
+				it.remove();
+			}
+		}
+	}
+
+	private static void collectFiles(File folder, List<File> paulaFiles) {
+		File[] files = folder.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				if (file.isDirectory()) {
+					collectFiles(file, paulaFiles);
+				} else if (file.getName().endsWith(".xml")) {
+					paulaFiles.add(file);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,131 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.benchmarks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.corpus_tools.peppermodules.paula.PAULAConnectorRecorder;
+import org.corpus_tools.peppermodules.paula.PAULAFileDelegator;
+import org.corpus_tools.peppermodules.paula.readers.PAULAReader;
+import org.corpus_tools.peppermodules.paula.readers.PAULAStAXReader;
+import org.corpus_tools.peppermodules.paula.util.PAULADTDResolver;
+import org.corpus_tools.peppermodules.paula.util.XMLReaderPool;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+/**
+ * Compares the time per file for reading all paula files of the test corpora
+ * with the SAX based {@link PAULAReader} and the StAX based
+ * {@link PAULAStAXReader}. The connector calls are recorded, so the mapping to
+ * Salt is not measured. Is not run as a test, start it via its main method,
+ * optionally with the number of rounds and the corpus folder as arguments.
+ */
+public class ParserEngineBenchmark {
+	private static final XMLReaderPool pool = new XMLReaderPool().setEntityResolver(PAULADTDResolver.getInstance());
+	private static final PAULAFileDelegator delegator = new PAULAFileDelegator();
+
+	public static void main(String[] args) throws Exception {
+		int rounds = (args.length > 0) ? Integer.valueOf(args[0]) : 200;
+		File folder = new File((args.length > 1) ? args[1] : "src/test/resources/");
+		List<File> paulaFiles = new ArrayList<File>();
+		collectFiles(folder, paulaFiles);
+		removeUnreadableFiles(paulaFiles);
+		System.out.println("reading " + paulaFiles.size() + " files in " + rounds + " rounds");
+
+		// warm up
+		run(paulaFiles, rounds / 4 + 1, false);
+		run(paulaFiles, rounds / 4 + 1, true);
+
+		long sax = run(paulaFiles, rounds, false);
+		long stax = run(paulaFiles, rounds, true);
+		long reads = (long) rounds * paulaFiles.size();
+		System.out.println("SAX:\t" + (sax / reads) + " ns/file");
+		System.out.println("StAX:\t" + (stax / reads) + " ns/file");
+	}
+
+	private static long run(List<File> paulaFiles, int rounds, boolean stax) throws Exception {
+		long start = System.nanoTime();
+		for (int i = 0; i < rounds; i++) {
+			for (File paulaFile : paulaFiles) {
+				read(paulaFile, stax);
+			}
+		}
+		return System.nanoTime() - start;
+	}
+
+	private static PAULAConnectorRecorder read(File paulaFile, boolean stax) throws Exception {
+		PAULAConnectorRecorder recorder = new PAULAConnectorRecorder(paulaFile);
+		InputStream inputStream = new FileInputStream(paulaFile);
+		try {
+			if (stax) {
+				PAULAStAXReader paulaReader = new PAULAStAXReader();
+				paulaReader.setConnector(recorder);
+				paulaReader.setPaulaFile(paulaFile);
+				paulaReader.setPaulaFileDelegator(delegator);
+				paulaReader.read(inputStream, paulaFile.getAbsolutePath());
+			} else {
+				PAULAReader paulaReader = new PAULAReader();
+				paulaReader.setConnector(recorder);
+				paulaReader.setPaulaFile(paulaFile);
+				paulaReader.setPaulaFileDelegator(delegator);
+				XMLReader xmlReader = pool.acquire(paulaReader);
+				InputSource is = new InputSource(inputStream);
+				is.setSystemId(paulaFile.getAbsolutePath());
+				xmlReader.parse(is);
+				pool.release(xmlReader);
+			}
+		} finally {
+			inputStream.close();
+		}
+		return recorder;
+	}
+
+	/**
+	 * Removes files which cannot be read by both engines.
+	 */
+	private static void removeUnreadableFiles(List<File> paulaFiles) {
+		Iterator<File> it = paulaFiles.iterator();
+		while (it.hasNext()) {
+			File paulaFile = it.next();
+			try {
+				read(paulaFile, false);
+				read(paulaFile, true);
+			} catch (Exception e) {
+				it.remove();
+			}
+		}
+	}
+
+	private static void collectFiles(File folder, List<File> paulaFiles) {
+		File[] files = folder.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				if (file.isDirectory()) {
+					collectFiles(file, paulaFiles);
+				} else if (file.getName().endsWith(".xml")) {
+					paulaFiles.add(file);
+				}
+			}
+		}
+	}
+}
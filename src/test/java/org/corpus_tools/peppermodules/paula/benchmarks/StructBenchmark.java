@@ -0,0 +1,139 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.benchmarks;
+
+import java.io.File;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.FileUtils;
+import org.corpus_tools.peppermodules.paula.PAULA2SaltMapper;
+import org.corpus_tools.peppermodules.paula.PAULAImportMetrics;
+import org.corpus_tools.peppermodules.paula.PAULAImporterProperties;
+import org.corpus_tools.salt.SaltFactory;
+import org.corpus_tools.salt.common.SDocument;
+import org.eclipse.emf.common.util.URI;
+
+/**
+ * Measures the time per rel element for mapping a synthetic document with a
+ * large struct file. The document is the one of the test corpus
+ * 'hierarchies', whose sentence is copied the given number of times, all ids
+ * and text offsets are renamed for each copy. Is not run as a test, start it
+ * via its main method, optionally with the number of rounds and the number of
+ * copies as arguments.
+ */
+public class StructBenchmark {
+	private static final File SOURCE = new File("src/test/resources/hierarchies/");
+	private static final String[] FILES = { "doc1.text.xml", "doc1.tok.xml", "syntax.doc1.struct.xml", "syntax.doc1.struct_const.xml" };
+	/** matches the ids of the hierarchies corpus and references to them **/
+	private static final Pattern ID = Pattern.compile("(id=\"|#)(sTok|structure|sDomRel)(\\d+)\"");
+	/** matches the start of a string-range **/
+	private static final Pattern START = Pattern.compile("(string-range\\(//body,'',)(\\d+)");
+	/** matches the primary text **/
+	private static final Pattern BODY = Pattern.compile("<body>(.*)</body>", Pattern.DOTALL);
+	/** matches the elements of a list **/
+	private static final Pattern LIST = Pattern.compile("(<(?:markList|structList|featList)[^>]*>)(.*)(</(?:markList|structList|featList)>)", Pattern.DOTALL);
+
+	public static void main(String[] args) throws Exception {
+		int rounds = (args.length > 0) ? Integer.valueOf(args[0]) : 5;
+		int copies = (args.length > 1) ? Integer.valueOf(args[1]) : 5000;
+		File docFolder = new File(new File(System.getProperty("java.io.tmpdir"), "structBenchmark"), "doc1");
+		FileUtils.deleteDirectory(docFolder);
+		docFolder.mkdirs();
+		int rels = writeDocument(docFolder, copies);
+		System.out.println("mapping " + rels + " rels in " + rounds + " rounds");
+
+		// warm up
+		run(docFolder, 1);
+
+		long[] times = run(docFolder, rounds);
+		long mappings = (long) rounds * rels;
+		System.out.println("mapping:\t" + (times[0] / mappings) + " ns/rel");
+		System.out.println("connectors:\t" + (times[1] / mappings) + " ns/rel");
+		FileUtils.deleteDirectory(docFolder.getParentFile());
+	}
+
+	/**
+	 * Writes the scaled document to the given folder.
+	 * 
+	 * @return the number of rel elements of the struct file
+	 */
+	private static int writeDocument(File docFolder, int copies) throws Exception {
+		for (File dtd : SOURCE.listFiles()) {
+			if (dtd.getName().endsWith(".dtd")) {
+				FileUtils.copyFileToDirectory(dtd, docFolder);
+			}
+		}
+		String text = FileUtils.readFileToString(new File(SOURCE, FILES[0]), "UTF-8");
+		Matcher body = BODY.matcher(text);
+		body.find();
+		int length = body.group(1).length() + 1;
+		StringBuilder scaledText = new StringBuilder();
+		for (int k = 0; k < copies; k++) {
+			scaledText.append(body.group(1)).append(' ');
+		}
+		FileUtils.writeStringToFile(new File(docFolder, FILES[0]), text.substring(0, body.start(1)) + scaledText + text.substring(body.end(1)), "UTF-8");
+
+		int rels = 0;
+		for (int i = 1; i < FILES.length; i++) {
+			String content = FileUtils.readFileToString(new File(SOURCE, FILES[i]), "UTF-8");
+			Matcher list = LIST.matcher(content);
+			list.find();
+			StringBuilder scaled = new StringBuilder(content.substring(0, list.end(1)));
+			for (int k = 0; k < copies; k++) {
+				String elements = ID.matcher(list.group(2)).replaceAll("$1$2$3_" + k + "\"");
+				Matcher start = START.matcher(elements);
+				StringBuffer shifted = new StringBuffer();
+				while (start.find()) {
+					start.appendReplacement(shifted, "$1" + (Integer.valueOf(start.group(2)) + k * length));
+				}
+				start.appendTail(shifted);
+				scaled.append(shifted);
+				if (FILES[i].endsWith(".struct.xml")) {
+					rels += (shifted.length() - shifted.toString().replace("<rel ", "").length()) / 5;
+				}
+			}
+			scaled.append(content.substring(list.start(3)));
+			FileUtils.writeStringToFile(new File(docFolder, FILES[i]), scaled.toString(), "UTF-8");
+		}
+		return rels;
+	}
+
+	/**
+	 * Maps the document in the given folder the given number of times.
+	 * 
+	 * @return the total time of mapping and the time spent in the connectors
+	 */
+	private static long[] run(File docFolder, int rounds) {
+		long[] times = new long[2];
+		for (int i = 0; i < rounds; i++) {
+			PAULA2SaltMapper mapper = new PAULA2SaltMapper();
+			mapper.setProperties(new PAULAImporterProperties());
+			mapper.setPAULA_FILE_ENDINGS(new String[] { "xml" });
+			SDocument document = SaltFactory.createSDocument();
+			document.setName("doc1");
+			mapper.setDocument(document);
+			mapper.setResourceURI(URI.createFileURI(docFolder.getAbsolutePath()));
+			long start = System.nanoTime();
+			mapper.mapSDocument();
+			times[0] += System.nanoTime() - start;
+			times[1] += mapper.getImportMetrics().get(PAULAImportMetrics.CONNECTOR_TIME);
+		}
+		return times;
+	}
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.corpus_tools.peppermodules.paula.util.xPointer.XPtrInterpreter;
+import org.corpus_tools.peppermodules.paula.util.xPointer.XPtrRef;
+
+/**
+ * Measures the time and the allocated bytes per pointer for interpreting the
+ * kinds of XPointer expressions occurring in paula files with a
+ * {@link XPtrInterpreter}, and separately for lists of shorthand pointers
+ * separated by blanks. The allocated bytes are only measured on JVMs
+ * supporting it. Is not run as a test, start it via its main method,
+ * optionally with the number of rounds as argument.
+ */
+public class XPointerBenchmark {
+	private static final String[] POINTERS = { "#tok_1", "base.tok.xml#tok_12", "#xpointer(id('tok_6')/range-to(id('tok_8')))", "(#tok_1,#tok_3,#tok_5)", "(#xpointer(id('tok_6')/range-to(id('tok_8'))),#tok_10)", "#xpointer(string-range(//body,'',12,5))", "base.tok.xml" };
+
+	private static final String[] LISTS = { "#tok_1 #tok_2", "#tok_1 #tok_2 #tok_3 #tok_4 #tok_5 #tok_6 #tok_7 #tok_8" };
+
+	public static void main(String[] args) throws Exception {
+		int rounds = (args.length > 0) ? Integer.valueOf(args[0]) : 200000;
+		System.out.println("interpreting " + POINTERS.length + " pointers in " + rounds + " rounds");
+
+		// warm up
+		run(POINTERS, rounds / 4 + 1);
+		run(LISTS, rounds / 4 + 1);
+
+		print("xpointer:\t", run(POINTERS, rounds), (long) rounds * POINTERS.length);
+		print("list:\t\t", run(LISTS, rounds), (long) rounds * LISTS.length);
+	}
+
+	private static void print(String name, long[] result, long pointers) {
+		String bytes = (result[1] < 0) ? "" : ", " + (result[1] / pointers) + " bytes/pointer";
+		System.out.println(name + (result[0] / pointers) + " ns/pointer" + bytes);
+	}
+
+	/**
+	 * @return the time in nanoseconds and the allocated bytes or -1
+	 */
+	private static long[] run(String[] pointers, int rounds) throws Exception {
+		XPtrInterpreter interpreter = new XPtrInterpreter();
+		List<XPtrRef> result = new ArrayList<XPtrRef>();
+		long refs = 0;
+		long bytes = getAllocatedBytes();
+		long start = System.nanoTime();
+		for (int i = 0; i < rounds; i++) {
+			for (String pointer : pointers) {
+				interpreter.setInterpreter("base.tok.xml", pointer);
+				interpreter.getResult(result);
+				refs += result.size();
+			}
+		}
+		long time = System.nanoTime() - start;
+		if (bytes >= 0) {
+			bytes = getAllocatedBytes() - bytes;
+		}
+		if (refs == 0) {
+			System.out.println("no references found");
+		}
+		return new long[] { time, bytes };
+	}
+
+	/**
+	 * @return the bytes allocated by the current thread so far or -1, if the
+	 *         JVM does not support measuring them
+	 */
+	private static long getAllocatedBytes() {
+		if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1;
+	}
+}
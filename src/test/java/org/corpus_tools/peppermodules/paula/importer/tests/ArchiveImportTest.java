@@ -0,0 +1,128 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.importer.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.corpus_tools.pepper.common.CorpusDesc;
+import org.corpus_tools.pepper.common.FormatDesc;
+import org.corpus_tools.pepper.testFramework.PepperImporterTest;
+import org.corpus_tools.pepper.testFramework.PepperTestUtil;
+import org.corpus_tools.peppermodules.paula.PAULAImporter;
+import org.corpus_tools.salt.common.SCorpus;
+import org.corpus_tools.salt.common.SDocument;
+import org.corpus_tools.salt.common.SDocumentGraph;
+import org.eclipse.emf.common.util.URI;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ArchiveImportTest extends PepperImporterTest {
+
+	@Before
+	public void setUp() {
+		super.setFixture(new PAULAImporter());
+
+		// set formats to support
+		FormatDesc formatDef = new FormatDesc();
+		formatDef.setFormatName("paula");
+		formatDef.setFormatVersion("1.0");
+		this.supportedFormatsCheck.add(formatDef);
+	}
+
+	/**
+	 * Creates a zip archive containing all paula files of the given folder in
+	 * a folder of the same name. The dtds are left out, the token file is
+	 * gzip compressed.
+	 */
+	private void zip(File folder, File archive) throws IOException {
+		ZipOutputStream out = new ZipOutputStream(new FileOutputStream(archive));
+		try {
+			for (File file : folder.listFiles()) {
+				if (!file.getName().endsWith(".xml")) {
+					continue;
+				}
+				if (file.getName().endsWith(".tok.xml")) {
+					out.putNextEntry(new ZipEntry(folder.getName() + "/" + file.getName() + ".gz"));
+					OutputStream gzip = new GZIPOutputStream(out);
+					gzip.write(FileUtils.readFileToByteArray(file));
+					gzip.flush();
+					((GZIPOutputStream) gzip).finish();
+				} else {
+					out.putNextEntry(new ZipEntry(folder.getName() + "/" + file.getName()));
+					out.write(FileUtils.readFileToByteArray(file));
+				}
+				out.closeEntry();
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Tests that a document given as zip archive is read in the same way as a
+	 * document given as folder. References to the gzip compressed token file
+	 * are resolved without the gzip ending.
+	 */
+	@Test
+	public void testImportArchive() throws IOException {
+		File source = new File(getTestResources() + "imExporterTest1/myCorpus/");
+		File corpusFolder = new File(PepperTestUtil.getTempPath_static("archiveImportTest"), "myCorpus");
+		FileUtils.deleteDirectory(corpusFolder);
+		corpusFolder.mkdirs();
+		FileUtils.copyFileToDirectory(new File(source, "anno_author.xml"), corpusFolder);
+		FileUtils.copyFileToDirectory(new File(source, "anno_lang.xml"), corpusFolder);
+		zip(new File(source, "myDocument"), new File(corpusFolder, "myDocument.zip"));
+
+		// creating and setting corpus definition
+		CorpusDesc corpDef = new CorpusDesc();
+		corpDef.setCorpusPath(URI.createFileURI(corpusFolder.getAbsolutePath())).getFormatDesc().setFormatName("xml").setFormatVersion("1.0");
+		getFixture().setCorpusDesc(corpDef);
+
+		// runs the PepperModule
+		this.start();
+
+		SCorpus corpus = null;
+		for (SCorpus sCorpus : getFixture().getCorpusGraph().getCorpora()) {
+			if ("myCorpus".equals(sCorpus.getName())) {
+				corpus = sCorpus;
+			}
+		}
+		assertNotNull(corpus);
+		assertEquals("John Doe", corpus.getMetaAnnotation("author").getValue());
+		assertEquals(1, getFixture().getCorpusGraph().getDocuments().size());
+		SDocument document = getFixture().getCorpusGraph().getDocuments().get(0);
+		assertEquals("myDocument", document.getName());
+		SDocumentGraph graph = document.getDocumentGraph();
+		assertNotNull(graph);
+		assertEquals(1, graph.getTextualDSs().size());
+		assertEquals(11, graph.getTokens().size());
+		assertEquals(12, graph.getStructures().size());
+		assertEquals(22, graph.getDominanceRelations().size());
+		assertEquals("ROOT", graph.getStructures().get(0).getAnnotation("syntax::const").getValue());
+	}
+}
@@ -26,10 +26,12 @@ import org.corpus_tools.pepper.common.CorpusDesc;
 import org.corpus_tools.pepper.common.FormatDesc;
 import org.corpus_tools.pepper.testFramework.PepperImporterTest;
 import org.corpus_tools.peppermodules.paula.PAULAImporter;
+import org.corpus_tools.peppermodules.paula.PAULAImporterProperties;
 import org.corpus_tools.salt.common.SDocumentGraph;
 import org.corpus_tools.salt.common.SMedialDS;
 import org.corpus_tools.salt.common.SMedialRelation;
 import org.corpus_tools.salt.common.SSpan;
+import org.corpus_tools.salt.core.SAnnotation;
 import org.eclipse.emf.common.util.URI;
 import org.junit.Before;
 import org.junit.Test;
@@ -76,4 +78,30 @@ public class AudioDataTest extends PepperImporterTest {
 			assertEquals(graph.getMedialDSs().get(0) + " != " + rel.getTarget(), graph.getMedialDSs().get(0), rel.getTarget());
 		}
 	}
+
+	/**
+	 * Tests that the value of an audio annotation is taken as it is, when only
+	 * the values of other annotations shall be checked for file references.
+	 */
+	@Test
+	public void testAudioDataNoFileAnnotation() {
+		getFixture().getProperties().setPropertyValue(PAULAImporterProperties.PROP_FILE_ANNOTATIONS, "pos, lemma");
+		File testFolder = new File(getTestResources() + "audioData3/");
+
+		// creating and setting corpus definition
+		CorpusDesc corpDef = new CorpusDesc();
+		corpDef.setCorpusPath(URI.createFileURI(testFolder.getAbsolutePath())).getFormatDesc().setFormatName("xml").setFormatVersion("1.0");
+		getFixture().setCorpusDesc(corpDef);
+
+		// runs the PepperModule
+		this.start();
+		SDocumentGraph graph = getFixture().getCorpusGraph().getDocuments().get(0).getDocumentGraph();
+		assertEquals(0, graph.getMedialDSs().size());
+		assertEquals(0, graph.getMedialRelations().size());
+		assertEquals(1, graph.getSpans().size());
+		assertEquals(1, graph.getSpans().get(0).getAnnotations().size());
+		SAnnotation sAnno = graph.getSpans().get(0).getAnnotations().iterator().next();
+		assertEquals("audio", sAnno.getName());
+		assertEquals("sample.mp3", sAnno.getValue());
+	}
 }
\ No newline at end of file
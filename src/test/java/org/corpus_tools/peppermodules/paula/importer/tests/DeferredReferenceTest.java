@@ -0,0 +1,112 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.importer.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.corpus_tools.pepper.common.CorpusDesc;
+import org.corpus_tools.pepper.common.FormatDesc;
+import org.corpus_tools.pepper.testFramework.PepperImporterTest;
+import org.corpus_tools.pepper.testFramework.PepperTestUtil;
+import org.corpus_tools.peppermodules.paula.PAULAImporter;
+import org.corpus_tools.salt.common.SDocumentGraph;
+import org.corpus_tools.salt.common.SStructure;
+import org.eclipse.emf.common.util.URI;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DeferredReferenceTest extends PepperImporterTest {
+
+	@Before
+	public void setUp() {
+		super.setFixture(new PAULAImporter());
+
+		// set formats to support
+		FormatDesc formatDef = new FormatDesc();
+		formatDef.setFormatName("paula");
+		formatDef.setFormatVersion("1.0");
+		this.supportedFormatsCheck.add(formatDef);
+	}
+
+	/**
+	 * Returns a struct file containing the given structs, each given as id
+	 * followed by the hrefs of its rels.
+	 */
+	private String structFile(String paulaId, String[]... structs) {
+		StringBuilder content = new StringBuilder();
+		content.append("<?xml version='1.0' encoding='UTF-8'?><!DOCTYPE paula SYSTEM \"paula_struct.dtd\"><paula version=\"1.1\"><header paula_id=\"" + paulaId + "\"/><structList xmlns:xlink=\"http://www.w3.org/1999/xlink\" type=\"syntax\">");
+		int rel = 0;
+		for (String[] struct : structs) {
+			content.append("<struct id=\"" + struct[0] + "\">");
+			for (int i = 1; i < struct.length; i++) {
+				content.append("<rel id=\"" + paulaId + "_rel" + (rel++) + "\" xlink:href=\"" + struct[i] + "\"/>");
+			}
+			content.append("</struct>");
+		}
+		content.append("</structList></paula>");
+		return content.toString();
+	}
+
+	/**
+	 * Tests that two struct files referring to each other are mapped
+	 * completely, although one of them has to be mapped before the other. The
+	 * struct b2 dominates the struct a1, which dominates the struct b1.
+	 */
+	@Test
+	public void testCrossReferencingFiles() throws IOException {
+		File source = new File(getTestResources() + "hierarchies/");
+		File docFolder = new File(PepperTestUtil.getTempPath_static("deferredReferenceTest"), "corpus/doc1");
+		FileUtils.deleteDirectory(docFolder.getParentFile());
+		docFolder.mkdirs();
+		for (File file : source.listFiles()) {
+			if (file.getName().endsWith(".dtd") || file.getName().startsWith("doc1.")) {
+				FileUtils.copyFileToDirectory(file, docFolder);
+			}
+		}
+		FileUtils.writeStringToFile(new File(docFolder, "syntax.doc1.a.xml"), structFile("syntax.doc1.a", new String[] { "a1", "doc1.tok.xml#sTok1", "syntax.doc1.b.xml#b1" }), "UTF-8");
+		FileUtils.writeStringToFile(new File(docFolder, "syntax.doc1.b.xml"), structFile("syntax.doc1.b", new String[] { "b1", "doc1.tok.xml#sTok2" }, new String[] { "b2", "syntax.doc1.a.xml#a1", "doc1.tok.xml#sTok3" }), "UTF-8");
+
+		// creating and setting corpus definition
+		CorpusDesc corpDef = new CorpusDesc();
+		corpDef.setCorpusPath(URI.createFileURI(docFolder.getParentFile().getAbsolutePath())).getFormatDesc().setFormatName("xml").setFormatVersion("1.0");
+		getFixture().setCorpusDesc(corpDef);
+
+		// runs the PepperModule
+		this.start();
+
+		SDocumentGraph graph = getFixture().getCorpusGraph().getDocuments().get(0).getDocumentGraph();
+		assertNotNull(graph);
+		assertEquals(3, graph.getStructures().size());
+		assertEquals(5, graph.getDominanceRelations().size());
+		SStructure b2 = null;
+		for (SStructure struct : graph.getStructures()) {
+			if ("b2".equals(struct.getName())) {
+				b2 = struct;
+			}
+		}
+		assertNotNull(b2);
+		assertEquals(3, graph.getOverlappedTokens(b2).size());
+		assertEquals(1, graph.getLayers().size());
+		assertEquals(5, graph.getLayers().iterator().next().getRelations().size());
+	}
+}
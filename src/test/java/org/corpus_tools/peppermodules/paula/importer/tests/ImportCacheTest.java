@@ -0,0 +1,103 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.importer.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.corpus_tools.pepper.common.CorpusDesc;
+import org.corpus_tools.pepper.common.FormatDesc;
+import org.corpus_tools.pepper.testFramework.PepperImporterTest;
+import org.corpus_tools.pepper.testFramework.PepperTestUtil;
+import org.corpus_tools.peppermodules.paula.PAULAImportCache;
+import org.corpus_tools.peppermodules.paula.PAULAImporter;
+import org.corpus_tools.peppermodules.paula.PAULAImporterProperties;
+import org.corpus_tools.salt.common.SCorpus;
+import org.corpus_tools.salt.common.SDocumentGraph;
+import org.eclipse.emf.common.util.URI;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ImportCacheTest extends PepperImporterTest {
+	/** folder of the import cache **/
+	private File cacheDir = null;
+
+	@Before
+	public void setUp() throws IOException {
+		cacheDir = PepperTestUtil.getTempPath_static("importCacheTest/cache");
+		FileUtils.deleteDirectory(cacheDir);
+		createFixture();
+
+		// set formats to support
+		FormatDesc formatDef = new FormatDesc();
+		formatDef.setFormatName("paula");
+		formatDef.setFormatVersion("1.0");
+		this.supportedFormatsCheck.add(formatDef);
+	}
+
+	private void createFixture() {
+		super.setFixture(new PAULAImporter());
+		getFixture().getProperties().setPropertyValue(PAULAImporterProperties.PROP_CACHE_DIR, cacheDir.getAbsolutePath());
+		CorpusDesc corpDef = new CorpusDesc();
+		corpDef.setCorpusPath(URI.createFileURI(new File(getTestResources() + "imExporterTest1/").getAbsolutePath())).getFormatDesc().setFormatName("xml").setFormatVersion("1.0");
+		getFixture().setCorpusDesc(corpDef);
+	}
+
+	private void assertImported() {
+		SCorpus corpus = null;
+		for (SCorpus sCorpus : getFixture().getCorpusGraph().getCorpora()) {
+			if ("myCorpus".equals(sCorpus.getName())) {
+				corpus = sCorpus;
+			}
+		}
+		assertNotNull(corpus);
+		assertEquals("John Doe", corpus.getMetaAnnotation("author").getValue());
+		SDocumentGraph graph = getFixture().getCorpusGraph().getDocuments().get(0).getDocumentGraph();
+		assertNotNull(graph);
+		assertEquals(1, graph.getTextualDSs().size());
+		assertEquals(11, graph.getTokens().size());
+		assertEquals(12, graph.getStructures().size());
+		assertEquals(22, graph.getDominanceRelations().size());
+		assertEquals("ROOT", graph.getStructures().get(0).getAnnotation("syntax::const").getValue());
+	}
+
+	/**
+	 * Tests that the first import fills the cache and that importing again
+	 * from the cache creates the same graph.
+	 */
+	@Test
+	public void testImportFromCache() {
+		this.start();
+		assertImported();
+		File documentFolder = new File(getTestResources() + "imExporterTest1/myCorpus/myDocument/");
+		File cacheFile = new PAULAImportCache(cacheDir).getCacheFile(documentFolder);
+		assertTrue(cacheFile.isFile());
+		long lastModified = cacheFile.lastModified();
+
+		createFixture();
+		this.start();
+		assertImported();
+		// the cache was used and not written again
+		assertEquals(lastModified, cacheFile.lastModified());
+	}
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.importer.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.corpus_tools.pepper.common.CorpusDesc;
+import org.corpus_tools.pepper.common.FormatDesc;
+import org.corpus_tools.pepper.testFramework.PepperImporterTest;
+import org.corpus_tools.peppermodules.paula.PAULAImportListener;
+import org.corpus_tools.peppermodules.paula.PAULAImportMetrics;
+import org.corpus_tools.peppermodules.paula.PAULAImportStatistics;
+import org.corpus_tools.peppermodules.paula.PAULAImporter;
+import org.corpus_tools.salt.common.SDocument;
+import org.eclipse.emf.common.util.URI;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ImportMetricsTest extends PepperImporterTest {
+
+	@Before
+	public void setUp() {
+		super.setFixture(new PAULAImporter());
+
+		// set formats to support
+		FormatDesc formatDef = new FormatDesc();
+		formatDef.setFormatName("paula");
+		formatDef.setFormatVersion("1.0");
+		this.supportedFormatsCheck.add(formatDef);
+	}
+
+	/**
+	 * Tests that the metrics of each imported document are passed to a
+	 * listener and the percentiles are computed at the end.
+	 */
+	@Test
+	public void testMetrics() {
+		final List<PAULAImportMetrics> imported = new ArrayList<PAULAImportMetrics>();
+		final List<PAULAImportStatistics> finished = new ArrayList<PAULAImportStatistics>();
+		((PAULAImporter) getFixture()).addImportListener(new PAULAImportListener() {
+			@Override
+			public synchronized void documentImported(PAULAImportMetrics metrics) {
+				imported.add(metrics);
+			}
+
+			@Override
+			public void importFinished(PAULAImportStatistics statistics) {
+				finished.add(statistics);
+			}
+		});
+		CorpusDesc corpDef = new CorpusDesc();
+		corpDef.setCorpusPath(URI.createFileURI(new File(getTestResources() + "imExporterTest1/").getAbsolutePath())).getFormatDesc().setFormatName("xml").setFormatVersion("1.0");
+		getFixture().setCorpusDesc(corpDef);
+		// runs the PepperModule, which calls end() at last
+		this.start();
+
+		SDocument document = getFixture().getCorpusGraph().getDocuments().get(0);
+		PAULAImportMetrics metrics = null;
+		for (PAULAImportMetrics m : imported) {
+			if (document.getId().equals(m.getId())) {
+				metrics = m;
+			}
+		}
+		assertNotNull(metrics);
+		assertEquals(Long.valueOf(5), metrics.get(PAULAImportMetrics.FILES));
+		assertEquals(Long.valueOf(document.getDocumentGraph().getNodes().size()), metrics.get(PAULAImportMetrics.NODES));
+		assertEquals(Long.valueOf(document.getDocumentGraph().getRelations().size()), metrics.get(PAULAImportMetrics.RELATIONS));
+		assertTrue(metrics.get(PAULAImportMetrics.BYTES_READ) > 0);
+		assertNotNull(metrics.get(PAULAImportMetrics.PARSE_TIME + ".struct"));
+		assertNotNull(metrics.get(PAULAImportMetrics.XPOINTER_TIME));
+		assertTrue(metrics.get(PAULAImportMetrics.XPOINTER_CACHE_MISSES) > 0);
+		assertNotNull(metrics.get(PAULAImportMetrics.XPOINTER_CACHE_HITS));
+		assertEquals(Long.valueOf(11), metrics.get(PAULAImportMetrics.ELEMENTS + ".MARK_TOK"));
+
+		assertEquals(1, finished.size());
+		PAULAImportStatistics statistics = finished.get(0);
+		assertSame(((PAULAImporter) getFixture()).getImportStatistics(), statistics);
+		assertEquals(metrics.get(PAULAImportMetrics.NODES), statistics.getPercentile(PAULAImportMetrics.NODES, 100));
+		assertTrue(statistics.toString().contains(PAULAImportMetrics.PARSE_TIME));
+	}
+
+	/**
+	 * Tests the nearest rank percentiles.
+	 */
+	@Test
+	public void testPercentiles() {
+		PAULAImportStatistics statistics = new PAULAImportStatistics();
+		for (int i = 1; i <= 10; i++) {
+			PAULAImportMetrics metrics = new PAULAImportMetrics("doc" + i);
+			metrics.add(PAULAImportMetrics.NODES, i * 10);
+			statistics.add(metrics);
+		}
+		assertEquals(Long.valueOf(50), statistics.getPercentile(PAULAImportMetrics.NODES, 50));
+		assertEquals(Long.valueOf(90), statistics.getPercentile(PAULAImportMetrics.NODES, 90));
+		assertEquals(Long.valueOf(100), statistics.getPercentile(PAULAImportMetrics.NODES, 99));
+		assertEquals(Long.valueOf(10), statistics.getPercentile(PAULAImportMetrics.NODES, 0));
+		assertNull(statistics.getPercentile(PAULAImportMetrics.RELATIONS, 50));
+	}
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.importer.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.corpus_tools.pepper.common.CorpusDesc;
+import org.corpus_tools.pepper.common.FormatDesc;
+import org.corpus_tools.pepper.testFramework.PepperImporterTest;
+import org.corpus_tools.pepper.testFramework.PepperTestUtil;
+import org.corpus_tools.peppermodules.paula.PAULAImporter;
+import org.corpus_tools.salt.common.SDocumentGraph;
+import org.corpus_tools.salt.core.SLayer;
+import org.eclipse.emf.common.util.URI;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LayerTest extends PepperImporterTest {
+
+	@Before
+	public void setUp() {
+		super.setFixture(new PAULAImporter());
+
+		// set formats to support
+		FormatDesc formatDef = new FormatDesc();
+		formatDef.setFormatName("paula");
+		formatDef.setFormatVersion("1.0");
+		this.supportedFormatsCheck.add(formatDef);
+	}
+
+	/**
+	 * Returns a mark file containing a single mark of the given id refering to
+	 * the given token.
+	 */
+	private String markFile(String paulaId, String markId, String tokId) {
+		return "<?xml version='1.0' encoding='UTF-8'?><!DOCTYPE paula SYSTEM \"paula_mark.dtd\"><paula version=\"1.1\"><header paula_id=\"" + paulaId + "\"/><markList xmlns:xlink=\"http://www.w3.org/1999/xlink\" type=\"span\" xml:base=\"doc1.tok.xml\"><mark id=\"" + markId + "\" xlink:href=\"#" + tokId + "\"/></markList></paula>";
+	}
+
+	/**
+	 * Tests that the spans of two files, whose namespaces only differ in case,
+	 * are attached to the same layer together with their relations.
+	 */
+	@Test
+	public void testLayerIgnoresCase() throws IOException {
+		File source = new File(getTestResources() + "spans/");
+		File docFolder = new File(PepperTestUtil.getTempPath_static("layerTest"), "corpus/doc1");
+		FileUtils.deleteDirectory(docFolder.getParentFile());
+		docFolder.mkdirs();
+		for (File file : source.listFiles()) {
+			if (file.getName().endsWith(".dtd") || file.getName().startsWith("doc1.")) {
+				FileUtils.copyFileToDirectory(file, docFolder);
+			}
+		}
+		FileUtils.writeStringToFile(new File(docFolder, "Syntax.doc1.mark.xml"), markFile("Syntax.doc1.mark", "span1", "sTok1"), "UTF-8");
+		FileUtils.writeStringToFile(new File(docFolder, "syntax.doc1.mark2.xml"), markFile("syntax.doc1.mark2", "span2", "sTok2"), "UTF-8");
+
+		// creating and setting corpus definition
+		CorpusDesc corpDef = new CorpusDesc();
+		corpDef.setCorpusPath(URI.createFileURI(docFolder.getParentFile().getAbsolutePath())).getFormatDesc().setFormatName("xml").setFormatVersion("1.0");
+		getFixture().setCorpusDesc(corpDef);
+
+		// runs the PepperModule
+		this.start();
+
+		SDocumentGraph graph = getFixture().getCorpusGraph().getDocuments().get(0).getDocumentGraph();
+		assertNotNull(graph);
+		assertEquals(2, graph.getSpans().size());
+		assertEquals(1, graph.getLayers().size());
+		SLayer layer = graph.getLayers().iterator().next();
+		assertEquals(2, layer.getNodes().size());
+		assertEquals(2, layer.getRelations().size());
+	}
+}
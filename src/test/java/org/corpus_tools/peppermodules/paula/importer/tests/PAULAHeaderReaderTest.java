@@ -0,0 +1,78 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.importer.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+
+import javax.xml.parsers.SAXParserFactory;
+
+import org.corpus_tools.pepper.testFramework.PepperTestUtil;
+import org.corpus_tools.peppermodules.paula.readers.PAULAHeader;
+import org.corpus_tools.peppermodules.paula.readers.PAULAHeaderReader;
+import org.junit.Test;
+import org.xml.sax.XMLReader;
+
+public class PAULAHeaderReaderTest {
+
+	private File getDocumentFolder() {
+		return new File(PepperTestUtil.getTestResources() + "imExporterTest1/myCorpus/myDocument/");
+	}
+
+	private PAULAHeader readHeader(File paulaFile) throws Exception {
+		PAULAHeaderReader headerReader = new PAULAHeaderReader(paulaFile);
+		XMLReader xmlReader = SAXParserFactory.newInstance().newSAXParser().getXMLReader();
+		xmlReader.setContentHandler(headerReader);
+		xmlReader.setProperty("http://xml.org/sax/properties/lexical-handler", headerReader);
+		try {
+			xmlReader.parse(paulaFile.getAbsolutePath());
+			fail("Reading should stop after the header.");
+		} catch (PAULAHeaderReader.HeaderCompleteException e) {
+			// expected
+		}
+		return headerReader.getHeader();
+	}
+
+	/**
+	 * Tests that the header of a feat file contains the xml:base of the
+	 * featList, which is the file the feat file depends on.
+	 */
+	@Test
+	public void testReadFeatHeader() throws Exception {
+		PAULAHeader header = readHeader(new File(getDocumentFolder(), "syntax.myDocument.struct_const.xml"));
+		assertEquals("paula_feat.dtd", header.getDtd());
+		assertEquals("syntax.myDocument.struct_const", header.getPaulaId());
+		assertEquals("const", header.getPaulaType());
+		assertEquals("syntax.myDocument.struct.xml", header.getXmlBase());
+	}
+
+	/**
+	 * Tests that reading a text file stops at the body and the header has no
+	 * xml:base.
+	 */
+	@Test
+	public void testReadTextHeader() throws Exception {
+		PAULAHeader header = readHeader(new File(getDocumentFolder(), "myDocument.text.xml"));
+		assertEquals("paula_text.dtd", header.getDtd());
+		assertEquals("myDocument.text", header.getPaulaId());
+		assertNull(header.getXmlBase());
+	}
+}
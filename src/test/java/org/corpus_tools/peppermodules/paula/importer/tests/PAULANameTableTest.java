@@ -0,0 +1,76 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.importer.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.corpus_tools.peppermodules.paula.readers.PAULANameTable;
+import org.corpus_tools.peppermodules.paula.readers.PAULANameTable.ATTRIBUTE;
+import org.corpus_tools.peppermodules.paula.readers.PAULANameTable.ELEMENT;
+import org.corpus_tools.peppermodules.paula.readers.PAULASpecificReader;
+import org.junit.Test;
+import org.xml.sax.helpers.AttributesImpl;
+
+public class PAULANameTableTest {
+
+	/**
+	 * Tests that element and attribute names are resolved case-insensitive.
+	 */
+	@Test
+	public void testGetElementAndAttribute() {
+		assertEquals(ELEMENT.LIST, PAULANameTable.getElement("featList"));
+		assertEquals(ELEMENT.LIST, PAULANameTable.getElement("FEATLIST"));
+		assertEquals(ELEMENT.LIST, PAULANameTable.getElement("multiFeatList"));
+		assertEquals(ELEMENT.FEAT, PAULANameTable.getElement("Feat"));
+		assertEquals(ELEMENT.REL, PAULANameTable.getElement("rel"));
+		assertNull(PAULANameTable.getElement("paula"));
+		assertNull(PAULANameTable.getElement(null));
+
+		assertEquals(ATTRIBUTE.HREF, PAULANameTable.getAttribute("xlink:href"));
+		assertEquals(ATTRIBUTE.HREF, PAULANameTable.getAttribute("XLINK:HREF"));
+		assertEquals(ATTRIBUTE.PAULA_ID, PAULANameTable.getAttribute("paula_id"));
+		assertEquals(ATTRIBUTE.PAULA_ID, PAULANameTable.getAttribute("sfb_id"));
+		assertEquals(ATTRIBUTE.BASE, PAULANameTable.getAttribute("xml:base"));
+		assertNull(PAULANameTable.getAttribute("href"));
+	}
+
+	/**
+	 * Tests that the attribute slots are reused for elements with the same
+	 * attribute names and resolved again for other attribute names.
+	 */
+	@Test
+	public void testGetAttributeSlots() {
+		PAULASpecificReader reader = new PAULASpecificReader() {
+		};
+		AttributesImpl attributes = new AttributesImpl();
+		attributes.addAttribute("", "", "xlink:href", "CDATA", "#tok_1");
+		attributes.addAttribute("", "", "Value", "CDATA", "NN");
+		attributes.addAttribute("", "", "unknown", "CDATA", "x");
+		ATTRIBUTE[] slots = reader.getAttributeSlots(attributes);
+		assertArrayEquals(new ATTRIBUTE[] { ATTRIBUTE.HREF, ATTRIBUTE.VALUE, null }, slots);
+
+		attributes.setValue(0, "#tok_2");
+		assertSame(slots, reader.getAttributeSlots(attributes));
+
+		attributes.setQName(2, "id");
+		assertArrayEquals(new ATTRIBUTE[] { ATTRIBUTE.HREF, ATTRIBUTE.VALUE, ATTRIBUTE.ID }, reader.getAttributeSlots(attributes));
+	}
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.importer.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.xml.parsers.SAXParserFactory;
+
+import org.corpus_tools.pepper.testFramework.PepperTestUtil;
+import org.corpus_tools.peppermodules.paula.PAULAConnector;
+import org.corpus_tools.peppermodules.paula.PAULAFileDelegator;
+import org.corpus_tools.peppermodules.paula.readers.PAULAReader;
+import org.corpus_tools.peppermodules.paula.readers.PAULASpecificReader;
+import org.corpus_tools.peppermodules.paula.readers.PAULAStAXReader;
+import org.corpus_tools.peppermodules.paula.util.PAULADTDResolver;
+import org.junit.Test;
+import org.xml.sax.XMLReader;
+
+public class PAULAStAXReaderTest {
+
+	/**
+	 * Connector writing each call into a list.
+	 */
+	private static class CallCollector implements PAULAConnector {
+		private final List<String> calls = new ArrayList<String>();
+
+		private void add(String connector, String... args) {
+			calls.add(connector + Arrays.toString(args));
+		}
+
+		@Override
+		public void paulaTEXTConnector(File paulaFile, String paulaId, String text) {
+			add("TEXT", paulaId, text);
+		}
+
+		@Override
+		public void paulaMARK_TOKConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String markID, String href, String markType) {
+			add("MARK_TOK", paulaId, paulaType, xmlBase, markID, href, markType);
+		}
+
+		@Override
+		public void paulaMARKConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String markID, String href, String markType) {
+			add("MARK", paulaId, paulaType, xmlBase, markID, href, markType);
+		}
+
+		@Override
+		public void paulaFEATConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String featID, String featHref, String featTar, String featVal, String featDesc, String featExp) {
+			add("FEAT", paulaId, paulaType, xmlBase, featID, featHref, featTar, featVal, featDesc, featExp);
+		}
+
+		@Override
+		public void paulaRELConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String relId, String srcHref, String dstHref) {
+			add("REL", paulaId, paulaType, xmlBase, relId, srcHref, dstHref);
+		}
+
+		@Override
+		public void paulaFEAT_METAConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String featID, String featHref, String featTar, String featVal, String featDesc, String featExp) {
+			add("FEAT_META", paulaId, paulaType, xmlBase, featID, featHref, featTar, featVal, featDesc, featExp);
+		}
+
+		@Override
+		public void paulaSTRUCTConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String structID, String relID, String relHref, String relType) {
+			add("STRUCT", paulaId, paulaType, xmlBase, structID, relID, relHref, relType);
+		}
+
+		@Override
+		public void endDocument(PAULASpecificReader paulaReader, File paulaFile) {
+			add("END_DOCUMENT", paulaReader.getClass().getSimpleName());
+		}
+	}
+
+	private List<String> readWithSAX(File paulaFile) throws Exception {
+		CallCollector collector = new CallCollector();
+		PAULAReader paulaReader = new PAULAReader();
+		paulaReader.setConnector(collector);
+		paulaReader.setPaulaFile(paulaFile);
+		paulaReader.setPaulaFileDelegator(new PAULAFileDelegator());
+		XMLReader xmlReader = SAXParserFactory.newInstance().newSAXParser().getXMLReader();
+		xmlReader.setContentHandler(paulaReader);
+		xmlReader.setProperty("http://xml.org/sax/properties/lexical-handler", paulaReader);
+		xmlReader.setEntityResolver(PAULADTDResolver.getInstance());
+		xmlReader.parse(paulaFile.getAbsolutePath());
+		return collector.calls;
+	}
+
+	private List<String> readWithStAX(File paulaFile) throws Exception {
+		CallCollector collector = new CallCollector();
+		PAULAStAXReader paulaReader = new PAULAStAXReader();
+		paulaReader.setConnector(collector);
+		paulaReader.setPaulaFile(paulaFile);
+		paulaReader.setPaulaFileDelegator(new PAULAFileDelegator());
+		InputStream inputStream = new FileInputStream(paulaFile);
+		try {
+			paulaReader.read(inputStream, paulaFile.getAbsolutePath());
+		} finally {
+			inputStream.close();
+		}
+		return collector.calls;
+	}
+
+	private void collectFiles(File folder, List<File> paulaFiles) {
+		for (File file : folder.listFiles()) {
+			if (file.isDirectory()) {
+				collectFiles(file, paulaFiles);
+			} else if (file.getName().endsWith(".xml")) {
+				paulaFiles.add(file);
+			}
+		}
+	}
+
+	/**
+	 * Tests that both engines produce the same connector calls for all paula
+	 * files of the test corpora.
+	 */
+	@Test
+	public void testSameCallsAsSAX() throws Exception {
+		List<File> paulaFiles = new ArrayList<File>();
+		collectFiles(new File(PepperTestUtil.getTestResources()), paulaFiles);
+		assertTrue(paulaFiles.size() > 0);
+		for (File paulaFile : paulaFiles) {
+			assertEquals("different calls for file '" + paulaFile + "'", readWithSAX(paulaFile), readWithStAX(paulaFile));
+		}
+	}
+}
@@ -0,0 +1,219 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.importer.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import javax.xml.parsers.SAXParserFactory;
+
+import org.apache.commons.io.FileUtils;
+import org.corpus_tools.pepper.testFramework.PepperTestUtil;
+import org.corpus_tools.peppermodules.paula.PAULAConnector;
+import org.corpus_tools.peppermodules.paula.PAULAFileDelegator;
+import org.corpus_tools.peppermodules.paula.PAULAFileRegistry;
+import org.corpus_tools.peppermodules.paula.readers.PAULAReader;
+import org.corpus_tools.peppermodules.paula.readers.PAULASpecificReader;
+import org.corpus_tools.peppermodules.paula.readers.PAULATextReader;
+import org.corpus_tools.peppermodules.paula.util.PAULADTDResolver;
+import org.junit.Before;
+import org.junit.Test;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.AttributesImpl;
+
+public class PAULATextReaderTest {
+	private File tempFolder = null;
+
+	/**
+	 * Connector collecting the texts passed to it.
+	 */
+	private static class TextCollector implements PAULAConnector {
+		private final List<String> texts = new ArrayList<String>();
+
+		@Override
+		public void paulaTEXTConnector(File paulaFile, String paulaId, String text) {
+			texts.add(text);
+		}
+
+		@Override
+		public void paulaMARK_TOKConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String markID, String href, String markType) {
+		}
+
+		@Override
+		public void paulaMARKConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String markID, String href, String markType) {
+		}
+
+		@Override
+		public void paulaFEATConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String featID, String featHref, String featTar, String featVal, String featDesc, String featExp) {
+		}
+
+		@Override
+		public void paulaRELConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String relId, String srcHref, String dstHref) {
+		}
+
+		@Override
+		public void paulaFEAT_METAConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String featID, String featHref, String featTar, String featVal, String featDesc, String featExp) {
+		}
+
+		@Override
+		public void paulaSTRUCTConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String structID, String relID, String relHref, String relType) {
+		}
+
+		@Override
+		public void endDocument(PAULASpecificReader paulaReader, File paulaFile) {
+		}
+	}
+
+	@Before
+	public void setUp() throws IOException {
+		tempFolder = PepperTestUtil.getTempPath_static("paulaTextReaderTest");
+		FileUtils.deleteDirectory(tempFolder);
+		tempFolder.mkdirs();
+	}
+
+	/**
+	 * Returns a text of the given length, mixing ascii, multibyte and
+	 * supplementary characters. Each supplementary character takes two chars.
+	 */
+	private String createText(int length) {
+		String[] parts = { "Der ", "Bär ", "läuft ", "猫 ", "😀 ", "weg. " };
+		StringBuilder text = new StringBuilder(length + 8);
+		for (int i = 0; text.length() < length; i++) {
+			text.append(parts[i % parts.length]);
+		}
+		return text.toString();
+	}
+
+	private String createTextFile(String text) {
+		return "<?xml version=\"1.0\" encoding=\"UTF-8\"?><!DOCTYPE paula SYSTEM \"paula_text.dtd\"><paula version=\"1.1\"><header paula_id=\"doc1.text\" type=\"TEXT\"/><body>" + text + "</body></paula>";
+	}
+
+	/**
+	 * Reads the given text file from the given registry.
+	 */
+	private List<String> read(PAULAFileRegistry registry, File paulaFile) throws Exception {
+		TextCollector collector = new TextCollector();
+		PAULAFileDelegator delegator = new PAULAFileDelegator();
+		delegator.setFileRegistry(registry);
+		PAULAReader paulaReader = new PAULAReader();
+		paulaReader.setConnector(collector);
+		paulaReader.setPaulaFile(paulaFile);
+		paulaReader.setPaulaFileDelegator(delegator);
+		XMLReader xmlReader = SAXParserFactory.newInstance().newSAXParser().getXMLReader();
+		xmlReader.setContentHandler(paulaReader);
+		xmlReader.setProperty("http://xml.org/sax/properties/lexical-handler", paulaReader);
+		xmlReader.setEntityResolver(PAULADTDResolver.getInstance());
+		InputStream inputStream = registry.openStream(paulaFile);
+		try {
+			xmlReader.parse(new InputSource(inputStream));
+		} finally {
+			inputStream.close();
+		}
+		return collector.texts;
+	}
+
+	/**
+	 * Tests that the text is put together correctly from chunks of seven
+	 * chars, some of them ending within a surrogate pair. The size of the file
+	 * is unknown, so the buffer has to grow.
+	 */
+	@Test
+	public void testChunkedCharacters() throws Exception {
+		String text = createText(5000);
+		TextCollector collector = new TextCollector();
+		PAULATextReader reader = new PAULATextReader();
+		reader.setConnector(collector);
+		reader.setPaulaFile(new File(tempFolder, "notExisting.text.xml"));
+		AttributesImpl attributes = new AttributesImpl();
+		attributes.addAttribute("", "paula_id", "paula_id", "CDATA", "doc1.text");
+		reader.startElement("", "header", "header", attributes);
+		reader.endElement("", "header", "header");
+		reader.startElement("", "body", "body", new AttributesImpl());
+		char[] chars = text.toCharArray();
+		for (int start = 0; start < chars.length; start += 7) {
+			reader.characters(chars, start, Math.min(7, chars.length - start));
+		}
+		reader.endElement("", "body", "body");
+
+		assertEquals(1, collector.texts.size());
+		assertEquals(text, collector.texts.get(0));
+	}
+
+	/**
+	 * Tests that a gzip compressed text file is read completely, although its
+	 * size is unknown and the parser passes its text in several chunks.
+	 */
+	@Test
+	public void testGzipText() throws Exception {
+		String text = createText(100000);
+		OutputStream out = new GZIPOutputStream(new FileOutputStream(new File(tempFolder, "doc1.text.xml.gz")));
+		try {
+			out.write(createTextFile(text).getBytes("UTF-8"));
+		} finally {
+			out.close();
+		}
+		PAULAFileRegistry registry = new PAULAFileRegistry(tempFolder);
+		registry.scan(new String[] { "xml" });
+		File paulaFile = new File("doc1.text.xml");
+		assertEquals(-1, registry.getSize(paulaFile));
+
+		List<String> texts = read(registry, paulaFile);
+		assertEquals(1, texts.size());
+		assertEquals(text, texts.get(0));
+	}
+
+	/**
+	 * Tests that a text file contained in a zip archive is read completely.
+	 */
+	@Test
+	public void testArchiveText() throws Exception {
+		String text = createText(100000);
+		File archive = new File(tempFolder, "doc1.zip");
+		ZipOutputStream out = new ZipOutputStream(new FileOutputStream(archive));
+		try {
+			out.putNextEntry(new ZipEntry("doc1/doc1.text.xml"));
+			out.write(createTextFile(text).getBytes("UTF-8"));
+			out.closeEntry();
+		} finally {
+			out.close();
+		}
+		PAULAFileRegistry registry = new PAULAFileRegistry(archive);
+		try {
+			registry.scan(new String[] { "xml" });
+			File paulaFile = new File("doc1.text.xml");
+			assertEquals(createTextFile(text).getBytes("UTF-8").length, registry.getSize(paulaFile));
+
+			List<String> texts = read(registry, paulaFile);
+			assertEquals(1, texts.size());
+			assertEquals(text, texts.get(0));
+		} finally {
+			registry.close();
+		}
+	}
+}
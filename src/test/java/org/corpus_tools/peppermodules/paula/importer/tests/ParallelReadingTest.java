@@ -0,0 +1,84 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.importer.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+
+import org.corpus_tools.pepper.common.CorpusDesc;
+import org.corpus_tools.pepper.common.FormatDesc;
+import org.corpus_tools.pepper.testFramework.PepperImporterTest;
+import org.corpus_tools.peppermodules.paula.PAULAImporter;
+import org.corpus_tools.peppermodules.paula.PAULAImporterProperties;
+import org.corpus_tools.salt.common.SCorpus;
+import org.corpus_tools.salt.common.SDocumentGraph;
+import org.eclipse.emf.common.util.URI;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelReadingTest extends PepperImporterTest {
+
+	@Before
+	public void setUp() {
+		super.setFixture(new PAULAImporter());
+
+		// set formats to support
+		FormatDesc formatDef = new FormatDesc();
+		formatDef.setFormatName("paula");
+		formatDef.setFormatVersion("1.0");
+		this.supportedFormatsCheck.add(formatDef);
+	}
+
+	/**
+	 * Tests that reading the files of a document in parallel creates the same
+	 * graph as reading them one after another, although the struct file, the
+	 * feat file over it and the token file depend on each other.
+	 */
+	@Test
+	public void testParallelReading() {
+		getFixture().getProperties().setPropertyValue(PAULAImporterProperties.PROP_PARSER_THREADS, 4);
+		File testFolder = new File(getTestResources() + "imExporterTest1/");
+
+		// creating and setting corpus definition
+		CorpusDesc corpDef = new CorpusDesc();
+		corpDef.setCorpusPath(URI.createFileURI(testFolder.getAbsolutePath())).getFormatDesc().setFormatName("xml").setFormatVersion("1.0");
+		getFixture().setCorpusDesc(corpDef);
+
+		// runs the PepperModule
+		this.start();
+
+		SCorpus corpus = null;
+		for (SCorpus sCorpus : getFixture().getCorpusGraph().getCorpora()) {
+			if ("myCorpus".equals(sCorpus.getName())) {
+				corpus = sCorpus;
+			}
+		}
+		assertNotNull(corpus);
+		assertEquals("John Doe", corpus.getMetaAnnotation("author").getValue());
+		SDocumentGraph graph = getFixture().getCorpusGraph().getDocuments().get(0).getDocumentGraph();
+		assertNotNull(graph);
+		assertEquals(1, graph.getTextualDSs().size());
+		assertEquals(11, graph.getTokens().size());
+		assertEquals(12, graph.getStructures().size());
+		assertEquals(22, graph.getDominanceRelations().size());
+		assertEquals("ROOT", graph.getStructures().get(0).getAnnotation("syntax::const").getValue());
+		assertEquals(1, graph.getLayerByName("syntax").size());
+	}
+}
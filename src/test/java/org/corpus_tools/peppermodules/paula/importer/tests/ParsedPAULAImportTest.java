@@ -0,0 +1,96 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.importer.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.corpus_tools.pepper.common.CorpusDesc;
+import org.corpus_tools.pepper.common.FormatDesc;
+import org.corpus_tools.pepper.testFramework.PepperImporterTest;
+import org.corpus_tools.pepper.testFramework.PepperTestUtil;
+import org.corpus_tools.peppermodules.paula.PAULAImporter;
+import org.corpus_tools.peppermodules.paula.PAULAImporterProperties;
+import org.corpus_tools.peppermodules.paula.ParsedPAULA;
+import org.corpus_tools.salt.common.SCorpus;
+import org.corpus_tools.salt.common.SDocumentGraph;
+import org.eclipse.emf.common.util.URI;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParsedPAULAImportTest extends PepperImporterTest {
+	/** folder to write the parsed PAULA files to **/
+	private File parsedPaulaDir = null;
+
+	@Before
+	public void setUp() throws IOException {
+		parsedPaulaDir = PepperTestUtil.getTempPath_static("parsedPAULAImportTest");
+		FileUtils.deleteDirectory(parsedPaulaDir);
+		super.setFixture(new PAULAImporter());
+
+		// set formats to support
+		FormatDesc formatDef = new FormatDesc();
+		formatDef.setFormatName("paula");
+		formatDef.setFormatVersion("1.0");
+		this.supportedFormatsCheck.add(formatDef);
+	}
+
+	private void start(File corpusPath) {
+		CorpusDesc corpDef = new CorpusDesc();
+		corpDef.setCorpusPath(URI.createFileURI(corpusPath.getAbsolutePath())).getFormatDesc().setFormatName("xml").setFormatVersion("1.0");
+		getFixture().setCorpusDesc(corpDef);
+		this.start();
+	}
+
+	/**
+	 * Tests that a corpus written in parsed PAULA format while reading the xml
+	 * files can be imported again with the same result.
+	 */
+	@Test
+	public void testImportParsedPAULA() {
+		getFixture().getProperties().setPropertyValue(PAULAImporterProperties.PROP_PARSED_PAULA_DIR, parsedPaulaDir.getAbsolutePath());
+		start(new File(getTestResources() + "imExporterTest1/"));
+		SDocumentGraph xmlGraph = getFixture().getCorpusGraph().getDocuments().get(0).getDocumentGraph();
+		File parsedPaulaFile = new File(parsedPaulaDir, "imExporterTest1/myCorpus/myDocument." + ParsedPAULA.ENDING_PARSED_PAULA);
+		assertTrue(parsedPaulaFile.isFile());
+		assertTrue(new File(parsedPaulaDir, "imExporterTest1/myCorpus/anno_author.xml").isFile());
+
+		super.setFixture(new PAULAImporter());
+		start(new File(parsedPaulaDir, "imExporterTest1"));
+		SCorpus corpus = null;
+		for (SCorpus sCorpus : getFixture().getCorpusGraph().getCorpora()) {
+			if ("myCorpus".equals(sCorpus.getName())) {
+				corpus = sCorpus;
+			}
+		}
+		assertNotNull(corpus);
+		assertEquals("John Doe", corpus.getMetaAnnotation("author").getValue());
+		assertEquals(1, getFixture().getCorpusGraph().getDocuments().size());
+		assertEquals("myDocument", getFixture().getCorpusGraph().getDocuments().get(0).getName());
+		SDocumentGraph graph = getFixture().getCorpusGraph().getDocuments().get(0).getDocumentGraph();
+		assertNotNull(graph);
+		assertTrue(xmlGraph.findDiffs(graph).toString(), xmlGraph.isIsomorph(graph));
+		assertEquals(11, graph.getTokens().size());
+		assertEquals(12, graph.getStructures().size());
+	}
+}
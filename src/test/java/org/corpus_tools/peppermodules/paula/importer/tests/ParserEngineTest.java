@@ -0,0 +1,74 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.importer.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+
+import org.corpus_tools.pepper.common.CorpusDesc;
+import org.corpus_tools.pepper.common.FormatDesc;
+import org.corpus_tools.pepper.testFramework.PepperImporterTest;
+import org.corpus_tools.peppermodules.paula.PAULAImporter;
+import org.corpus_tools.peppermodules.paula.PAULAImporterProperties;
+import org.corpus_tools.salt.common.SDocumentGraph;
+import org.eclipse.emf.common.util.URI;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParserEngineTest extends PepperImporterTest {
+
+	@Before
+	public void setUp() {
+		super.setFixture(new PAULAImporter());
+
+		// set formats to support
+		FormatDesc formatDef = new FormatDesc();
+		formatDef.setFormatName("paula");
+		formatDef.setFormatVersion("1.0");
+		this.supportedFormatsCheck.add(formatDef);
+	}
+
+	/**
+	 * Tests that importing a corpus with the StAX based reader creates the
+	 * same graph as the SAX based readers.
+	 */
+	@Test
+	public void testStAXEngine() {
+		getFixture().getProperties().setPropertyValue(PAULAImporterProperties.PROP_PARSER_ENGINE, PAULAImporterProperties.VALUE_PARSER_ENGINE_STAX);
+		File testFolder = new File(getTestResources() + "imExporterTest1/");
+
+		// creating and setting corpus definition
+		CorpusDesc corpDef = new CorpusDesc();
+		corpDef.setCorpusPath(URI.createFileURI(testFolder.getAbsolutePath())).getFormatDesc().setFormatName("xml").setFormatVersion("1.0");
+		getFixture().setCorpusDesc(corpDef);
+
+		// runs the PepperModule
+		this.start();
+
+		SDocumentGraph graph = getFixture().getCorpusGraph().getDocuments().get(0).getDocumentGraph();
+		assertNotNull(graph);
+		assertEquals(1, graph.getTextualDSs().size());
+		assertEquals("Is this example more complicated than it appears to be?", graph.getTextualDSs().get(0).getText());
+		assertEquals(11, graph.getTokens().size());
+		assertEquals(12, graph.getStructures().size());
+		assertEquals(22, graph.getDominanceRelations().size());
+		assertEquals("ROOT", graph.getStructures().get(0).getAnnotation("syntax::const").getValue());
+	}
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.corpus_tools.peppermodules.paula.PAULABatchConnector;
+import org.corpus_tools.peppermodules.paula.PAULAConnectorRecorder;
+import org.corpus_tools.peppermodules.paula.PAULAFeatBatch;
+import org.corpus_tools.peppermodules.paula.PAULAMarkBatch;
+import org.corpus_tools.peppermodules.paula.readers.PAULASpecificReader;
+import org.junit.Test;
+
+public class PAULAConnectorRecorderTest {
+
+	/**
+	 * Collects all calls as strings.
+	 */
+	private static class CollectingConnector implements PAULABatchConnector {
+		private final List<String> calls = new ArrayList<String>();
+
+		@Override
+		public void paulaTEXTConnector(File paulaFile, String paulaId, String text) {
+			calls.add("TEXT");
+		}
+
+		@Override
+		public void paulaMARK_TOKConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String markID, String href, String markType) {
+			calls.add("MARK_TOK " + markID);
+		}
+
+		@Override
+		public void paulaMARKConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String markID, String href, String markType) {
+			calls.add("MARK " + markID);
+		}
+
+		@Override
+		public void paulaFEATConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String featID, String featHref, String featTar, String featVal, String featDesc, String featExp) {
+			calls.add("FEAT " + featVal);
+		}
+
+		@Override
+		public void paulaRELConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String relId, String srcHref, String dstHref) {
+			calls.add("REL " + relId);
+		}
+
+		@Override
+		public void paulaFEAT_METAConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String featID, String featHref, String featTar, String featVal, String featDesc, String featExp) {
+			calls.add("FEAT_META " + featVal);
+		}
+
+		@Override
+		public void paulaSTRUCTConnector(File paulaFile, String paulaId, String paulaType, String xmlBase, String structID, String relID, String relHref, String relType) {
+			calls.add("STRUCT " + relID);
+		}
+
+		@Override
+		public void endDocument(PAULASpecificReader paulaReader, File paulaFile) {
+			calls.add("END_DOCUMENT");
+		}
+
+		@Override
+		public void paulaMARK_TOKBatch(PAULAMarkBatch batch) {
+			StringBuilder call = new StringBuilder("MARK_TOK_BATCH");
+			for (int i = 0; i < batch.size(); i++) {
+				call.append(" ").append(batch.getMarkID(i));
+			}
+			calls.add(call.toString());
+		}
+
+		@Override
+		public void paulaMARKBatch(PAULAMarkBatch batch) {
+			StringBuilder call = new StringBuilder("MARK_BATCH");
+			for (int i = 0; i < batch.size(); i++) {
+				call.append(" ").append(batch.getMarkID(i));
+			}
+			calls.add(call.toString());
+		}
+
+		@Override
+		public void paulaFEATBatch(PAULAFeatBatch batch) {
+			StringBuilder call = new StringBuilder("FEAT_BATCH " + batch.getPaulaType());
+			for (int i = 0; i < batch.size(); i++) {
+				call.append(" ").append(batch.getFeatVal(i));
+			}
+			calls.add(call.toString());
+		}
+	}
+
+	/**
+	 * Tests that consecutive mark and feat calls with the same context are
+	 * passed as one batch, while changing the kind or the context starts a new
+	 * batch and all other calls are passed one by one in recorded order.
+	 */
+	@Test
+	public void testReplayBatches() {
+		File paulaFile = new File("doc.pos.xml");
+		PAULAConnectorRecorder recorder = new PAULAConnectorRecorder(paulaFile);
+		recorder.paulaMARK_TOKConnector(paulaFile, "doc.tok", "tok", "doc.text.xml", "tok_1", "#xpointer(string-range(//body,'',1,3))", null);
+		recorder.paulaMARK_TOKConnector(paulaFile, "doc.tok", "tok", "doc.text.xml", "tok_2", "#xpointer(string-range(//body,'',5,3))", null);
+		recorder.paulaFEATConnector(paulaFile, "doc.pos", "pos", "doc.tok.xml", null, "#tok_1", null, "NN", null, null);
+		recorder.paulaFEATConnector(paulaFile, "doc.pos", "pos", "doc.tok.xml", null, "#tok_2", null, "VV", null, null);
+		recorder.paulaFEATConnector(paulaFile, "doc.pos", "lemma", "doc.tok.xml", null, "#tok_1", null, "be", null, null);
+		recorder.paulaRELConnector(paulaFile, "doc.rel", "dep", "doc.tok.xml", "rel_1", "#tok_1", "#tok_2");
+		recorder.paulaMARKConnector(paulaFile, "doc.mark", "np", "doc.tok.xml", "mark_1", "#tok_1", null);
+
+		assertEquals(7, recorder.size());
+		assertEquals(2, recorder.size(PAULAConnectorRecorder.CONNECTOR.MARK_TOK));
+		assertEquals(3, recorder.size(PAULAConnectorRecorder.CONNECTOR.FEAT));
+		assertEquals(0, recorder.size(PAULAConnectorRecorder.CONNECTOR.STRUCT));
+
+		CollectingConnector connector = new CollectingConnector();
+		recorder.replay(connector);
+		List<String> expected = new ArrayList<String>();
+		expected.add("MARK_TOK_BATCH tok_1 tok_2");
+		expected.add("FEAT_BATCH pos NN VV");
+		expected.add("FEAT_BATCH lemma be");
+		expected.add("REL rel_1");
+		expected.add("MARK_BATCH mark_1");
+		assertEquals(expected, connector.calls);
+	}
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.corpus_tools.peppermodules.paula.PAULAElementName;
+import org.corpus_tools.peppermodules.paula.PAULAElementNamingTable;
+import org.corpus_tools.salt.SaltFactory;
+import org.corpus_tools.salt.common.SPointingRelation;
+import org.corpus_tools.salt.common.STextualDS;
+import org.corpus_tools.salt.common.SToken;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PAULAElementNamingTableTest {
+	private PAULAElementNamingTable fixture = null;
+
+	@Before
+	public void setUp() {
+		fixture = new PAULAElementNamingTable();
+	}
+
+	/**
+	 * Tests that files get consecutive ordinals, which stay the same when
+	 * alternating between files.
+	 */
+	@Test
+	public void testGetFile() {
+		assertEquals(0, fixture.getFile("doc.tok.xml"));
+		assertEquals(1, fixture.getFile("doc.rel.xml"));
+		assertEquals(0, fixture.getFile("doc.tok.xml"));
+		assertEquals(1, fixture.getFile("doc.rel.xml"));
+		assertEquals("doc.rel.xml", fixture.getFileName(1));
+		assertEquals(new PAULAElementName(1, "doc.rel.xml", "rel_1"), fixture.getName(1, "rel_1"));
+		assertEquals("doc.rel.xml#rel_1", fixture.getName(1, "rel_1").toString());
+	}
+
+	/**
+	 * Tests that elements are found by file and id as well as by their name,
+	 * alternating between files.
+	 */
+	@Test
+	public void testGet() {
+		SToken tok1 = SaltFactory.createSToken();
+		SToken tok2 = SaltFactory.createSToken();
+		SPointingRelation rel = SaltFactory.createSPointingRelation();
+		int tokFile = fixture.getFile("doc.tok.xml");
+		int relFile = fixture.getFile("doc.rel.xml");
+		int textFile = fixture.getFile("doc.text.xml");
+		fixture.expect(tokFile, 2);
+		fixture.put(tokFile, "tok_1", tok1);
+		fixture.put(tokFile, "tok_2", tok2);
+		fixture.put(relFile, "tok_1", rel);
+
+		assertEquals(3, fixture.size());
+		assertSame(tok1, fixture.get(tokFile, "tok_1"));
+		assertSame(tok1, fixture.get(fixture.getName(tokFile, "tok_1")));
+		assertSame(tok2, fixture.get(fixture.getName(tokFile, "tok_2")));
+		assertSame(rel, fixture.get(fixture.getName(relFile, "tok_1")));
+		assertSame(tok2, fixture.get(fixture.getName(tokFile, "tok_2")));
+		assertNull(fixture.get(fixture.getName(tokFile, "tok_3")));
+		assertNull(fixture.get(null));
+		assertNull(fixture.get(textFile, "tok_1"));
+	}
+
+	/**
+	 * Tests that texts are mapped separately from elements.
+	 */
+	@Test
+	public void testText() {
+		STextualDS text = SaltFactory.createSTextualDS();
+		fixture.putText("doc.text.xml", text);
+		assertSame(text, fixture.getText("doc.text.xml"));
+		assertNull(fixture.getText("doc.tok.xml"));
+		assertNull(fixture.get(fixture.getFile("doc.text.xml"), "tok_1"));
+		assertEquals(0, fixture.size());
+	}
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.corpus_tools.peppermodules.paula.PAULAElementName;
+import org.corpus_tools.peppermodules.paula.PAULAElementOrder;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PAULAElementOrderTest {
+	private PAULAElementOrder fixture = null;
+
+	@Before
+	public void setUp() {
+		fixture = new PAULAElementOrder();
+		for (int i = 1; i <= 5; i++) {
+			fixture.add(name("tok_" + i));
+		}
+	}
+
+	private PAULAElementName name(String id) {
+		return new PAULAElementName(0, "doc.tok.xml", id);
+	}
+
+	@Test
+	public void testIndexOf() {
+		assertEquals(5, fixture.size());
+		assertEquals(0, fixture.indexOf("tok_1"));
+		assertEquals(4, fixture.indexOf("tok_5"));
+		assertEquals(-1, fixture.indexOf("tok_6"));
+		assertEquals(name("tok_3"), fixture.get(2));
+		assertEquals("doc.tok.xml#tok_3", fixture.get(2).toString());
+		assertEquals(Arrays.asList(name("tok_2"), name("tok_3")), fixture.subList(1, 3));
+	}
+
+	/**
+	 * Tests that names are found ignoring case, the first occurrence wins.
+	 */
+	@Test
+	public void testIndexOfIgnoreCase() {
+		fixture.add(name("TOK_1"));
+		assertEquals(0, fixture.indexOf("Tok_1"));
+		assertEquals(1, fixture.indexOf("TOK_2"));
+		fixture.add(name("Ä"));
+		assertEquals(6, fixture.indexOf("ä"));
+	}
+
+	@Test
+	public void testContains() {
+		assertTrue(fixture.contains("tok_1"));
+		assertFalse(fixture.contains("tok_6"));
+		// contains compares xml-ids case-sensitive
+		assertFalse(fixture.contains("TOK_1"));
+		fixture.add(name("TOK_1"));
+		assertTrue(fixture.contains("TOK_1"));
+		assertEquals(0, fixture.indexOf("TOK_1"));
+	}
+}
@@ -0,0 +1,158 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.corpus_tools.pepper.modules.exceptions.PepperModuleException;
+import org.corpus_tools.pepper.testFramework.PepperTestUtil;
+import org.corpus_tools.peppermodules.paula.PAULAFileRegistry;
+import org.corpus_tools.peppermodules.paula.PAULAFileRegistry.PAULAFileEntry;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PAULAFileRegistryTest {
+	private PAULAFileRegistry fixture = null;
+
+	public PAULAFileRegistry getFixture() {
+		return fixture;
+	}
+
+	public void setFixture(PAULAFileRegistry fixture) {
+		this.fixture = fixture;
+	}
+
+	@Before
+	public void setUp() throws IOException {
+		setFixture(new PAULAFileRegistry(new File(PepperTestUtil.getTestResources() + "imExporterTest1/myCorpus/myDocument/")));
+		getFixture().scan(new String[] { "XML", "paula" });
+	}
+
+	/**
+	 * Tests that all files of the folder are registered and only those with a
+	 * paula ending (case insensitive) are paula files.
+	 */
+	@Test
+	public void testScan() {
+		assertEquals(12, getFixture().getFiles().size());
+		assertEquals(5, getFixture().getPaulaFiles().size());
+		assertTrue(getFixture().getEntry(new File("myDocument.tok.xml")).isPaulaFile());
+		assertFalse(getFixture().getEntry(new File("paula_mark.dtd")).isPaulaFile());
+		assertNull(getFixture().getEntry(new File("notExisting.xml")));
+	}
+
+	/**
+	 * Tests that different notations of the same file lead to the same entry.
+	 */
+	@Test
+	public void testNormalize() {
+		PAULAFileEntry entry = getFixture().getEntry(new File("myDocument.tok.xml"));
+		assertNotNull(entry);
+		assertTrue(entry.exists());
+		assertSame(entry, getFixture().getEntry(new File("./myDocument.tok.xml")));
+		assertSame(entry, getFixture().getEntry(new File("../myDocument/myDocument.tok.xml")));
+		assertSame(entry, getFixture().getEntry(new File(getFixture().getPaulaPath().getAbsolutePath() + "/myDocument.tok.xml")));
+	}
+
+	/**
+	 * Tests that files outside of the folder are registered on demand.
+	 */
+	@Test
+	public void testRegister() {
+		assertNull(getFixture().getEntry(new File("../anno_author.xml")));
+		PAULAFileEntry entry = getFixture().register(new File("../anno_author.xml"));
+		assertTrue(entry.exists());
+		assertFalse(entry.isPaulaFile());
+		assertSame(entry, getFixture().getEntry(new File("../anno_author.xml")));
+		assertFalse(getFixture().register(new File("notExisting.xml")).exists());
+	}
+
+	/**
+	 * Tests that the size of a registered file is the size of its content and
+	 * -1 for a file which does not exist.
+	 */
+	@Test
+	public void testGetSize() {
+		File tokFile = new File(getFixture().getPaulaPath(), "myDocument.tok.xml");
+		assertEquals(tokFile.length(), getFixture().getSize(new File("myDocument.tok.xml")));
+		assertEquals(-1, getFixture().getSize(new File("notExisting.xml")));
+	}
+
+	/**
+	 * Tests that a file next to a gzip compressed file of the same name is
+	 * rejected instead of one of them being read twice.
+	 */
+	@Test
+	public void testScanGzipCollision() throws IOException {
+		File folder = new File(PepperTestUtil.getTempPath_static("paulaFileRegistryTest"), "gzip");
+		FileUtils.deleteDirectory(folder);
+		folder.mkdirs();
+		FileUtils.writeStringToFile(new File(folder, "doc.tok.xml"), "<paula/>", "UTF-8");
+		FileUtils.writeStringToFile(new File(folder, "doc.tok.xml.gz"), "<paula/>", "UTF-8");
+		try {
+			new PAULAFileRegistry(folder).scan(new String[] { "xml" });
+			fail("files of the same name must not be registered twice");
+		} catch (PepperModuleException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("doc.tok.xml.gz"));
+		}
+	}
+
+	/**
+	 * Tests that two archive entries of the same name in different folders
+	 * are rejected instead of one of them being read twice.
+	 */
+	@Test
+	public void testScanArchiveCollision() throws IOException {
+		File folder = PepperTestUtil.getTempPath_static("paulaFileRegistryTest");
+		folder.mkdirs();
+		File archive = new File(folder, "doc.zip");
+		ZipOutputStream out = new ZipOutputStream(new FileOutputStream(archive));
+		try {
+			for (String name : new String[] { "a/doc.tok.xml", "b/doc.tok.xml" }) {
+				out.putNextEntry(new ZipEntry(name));
+				out.write("<paula/>".getBytes("UTF-8"));
+				out.closeEntry();
+			}
+		} finally {
+			out.close();
+		}
+		PAULAFileRegistry registry = new PAULAFileRegistry(archive);
+		try {
+			registry.scan(new String[] { "xml" });
+			fail("archive entries of the same name must not be registered twice");
+		} catch (PepperModuleException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("a/doc.tok.xml"));
+			assertTrue(e.getMessage(), e.getMessage().contains("b/doc.tok.xml"));
+		} finally {
+			registry.close();
+		}
+	}
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.corpus_tools.pepper.testFramework.PepperTestUtil;
+import org.corpus_tools.peppermodules.paula.PAULAConnectorRecorder;
+import org.corpus_tools.peppermodules.paula.PAULAFileRegistry;
+import org.corpus_tools.peppermodules.paula.PAULAImportCache;
+import org.corpus_tools.peppermodules.paula.readers.PAULAStructReader;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PAULAImportCacheTest {
+	private PAULAImportCache fixture = null;
+
+	public PAULAImportCache getFixture() {
+		return fixture;
+	}
+
+	public void setFixture(PAULAImportCache fixture) {
+		this.fixture = fixture;
+	}
+
+	/** a copy of a document, which can be changed **/
+	private File documentFolder = null;
+
+	@Before
+	public void setUp() throws IOException {
+		File tmpFolder = PepperTestUtil.getTempPath_static("importCacheTest");
+		FileUtils.deleteDirectory(tmpFolder);
+		documentFolder = new File(tmpFolder, "myDocument");
+		FileUtils.copyDirectory(new File(PepperTestUtil.getTestResources() + "imExporterTest1/myCorpus/myDocument/"), documentFolder);
+		setFixture(new PAULAImportCache(new File(tmpFolder, "cache")));
+	}
+
+	private PAULAFileRegistry createRegistry() throws IOException {
+		PAULAFileRegistry registry = new PAULAFileRegistry(documentFolder);
+		registry.scan(new String[] { "xml" });
+		return registry;
+	}
+
+	/**
+	 * Records a few calls for each paula file of the given registry and
+	 * stores them.
+	 */
+	private List<PAULAConnectorRecorder> store(PAULAFileRegistry registry) throws IOException {
+		List<PAULAConnectorRecorder> recordings = new ArrayList<PAULAConnectorRecorder>();
+		for (File paulaFile : registry.getPaulaFiles()) {
+			PAULAConnectorRecorder recorder = new PAULAConnectorRecorder(paulaFile);
+			recorder.paulaTEXTConnector(paulaFile, "text", "Is this example more complicated than it appears to be?");
+			recorder.paulaMARKConnector(paulaFile, "mark", "tok", null, "tok_1", "#xpointer(string-range(//body,'',1,2))", null);
+			recorder.endDocument(new PAULAStructReader(), paulaFile);
+			recordings.add(recorder);
+		}
+		getFixture().store(registry, recordings);
+		return recordings;
+	}
+
+	/**
+	 * Tests that stored calls are loaded in the same order.
+	 */
+	@Test
+	public void testStoreAndLoad() throws IOException {
+		PAULAFileRegistry registry = createRegistry();
+		List<PAULAConnectorRecorder> recordings = store(registry);
+		assertTrue(getFixture().getCacheFile(documentFolder).isFile());
+
+		List<PAULAConnectorRecorder> loaded = getFixture().load(createRegistry());
+		assertNotNull(loaded);
+		assertEquals(recordings.size(), loaded.size());
+		for (int i = 0; i < recordings.size(); i++) {
+			assertEquals(recordings.get(i).getPaulaFile(), loaded.get(i).getPaulaFile());
+			assertEquals(recordings.get(i).size(), loaded.get(i).size());
+			for (PAULAConnectorRecorder.CONNECTOR connector : PAULAConnectorRecorder.CONNECTOR.values()) {
+				assertEquals(recordings.get(i).size(connector), loaded.get(i).size(connector));
+			}
+		}
+	}
+
+	/**
+	 * Tests that a cache stays valid when a file is touched and becomes
+	 * invalid when a file is changed.
+	 */
+	@Test
+	public void testChangedFile() throws IOException {
+		store(createRegistry());
+		File tokFile = new File(documentFolder, "myDocument.tok.xml");
+		assertTrue(tokFile.setLastModified(tokFile.lastModified() - 10000));
+		assertNotNull(getFixture().load(createRegistry()));
+
+		FileUtils.writeStringToFile(tokFile, FileUtils.readFileToString(tokFile, "UTF-8") + " ", "UTF-8");
+		assertNull(getFixture().load(createRegistry()));
+	}
+
+	/**
+	 * Tests that a cache becomes invalid when a paula file is added.
+	 */
+	@Test
+	public void testAddedFile() throws IOException {
+		store(createRegistry());
+		FileUtils.copyFile(new File(documentFolder, "anno_date.xml"), new File(documentFolder, "anno_date2.xml"));
+		assertNull(getFixture().load(createRegistry()));
+	}
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashSet;
+import java.util.List;
+
+import org.corpus_tools.peppermodules.paula.PAULATokenCoverage;
+import org.corpus_tools.salt.SaltFactory;
+import org.corpus_tools.salt.common.SDocument;
+import org.corpus_tools.salt.common.SDocumentGraph;
+import org.corpus_tools.salt.common.SToken;
+import org.corpus_tools.salt.core.SNode;
+import org.corpus_tools.salt.samples.SampleGenerator;
+import org.junit.Test;
+
+public class PAULATokenCoverageTest {
+
+	/**
+	 * Tests that the same tokens are found for all nodes as by
+	 * {@link SDocumentGraph#getOverlappedTokens(SNode)}, when asking for the
+	 * structures of the syntax tree first and for all nodes afterwards.
+	 */
+	@Test
+	public void testGetOverlappedTokens() {
+		SDocument document = SaltFactory.createSDocument();
+		SampleGenerator.createDocumentStructure(document);
+		SDocumentGraph graph = document.getDocumentGraph();
+		PAULATokenCoverage fixture = new PAULATokenCoverage();
+		for (SNode node : graph.getStructures()) {
+			fixture.getOverlappedTokens(node);
+		}
+		for (SNode node : graph.getNodes()) {
+			List<SToken> expected = graph.getOverlappedTokens(node);
+			List<SToken> tokens = fixture.getOverlappedTokens(node);
+			assertEquals(node.getName(), expected.size(), tokens.size());
+			assertEquals(node.getName(), new HashSet<SToken>(expected), new HashSet<SToken>(tokens));
+		}
+	}
+}
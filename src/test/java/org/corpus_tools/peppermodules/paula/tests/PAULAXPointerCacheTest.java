@@ -0,0 +1,72 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.corpus_tools.peppermodules.paula.PAULAElementName;
+import org.corpus_tools.peppermodules.paula.PAULAXPointerCache;
+import org.junit.Test;
+
+public class PAULAXPointerCacheTest {
+
+	/**
+	 * Tests that hits and misses are counted and that entries differing only
+	 * in xml:base are distinguished.
+	 */
+	@Test
+	public void testGet() {
+		PAULAXPointerCache cache = new PAULAXPointerCache(10);
+		Collection<PAULAElementName> ids = Arrays.asList(new PAULAElementName(0, "doc.tok.xml", "tok_1"), new PAULAElementName(0, "doc.tok.xml", "tok_2"));
+		assertNull(cache.get("doc.tok.xml", "#tok_1"));
+		cache.put("doc.tok.xml", "#tok_1", ids);
+		assertEquals(ids, cache.get("doc.tok.xml", "#tok_1"));
+		assertNull(cache.get("other.tok.xml", "#tok_1"));
+		assertNull(cache.get(null, "#tok_1"));
+		assertEquals(1, cache.getHits());
+		assertEquals(3, cache.getMisses());
+	}
+
+	/**
+	 * Tests that the least recently used entry is removed, when the cache is
+	 * full.
+	 */
+	@Test
+	public void testEviction() {
+		PAULAXPointerCache cache = new PAULAXPointerCache(2);
+		cache.put("doc.tok.xml", "#tok_1", Arrays.asList(new PAULAElementName(0, "doc.tok.xml", "tok_1")));
+		cache.put("doc.tok.xml", "#tok_2", Arrays.asList(new PAULAElementName(0, "doc.tok.xml", "tok_2")));
+		// makes tok_2 the eldest entry
+		assertNotNull(cache.get("doc.tok.xml", "#tok_1"));
+		cache.put("doc.tok.xml", "#tok_3", Arrays.asList(new PAULAElementName(0, "doc.tok.xml", "tok_3")));
+		assertEquals(2, cache.size());
+		assertNull(cache.get("doc.tok.xml", "#tok_2"));
+		assertNotNull(cache.get("doc.tok.xml", "#tok_1"));
+		assertNotNull(cache.get("doc.tok.xml", "#tok_3"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroSize() {
+		new PAULAXPointerCache(0);
+	}
+}
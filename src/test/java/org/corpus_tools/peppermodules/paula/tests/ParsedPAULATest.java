@@ -0,0 +1,60 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.corpus_tools.pepper.testFramework.PepperTestUtil;
+import org.corpus_tools.peppermodules.paula.ParsedPAULA;
+import org.corpus_tools.salt.SaltFactory;
+import org.corpus_tools.salt.common.SDocument;
+import org.corpus_tools.salt.samples.SampleGenerator;
+import org.eclipse.emf.common.util.URI;
+import org.junit.Test;
+
+public class ParsedPAULATest {
+
+	/**
+	 * Tests that writing and reading a document in parsed PAULA format
+	 * results in an isomorphic document graph with the same meta annotations.
+	 */
+	@Test
+	public void testWriteAndRead() throws IOException {
+		SDocument document = SaltFactory.createSDocument();
+		document.setName("doc1");
+		SampleGenerator.createDocumentStructure(document);
+		document.createMetaAnnotation(null, "date", "2009");
+		document.getDocumentGraph().getTokens().get(0).createAnnotation(null, "file", URI.createFileURI("/sample.mp3"));
+
+		File file = new File(PepperTestUtil.getTempPath_static("parsedPAULATest"), "doc1." + ParsedPAULA.ENDING_PARSED_PAULA);
+		ParsedPAULA.write(document, file);
+		assertTrue(file.length() > 0);
+
+		SDocument readDocument = SaltFactory.createSDocument();
+		readDocument.setName("doc1");
+		ParsedPAULA.read(file, readDocument);
+		assertTrue(document.getDocumentGraph().findDiffs(readDocument.getDocumentGraph()).toString(), document.getDocumentGraph().isIsomorph(readDocument.getDocumentGraph()));
+		assertEquals("2009", readDocument.getMetaAnnotation("date").getValue());
+		assertEquals(URI.createFileURI("/sample.mp3"), readDocument.getDocumentGraph().getTokens().get(0).getAnnotation("file").getValue());
+		assertEquals(document.getDocumentGraph().getLayers().size(), readDocument.getDocumentGraph().getLayers().size());
+	}
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.util.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.corpus_tools.pepper.testFramework.PepperTestUtil;
+import org.corpus_tools.peppermodules.paula.util.PAULADTDResolver;
+import org.corpus_tools.peppermodules.paula.util.XMLReaderPool;
+import org.junit.Before;
+import org.junit.Test;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+import org.xml.sax.ext.DefaultHandler2;
+
+public class PAULADTDResolverTest {
+	private PAULADTDResolver fixture = null;
+
+	public PAULADTDResolver getFixture() {
+		return fixture;
+	}
+
+	public void setFixture(PAULADTDResolver fixture) {
+		this.fixture = fixture;
+	}
+
+	@Before
+	public void setUp() {
+		setFixture(PAULADTDResolver.getInstance());
+	}
+
+	/**
+	 * Tests that the PAULA 1.1 dtds are resolved independent of their path
+	 * and other entities are not resolved.
+	 */
+	@Test
+	public void testResolveEntity() throws Exception {
+		assertTrue(getFixture().isBundled("paula_feat.dtd"));
+		assertTrue(getFixture().isBundled("file:/not/existing/paula_header.dtd"));
+		assertFalse(getFixture().isBundled("file:/not/existing/other.dtd"));
+
+		InputSource is = getFixture().resolveEntity("paula", null, null, "file:/not/existing/paula_feat.dtd");
+		assertNotNull(is);
+		assertEquals("file:/not/existing/paula_feat.dtd", is.getSystemId());
+		assertNull(getFixture().resolveEntity("paula", null, null, "other.dtd"));
+	}
+
+	/**
+	 * Tests that a paula file can be parsed, although its dtd does not exist
+	 * next to it.
+	 */
+	@Test
+	public void testParseWithoutDTDFiles() throws Exception {
+		File paulaFile = new File(PepperTestUtil.getTestResources() + "metaAnnotation/anno_genre.xml");
+		assertFalse(new File(paulaFile.getParentFile(), "paula_feat.dtd").exists());
+		XMLReaderPool pool = new XMLReaderPool().setEntityResolver(getFixture());
+		XMLReader xmlReader = pool.acquire(new DefaultHandler2());
+		xmlReader.parse(paulaFile.getAbsolutePath());
+	}
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.util.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.StringReader;
+
+import org.corpus_tools.peppermodules.paula.util.XMLReaderPool;
+import org.junit.Before;
+import org.junit.Test;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+import org.xml.sax.ext.DefaultHandler2;
+
+public class XMLReaderPoolTest {
+	private XMLReaderPool fixture = null;
+
+	public XMLReaderPool getFixture() {
+		return fixture;
+	}
+
+	public void setFixture(XMLReaderPool fixture) {
+		this.fixture = fixture;
+	}
+
+	@Before
+	public void setUp() {
+		setFixture(new XMLReaderPool());
+	}
+
+	private static class CountingHandler extends DefaultHandler2 {
+		private int elements = 0;
+
+		@Override
+		public void startElement(String uri, String localName, String qName, Attributes atts) {
+			elements++;
+		}
+	}
+
+	/**
+	 * Tests that a released reader is reused for the next file and reports to
+	 * the new handler.
+	 */
+	@Test
+	public void testReuse() throws Exception {
+		CountingHandler handler1 = new CountingHandler();
+		XMLReader reader1 = getFixture().acquire(handler1);
+		reader1.parse(new InputSource(new StringReader("<a><b/></a>")));
+		getFixture().release(reader1);
+
+		CountingHandler handler2 = new CountingHandler();
+		XMLReader reader2 = getFixture().acquire(handler2);
+		reader2.parse(new InputSource(new StringReader("<a><b/><c/></a>")));
+		getFixture().release(reader2);
+
+		assertSame(reader1, reader2);
+		assertEquals(2, handler1.elements);
+		assertEquals(3, handler2.elements);
+	}
+
+	/**
+	 * Tests that a reader which is in use is not handed out a second time.
+	 */
+	@Test
+	public void testNestedAcquire() throws Exception {
+		XMLReader reader1 = getFixture().acquire(new CountingHandler());
+		XMLReader reader2 = getFixture().acquire(new CountingHandler());
+		assertNotSame(reader1, reader2);
+	}
+
+	/**
+	 * Tests that a reader which is not released after a failed parse is not
+	 * reused.
+	 */
+	@Test
+	public void testNoReuseAfterFailure() throws Exception {
+		XMLReader reader1 = getFixture().acquire(new CountingHandler());
+		try {
+			reader1.parse(new InputSource(new StringReader("<a><b></a>")));
+		} catch (Exception e) {
+			// expected, reader is not released
+		}
+		XMLReader reader2 = getFixture().acquire(new CountingHandler());
+		assertNotSame(reader1, reader2);
+	}
+}
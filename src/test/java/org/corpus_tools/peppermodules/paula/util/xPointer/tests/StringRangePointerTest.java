@@ -0,0 +1,116 @@
+/**
+ * Copyright 2009 Humboldt-Universität zu Berlin, INRIA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ *
+ */
+package org.corpus_tools.peppermodules.paula.util.xPointer.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.corpus_tools.peppermodules.paula.util.xPointer.StringRangePointer;
+import org.corpus_tools.peppermodules.paula.util.xPointer.XPtrInterpreter;
+import org.corpus_tools.peppermodules.paula.util.xPointer.XPtrRef;
+import org.corpus_tools.peppermodules.paula.util.xPointer.XPtrRef.POINTERTYPE;
+import org.junit.Test;
+
+public class StringRangePointerTest {
+
+	/**
+	 * Tests that the common notations of string-range pointers are read and
+	 * lead to the same values as the {@link XPtrInterpreter}.
+	 */
+	@Test
+	public void testParse() throws Exception {
+		String[] xPtrs = { "#xpointer(string-range(//body,'',1,5))", "#xpointer(string-range(//body,'',123,45))", " #xpointer(string-range(//body, '', 7, 3)) ", "#XPOINTER(String-Range(//BODY,'',2,1))" };
+		for (String xPtr : xPtrs) {
+			int[] range = new int[2];
+			assertTrue(xPtr, StringRangePointer.parse(xPtr, range));
+
+			XPtrInterpreter interpreter = new XPtrInterpreter();
+			interpreter.setInterpreter("doc.text.xml", xPtr);
+			List<XPtrRef> refs = interpreter.getResult();
+			assertEquals(1, refs.size());
+			assertEquals(POINTERTYPE.TEXT, refs.get(0).getType());
+			assertArrayEquals(xPtr, new int[] { Integer.valueOf(refs.get(0).getLeft()), Integer.valueOf(refs.get(0).getRight()) }, range);
+		}
+	}
+
+	/**
+	 * Tests that all other pointers are not read as string-range pointers.
+	 */
+	@Test
+	public void testParseOtherPointers() {
+		assertFalse(StringRangePointer.parse(null, null));
+		assertFalse(StringRangePointer.parse("", null));
+		assertFalse(StringRangePointer.parse("#tok_1", null));
+		assertFalse(StringRangePointer.parse("doc.text.xml#xpointer(string-range(//body,'',1,5))", null));
+		assertFalse(StringRangePointer.parse("#xpointer(id('tok_1')/range-to(id('tok_3')))", null));
+		assertFalse(StringRangePointer.parse("#xpointer(string-range(//body,'',1))", null));
+		assertFalse(StringRangePointer.parse("#xpointer(string-range(//body,'',1,5)", null));
+		assertFalse(StringRangePointer.parse("#xpointer(string-range(//body,'',1,5)))", null));
+		assertFalse(StringRangePointer.parse("#xpointer(string-range(//body,'',1 2,5))", null));
+		assertFalse(StringRangePointer.parse("#xpointer(string-range(//body,'',-1,5))", null));
+		assertFalse(StringRangePointer.parse("#xpointer(string-range(//body,'',12345678901,5))", null));
+	}
+
+	/**
+	 * Tests that the {@link XPtrInterpreter} recognizes exactly the pointers
+	 * scanned by {@link StringRangePointer} as string-range pointers, also for
+	 * tabs and line breaks as separators and for over-long offsets. Offsets
+	 * exceeding the int range are not read by
+	 * {@link StringRangePointer#parse(String, int[])} and are kept as strings
+	 * by the interpreter.
+	 */
+	@Test
+	public void testScanAgreesWithInterpreter() throws Exception {
+		String[] xPtrs = { "#xpointer(string-range(//body,\t'',\t1,\t5))", "\n#xpointer(\nstring-range(//body,\n'',\n1,\n5\n)\r\n)\n", "#xpointer(string-range(//body,'',7,3\t)\t)", "#xpointer(string-range(//body,'',123456789,5))", "#xpointer(string-range(//body,'',12345678901,5))", "#xpointer(string-range(//body,'',1,99999999999999999999))" };
+		for (String xPtr : xPtrs) {
+			assertTrue(xPtr, StringRangePointer.scan(xPtr, null));
+
+			XPtrInterpreter interpreter = new XPtrInterpreter();
+			interpreter.setInterpreter("doc.text.xml", xPtr);
+			List<XPtrRef> refs = interpreter.getResult();
+			assertEquals(xPtr, 1, refs.size());
+			assertEquals(xPtr, POINTERTYPE.TEXT, refs.get(0).getType());
+
+			int[] range = new int[2];
+			if (StringRangePointer.parse(xPtr, range)) {
+				assertArrayEquals(xPtr, new int[] { Integer.valueOf(refs.get(0).getLeft()), Integer.valueOf(refs.get(0).getRight()) }, range);
+			} else {
+				assertTrue(xPtr, (refs.get(0).getLeft().length() > 8) || (refs.get(0).getRight().length() > 8));
+			}
+		}
+		String[] others = { "#xpointer(string-range(//body,'',1\t2,5))", "#xpointer(string-range(//body,'',1,5)))", "#xpointer(string-range(//body,'',,5))" };
+		for (String xPtr : others) {
+			assertFalse(xPtr, StringRangePointer.scan(xPtr, null));
+
+			XPtrInterpreter interpreter = new XPtrInterpreter();
+			interpreter.setInterpreter("doc.text.xml", xPtr);
+			try {
+				List<XPtrRef> refs = interpreter.getResult();
+				for (XPtrRef ref : refs) {
+					assertFalse(xPtr, POINTERTYPE.TEXT == ref.getType());
+				}
+			} catch (Exception e) {
+				// not a supported pointer at all
+			}
+		}
+	}
+}
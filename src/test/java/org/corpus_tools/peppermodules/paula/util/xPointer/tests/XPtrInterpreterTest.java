@@ -17,6 +17,8 @@
  */
 package org.corpus_tools.peppermodules.paula.util.xPointer.tests;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Vector;
 
 import junit.framework.TestCase;
@@ -111,6 +113,146 @@ public class XPtrInterpreterTest extends TestCase {
 		// assertEquals("tok_8", xPtrRefs.get(0).getRight());
 	}
 
+	/**
+	 * Tests a shorthand pointer, which contains the document.
+	 * <ul>
+	 * <li>other.xml#tok_1</li>
+	 * </ul>
+	 */
+	public void testFullShortHandPointer() throws Exception {
+		getFixture().setInterpreter("base.xml", "other.xml#tok_1");
+		Vector<XPtrRef> xPtrRefs = getFixture().getResult();
+		assertEquals(1, xPtrRefs.size());
+		assertEquals("other.xml", xPtrRefs.get(0).getDoc());
+		assertEquals("tok_1", xPtrRefs.get(0).getID());
+	}
+
+	/**
+	 * Tests a sequence of shorthand pointers containing the document.
+	 * <ul>
+	 * <li>(a.xml#tok_1, b.xml#tok_2)</li>
+	 * </ul>
+	 */
+	public void testSeqFullShortHandPointer() throws Exception {
+		getFixture().setBase("base.xml");
+		getFixture().setXPtr("(a.xml#tok_1, b.xml#tok_2)");
+		Vector<XPtrRef> xPtrRefs = getFixture().getResult();
+		assertEquals(2, xPtrRefs.size());
+		assertEquals("a.xml", xPtrRefs.get(0).getDoc());
+		assertEquals("tok_1", xPtrRefs.get(0).getID());
+		assertEquals("b.xml", xPtrRefs.get(1).getDoc());
+		assertEquals("tok_2", xPtrRefs.get(1).getID());
+	}
+
+	/**
+	 * Tests a list of pointers separated by blanks.
+	 * <ul>
+	 * <li>#tok_1 #tok_2  other.xml#tok_3 #xpointer(id('tok_6')/range-to(id('tok_8')))</li>
+	 * </ul>
+	 */
+	public void testListOfPointers() throws Exception {
+		getFixture().setInterpreter("base.xml", "#tok_1 #tok_2  other.xml#tok_3 #xpointer(id('tok_6')/range-to(id('tok_8')))");
+		Vector<XPtrRef> xPtrRefs = getFixture().getResult();
+		assertEquals(4, xPtrRefs.size());
+		assertEquals("base.xml", xPtrRefs.get(0).getDoc());
+		assertEquals("tok_1", xPtrRefs.get(0).getID());
+		assertEquals("base.xml", xPtrRefs.get(1).getDoc());
+		assertEquals("tok_2", xPtrRefs.get(1).getID());
+		assertEquals("other.xml", xPtrRefs.get(2).getDoc());
+		assertEquals("tok_3", xPtrRefs.get(2).getID());
+		assertEquals(true, xPtrRefs.get(3).isRange());
+		assertEquals("tok_6", xPtrRefs.get(3).getLeft());
+		assertEquals("tok_8", xPtrRefs.get(3).getRight());
+	}
+
+	/**
+	 * Tests a list of pointers separated by tabs and line breaks, as written
+	 * by other tools into attribute values.
+	 * <ul>
+	 * <li>#tok_1\t#tok_2\r\n other.xml#tok_3\n#xpointer(id('tok_6')/range-to(id('tok_8')))</li>
+	 * </ul>
+	 */
+	public void testListOfPointersWithWhitespaces() throws Exception {
+		getFixture().setInterpreter("base.xml", "#tok_1\t#tok_2\r\n other.xml#tok_3\n#xpointer(id('tok_6')/range-to(id('tok_8')))");
+		Vector<XPtrRef> xPtrRefs = getFixture().getResult();
+		assertEquals(4, xPtrRefs.size());
+		assertEquals("base.xml", xPtrRefs.get(0).getDoc());
+		assertEquals("tok_1", xPtrRefs.get(0).getID());
+		assertEquals("base.xml", xPtrRefs.get(1).getDoc());
+		assertEquals("tok_2", xPtrRefs.get(1).getID());
+		assertEquals("other.xml", xPtrRefs.get(2).getDoc());
+		assertEquals("tok_3", xPtrRefs.get(2).getID());
+		assertEquals(true, xPtrRefs.get(3).isRange());
+		assertEquals("tok_6", xPtrRefs.get(3).getLeft());
+		assertEquals("tok_8", xPtrRefs.get(3).getRight());
+	}
+
+	/**
+	 * Tests a string-range pointer, keywords are case-insensitive.
+	 * <ul>
+	 * <li>#XPointer(string-range(//BODY, '', 12, 5))</li>
+	 * </ul>
+	 */
+	public void testStringRange() throws Exception {
+		getFixture().setBase("base.xml");
+		getFixture().setXPtr("#XPointer(string-range(//BODY, '', 12, 5))");
+		Vector<XPtrRef> xPtrRefs = getFixture().getResult();
+		assertEquals(1, xPtrRefs.size());
+		assertEquals(POINTERTYPE.TEXT, xPtrRefs.get(0).getType());
+		assertEquals("12", xPtrRefs.get(0).getLeft());
+		assertEquals("5", xPtrRefs.get(0).getRight());
+		assertEquals(12, xPtrRefs.get(0).getStart());
+		assertEquals(5, xPtrRefs.get(0).getLength());
+	}
+
+	/**
+	 * Tests that a given list is cleared and filled, so that it can be reused
+	 * for several pointers.
+	 */
+	public void testReuseResult() throws Exception {
+		List<XPtrRef> xPtrRefs = new ArrayList<XPtrRef>();
+		getFixture().setInterpreter("base.xml", "(#tok_1, #tok_2)");
+		getFixture().getResult(xPtrRefs);
+		assertEquals(2, xPtrRefs.size());
+		getFixture().setInterpreter("base.xml", "other.xml#tok_3");
+		getFixture().getResult(xPtrRefs);
+		assertEquals(1, xPtrRefs.size());
+		assertEquals("tok_3", xPtrRefs.get(0).getID());
+		getFixture().setInterpreter("base.xml", "other.xml#tok_4");
+		getFixture().getResult(xPtrRefs);
+		// document names of pointers are shared
+		assertSame(xPtrRefs.get(0).getDoc(), getFixture().getDoc());
+		getFixture().setInterpreter("base.xml", "other.xml#tok_5");
+		assertSame(xPtrRefs.get(0).getDoc(), getFixture().getDoc());
+	}
+
+	/**
+	 * Tests a pointer to an entire file.
+	 */
+	public void testXMLFile() throws Exception {
+		getFixture().setBase("base.xml");
+		getFixture().setXPtr("other.xml");
+		Vector<XPtrRef> xPtrRefs = getFixture().getResult();
+		assertEquals(1, xPtrRefs.size());
+		assertEquals(POINTERTYPE.XMLFILE, xPtrRefs.get(0).getType());
+	}
+
+	/**
+	 * Tests that expressions not following the syntax are rejected.
+	 */
+	public void testWrongSyntax() throws Exception {
+		for (String xptr : new String[] { "tok_1", "(#tok_1,)", "#xpointer(id('tok_6')/range-to(id('tok_8'))", "a.xml#" }) {
+			getFixture().setBase("base.xml");
+			getFixture().setXPtr(xptr);
+			try {
+				getFixture().getResult();
+				fail("expression '" + xptr + "' should not be interpretable");
+			} catch (Exception e) {
+				// expected
+			}
+		}
+	}
+
 	public void testBla() {
 		// // String REGEX_ID_VAL= "[ ]*[^'xpointer'][a-zA-Z0-9_-[.]]+\\s*";
 		// String REGEX_ID_VAL= "[ ]*[a-zA-Z0-9_-[.]]+\\s*";